@@ -0,0 +1,129 @@
+package org.infinispan.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.remoting.transport.jgroups.JGroupsTransport;
+import org.infinispan.topology.CacheTopology;
+
+/**
+ * Creates the cache managers used by the benchmarks and the keys and values stored in them.
+ * <p>
+ * Clustered benchmarks start all the nodes in the same JVM, connected through the loopback interface, and always
+ * invoke operations on the first node.
+ *
+ * @since 10.0
+ */
+final class BenchmarkCaches {
+   static final String CACHE_NAME = "benchmark";
+   private static final String JGROUPS_CONFIGURATION = "jgroups-benchmark.xml";
+   private static final long CLUSTER_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+   // Keys and values are always the same between runs
+   private static final long SEED = 0x5EED;
+
+   private BenchmarkCaches() { }
+
+   /**
+    * Starts the cache managers for the given cache mode and storage type, waiting until the cache has been started on
+    * all of them and no rebalance is in progress. Clustered modes use 3 nodes, so distributed caches have both local
+    * and remote keys.
+    */
+   static EmbeddedCacheManager[] startCacheManagers(CacheMode cacheMode, StorageType storageType) {
+      return startCacheManagers(cacheMode, storageType, cacheMode.isClustered() ? 3 : 1);
+   }
+
+   /**
+    * Same as {@link #startCacheManagers(CacheMode, StorageType)} but with the given number of nodes, e.g. a single
+    * node with a clustered cache mode to get the segmented data structures without any remote access.
+    */
+   static EmbeddedCacheManager[] startCacheManagers(CacheMode cacheMode, StorageType storageType, int nodes) {
+      EmbeddedCacheManager[] cacheManagers = new EmbeddedCacheManager[nodes];
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(cacheMode);
+      builder.memory().storageType(storageType);
+      for (int i = 0; i < nodes; ++i) {
+         GlobalConfigurationBuilder global = cacheMode.isClustered() ?
+               GlobalConfigurationBuilder.defaultClusteredBuilder() : new GlobalConfigurationBuilder().nonClusteredDefault();
+         global.defaultCacheName(CACHE_NAME);
+         global.globalJmxStatistics().allowDuplicateDomains(true);
+         if (cacheMode.isClustered()) {
+            global.transport().clusterName(CACHE_NAME).nodeName("node-" + i)
+                  .addProperty(JGroupsTransport.CONFIGURATION_FILE, JGROUPS_CONFIGURATION);
+         }
+         cacheManagers[i] = new DefaultCacheManager(global.build(), builder.build());
+      }
+      for (EmbeddedCacheManager cacheManager : cacheManagers) {
+         cacheManager.getCache();
+      }
+      if (cacheMode.isClustered()) {
+         waitForRebalance(cacheManagers);
+      }
+      return cacheManagers;
+   }
+
+   private static void waitForRebalance(EmbeddedCacheManager[] cacheManagers) {
+      long deadline = System.nanoTime() + CLUSTER_TIMEOUT_NANOS;
+      for (EmbeddedCacheManager cacheManager : cacheManagers) {
+         Cache<Object, Object> cache = cacheManager.getCache();
+         while (true) {
+            CacheTopology topology = cache.getAdvancedCache().getDistributionManager().getCacheTopology();
+            if (topology.getActualMembers().size() == cacheManagers.length &&
+                  topology.getPhase() == CacheTopology.Phase.NO_REBALANCE) {
+               break;
+            }
+            if (System.nanoTime() - deadline > 0) {
+               stopCacheManagers(cacheManagers);
+               throw new IllegalStateException("Timed out waiting for the cluster to form");
+            }
+            try {
+               Thread.sleep(100);
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+               throw new IllegalStateException(e);
+            }
+         }
+      }
+   }
+
+   static void stopCacheManagers(EmbeddedCacheManager[] cacheManagers) {
+      // Stop in reverse order so that the coordinator is the last one to leave
+      for (int i = cacheManagers.length - 1; i >= 0; --i) {
+         if (cacheManagers[i] != null) {
+            cacheManagers[i].stop();
+         }
+      }
+   }
+
+   /**
+    * Returns {@code count} distinct String keys, each made of {@code size} characters.
+    */
+   static String[] keys(int count, int size) {
+      Random random = new Random(SEED);
+      String[] keys = new String[count];
+      for (int i = 0; i < count; ++i) {
+         // Prefix with the index so that keys are distinct even when they are short
+         StringBuilder sb = new StringBuilder(size).append(i).append('-');
+         while (sb.length() < size) {
+            sb.append((char) ('a' + random.nextInt(26)));
+         }
+         keys[i] = sb.toString();
+      }
+      return keys;
+   }
+
+   /**
+    * Returns a value made of {@code size} random bytes.
+    */
+   static byte[] value(int size) {
+      byte[] value = new byte[size];
+      new Random(SEED).nextBytes(value);
+      return value;
+   }
+}
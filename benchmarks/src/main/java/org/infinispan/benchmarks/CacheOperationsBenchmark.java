@@ -0,0 +1,85 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code get} and {@code put} invoked through the public cache API, that is through the whole interceptor
+ * chain, for the different cache modes and storage types.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CacheOperationsBenchmark {
+
+   private static final int KEY_COUNT = 1024;
+
+   @Param({"LOCAL", "REPL_SYNC", "DIST_SYNC"})
+   public CacheMode cacheMode;
+
+   @Param({"OBJECT", "BINARY", "OFF_HEAP"})
+   public StorageType storageType;
+
+   @Param({"16", "256"})
+   public int keySize;
+
+   @Param({"64", "4096"})
+   public int valueSize;
+
+   private EmbeddedCacheManager[] cacheManagers;
+   private AdvancedCache<String, byte[]> cache;
+   private String[] keys;
+   private byte[] value;
+
+   @Setup
+   public void setup() {
+      cacheManagers = BenchmarkCaches.startCacheManagers(cacheMode, storageType);
+      cache = cacheManagers[0].<String, byte[]>getCache().getAdvancedCache();
+      keys = BenchmarkCaches.keys(KEY_COUNT, keySize);
+      value = BenchmarkCaches.value(valueSize);
+      for (String key : keys) {
+         cache.put(key, value);
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      BenchmarkCaches.stopCacheManagers(cacheManagers);
+   }
+
+   @Benchmark
+   public byte[] get() {
+      return cache.get(randomKey());
+   }
+
+   @Benchmark
+   public byte[] put() {
+      return cache.put(randomKey(), value);
+   }
+
+   private String randomKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+   }
+}
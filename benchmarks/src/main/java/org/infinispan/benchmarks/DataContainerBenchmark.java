@@ -0,0 +1,112 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.impl.DefaultSegmentedDataContainer;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the data container used by the cache directly, comparing the segmented on-heap container with the
+ * segmented off-heap one. The cache runs on a single node in distributed mode, as segmented containers are only used
+ * by cache modes with state transfer. Keys and values are converted to their storage format up front, as the
+ * interceptors would do.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DataContainerBenchmark {
+
+   private static final int KEY_COUNT = 16384;
+
+   @Param({"OBJECT", "OFF_HEAP"})
+   public StorageType storageType;
+
+   @Param({"16", "256"})
+   public int keySize;
+
+   @Param({"64", "4096"})
+   public int valueSize;
+
+   private EmbeddedCacheManager[] cacheManagers;
+   private InternalDataContainer<Object, Object> container;
+   private Object[] keys;
+   private int[] segments;
+   private Object value;
+   private Metadata metadata;
+
+   @Setup
+   @SuppressWarnings("unchecked")
+   public void setup() {
+      cacheManagers = BenchmarkCaches.startCacheManagers(CacheMode.DIST_SYNC, storageType, 1);
+      AdvancedCache<Object, Object> cache = cacheManagers[0].getCache().getAdvancedCache();
+      container = cache.getComponentRegistry().getComponent(InternalDataContainer.class);
+      if (!(container instanceof DefaultSegmentedDataContainer)) {
+         BenchmarkCaches.stopCacheManagers(cacheManagers);
+         throw new IllegalStateException("Expected a segmented data container but got " + container);
+      }
+      KeyPartitioner keyPartitioner = cache.getComponentRegistry().getComponent(KeyPartitioner.class);
+      String[] plainKeys = BenchmarkCaches.keys(KEY_COUNT, keySize);
+      keys = new Object[KEY_COUNT];
+      segments = new int[KEY_COUNT];
+      value = cache.getValueDataConversion().toStorage(BenchmarkCaches.value(valueSize));
+      metadata = new EmbeddedMetadata.Builder().build();
+      for (int i = 0; i < KEY_COUNT; ++i) {
+         keys[i] = cache.getKeyDataConversion().toStorage(plainKeys[i]);
+         segments[i] = keyPartitioner.getSegment(keys[i]);
+         container.put(segments[i], keys[i], value, metadata, -1, -1);
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      BenchmarkCaches.stopCacheManagers(cacheManagers);
+   }
+
+   @Benchmark
+   public InternalCacheEntry<Object, Object> peek() {
+      int i = randomIndex();
+      return container.peek(segments[i], keys[i]);
+   }
+
+   @Benchmark
+   public boolean containsKey() {
+      int i = randomIndex();
+      return container.containsKey(segments[i], keys[i]);
+   }
+
+   @Benchmark
+   public void put() {
+      int i = randomIndex();
+      container.put(segments[i], keys[i], value, metadata, -1, -1);
+   }
+
+   private int randomIndex() {
+      return ThreadLocalRandom.current().nextInt(KEY_COUNT);
+   }
+}
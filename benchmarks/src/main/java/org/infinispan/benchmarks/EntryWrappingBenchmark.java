@@ -0,0 +1,94 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.impl.EntryFactory;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.InvocationContextFactory;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the entry wrapping performed by the {@code EntryWrappingInterceptor} for every command: creating the
+ * invocation context and wrapping the entry read from the data container, for reading and for writing.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class EntryWrappingBenchmark {
+
+   private static final int KEY_COUNT = 1024;
+
+   @Param({"OBJECT", "BINARY", "OFF_HEAP"})
+   public StorageType storageType;
+
+   private EmbeddedCacheManager[] cacheManagers;
+   private EntryFactory entryFactory;
+   private InvocationContextFactory contextFactory;
+   private Object[] keys;
+   private int[] segments;
+
+   @Setup
+   public void setup() {
+      cacheManagers = BenchmarkCaches.startCacheManagers(CacheMode.LOCAL, storageType);
+      AdvancedCache<Object, Object> cache = cacheManagers[0].getCache().getAdvancedCache();
+      entryFactory = cache.getComponentRegistry().getComponent(EntryFactory.class);
+      contextFactory = cache.getComponentRegistry().getComponent(InvocationContextFactory.class);
+      KeyPartitioner keyPartitioner = cache.getComponentRegistry().getComponent(KeyPartitioner.class);
+      String[] plainKeys = BenchmarkCaches.keys(KEY_COUNT, 16);
+      byte[] value = BenchmarkCaches.value(64);
+      keys = new Object[KEY_COUNT];
+      segments = new int[KEY_COUNT];
+      for (int i = 0; i < KEY_COUNT; ++i) {
+         cache.put(plainKeys[i], value);
+         keys[i] = cache.getKeyDataConversion().toStorage(plainKeys[i]);
+         segments[i] = keyPartitioner.getSegment(keys[i]);
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      BenchmarkCaches.stopCacheManagers(cacheManagers);
+   }
+
+   @Benchmark
+   public Object wrapForReading() {
+      int i = randomIndex();
+      InvocationContext ctx = contextFactory.createSingleKeyNonTxInvocationContext();
+      entryFactory.wrapEntryForReading(ctx, keys[i], segments[i], true);
+      return ctx.lookupEntry(keys[i]);
+   }
+
+   @Benchmark
+   public Object wrapForWriting() {
+      int i = randomIndex();
+      InvocationContext ctx = contextFactory.createSingleKeyNonTxInvocationContext();
+      entryFactory.wrapEntryForWriting(ctx, keys[i], segments[i], true, false);
+      return ctx.lookupEntry(keys[i]);
+   }
+
+   private int randomIndex() {
+      return ThreadLocalRandom.current().nextInt(KEY_COUNT);
+   }
+}
@@ -0,0 +1,101 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of small Hot Rod operations invoked concurrently by many threads through a few client
+ * connections, so that many requests share each channel. The server runs in the same JVM with a local cache.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(64)
+@Fork(1)
+public class HotRodClientBenchmark {
+
+   private static final int KEY_COUNT = 1024;
+   private static final String HOST = "127.0.0.1";
+
+   @Param({"1", "4"})
+   public int maxConnections;
+
+   @Param({"16"})
+   public int keySize;
+
+   @Param({"64"})
+   public int valueSize;
+
+   private EmbeddedCacheManager[] cacheManagers;
+   private HotRodServer server;
+   private RemoteCacheManager remoteCacheManager;
+   private RemoteCache<String, byte[]> cache;
+   private String[] keys;
+   private byte[] value;
+
+   @Setup
+   public void setup() {
+      cacheManagers = BenchmarkCaches.startCacheManagers(CacheMode.LOCAL, StorageType.OBJECT);
+      server = new HotRodServer();
+      server.start(new HotRodServerConfigurationBuilder().host(HOST).port(0).build(), cacheManagers[0]);
+
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.addServer().host(HOST).port(server.getPort());
+      builder.connectionPool().maxActive(maxConnections);
+      remoteCacheManager = new RemoteCacheManager(builder.build());
+      cache = remoteCacheManager.getCache(BenchmarkCaches.CACHE_NAME);
+
+      keys = BenchmarkCaches.keys(KEY_COUNT, keySize);
+      value = BenchmarkCaches.value(valueSize);
+      for (String key : keys) {
+         cache.put(key, value);
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      remoteCacheManager.stop();
+      server.stop();
+      BenchmarkCaches.stopCacheManagers(cacheManagers);
+   }
+
+   @Benchmark
+   public byte[] get() {
+      return cache.get(randomKey());
+   }
+
+   @Benchmark
+   public byte[] put() {
+      return cache.put(randomKey(), value);
+   }
+
+   private String randomKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+   }
+}
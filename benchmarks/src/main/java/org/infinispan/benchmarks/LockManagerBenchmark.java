@@ -0,0 +1,73 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.util.concurrent.locks.LockManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures acquiring and releasing a single key lock through the cache's lock manager. With many keys the threads
+ * almost never touch the same key, which is the common case for pessimistic transactions, while a handful of keys
+ * shows the cost of queueing behind other lock owners. Run with {@code -prof gc} to see the allocation rate.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Threads(4)
+@Fork(1)
+public class LockManagerBenchmark {
+
+   @Param({"4", "16384"})
+   public int keyCount;
+
+   private EmbeddedCacheManager[] cacheManagers;
+   private LockManager lockManager;
+   private String[] keys;
+
+   @State(Scope.Thread)
+   public static class LockOwner {
+      // Each benchmark thread acts as a different transaction
+      final Object owner = new Object();
+   }
+
+   @Setup
+   public void setup() {
+      cacheManagers = BenchmarkCaches.startCacheManagers(CacheMode.LOCAL, StorageType.OBJECT);
+      AdvancedCache<Object, Object> cache = cacheManagers[0].getCache().getAdvancedCache();
+      lockManager = cache.getComponentRegistry().getComponent(LockManager.class);
+      keys = BenchmarkCaches.keys(keyCount, 16);
+   }
+
+   @TearDown
+   public void tearDown() {
+      BenchmarkCaches.stopCacheManagers(cacheManagers);
+   }
+
+   @Benchmark
+   public void lockUnlock(LockOwner lockOwner) throws InterruptedException {
+      String key = keys[ThreadLocalRandom.current().nextInt(keyCount)];
+      lockManager.lock(key, lockOwner.owner, 10, TimeUnit.SECONDS).lock();
+      lockManager.unlock(key, lockOwner.owner);
+   }
+}
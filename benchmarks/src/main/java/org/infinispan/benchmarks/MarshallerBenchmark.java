@@ -0,0 +1,88 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.metadata.MetadataImmortalCacheEntry;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a marshalling round trip through the global marshaller for the payloads most commonly sent between nodes
+ * and written to stores: plain values, String keys and cache entries with and without metadata.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MarshallerBenchmark {
+
+   @Param({"16", "256"})
+   public int keySize;
+
+   @Param({"64", "4096"})
+   public int valueSize;
+
+   private EmbeddedCacheManager[] cacheManagers;
+   private StreamingMarshaller marshaller;
+   private String key;
+   private byte[] value;
+   private ImmortalCacheEntry entry;
+   private MetadataImmortalCacheEntry metadataEntry;
+
+   @Setup
+   public void setup() {
+      cacheManagers = BenchmarkCaches.startCacheManagers(CacheMode.LOCAL, StorageType.OBJECT);
+      marshaller = cacheManagers[0].getGlobalComponentRegistry().getComponent(StreamingMarshaller.class,
+            KnownComponentNames.INTERNAL_MARSHALLER);
+      key = BenchmarkCaches.keys(1, keySize)[0];
+      value = BenchmarkCaches.value(valueSize);
+      entry = new ImmortalCacheEntry(key, value);
+      metadataEntry = new MetadataImmortalCacheEntry(key, value, new EmbeddedMetadata.Builder().build());
+   }
+
+   @TearDown
+   public void tearDown() {
+      BenchmarkCaches.stopCacheManagers(cacheManagers);
+   }
+
+   @Benchmark
+   public Object roundTripValue() throws Exception {
+      return marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(value));
+   }
+
+   @Benchmark
+   public Object roundTripKey() throws Exception {
+      return marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(key));
+   }
+
+   @Benchmark
+   public Object roundTripEntry() throws Exception {
+      return marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(entry));
+   }
+
+   @Benchmark
+   public Object roundTripEntryWithMetadata() throws Exception {
+      return marshaller.objectFromByteBuffer(marshaller.objectToByteBuffer(metadataEntry));
+   }
+}
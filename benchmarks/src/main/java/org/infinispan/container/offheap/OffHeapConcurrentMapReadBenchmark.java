@@ -0,0 +1,114 @@
+package org.infinispan.container.offheap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reads of {@link OffHeapConcurrentMap} using the optimistic (seqlock style) read path against always
+ * acquiring the striped read lock, both with only readers and with a concurrent writer. The benchmark is in the
+ * package of the map as only the data container chooses whether reads are optimistic.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class OffHeapConcurrentMapReadBenchmark {
+
+   @Param({"true", "false"})
+   public boolean optimisticReads;
+
+   @Param({"1024", "65536"})
+   public int keyCount;
+
+   private EmbeddedCacheManager cacheManager;
+   private OffHeapConcurrentMap map;
+   private WrappedBytes[] keys;
+   private WrappedBytes value;
+
+   @Setup
+   public void setup() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().storageType(StorageType.OFF_HEAP);
+      cacheManager = new DefaultCacheManager(new GlobalConfigurationBuilder().nonClusteredDefault()
+            .defaultCacheName("benchmark").build(), builder.build());
+      AdvancedCache<Object, Object> cache = cacheManager.getCache().getAdvancedCache();
+      OffHeapMemoryAllocator allocator = cache.getComponentRegistry().getComponent(OffHeapMemoryAllocator.class);
+      OffHeapEntryFactory entryFactory = cache.getComponentRegistry().getComponent(OffHeapEntryFactory.class);
+
+      map = new OffHeapConcurrentMap(keyCount, allocator, entryFactory, null, optimisticReads);
+      map.start();
+      keys = new WrappedBytes[keyCount];
+      value = new WrappedByteArray(new byte[64]);
+      for (int i = 0; i < keyCount; ++i) {
+         keys[i] = new WrappedByteArray(("key-" + i).getBytes());
+         map.put(keys[i], new ImmortalCacheEntry(keys[i], value));
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      map.stop();
+      cacheManager.stop();
+   }
+
+   private WrappedBytes randomKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+   }
+
+   @Benchmark
+   @Threads(4)
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> readOnlyGet() {
+      return map.get(randomKey());
+   }
+
+   @Benchmark
+   @Threads(4)
+   public boolean readOnlyContainsKey() {
+      return map.containsKey(randomKey());
+   }
+
+   @Benchmark
+   @Group("readMostly")
+   @GroupThreads(3)
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> readMostlyGet() {
+      return map.get(randomKey());
+   }
+
+   @Benchmark
+   @Group("readMostly")
+   @GroupThreads(1)
+   public InternalCacheEntry<WrappedBytes, WrappedBytes> readMostlyPut() {
+      WrappedBytes key = randomKey();
+      return map.put(key, new ImmortalCacheEntry(key, value));
+   }
+}
@@ -0,0 +1,80 @@
+package org.infinispan.stream.impl;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.infinispan.reactive.publisher.PublisherReducers;
+import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.object.FilterOperation;
+import org.infinispan.stream.impl.intops.object.MapOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.reactivex.Flowable;
+
+/**
+ * Measures a filter/map/count stream over the entries of a segment publisher, comparing the
+ * {@link CacheStreamIntermediateReducer}, which fuses consecutive filter and map operations into a single function,
+ * with applying every operation as its own {@link Flowable} operator. The benchmark is in the package of the reducer
+ * as the reducer is only created by the cache streams.
+ *
+ * @since 10.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CacheStreamIntermediateReducerBenchmark {
+
+   @Param({"10000000"})
+   public int entries;
+
+   // Number of filter and map pairs in the pipeline
+   @Param({"1", "4"})
+   public int stages;
+
+   private Queue<IntermediateOperation> intOps;
+
+   @Setup
+   public void setup() {
+      intOps = new ArrayDeque<>();
+      for (int i = 0; i < stages; i++) {
+         intOps.add(new FilterOperation<>((Predicate<Integer>) value -> (value & 7) != 0));
+         intOps.add(new MapOperation<>((Function<Integer, Integer>) value -> value + 1));
+      }
+   }
+
+   @Benchmark
+   public Long fused() {
+      return new CacheStreamIntermediateReducer<>(intOps, PublisherReducers.count())
+            .apply(publisher()).toCompletableFuture().join();
+   }
+
+   @Benchmark
+   public Long unfused() {
+      Flowable<Object> flowable = publisher();
+      for (IntermediateOperation intOp : intOps) {
+         flowable = intOp.mapFlowable(flowable);
+      }
+      return PublisherReducers.count().apply(flowable).toCompletableFuture().join();
+   }
+
+   @SuppressWarnings("unchecked")
+   private Flowable<Object> publisher() {
+      return (Flowable) Flowable.range(0, entries);
+   }
+}
@@ -499,6 +499,14 @@ default <T> T execute(String scriptName, Map<String, ?> params, Object key) {
     */
    StreamingRemoteCache<K> streaming();
 
+   /**
+    * Returns a new batch of write operations on this cache, which are sent together when the batch is executed.
+    *
+    * @see RemoteCacheBatch
+    * @since 10.0
+    */
+   RemoteCacheBatch<K, V> batch();
+
    /**
     * Return a new instance of {@link RemoteCache} using the supplied {@link DataFormat}.
     */
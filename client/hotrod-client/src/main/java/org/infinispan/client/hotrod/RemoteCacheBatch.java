@@ -0,0 +1,86 @@
+package org.infinispan.client.hotrod;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects write operations on a {@link RemoteCache} and sends them together. The operations are grouped by the
+ * server owning their key, and the requests for each server are written to a single connection at once, so that the
+ * whole batch costs about one round trip per server instead of one per operation.
+ * <p>
+ * The operations are not executed atomically: each of them succeeds or fails independently and the batch fails if
+ * any operation fails. The operations may be applied by the servers in any order, even for the same key.
+ * <p>
+ * Instances are not thread-safe and can only be executed once.
+ *
+ * @since 10.0
+ */
+public interface RemoteCacheBatch<K, V> {
+   /**
+    * Adds a {@link RemoteCache#put(Object, Object)} to the batch. Its result is the previous value if the
+    * {@link Flag#FORCE_RETURN_VALUE} flag is used, {@code null} otherwise.
+    */
+   RemoteCacheBatch<K, V> put(K key, V value);
+
+   /**
+    * Adds a {@link RemoteCache#put(Object, Object, long, TimeUnit)} to the batch.
+    */
+   RemoteCacheBatch<K, V> put(K key, V value, long lifespan, TimeUnit lifespanUnit);
+
+   /**
+    * Adds a {@link RemoteCache#put(Object, Object, long, TimeUnit, long, TimeUnit)} to the batch.
+    */
+   RemoteCacheBatch<K, V> put(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit);
+
+   /**
+    * Adds a {@link RemoteCache#replace(Object, Object)} to the batch. Its result is the previous value if the
+    * {@link Flag#FORCE_RETURN_VALUE} flag is used, {@code null} otherwise.
+    */
+   RemoteCacheBatch<K, V> replace(K key, V value);
+
+   /**
+    * Adds a {@link RemoteCache#replace(Object, Object, long, TimeUnit, long, TimeUnit)} to the batch.
+    */
+   RemoteCacheBatch<K, V> replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit);
+
+   /**
+    * Adds a {@link RemoteCache#remove(Object)} to the batch. Its result is the previous value if the
+    * {@link Flag#FORCE_RETURN_VALUE} flag is used, {@code null} otherwise.
+    */
+   RemoteCacheBatch<K, V> remove(K key);
+
+   /**
+    * Adds a {@link RemoteCache#replaceWithVersion(Object, Object, long)} to the batch. Its result is a
+    * {@link Boolean} telling whether the entry was replaced.
+    */
+   RemoteCacheBatch<K, V> replaceWithVersion(K key, V newValue, long version);
+
+   /**
+    * Adds a {@link RemoteCache#replaceWithVersion(Object, Object, long, long, TimeUnit, long, TimeUnit)} to the batch.
+    */
+   RemoteCacheBatch<K, V> replaceWithVersion(K key, V newValue, long version, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit);
+
+   /**
+    * Adds a {@link RemoteCache#removeWithVersion(Object, long)} to the batch. Its result is a {@link Boolean} telling
+    * whether the entry was removed.
+    */
+   RemoteCacheBatch<K, V> removeWithVersion(K key, long version);
+
+   /**
+    * @return the number of operations in the batch
+    */
+   int size();
+
+   /**
+    * Sends all the operations of the batch and waits for their results.
+    *
+    * @return the results of the operations, in the order they were added to the batch
+    */
+   List<Object> execute();
+
+   /**
+    * Asynchronous version of {@link #execute()}.
+    */
+   CompletableFuture<List<Object>> executeAsync();
+}
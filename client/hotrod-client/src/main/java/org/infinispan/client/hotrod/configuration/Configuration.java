@@ -324,6 +324,7 @@ public Properties properties() {
 
       properties.setProperty(ConfigurationProperties.NEAR_CACHE_MODE, nearCache.mode().name());
       properties.setProperty(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES, Integer.toString(nearCache.maxEntries()));
+      properties.setProperty(ConfigurationProperties.NEAR_CACHE_MAX_BYTES, Long.toString(nearCache.maxBytes()));
       if (nearCache.cacheNamePattern() != null)
          properties.setProperty(ConfigurationProperties.NEAR_CACHE_NAME_PATTERN, nearCache.cacheNamePattern().pattern());
 
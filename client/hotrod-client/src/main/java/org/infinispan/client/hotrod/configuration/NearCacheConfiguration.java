@@ -6,11 +6,17 @@ public class NearCacheConfiguration {
    // TODO: Consider an option to configure key equivalence function for near cache (e.g. for byte arrays)
    private final NearCacheMode mode;
    private final int maxEntries;
+   private final long maxBytes;
    private final Pattern cacheNamePattern;
 
    public NearCacheConfiguration(NearCacheMode mode, int maxEntries, Pattern cacheNamePattern) {
+      this(mode, maxEntries, -1, cacheNamePattern);
+   }
+
+   public NearCacheConfiguration(NearCacheMode mode, int maxEntries, long maxBytes, Pattern cacheNamePattern) {
       this.mode = mode;
       this.maxEntries = maxEntries;
+      this.maxBytes = maxBytes;
       this.cacheNamePattern = cacheNamePattern;
    }
 
@@ -18,6 +24,14 @@ public int maxEntries() {
       return maxEntries;
    }
 
+   /**
+    * @return the maximum estimated size in bytes of the near cache entries, or a negative value if the near cache is
+    * bounded by {@link #maxEntries()} instead
+    */
+   public long maxBytes() {
+      return maxBytes;
+   }
+
    public NearCacheMode mode() {
       return mode;
    }
@@ -31,6 +45,7 @@ public String toString() {
       return "NearCacheConfiguration{" +
             "mode=" + mode +
             ", maxEntries=" + maxEntries +
+            ", maxBytes=" + maxBytes +
             ", cacheNamePattern=" + cacheNamePattern +
             '}';
    }
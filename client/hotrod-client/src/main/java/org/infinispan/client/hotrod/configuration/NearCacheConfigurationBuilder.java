@@ -15,6 +15,7 @@ public class NearCacheConfigurationBuilder extends AbstractConfigurationChildBui
 
    private NearCacheMode mode = NearCacheMode.DISABLED;
    private Integer maxEntries = null; // undefined
+   private Long maxBytes = null; // undefined
    private Pattern cacheNamePattern = null; // matches all
 
    protected NearCacheConfigurationBuilder(ConfigurationBuilder builder) {
@@ -32,6 +33,18 @@ public NearCacheConfigurationBuilder maxEntries(int maxEntries) {
       return this;
    }
 
+   /**
+    * Specifies the maximum size in bytes of the entries held in the near cache, as an alternative to
+    * {@link #maxEntries(int)}. The size of an entry is estimated from the size of its marshalled key and value.
+    *
+    * @param maxBytes maximum size of the near cache entries, in bytes.
+    * @return an instance of the builder
+    */
+   public NearCacheConfigurationBuilder maxBytes(long maxBytes) {
+      this.maxBytes = maxBytes;
+      return this;
+   }
+
    /**
     * Specifies the near caching mode. See {@link NearCacheMode} for details on the available modes.
     *
@@ -68,19 +81,25 @@ public NearCacheConfigurationBuilder cacheNamePattern(Pattern pattern) {
 
    @Override
    public void validate() {
-      if (mode.enabled() && maxEntries == null)
-         throw log.nearCacheMaxEntriesUndefined();
+      if (mode.enabled()) {
+         if (maxEntries == null && maxBytes == null)
+            throw log.nearCacheMaxEntriesUndefined();
+         if (maxEntries != null && maxEntries >= 0 && maxBytes != null && maxBytes >= 0)
+            throw log.nearCacheMaxEntriesAndMaxBytes();
+      }
    }
 
    @Override
    public NearCacheConfiguration create() {
-      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, cacheNamePattern);
+      return new NearCacheConfiguration(mode, maxEntries == null ? -1 : maxEntries, maxBytes == null ? -1 : maxBytes,
+            cacheNamePattern);
    }
 
    @Override
    public Builder<?> read(NearCacheConfiguration template) {
       mode = template.mode();
       maxEntries = template.maxEntries();
+      maxBytes = template.maxBytes();
       cacheNamePattern = template.cacheNamePattern();
       return this;
    }
@@ -91,6 +110,9 @@ public ConfigurationBuilder withProperties(Properties properties) {
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES)) {
          this.maxEntries(typed.getIntProperty(ConfigurationProperties.NEAR_CACHE_MAX_ENTRIES, -1));
       }
+      if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MAX_BYTES)) {
+         this.maxBytes(typed.getLongProperty(ConfigurationProperties.NEAR_CACHE_MAX_BYTES, -1));
+      }
       if (typed.containsKey(ConfigurationProperties.NEAR_CACHE_MODE)) {
          this.mode(NearCacheMode.valueOf(typed.getProperty(ConfigurationProperties.NEAR_CACHE_MODE)));
       }
@@ -349,6 +349,12 @@
  *          <td>The {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#maxEntries(int) maximum} number of entries to keep in the local cache.</td>
  *       </tr>
  *       <tr>
+ *          <td><b>infinispan.client.hotrod.near_cache.max_bytes</b></td>
+ *          <td>Long</td>
+ *          <td>-1 (no limit)</td>
+ *          <td>The {@link org.infinispan.client.hotrod.configuration.NearCacheConfigurationBuilder#maxBytes(long) maximum} estimated size in bytes of the entries to keep in the local cache, instead of a maximum number of entries.</td>
+ *       </tr>
+ *       <tr>
  *          <td><b>infinispan.client.hotrod.near_cache.name_pattern</b></td>
  *          <td>String (regex pattern, see {@link java.util.regex.Pattern})</td>
  *          <td>null (matches all cache names)</td>
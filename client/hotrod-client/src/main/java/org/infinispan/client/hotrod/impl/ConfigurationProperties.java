@@ -82,6 +82,7 @@ public class ConfigurationProperties {
    public static final String TRANSACTION_TIMEOUT = ICH + "transaction.timeout";
    // Near cache properties
    public static final String NEAR_CACHE_MAX_ENTRIES = ICH + "near_cache.max_entries";
+   public static final String NEAR_CACHE_MAX_BYTES = ICH + "near_cache.max_bytes";
    public static final String NEAR_CACHE_MODE = ICH + "near_cache.mode";
    public static final String NEAR_CACHE_NAME_PATTERN = ICH + "near_cache.name_pattern";
    // Pool properties
@@ -466,6 +467,14 @@ public void setNearCacheMaxEntries(int nearCacheMaxEntries) {
       props.setProperty(NEAR_CACHE_MAX_ENTRIES, nearCacheMaxEntries);
    }
 
+   public long getNearCacheMaxBytes() {
+      return props.getLongProperty(NEAR_CACHE_MAX_BYTES, -1);
+   }
+
+   public void setNearCacheMaxBytes(long nearCacheMaxBytes) {
+      props.setProperty(NEAR_CACHE_MAX_BYTES, nearCacheMaxBytes);
+   }
+
    public String getNearCacheNamePattern() {
       return props.getProperty(NEAR_CACHE_NAME_PATTERN);
    }
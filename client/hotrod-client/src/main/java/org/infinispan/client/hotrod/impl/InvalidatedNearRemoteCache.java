@@ -1,5 +1,6 @@
 package org.infinispan.client.hotrod.impl;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -109,6 +110,14 @@ public CompletableFuture<Boolean> removeWithVersionAsync(K key, long version) {
             });
    }
 
+   @Override
+   protected CompletableFuture<List<Object>> executeBatchAsync(RemoteCacheBatchImpl<K, V> batch) {
+      return super.executeBatchAsync(batch).thenApply(results -> {
+         batch.keys().forEach(nearcache::remove);
+         return results;
+      });
+   }
+
    @Override
    public CompletableFuture<Void> clearAsync() {
       return super.clearAsync().thenRun(() -> nearcache.clear());
@@ -14,13 +14,24 @@
    private final int lifespan;
    private final long lastUsed;
    private final int maxIdle;
+   private final int serializedSize;
 
    public MetadataValueImpl(long created, int lifespan, long lastUsed, int maxIdle, long version, V value) {
+      this(created, lifespan, lastUsed, maxIdle, version, value, -1);
+   }
+
+   /**
+    * @param serializedSize the size of the marshalled key and value received from the server.
+    * @since 10.0
+    */
+   public MetadataValueImpl(long created, int lifespan, long lastUsed, int maxIdle, long version, V value,
+                            int serializedSize) {
       super(version, value);
       this.created = created;
       this.lifespan = lifespan;
       this.lastUsed = lastUsed;
       this.maxIdle = maxIdle;
+      this.serializedSize = serializedSize;
    }
 
    @Override
@@ -43,6 +54,14 @@ public int getMaxIdle() {
       return maxIdle;
    }
 
+   /**
+    * @return the size of the marshalled key and value received from the server, or {@code -1} if unknown.
+    * @since 10.0
+    */
+   public int getSerializedSize() {
+      return serializedSize;
+   }
+
    @Override
    public String toString() {
       return "MetadataValueImpl [created=" + created + ", lifespan=" + lifespan + ", lastUsed=" + lastUsed + ", maxIdle=" + maxIdle + ", getVersion()=" + getVersion()
@@ -0,0 +1,143 @@
+package org.infinispan.client.hotrod.impl;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.infinispan.client.hotrod.impl.Util.await;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.infinispan.client.hotrod.RemoteCacheBatch;
+import org.infinispan.client.hotrod.impl.operations.AbstractKeyOperation;
+import org.infinispan.client.hotrod.impl.operations.OperationsFactory;
+
+/**
+ * Implementation of {@link RemoteCacheBatch}
+ *
+ * @since 10.0
+ */
+public class RemoteCacheBatchImpl<K, V> implements RemoteCacheBatch<K, V> {
+   private final RemoteCacheImpl<K, V> cache;
+   private final List<K> keys = new ArrayList<>();
+   private final List<AbstractKeyOperation<?>> operations = new ArrayList<>();
+   private final List<CompletableFuture<?>> results = new ArrayList<>();
+   // flags set with RemoteCache.withFlags, applied to all the operations in the batch
+   private final int flags;
+   private boolean executed;
+
+   public RemoteCacheBatchImpl(RemoteCacheImpl<K, V> cache) {
+      this.cache = cache;
+      this.flags = cache.operationsFactory.flags();
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> put(K key, V value) {
+      return put(key, value, cache.defaultLifespan, MILLISECONDS, cache.defaultMaxIdleTime, MILLISECONDS);
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> put(K key, V value, long lifespan, TimeUnit lifespanUnit) {
+      return put(key, value, lifespan, lifespanUnit, cache.defaultMaxIdleTime, MILLISECONDS);
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> put(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      return add(key, operationsFactory().newPutKeyValueOperation(cache.keyAsObjectIfNeeded(key),
+            cache.keyToBytes(key), cache.valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit,
+            cache.getDataFormat()));
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> replace(K key, V value) {
+      return replace(key, value, cache.defaultLifespan, MILLISECONDS, cache.defaultMaxIdleTime, MILLISECONDS);
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
+      return add(key, operationsFactory().newReplaceOperation(cache.keyAsObjectIfNeeded(key),
+            cache.keyToBytes(key), cache.valueToBytes(value), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit,
+            cache.getDataFormat()));
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> remove(K key) {
+      return add(key, operationsFactory().newRemoveOperation(cache.keyAsObjectIfNeeded(key), cache.keyToBytes(key),
+            cache.getDataFormat()));
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> replaceWithVersion(K key, V newValue, long version) {
+      return replaceWithVersion(key, newValue, version, 0, TimeUnit.SECONDS, 0, TimeUnit.SECONDS);
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> replaceWithVersion(K key, V newValue, long version, long lifespan, TimeUnit lifespanTimeUnit, long maxIdle, TimeUnit maxIdleTimeUnit) {
+      return add(key, operationsFactory().newReplaceIfUnmodifiedOperation(cache.keyAsObjectIfNeeded(key),
+            cache.keyToBytes(key), cache.valueToBytes(newValue), lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit,
+            version, cache.getDataFormat()), response -> response.getCode().isUpdated());
+   }
+
+   @Override
+   public RemoteCacheBatch<K, V> removeWithVersion(K key, long version) {
+      return add(key, operationsFactory().newRemoveIfUnmodifiedOperation(cache.keyAsObjectIfNeeded(key),
+            cache.keyToBytes(key), version, cache.getDataFormat()), response -> response.getCode().isUpdated());
+   }
+
+   @Override
+   public int size() {
+      return operations.size();
+   }
+
+   @Override
+   public List<Object> execute() {
+      return await(executeAsync());
+   }
+
+   @Override
+   public CompletableFuture<List<Object>> executeAsync() {
+      if (executed) {
+         throw new IllegalStateException("The batch has already been executed");
+      }
+      executed = true;
+      return cache.executeBatchAsync(this);
+   }
+
+   List<K> keys() {
+      return keys;
+   }
+
+   CompletableFuture<List<Object>> send() {
+      return cache.operationsFactory.newBatchOperation(operations).execute().thenApply(nil -> {
+         List<Object> values = new ArrayList<>(results.size());
+         for (CompletableFuture<?> result : results) {
+            values.add(result.join());
+         }
+         return values;
+      });
+   }
+
+   private OperationsFactory operationsFactory() {
+      cache.operationsFactory.setFlags(flags);
+      return cache.operationsFactory;
+   }
+
+   private RemoteCacheBatch<K, V> add(K key, AbstractKeyOperation<?> operation) {
+      return add(key, operation, operation);
+   }
+
+   private <T> RemoteCacheBatch<K, V> add(K key, AbstractKeyOperation<T> operation, Function<T, ?> resultMapper) {
+      return add(key, operation, operation.thenApply(resultMapper));
+   }
+
+   private RemoteCacheBatch<K, V> add(K key, AbstractKeyOperation<?> operation, CompletableFuture<?> result) {
+      if (executed) {
+         throw new IllegalStateException("The batch has already been executed");
+      }
+      keys.add(key);
+      operations.add(operation);
+      results.add(result);
+      return this;
+   }
+}
@@ -10,6 +10,7 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -27,6 +28,7 @@
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.ProtocolVersion;
 import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheBatch;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.ServerStatistics;
 import org.infinispan.client.hotrod.StreamingRemoteCache;
@@ -824,6 +826,20 @@ public CacheTopologyInfo getCacheTopologyInfo() {
       return operationsFactory.getCacheTopologyInfo();
    }
 
+   @Override
+   public RemoteCacheBatch<K, V> batch() {
+      assertRemoteCacheManagerIsStarted();
+      return new RemoteCacheBatchImpl<>(this);
+   }
+
+   protected CompletableFuture<List<Object>> executeBatchAsync(RemoteCacheBatchImpl<K, V> batch) {
+      assertRemoteCacheManagerIsStarted();
+      if (trace) {
+         log.tracef("About to execute a batch of %d operations", batch.size());
+      }
+      return batch.send();
+   }
+
    @Override
    public StreamingRemoteCache<K> streaming() {
       assertRemoteCacheManagerIsStarted();
@@ -0,0 +1,111 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.client.hotrod.configuration.Configuration;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelFactory;
+import org.infinispan.client.hotrod.impl.transport.netty.ChannelOperation;
+import org.infinispan.client.hotrod.impl.transport.netty.HeaderDecoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+
+/**
+ * Executes a batch of key operations, writing all the operations owned by the same server to a single channel.
+ * <p>
+ * The requests written to the channel are flushed together, so each server receives the whole batch at once. Each
+ * operation then completes independently with its own response, and failed operations are retried on their own
+ * channel. The operations owned by a server are split in chunks of
+ * {@link org.infinispan.client.hotrod.configuration.ConnectionPoolConfiguration#maxPendingRequests()} operations, so
+ * that a big batch doesn't monopolize a single channel.
+ *
+ * @since 10.0
+ */
+public class BatchOperation extends HotRodOperation<Void> {
+   private final List<AbstractKeyOperation<?>> operations;
+
+   public BatchOperation(Codec codec, ChannelFactory channelFactory, byte[] cacheName, AtomicInteger topologyId,
+                         int flags, Configuration cfg, List<AbstractKeyOperation<?>> operations) {
+      super(ILLEGAL_OP_CODE, ILLEGAL_OP_CODE, codec, flags, cfg, cacheName, topologyId, channelFactory);
+      this.operations = operations;
+   }
+
+   @Override
+   public CompletableFuture<Void> execute() {
+      if (operations.isEmpty()) {
+         complete(null);
+         return this;
+      }
+      int chunkSize = Math.max(1, cfg.connectionPool().maxPendingRequests());
+      Map<SocketAddress, List<AbstractKeyOperation<?>>> operationsByServer = new HashMap<>();
+      for (AbstractKeyOperation<?> operation : operations) {
+         SocketAddress server = channelFactory.getSocketAddress(
+               operation.key == null ? operation.keyBytes : operation.key, cacheName);
+         if (server == null) {
+            // No topology information, let the operation pick the server
+            operation.execute();
+            continue;
+         }
+         List<AbstractKeyOperation<?>> chunk = operationsByServer.computeIfAbsent(server, s -> new ArrayList<>());
+         chunk.add(operation);
+         if (chunk.size() == chunkSize) {
+            channelFactory.fetchChannelAndInvoke(server, new ChannelBatch(chunk));
+            operationsByServer.remove(server);
+         }
+      }
+      operationsByServer.forEach((server, chunk) -> channelFactory.fetchChannelAndInvoke(server, new ChannelBatch(chunk)));
+
+      CompletableFuture.allOf(operations.toArray(new CompletableFuture[0])).whenComplete((nil, throwable) -> {
+         if (throwable != null) {
+            completeExceptionally(throwable);
+         } else {
+            complete(null);
+         }
+      });
+      return this;
+   }
+
+   @Override
+   public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
+      throw new UnsupportedOperationException();
+   }
+
+   @Override
+   protected void addParams(StringBuilder sb) {
+      sb.append(", operations=").append(operations.size());
+   }
+
+   private class ChannelBatch implements ChannelOperation {
+      private final List<AbstractKeyOperation<?>> chunk;
+
+      private ChannelBatch(List<AbstractKeyOperation<?>> chunk) {
+         this.chunk = chunk;
+      }
+
+      @Override
+      public void invoke(Channel channel) {
+         try {
+            for (AbstractKeyOperation<?> operation : chunk) {
+               operation.executeOn(channel);
+            }
+         } finally {
+            channelFactory.releaseChannel(channel);
+         }
+      }
+
+      @Override
+      public void cancel(SocketAddress address, Throwable cause) {
+         // The channel couldn't be acquired, execute each operation separately so they can be retried
+         for (AbstractKeyOperation<?> operation : chunk) {
+            operation.execute();
+         }
+      }
+   }
+}
@@ -69,8 +69,11 @@ public void acceptResponse(ByteBuf buf, short status, HeaderDecoder decoder) {
       if (trace) {
          log.tracef("Received version: %d", version);
       }
-      V value = dataFormat.valueToObj(ByteBufUtil.readArray(buf), cfg.getClassWhiteList());
+      byte[] valueBytes = ByteBufUtil.readArray(buf);
+      V value = dataFormat.valueToObj(valueBytes, cfg.getClassWhiteList());
       statsDataRead(true);
-      complete(new MetadataValueImpl<V>(creation, lifespan, lastUsed, maxIdle, version, value));
+      // The size is used to weigh the entry in a near cache bounded by bytes, without marshalling it again
+      int serializedSize = valueBytes.length + (keyBytes == null ? 0 : keyBytes.length);
+      complete(new MetadataValueImpl<V>(creation, lifespan, lastUsed, maxIdle, version, value, serializedSize));
    }
 }
@@ -1,6 +1,7 @@
 package org.infinispan.client.hotrod.impl.operations;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -147,6 +148,10 @@ codec, channelFactory, map, cacheNameBytes, topologyId, flags(lifespan, maxIdle)
             lifespan, lifespanTimeUnit, maxIdle, maxIdleTimeUnit, dataFormat, clientStatistics);
    }
 
+   public BatchOperation newBatchOperation(List<AbstractKeyOperation<?>> operations) {
+      return new BatchOperation(codec, channelFactory, cacheNameBytes, topologyId, flags(), cfg, operations);
+   }
+
    public <V> PutIfAbsentOperation<V> newPutIfAbsentOperation(Object key, byte[] keyBytes, byte[] value,
                                                               long lifespan, TimeUnit lifespanUnit, long maxIdleTime,
                                                               TimeUnit maxIdleTimeUnit, DataFormat dataFormat) {
@@ -81,6 +81,23 @@ public void invoke(Channel channel) {
       }
    }
 
+   /**
+    * Executes the operation on a channel acquired and released by the caller, together with other operations. If the
+    * operation fails it is retried as usual, acquiring its own channel.
+    */
+   void executeOn(Channel channel) {
+      assert !isDone();
+      try {
+         currentClusterName = channelFactory.getCurrentClusterName();
+         if (trace) {
+            log.tracef("About to start executing operation %s on %s", this, channel);
+         }
+         executeOperation(channel);
+      } catch (Throwable t) {
+         completeExceptionally(t);
+      }
+   }
+
    @Override
    public void cancel(SocketAddress address, Throwable cause) {
       cause = handleException(cause, null, address);
@@ -1,5 +1,6 @@
 package org.infinispan.client.hotrod.impl.transaction;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -14,6 +15,7 @@
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.VersionedValue;
+import org.infinispan.client.hotrod.impl.RemoteCacheBatchImpl;
 import org.infinispan.client.hotrod.impl.RemoteCacheImpl;
 import org.infinispan.client.hotrod.impl.transaction.entry.TransactionEntry;
 import org.infinispan.client.hotrod.logging.Log;
@@ -95,6 +97,15 @@ public MetadataValue<V> getWithMetadata(K key) {
             txContext.computeSync(key, TransactionEntry::toMetadataValue, remoteGet);
    }
 
+   @Override
+   protected CompletableFuture<List<Object>> executeBatchAsync(RemoteCacheBatchImpl<K, V> batch) {
+      if (getRunningTransaction() != null) {
+         // the batch operations are sent directly to the servers, they can't be tracked by the transaction
+         throw new UnsupportedOperationException("Batches can't be executed in a transaction");
+      }
+      return super.executeBatchAsync(batch);
+   }
+
    @Override
    public CompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, long lifespan, TimeUnit lifespanUnit,
          long maxIdleTime,
@@ -34,6 +34,7 @@
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.JdkSslContext;
 import io.netty.handler.ssl.SslContext;
@@ -42,6 +43,7 @@
 import io.netty.handler.timeout.IdleStateHandler;
 
 class ChannelInitializer extends io.netty.channel.ChannelInitializer<Channel> {
+   static final String FLUSH_CONSOLIDATION_HANDLER = "flush-consolidation-handler";
    private static final CallbackHandler NOOP_HANDLER = callbacks -> {
    };
    private static Log log = LogFactory.getLog(ChannelInitializer.class);
@@ -96,6 +98,10 @@ protected void initChannel(Channel channel) throws Exception {
       } else {
          channel.pipeline().addLast(ActivationHandler.NAME, ActivationHandler.INSTANCE);
       }
+      // Operations sharing the channel write and flush their requests separately, so the flushes issued in the same
+      // event loop iteration (or while reading the responses) are consolidated into a single socket write
+      channel.pipeline().addLast(FLUSH_CONSOLIDATION_HANDLER, new FlushConsolidationHandler(
+            FlushConsolidationHandler.DEFAULT_EXPLICIT_FLUSH_AFTER_FLUSHES, true));
       channel.pipeline().addLast(HeaderDecoder.NAME, new HeaderDecoder(operationsFactory.getCodec(), channelFactory, configuration, operationsFactory.getListenerNotifier()));
       if (configuration.connectionPool().minEvictableIdleTime() > 0) {
          // This handler needs to be the last so that HeaderDecoder has the chance to cancel the idle event
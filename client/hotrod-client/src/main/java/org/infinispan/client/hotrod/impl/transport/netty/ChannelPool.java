@@ -31,12 +31,14 @@
  * It should be also more allocation-efficient since it does not create futures and invokes the callback directly
  * if the channel is available.
  *
- * The connections are handled LIFO, pending requests are handled FIFO.
+ * Acquiring picks the connection with the fewest requests waiting for a response, idle connections are handled LIFO.
+ * Pending requests are handled FIFO.
  */
 class ChannelPool {
    private static final AtomicIntegerFieldUpdater<TimeoutCallback> invokedUpdater = AtomicIntegerFieldUpdater.newUpdater(TimeoutCallback.class, "invoked");
    private static final Log log = LogFactory.getLog(ChannelPool.class);
-   private static final int MAX_FULL_CHANNELS_SEEN = 10;
+   private static final int MAX_CHANNELS_SCANNED = 10;
+   private static final int MAX_POLL_ATTEMPTS = 3;
 
    private final Deque<Channel> channels = PlatformDependent.newConcurrentDeque();
    private final Deque<ChannelOperation> callbacks = PlatformDependent.newConcurrentDeque();
@@ -67,22 +69,8 @@ public void acquire(ChannelOperation callback) {
          callback.cancel(address, new RejectedExecutionException("Pool was terminated"));
          return;
       }
-      Channel channel;
-      int fullChannelsSeen = 0;
-      while ((channel = channels.pollFirst()) != null) {
-         if (!channel.isActive()) {
-            // The channel was closed while idle but not removed - just forget it
-            continue;
-         }
-         if (!channel.isWritable() || channel.pipeline().get(HeaderDecoder.class).registeredOperations() >= maxPendingRequests) {
-            channels.addLast(channel);
-            // prevent looping on non-writable channels
-            if (++fullChannelsSeen < MAX_FULL_CHANNELS_SEEN) {
-               continue;
-            } else {
-               break;
-            }
-         }
+      Channel channel = pollLeastLoaded();
+      if (channel != null) {
          activateChannel(channel, callback, false);
          return;
       }
@@ -136,6 +124,49 @@ public void acquire(ChannelOperation callback) {
       activateChannel(channel, callback, false);
    }
 
+   /**
+    * Removes the writable channel with the fewest registered operations from the pool. Channels are scanned from the
+    * first one, so among channels without registered operations the most recently released one is picked.
+    *
+    * @return the channel, or {@code null} if all the scanned channels are full or not writable
+    */
+   private Channel pollLeastLoaded() {
+      for (int attempt = 0; attempt < MAX_POLL_ATTEMPTS; ++attempt) {
+         Channel leastLoaded = null;
+         int leastOperations = maxPendingRequests;
+         int scanned = 0;
+         for (Channel channel : channels) {
+            if (!channel.isActive()) {
+               // The channel was closed while idle but not removed - just forget it
+               channels.remove(channel);
+               continue;
+            }
+            if (channel.isWritable()) {
+               int operations = channel.pipeline().get(HeaderDecoder.class).registeredOperations();
+               if (operations < leastOperations) {
+                  leastOperations = operations;
+                  leastLoaded = channel;
+                  if (operations == 0) {
+                     break;
+                  }
+               }
+            }
+            // prevent scanning all the channels when there are many connections
+            if (++scanned >= MAX_CHANNELS_SCANNED) {
+               break;
+            }
+         }
+         if (leastLoaded == null) {
+            return null;
+         }
+         if (channels.remove(leastLoaded)) {
+            return leastLoaded;
+         }
+         // Another thread acquired the channel concurrently, scan again
+      }
+      return null;
+   }
+
    private void createAndInvoke(ChannelOperation callback) {
       try {
          newChannelInvoker.createChannel().whenComplete((channel, throwable) -> {
@@ -10,8 +10,6 @@
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.counter.impl.HotRodCounterEvent;
@@ -31,6 +29,8 @@
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.Signal;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
 
 public class HeaderDecoder extends HintedReplayingDecoder<HeaderDecoder.State> {
    private static final Log log = LogFactory.getLog(HeaderDecoder.class);
@@ -43,7 +43,10 @@ public class HeaderDecoder extends HintedReplayingDecoder<HeaderDecoder.State> {
    private final Configuration configuration;
    private final ClientListenerNotifier listenerNotifier;
    // operations may be registered in any thread, and are removed in event loop thread
-   private final ConcurrentMap<Long, HotRodOperation<?>> incomplete = new ConcurrentHashMap<>();
+   // guarded by this, the message ids are used as primitive keys to avoid boxing on each request and response
+   private final LongObjectMap<HotRodOperation<?>> incomplete = new LongObjectHashMap<>();
+   // size of incomplete, read without locking when selecting the least loaded channel
+   private volatile int registeredOperations;
    private final List<byte[]> listeners = new ArrayList<>();
    private volatile boolean closing;
 
@@ -72,7 +75,11 @@ public void registerOperation(Channel channel, HotRodOperation<?> operation) {
       if (closing) {
          throw log.noMoreOperationsAllowed();
       }
-      HotRodOperation<?> prev = incomplete.put(operation.header().messageId(), operation);
+      HotRodOperation<?> prev;
+      synchronized (this) {
+         prev = incomplete.put(operation.header().messageId(), operation);
+         registeredOperations = incomplete.size();
+      }
       assert prev == null : "Already registered: " + prev + ", new: " + operation;
       operation.scheduleTimeout(channel.eventLoop());
    }
@@ -90,15 +97,18 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) t
                   case CACHE_ENTRY_REMOVED_EVENT_RESPONSE:
                   case CACHE_ENTRY_EXPIRED_EVENT_RESPONSE:
                      if (codec.allowOperationsAndEvents()) {
-                        operation = messageId == 0 ? null : incomplete.get(messageId);
-                     } else if (incomplete.size() == 1) {
-                        operation = incomplete.values().iterator().next();
-                        messageId = operation.header().messageId();
-                     } else if (incomplete.size() > 1) {
-                        throw new IllegalStateException("Too many incomplete operations: " + incomplete);
+                        operation = messageId == 0 ? null : getOperation(messageId);
                      } else {
-                        operation = null;
-                        messageId = 0;
+                        HotRodOperation<?>[] operations = incompleteOperations();
+                        if (operations.length == 1) {
+                           operation = operations[0];
+                           messageId = operation.header().messageId();
+                        } else if (operations.length > 1) {
+                           throw new IllegalStateException("Too many incomplete operations: " + Arrays.toString(operations));
+                        } else {
+                           operation = null;
+                           messageId = 0;
+                        }
                      }
                      // The operation may be null even if the messageId was set: the server does not really wait
                      // until all events are sent, only until these are queued. In such case the operation may
@@ -123,7 +133,7 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) t
                   throw new IllegalStateException("Should be never reached");
                }
                // we can remove the operation at this point since we'll read no more in this state
-               operation = incomplete.remove(messageId);
+               operation = removeOperation(messageId);
                if (operation == null) {
                   throw log.unknownMessageId(messageId);
                }
@@ -204,7 +214,7 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
          operation.exceptionCaught(ctx, cause);
       } else {
          TransportException transportException = log.errorFromUnknownOperation(ctx.channel(), cause, ctx.channel().remoteAddress());
-         for (HotRodOperation<?> op : incomplete.values()) {
+         for (HotRodOperation<?> op : incompleteOperations()) {
             try {
                op.exceptionCaught(ctx, transportException);
             } catch (Throwable t) {
@@ -220,7 +230,7 @@ public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
 
    @Override
    public void channelInactive(ChannelHandlerContext ctx) {
-      for (HotRodOperation<?> op : incomplete.values()) {
+      for (HotRodOperation<?> op : incompleteOperations()) {
          try {
             op.channelInactive(ctx.channel());
          } catch (Throwable t) {
@@ -233,7 +243,21 @@ public void channelInactive(ChannelHandlerContext ctx) {
    }
 
    public CompletableFuture<Void> allCompleteFuture() {
-      return CompletableFuture.allOf(incomplete.values().toArray(new CompletableFuture[incomplete.size()]));
+      return CompletableFuture.allOf(incompleteOperations());
+   }
+
+   private synchronized HotRodOperation<?> getOperation(long messageId) {
+      return incomplete.get(messageId);
+   }
+
+   private synchronized HotRodOperation<?> removeOperation(long messageId) {
+      HotRodOperation<?> operation = incomplete.remove(messageId);
+      registeredOperations = incomplete.size();
+      return operation;
+   }
+
+   private synchronized HotRodOperation<?>[] incompleteOperations() {
+      return incomplete.values().toArray(new HotRodOperation<?>[0]);
    }
 
    @Override
@@ -245,7 +269,7 @@ public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exc
          });
       } else if (evt instanceof IdleStateEvent) {
          // If we have incomplete operations this channel is not idle!
-         if (!incomplete.isEmpty()) {
+         if (registeredOperations != 0) {
             return;
          }
       }
@@ -263,7 +287,7 @@ public void checkpoint() {
    }
 
    public int registeredOperations() {
-      return incomplete.size();
+      return registeredOperations;
    }
 
    public void addListener(byte[] listenerId) {
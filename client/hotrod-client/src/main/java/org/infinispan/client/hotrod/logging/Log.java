@@ -176,7 +176,7 @@ public interface Log extends BasicLogger {
    @Message(value = "Unable to read %s bytes %s", id = 4044)
    void unableToUnmarshallBytesError(String element, String bytes, @Cause Exception e);
 
-   @Message(value = "When enabling near caching, number of max entries must be configured", id = 4045)
+   @Message(value = "When enabling near caching, number of max entries or max bytes must be configured", id = 4045)
    CacheConfigurationException nearCacheMaxEntriesUndefined();
 
    @LogMessage(level = DEBUG)
@@ -318,4 +318,7 @@ public interface Log extends BasicLogger {
 
    @Message(value = "TransactionTable is not started!", id = 4089)
    HotRodClientException transactionTableNotStarted();
+
+   @Message(value = "Near cache max entries and max bytes can't be configured at the same time", id = 4090)
+   CacheConfigurationException nearCacheMaxEntriesAndMaxBytes();
 }
@@ -7,6 +7,7 @@
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
 
 /**
  * Near cache based on {@link BoundedConcurrentMapNearCache}
@@ -28,6 +29,16 @@ public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config)
       return new BoundedConcurrentMapNearCache<>(cache);
    }
 
+   /**
+    * Creates a near cache bounded by {@link NearCacheConfiguration#maxBytes()}, where the size of each entry is
+    * estimated by the given weigher.
+    */
+   public static <K, V> NearCache<K, V> create(final NearCacheConfiguration config,
+                                              Weigher<? super K, ? super MetadataValue<V>> weigher) {
+      Cache<K, MetadataValue<V>> cache = Caffeine.newBuilder().maximumWeight(config.maxBytes()).weigher(weigher).build();
+      return new BoundedConcurrentMapNearCache<>(cache);
+   }
+
    @Override
    public void put(K key, MetadataValue<V> value) {
       cache.put(key, value);
@@ -1,5 +1,6 @@
 package org.infinispan.client.hotrod.near;
 
+import org.infinispan.client.hotrod.DataFormat;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryExpired;
@@ -7,16 +8,20 @@
 import org.infinispan.client.hotrod.annotation.ClientCacheEntryRemoved;
 import org.infinispan.client.hotrod.annotation.ClientCacheFailover;
 import org.infinispan.client.hotrod.annotation.ClientListener;
+import org.infinispan.client.hotrod.configuration.Configuration;
 import org.infinispan.client.hotrod.configuration.NearCacheConfiguration;
 import org.infinispan.client.hotrod.event.ClientCacheEntryExpiredEvent;
 import org.infinispan.client.hotrod.event.ClientCacheEntryModifiedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheEntryRemovedEvent;
 import org.infinispan.client.hotrod.event.ClientCacheFailoverEvent;
 import org.infinispan.client.hotrod.event.impl.ClientListenerNotifier;
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.commons.util.Util;
 
+import com.github.benmanes.caffeine.cache.Weigher;
+
 /**
  * Near cache service, manages the lifecycle of the near cache.
  *
@@ -25,6 +30,8 @@
 public class NearCacheService<K, V> implements NearCache<K, V> {
    private static final Log log = LogFactory.getLog(NearCacheService.class);
    private static final boolean trace = log.isTraceEnabled();
+   // Estimated size of the near cache entry, metadata and map node, in addition to the key and the value
+   private static final int ENTRY_OVERHEAD = 96;
 
    private final NearCacheConfiguration config;
    private final ClientListenerNotifier listenerNotifier;
@@ -32,6 +39,7 @@
    private byte[] listenerId;
    private NearCache<K, V> cache;
    private Runnable invalidationCallback;
+   private Weigher<K, MetadataValue<V>> weigher;
 
    protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       this.config = config;
@@ -41,6 +49,9 @@ protected NearCacheService(NearCacheConfiguration config, ClientListenerNotifier
    public void start(RemoteCache<K, V> remote) {
       if (cache == null) {
          // Create near cache
+         if (config.maxBytes() > 0) {
+            weigher = createWeigher(remote);
+         }
          cache = createNearCache(config);
          // Add a listener that updates the near cache
          listener = new InvalidatedNearCacheListener<>(this);
@@ -61,11 +72,36 @@ public void stop(RemoteCache<K, V> remote) {
    }
 
    protected NearCache<K, V> createNearCache(NearCacheConfiguration config) {
+      if (config.maxBytes() > 0) {
+         return BoundedConcurrentMapNearCache.create(config, weigher);
+      }
       return config.maxEntries() > 0
             ? BoundedConcurrentMapNearCache.create(config)
             : ConcurrentMapNearCache.create();
    }
 
+   /**
+    * Estimates the size of the near cache entries from the size of their marshalled key and value. The entries read
+    * from the server carry the size of the bytes received, only the other entries are marshalled again.
+    */
+   private Weigher<K, MetadataValue<V>> createWeigher(RemoteCache<K, V> remote) {
+      DataFormat dataFormat = remote.getDataFormat();
+      Configuration configuration = remote.getRemoteCacheManager().getConfiguration();
+      int keySizeEstimate = configuration.keySizeEstimate();
+      int valueSizeEstimate = configuration.valueSizeEstimate();
+      return (key, value) -> {
+         int serializedSize = value instanceof MetadataValueImpl ? ((MetadataValueImpl<V>) value).getSerializedSize() : -1;
+         long size = ENTRY_OVERHEAD;
+         if (serializedSize >= 0) {
+            size += serializedSize;
+         } else {
+            size += dataFormat.keyToBytes(key, keySizeEstimate, valueSizeEstimate).length +
+                  dataFormat.valueToBytes(value.getValue(), keySizeEstimate, valueSizeEstimate).length;
+         }
+         return (int) Math.min(size, Integer.MAX_VALUE);
+      };
+   }
+
    public static <K, V> NearCacheService<K, V> create(
          NearCacheConfiguration config, ClientListenerNotifier listenerNotifier) {
       return new NearCacheService<>(config, listenerNotifier);
@@ -0,0 +1,95 @@
+package org.infinispan.client.hotrod;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+
+import org.infinispan.client.hotrod.test.MultiHotRodServersTest;
+import org.infinispan.configuration.cache.CacheMode;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link RemoteCacheBatch} with a distributed cache, so that the operations are sent to several servers.
+ *
+ * @since 10.0
+ */
+@Test(testName = "client.hotrod.RemoteCacheBatchTest", groups = "functional")
+public class RemoteCacheBatchTest extends MultiHotRodServersTest {
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createHotRodServers(3, hotRodCacheConfiguration(getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false)));
+   }
+
+   public void testPutsAndRemoves() {
+      RemoteCache<String, String> cache = client(0).getCache();
+      RemoteCacheBatch<String, String> batch = cache.batch();
+      for (int i = 0; i < 100; i++) {
+         batch.put("k" + i, "v" + i);
+      }
+      assertEquals(100, batch.size());
+      List<Object> results = batch.execute();
+      assertEquals(100, results.size());
+      for (int i = 0; i < 100; i++) {
+         assertEquals("v" + i, cache.get("k" + i));
+      }
+
+      batch = cache.batch();
+      for (int i = 0; i < 100; i += 2) {
+         batch.remove("k" + i);
+         batch.replace("k" + (i + 1), "w" + (i + 1));
+      }
+      batch.execute();
+      for (int i = 0; i < 100; i += 2) {
+         assertNull(cache.get("k" + i));
+         assertEquals("w" + (i + 1), cache.get("k" + (i + 1)));
+      }
+   }
+
+   public void testResultsWithForceReturnValue() {
+      RemoteCache<String, String> cache = client(0).getCache();
+      cache.put("prev", "v1");
+      List<Object> results = cache.withFlags(Flag.FORCE_RETURN_VALUE).batch()
+            .put("prev", "v2")
+            .remove("missing")
+            .put("new", "v3")
+            .execute();
+      assertEquals("v1", results.get(0));
+      assertNull(results.get(1));
+      assertNull(results.get(2));
+   }
+
+   public void testVersionedOperations() {
+      RemoteCache<String, String> cache = client(0).getCache();
+      cache.put("a", "a1");
+      cache.put("b", "b1");
+      long versionA = cache.getWithMetadata("a").getVersion();
+      long versionB = cache.getWithMetadata("b").getVersion();
+
+      List<Object> results = cache.batch()
+            .replaceWithVersion("a", "a2", versionA)
+            .removeWithVersion("b", versionB + 1)
+            .execute();
+      assertTrue((Boolean) results.get(0));
+      assertFalse((Boolean) results.get(1));
+      assertEquals("a2", cache.get("a"));
+      assertEquals("b1", cache.get("b"));
+   }
+
+   public void testEmptyBatch() {
+      RemoteCache<String, String> cache = client(0).getCache();
+      assertTrue(cache.batch().execute().isEmpty());
+   }
+
+   @Test(expectedExceptions = IllegalStateException.class)
+   public void testExecuteTwice() {
+      RemoteCache<String, String> cache = client(0).getCache();
+      RemoteCacheBatch<String, String> batch = cache.batch().put("k", "v");
+      batch.execute();
+      batch.execute();
+   }
+}
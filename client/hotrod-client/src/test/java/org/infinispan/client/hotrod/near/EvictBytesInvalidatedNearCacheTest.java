@@ -0,0 +1,50 @@
+package org.infinispan.client.hotrod.near;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.client.hotrod.DataFormat;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.client.hotrod.impl.MetadataValueImpl;
+import org.infinispan.client.hotrod.test.HotRodClientTestingUtil;
+import org.testng.annotations.Test;
+
+@Test(groups = "functional", testName = "client.hotrod.near.EvictBytesInvalidatedNearCacheTest")
+public class EvictBytesInvalidatedNearCacheTest extends EvictInvalidatedNearCacheTest {
+
+   private static final String VALUE = new String(new char[1000]).replace('\0', 'v');
+
+   @Override
+   protected <K, V> AssertsNearCache<K, V> createClient() {
+      ConfigurationBuilder builder = HotRodClientTestingUtil.newRemoteConfigurationBuilder();
+      builder.addServer().host("127.0.0.1").port(hotrodServer.getPort());
+      // Enough for two entries with 1000 characters values, but not three
+      builder.nearCache().mode(getNearCacheMode()).maxBytes(2500);
+      return AssertsNearCache.create(this.<byte[], Object>cache(), builder);
+   }
+
+   @Override
+   public void testEvictAfterReachingMax() {
+      assertClient.expectNoNearEvents();
+      assertClient.put(1, VALUE).expectNearPreemptiveRemove(1);
+      assertClient.put(2, VALUE).expectNearPreemptiveRemove(2);
+      assertClient.get(1, VALUE).expectNearGetNull(1).expectNearPutIfAbsent(1, VALUE);
+      assertClient.get(2, VALUE).expectNearGetNull(2).expectNearPutIfAbsent(2, VALUE);
+      assertClient.put(3, VALUE).expectNearPreemptiveRemove(3);
+      assertClient.get(3, VALUE).expectNearGetNull(3).expectNearPutIfAbsent(3, VALUE);
+
+      // Caffeine is not deterministic as to which one it evicts - so we just verify size
+      assertEquals(2, assertClient.nearCacheSize());
+   }
+
+   public void testEntrySizeFromRemoteRead() {
+      assertClient.expectNoNearEvents();
+      assertClient.put(1, VALUE).expectNearPreemptiveRemove(1);
+      assertClient.get(1, VALUE).expectNearGetNull(1).expectNearPutIfAbsent(1, VALUE);
+
+      // The near cache entry is weighed with the size of the bytes read from the server
+      DataFormat dataFormat = assertClient.remote.getDataFormat();
+      int expectedSize = dataFormat.keyToBytes(1, 64, 512).length + dataFormat.valueToBytes(VALUE, 64, 512).length;
+      MetadataValueImpl<String> entry = (MetadataValueImpl<String>) assertClient.nearCacheService.get().get(1);
+      assertEquals(expectedSize, entry.getSerializedSize());
+   }
+}
@@ -182,7 +182,7 @@ public void call() {
    }
 
    @Test(expectedExceptions = CacheConfigurationException.class,
-         expectedExceptionsMessageRegExp = ".*When enabling near caching, number of max entries must be configured.*")
+         expectedExceptionsMessageRegExp = ".*When enabling near caching, number of max entries or max bytes must be configured.*")
    public void testConfigurationWithoutMaxEntries() {
       ConfigurationBuilder builder = HotRodClientTestingUtil.newRemoteConfigurationBuilder(hotrodServer);
       builder.nearCache().mode(getNearCacheMode());
@@ -183,18 +183,12 @@ public boolean retainAll(IntSet set) {
       boolean modified = false;
       for (int i = 0; i < array.length(); ++i) {
          int posValue = array.get(i);
-         int offset = 1;
-         // We iterate through the current value by always checking the least significant bit and shifting right
-         // until the number finally reaches zero
-         while (posValue > 0) {
-            if ((posValue & 1) == 1) {
-               int ourValue = (i << ADDRESS_BITS_PER_INT) + offset - 1;
-               if (!set.contains(ourValue)) {
-                  modified |= remove(ourValue);
-               }
+         while (posValue != 0) {
+            int ourValue = (i << ADDRESS_BITS_PER_INT) + Integer.numberOfTrailingZeros(posValue);
+            if (!set.contains(ourValue)) {
+               modified |= remove(ourValue);
             }
-            posValue >>= 1;
-            offset += 1;
+            posValue &= posValue - 1;
          }
       }
       return modified;
@@ -261,17 +255,13 @@ public final Object[] toArray() {
 
       for (int i = 0; i < array.length(); ++i) {
          int value = array.get(i);
-         int offset = 1;
-         while (value > 0) {
-            if ((value & 1) == 1) {
-               if (index == size) {
-                  size += (size >>> 1) + 1;
-                  r = Arrays.copyOf(r, size);
-               }
-               r[index++] = (i << ADDRESS_BITS_PER_INT) + offset - 1;
+         while (value != 0) {
+            if (index == size) {
+               size += (size >>> 1) + 1;
+               r = Arrays.copyOf(r, size);
             }
-            value >>= 1;
-            offset += 1;
+            r[index++] = (i << ADDRESS_BITS_PER_INT) + Integer.numberOfTrailingZeros(value);
+            value &= value - 1;
          }
       }
 
@@ -388,17 +378,13 @@ public int[] toIntArray() {
 
       for (int i = 0; i < array.length(); ++i) {
          int value = array.get(i);
-         int offset = 1;
          while (value != 0) {
-            if ((value & 1) == 1) {
-               if (index == size) {
-                  size += (size >>> 1) + 1;
-                  r = Arrays.copyOf(r, size);
-               }
-               r[index++] = (i << ADDRESS_BITS_PER_INT) + offset - 1;
+            if (index == size) {
+               size += (size >>> 1) + 1;
+               r = Arrays.copyOf(r, size);
             }
-            value >>>= 1;
-            offset += 1;
+            r[index++] = (i << ADDRESS_BITS_PER_INT) + Integer.numberOfTrailingZeros(value);
+            value &= value - 1;
          }
       }
 
@@ -418,13 +404,9 @@ public void forEach(Consumer<? super Integer> action) {
    public void forEach(IntConsumer action) {
       for (int i = 0; i < array.length(); ++i) {
          int value = array.get(i);
-         int offset = 1;
          while (value != 0) {
-            if ((value & 1) == 1) {
-               action.accept((i << ADDRESS_BITS_PER_INT) + offset - 1);
-            }
-            value >>>= 1;
-            offset += 1;
+            action.accept((i << ADDRESS_BITS_PER_INT) + Integer.numberOfTrailingZeros(value));
+            value &= value - 1;
          }
       }
    }
@@ -443,16 +425,12 @@ public boolean removeIf(IntPredicate filter) {
       boolean modified = false;
       for (int i = 0; i < array.length(); ++i) {
          int value = array.get(i);
-         int offset = 1;
          while (value != 0) {
-            if ((value & 1) == 1) {
-               int ourValue = (i << ADDRESS_BITS_PER_INT) + offset - 1;
-               if (filter.test(ourValue)) {
-                  modified |= remove(ourValue);
-               }
+            int ourValue = (i << ADDRESS_BITS_PER_INT) + Integer.numberOfTrailingZeros(value);
+            if (filter.test(ourValue)) {
+               modified |= remove(ourValue);
             }
-            value >>>= 1;
-            offset += 1;
+            value &= value - 1;
          }
       }
       return modified;
@@ -296,6 +296,28 @@ public void testRetainAll2() throws Exception {
       assertEquals(Util.asSet(4, 7), intSet);
    }
 
+   @Test
+   public void testRetainAll64() throws Exception {
+      addRange64();
+
+      IntSet intSet2 = new SmallIntSet();
+      intSet2.add(4);
+      intSet2.add(31);
+      intSet2.add(63);
+
+      assertTrue(intSet.retainAll(intSet2));
+
+      assertEquals(Util.asSet(4, 31, 63), intSet);
+   }
+
+   @Test
+   public void testToArray64() throws Exception {
+      intSet.add(31);
+      intSet.add(63);
+      Object[] array = intSet.toArray();
+      assertArrayEquals(new Object[]{31, 63}, array);
+   }
+
    @Test
    public void testClear() throws Exception {
       intSet.add(1);
@@ -422,6 +422,13 @@ ComputeIfAbsentCommand buildComputeIfAbsentCommand(Object key, Function mappingF
     */
    StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type subtype, Address sender, int topologyId, IntSet segments);
 
+   /**
+    * Builds a StateRequestCommand used for starting an incremental transfer of cache entries, which skips the buckets
+    * of each segment that the sender already has.
+    */
+   StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type subtype, Address sender, int topologyId, IntSet segments,
+                                                Map<Integer, Long> matchingBuckets);
+
    /**
     * Builds a StateResponseCommand used for pushing cache entries to another node in response to a StateRequestCommand.
     */
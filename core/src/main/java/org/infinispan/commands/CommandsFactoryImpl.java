@@ -123,6 +123,9 @@
 import org.infinispan.stream.impl.intops.IntermediateOperation;
 import org.infinispan.transaction.xa.GlobalTransaction;
 import org.infinispan.util.ByteString;
+import org.infinispan.util.compression.CompressedPayload;
+import org.infinispan.util.compression.CompressionCodec;
+import org.infinispan.util.compression.StateCompressor;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 import org.infinispan.xsite.SingleXSiteRpcCommand;
@@ -150,6 +153,7 @@ public class CommandsFactoryImpl implements CommandsFactory {
    @Inject EmbeddedCacheManager cacheManager;
    @Inject @ComponentName(KnownComponentNames.INTERNAL_MARSHALLER)
    StreamingMarshaller marshaller;
+   @Inject StateCompressor stateCompressor;
    @Inject @ComponentName(KnownComponentNames.MODULE_COMMAND_INITIALIZERS)
    Map<Byte, ModuleCommandInitializer> moduleCommandInitializers;
 
@@ -354,8 +358,19 @@ public StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type sub
       return new StateRequestCommand(cacheName, subtype, sender, topologyId, segments);
    }
 
+   @Override
+   public StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type subtype, Address sender, int topologyId,
+                                                       IntSet segments, Map<Integer, Long> matchingBuckets) {
+      return new StateRequestCommand(cacheName, subtype, sender, topologyId, segments, matchingBuckets);
+   }
+
    @Override
    public StateResponseCommand buildStateResponseCommand(Address sender, int topologyId, Collection<StateChunk> stateChunks, boolean applyState, boolean pushTransfer) {
+      CompressionCodec codec = configuration.clustering().stateTransfer().compressionCodec();
+      if (codec != null) {
+         CompressedPayload compressedChunks = stateCompressor.compress(stateChunks, codec);
+         return new StateResponseCommand(cacheName, sender, topologyId, stateChunks, compressedChunks, applyState, pushTransfer);
+      }
       return new StateResponseCommand(cacheName, sender, topologyId, stateChunks, applyState, pushTransfer);
    }
 
@@ -58,10 +58,13 @@ public Object readAttributeValue(String enclosing, AttributeDefinition attribute
    public static final AttributeDefinition<Integer> INVALIDATION_BATCH_SIZE = AttributeDefinition.builder("invalidationBatchSize",  128).immutable().build();
    public static final AttributeDefinition<BiasAcquisition> BIAS_ACQUISITION = AttributeDefinition.builder("biasAcquisition", BiasAcquisition.ON_WRITE).immutable().build();
    public static final AttributeDefinition<Long> BIAS_LIFESPAN = AttributeDefinition.builder("biasLifespan", TimeUnit.MINUTES.toMillis(5)).immutable().build();
+   public static final AttributeDefinition<Long> CLUSTER_EVENT_COALESCE_WINDOW = AttributeDefinition.builder("clusterEventCoalesceWindow", 0L).immutable().build();
+   public static final AttributeDefinition<Integer> CLUSTER_EVENT_COALESCE_MAX_EVENTS = AttributeDefinition.builder("clusterEventCoalesceMaxEvents", 1024).immutable().build();
    private final List<ConfigurationInfo> elements;
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN);
+      return new AttributeSet(ClusteringConfiguration.class, CACHE_MODE, REMOTE_TIMEOUT, INVALIDATION_BATCH_SIZE, BIAS_ACQUISITION, BIAS_LIFESPAN,
+            CLUSTER_EVENT_COALESCE_WINDOW, CLUSTER_EVENT_COALESCE_MAX_EVENTS);
    }
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(CLUSTERING.getLocalName(), false);
@@ -144,6 +147,23 @@ public long biasLifespan() {
       return attributes.attribute(BIAS_LIFESPAN).get();
    }
 
+   /**
+    * The time in milliseconds during which the events for asynchronous cluster listeners on the same node are held, so
+    * that the events of several invocations are sent in a single command. 0 sends the events of every invocation
+    * separately.
+    */
+   public long clusterEventCoalesceWindow() {
+      return attributes.attribute(CLUSTER_EVENT_COALESCE_WINDOW).get();
+   }
+
+   /**
+    * The number of events for asynchronous cluster listeners on the same node after which the held events are sent
+    * before the {@link #clusterEventCoalesceWindow()} expires.
+    */
+   public int clusterEventCoalesceMaxEvents() {
+      return attributes.attribute(CLUSTER_EVENT_COALESCE_MAX_EVENTS).get();
+   }
+
    /**
     * Configure hash sub element
     */
@@ -3,6 +3,8 @@
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_ACQUISITION;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.BIAS_LIFESPAN;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.CACHE_MODE;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.CLUSTER_EVENT_COALESCE_MAX_EVENTS;
+import static org.infinispan.configuration.cache.ClusteringConfiguration.CLUSTER_EVENT_COALESCE_WINDOW;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.INVALIDATION_BATCH_SIZE;
 import static org.infinispan.configuration.cache.ClusteringConfiguration.REMOTE_TIMEOUT;
 
@@ -12,6 +14,7 @@
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.configuration.ConfigurationBuilderInfo;
 import org.infinispan.commons.configuration.ConfigurationInfo;
@@ -114,6 +117,25 @@ public ClusteringConfigurationBuilder biasLifespan(long l, TimeUnit unit) {
       return this;
    }
 
+   /**
+    * Holds the events for asynchronous cluster listeners on the same node for the given time, so that the events of
+    * several invocations are sent in a single command. Events for synchronous listeners are never held. Defaults to 0,
+    * which sends the events of every invocation separately.
+    */
+   public ClusteringConfigurationBuilder clusterEventCoalesceWindow(long l, TimeUnit unit) {
+      attributes.attribute(CLUSTER_EVENT_COALESCE_WINDOW).set(unit.toMillis(l));
+      return this;
+   }
+
+   /**
+    * Sends the held events for asynchronous cluster listeners on the same node once this many events are held, before
+    * the {@link #clusterEventCoalesceWindow(long, TimeUnit)} expires. Defaults to 1024.
+    */
+   public ClusteringConfigurationBuilder clusterEventCoalesceMaxEvents(int maxEvents) {
+      attributes.attribute(CLUSTER_EVENT_COALESCE_MAX_EVENTS).set(maxEvents);
+      return this;
+   }
+
    /**
     * Configure hash sub element
     */
@@ -170,6 +192,12 @@ void validate() {
       } else if (attributes.attribute(BIAS_ACQUISITION).get() == BiasAcquisition.ON_READ) {
          throw new UnsupportedOperationException("Not implemented yet");
       }
+      if (attributes.attribute(CLUSTER_EVENT_COALESCE_WINDOW).get() < 0) {
+         throw new CacheConfigurationException("The cluster event coalesce window must not be negative");
+      }
+      if (attributes.attribute(CLUSTER_EVENT_COALESCE_MAX_EVENTS).get() <= 0) {
+         throw new CacheConfigurationException("The cluster event coalesce max events must be positive");
+      }
    }
 
    @Override
@@ -20,11 +20,12 @@ public class ExpirationConfiguration implements Matchable<ExpirationConfiguratio
    public static final AttributeDefinition<Long> MAX_IDLE = AttributeDefinition.builder("maxIdle", -1l).build();
    public static final AttributeDefinition<Boolean> REAPER_ENABLED = AttributeDefinition.builder("reaperEnabled", true).immutable().autoPersist(false).build();
    public static final AttributeDefinition<Long> WAKEUP_INTERVAL = AttributeDefinition.builder("wakeUpInterval", TimeUnit.MINUTES.toMillis(1)).xmlName("interval").build();
+   public static final AttributeDefinition<Boolean> EXPIRY_INDEX = AttributeDefinition.builder("expiryIndex", false).immutable().build();
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(EXPIRATION.getLocalName());
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL);
+      return new AttributeSet(ExpirationConfiguration.class, LIFESPAN, MAX_IDLE, REAPER_ENABLED, WAKEUP_INTERVAL, EXPIRY_INDEX);
    }
 
    @Override
@@ -36,6 +37,7 @@ public ElementDefinition getElementDefinition() {
    private final Attribute<Long> maxIdle;
    private final Attribute<Boolean> reaperEnabled;
    private final Attribute<Long> wakeUpInterval;
+   private final Attribute<Boolean> expiryIndex;
    private final AttributeSet attributes;
 
    ExpirationConfiguration(AttributeSet attributes) {
@@ -44,6 +46,7 @@ public ElementDefinition getElementDefinition() {
       maxIdle = attributes.attribute(MAX_IDLE);
       reaperEnabled = attributes.attribute(REAPER_ENABLED);
       wakeUpInterval = attributes.attribute(WAKEUP_INTERVAL);
+      expiryIndex = attributes.attribute(EXPIRY_INDEX);
    }
 
    /**
@@ -84,6 +87,15 @@ public long wakeUpInterval() {
       return wakeUpInterval.get();
    }
 
+   /**
+    * Whether the data container keeps an index of the expiration times of its entries. When enabled, the reaper only
+    * looks at the entries that are due instead of iterating over the whole data container, at the cost of some
+    * memory and work for every write of an entry that can expire.
+    */
+   public boolean expiryIndex() {
+      return expiryIndex.get();
+   }
+
    @Override
    public String toString() {
       return "ExpirationConfiguration [attributes=" + attributes + "]";
@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import static org.infinispan.configuration.cache.ExpirationConfiguration.EXPIRY_INDEX;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.LIFESPAN;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.MAX_IDLE;
 import static org.infinispan.configuration.cache.ExpirationConfiguration.REAPER_ENABLED;
@@ -130,6 +131,16 @@ public ExpirationConfigurationBuilder wakeUpInterval(long l, TimeUnit unit) {
       return wakeUpInterval(unit.toMillis(l));
    }
 
+   /**
+    * Whether the data container keeps an index of the expiration times of its entries. When enabled, the reaper only
+    * looks at the entries that are due instead of iterating over the whole data container, at the cost of some
+    * memory and work for every write of an entry that can expire.
+    */
+   public ExpirationConfigurationBuilder expiryIndex(boolean enabled) {
+      attributes.attribute(EXPIRY_INDEX).set(enabled);
+      return this;
+   }
+
    @Override
    public void validate() {
    }
@@ -91,6 +91,14 @@ public int addressCount() {
       return memoryStorageConfiguration.addressCount();
    }
 
+   /**
+    * The type of allocator used to obtain native memory when storing entries off heap
+    * @return the configured allocator type
+    */
+   public OffHeapAllocatorType allocator() {
+      return memoryStorageConfiguration.allocator();
+   }
+
    @Override
    public boolean equals(Object o) {
       if (this == o) return true;
@@ -158,6 +158,29 @@ public int addressCount() {
       return memoryStorageConfigurationBuilder.addressCount();
    }
 
+   /**
+    * Configuration setting when using off-heap that defines how native memory is obtained for entries.
+    * {@link OffHeapAllocatorType#UNPOOLED} performs a native allocation for every entry, whereas
+    * {@link OffHeapAllocatorType#POOLED} carves entries out of larger slabs grouped by size class, which avoids
+    * a native call per write and reduces fragmentation of the native heap. This is only used when OFF_HEAP storage
+    * type is configured {@link MemoryConfigurationBuilder#storageType(StorageType)}.
+    * @param allocator the allocator type to use
+    * @return this
+    */
+   public MemoryConfigurationBuilder allocator(OffHeapAllocatorType allocator) {
+      memoryStorageConfigurationBuilder.allocator(allocator);
+      return this;
+   }
+
+   /**
+    * The off heap allocator type that is configured. See
+    * {@link MemoryConfigurationBuilder#allocator(OffHeapAllocatorType)} for more information.
+    * @return the configured allocator type
+    */
+   public OffHeapAllocatorType allocator() {
+      return memoryStorageConfigurationBuilder.allocator();
+   }
+
    @Override
    public void validate() {
       StorageType type = memoryStorageConfigurationBuilder.storageType();
@@ -14,13 +14,14 @@ public class MemoryStorageConfiguration implements ConfigurationInfo {
    public static final AttributeDefinition<EvictionType> EVICTION_TYPE = AttributeDefinition.builder("type", EvictionType.COUNT).xmlName(org.infinispan.configuration.parsing.Attribute.EVICTION.getLocalName()).build();
    public static final AttributeDefinition<EvictionStrategy> EVICTION_STRATEGY = AttributeDefinition.builder("strategy", EvictionStrategy.NONE).build();
    public static final AttributeDefinition<Integer> ADDRESS_COUNT = AttributeDefinition.builder("address-count", 1_048_576).build();
+   public static final AttributeDefinition<OffHeapAllocatorType> ALLOCATOR = AttributeDefinition.builder("allocator", OffHeapAllocatorType.UNPOOLED).immutable().build();
 
    private final AttributeSet attributes;
    private final StorageType storageType;
    private final ElementDefinition elementDefinition;
 
    static public AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(MemoryStorageConfiguration.class, SIZE, EVICTION_TYPE, EVICTION_STRATEGY, ADDRESS_COUNT);
+      return new AttributeSet(MemoryStorageConfiguration.class, SIZE, EVICTION_TYPE, EVICTION_STRATEGY, ADDRESS_COUNT, ALLOCATOR);
    }
 
    public MemoryStorageConfiguration(AttributeSet attributes, StorageType storageType) {
@@ -60,6 +61,10 @@ public int addressCount() {
       return attributes.attribute(ADDRESS_COUNT).get();
    }
 
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(ALLOCATOR).get();
+   }
+
    public void size(long newSize) {
       attributes.attribute(SIZE).set(newSize);
    }
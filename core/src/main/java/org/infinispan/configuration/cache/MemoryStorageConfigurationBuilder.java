@@ -1,6 +1,7 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.MemoryStorageConfiguration.ADDRESS_COUNT;
+import static org.infinispan.configuration.cache.MemoryStorageConfiguration.ALLOCATOR;
 import static org.infinispan.configuration.cache.MemoryStorageConfiguration.EVICTION_STRATEGY;
 import static org.infinispan.configuration.cache.MemoryStorageConfiguration.EVICTION_TYPE;
 import static org.infinispan.configuration.cache.MemoryStorageConfiguration.SIZE;
@@ -87,6 +88,15 @@ public int addressCount() {
       return attributes.attribute(ADDRESS_COUNT).get();
    }
 
+   public MemoryStorageConfigurationBuilder allocator(OffHeapAllocatorType allocator) {
+      attributes.attribute(ALLOCATOR).set(allocator);
+      return this;
+   }
+
+   public OffHeapAllocatorType allocator() {
+      return attributes.attribute(ALLOCATOR).get();
+   }
+
    @Override
    public void validate() {
       if (storageType != StorageType.OBJECT) {
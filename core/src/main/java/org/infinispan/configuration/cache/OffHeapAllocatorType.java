@@ -0,0 +1,20 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Enumeration defining how native memory is obtained when entries are stored off heap.
+ *
+ * @since 10.0
+ */
+public enum OffHeapAllocatorType {
+
+   /**
+    * Every entry is allocated directly from the native heap and released back to it when removed.
+    */
+   UNPOOLED,
+
+   /**
+    * Entries are allocated from slabs of native memory segregated by size class. Slabs are cached per thread group
+    * and released back to the native heap in the background once they no longer hold any entries.
+    */
+   POOLED
+}
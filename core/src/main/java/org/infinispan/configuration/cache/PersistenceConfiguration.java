@@ -22,8 +22,11 @@ public class PersistenceConfiguration implements Matchable<PersistenceConfigurat
    public static final AttributeDefinition<Integer> AVAILABILITY_INTERVAL = AttributeDefinition.builder("availabilityInterval", 1000).immutable().build();
    public static final AttributeDefinition<Integer> CONNECTION_ATTEMPTS = AttributeDefinition.builder("connectionAttempts", 10).immutable().build();
    public static final AttributeDefinition<Integer> CONNECTION_INTERVAL = AttributeDefinition.builder("connectionInterval", 50).immutable().build();
+   public static final AttributeDefinition<Long> WRITE_COALESCING_WINDOW = AttributeDefinition.builder("writeCoalescingWindow", 0L).immutable().build();
+   public static final AttributeDefinition<Integer> WRITE_COALESCING_SIZE = AttributeDefinition.builder("writeCoalescingSize", 128).immutable().build();
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(PersistenceConfiguration.class, PASSIVATION, AVAILABILITY_INTERVAL, CONNECTION_ATTEMPTS, CONNECTION_INTERVAL);
+      return new AttributeSet(PersistenceConfiguration.class, PASSIVATION, AVAILABILITY_INTERVAL, CONNECTION_ATTEMPTS, CONNECTION_INTERVAL,
+            WRITE_COALESCING_WINDOW, WRITE_COALESCING_SIZE);
    }
 
    static ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(PERSISTENCE.getLocalName());
@@ -32,6 +35,8 @@ static AttributeSet attributeDefinitionSet() {
    private final Attribute<Integer> availabilityInterval;
    private final Attribute<Integer> connectionAttempts;
    private final Attribute<Integer> connectionInterval;
+   private final Attribute<Long> writeCoalescingWindow;
+   private final Attribute<Integer> writeCoalescingSize;
    private final AttributeSet attributes;
    private final List<StoreConfiguration> stores;
    private final List<ConfigurationInfo> subElements = new ArrayList<>();
@@ -43,6 +48,8 @@ static AttributeSet attributeDefinitionSet() {
       this.availabilityInterval = attributes.attribute(AVAILABILITY_INTERVAL);
       this.connectionAttempts = attributes.attribute(CONNECTION_ATTEMPTS);
       this.connectionInterval = attributes.attribute(CONNECTION_INTERVAL);
+      this.writeCoalescingWindow = attributes.attribute(WRITE_COALESCING_WINDOW);
+      this.writeCoalescingSize = attributes.attribute(WRITE_COALESCING_SIZE);
       this.stores = stores;
       this.subElements.addAll(stores);
    }
@@ -77,6 +84,22 @@ public int connectionInterval() {
       return connectionInterval.get();
    }
 
+   /**
+    * The time, in milliseconds, that single entry writes to the non transactional stores are held back so that
+    * they can be written together with other concurrent writes as a single batch. 0 means writes are not coalesced.
+    */
+   public long writeCoalescingWindow() {
+      return writeCoalescingWindow.get();
+   }
+
+   /**
+    * The maximum number of coalesced writes after which they are written to the stores without waiting for the
+    * {@link #writeCoalescingWindow()} to elapse.
+    */
+   public int writeCoalescingSize() {
+      return writeCoalescingSize.get();
+   }
+
    public List<StoreConfiguration> stores() {
       return stores;
    }
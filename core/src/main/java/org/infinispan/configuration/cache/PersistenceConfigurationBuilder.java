@@ -4,6 +4,8 @@
 import static org.infinispan.configuration.cache.PersistenceConfiguration.CONNECTION_ATTEMPTS;
 import static org.infinispan.configuration.cache.PersistenceConfiguration.CONNECTION_INTERVAL;
 import static org.infinispan.configuration.cache.PersistenceConfiguration.PASSIVATION;
+import static org.infinispan.configuration.cache.PersistenceConfiguration.WRITE_COALESCING_SIZE;
+import static org.infinispan.configuration.cache.PersistenceConfiguration.WRITE_COALESCING_WINDOW;
 import static org.infinispan.configuration.parsing.Element.CLUSTER_LOADER;
 import static org.infinispan.configuration.parsing.Element.FILE_STORE;
 import static org.infinispan.configuration.parsing.Element.STORE;
@@ -130,6 +132,34 @@ public PersistenceConfigurationBuilder connectionInterval(int interval) {
       return this;
    }
 
+   /**
+    * @param window The time, in milliseconds, that single entry writes to the non transactional stores are held back
+    *               so that concurrent writes are written together through
+    *               `org.infinispan.persistence.spi.CacheWriter#bulkUpdate`, turning many small store updates into a
+    *               few larger ones. The write operations still complete only once their entries have been written.
+    *               0 (the default) disables coalescing.
+    */
+   public PersistenceConfigurationBuilder writeCoalescingWindow(long window) {
+      attributes.attribute(WRITE_COALESCING_WINDOW).set(window);
+      return this;
+   }
+
+   /**
+    * Same as {@link #writeCoalescingWindow(long)} with the window expressed in the given time unit.
+    */
+   public PersistenceConfigurationBuilder writeCoalescingWindow(long window, TimeUnit unit) {
+      return writeCoalescingWindow(unit.toMillis(window));
+   }
+
+   /**
+    * @param size The maximum number of coalesced writes, once reached they are written to the stores without waiting
+    *             for the {@link #writeCoalescingWindow(long)} to elapse.
+    */
+   public PersistenceConfigurationBuilder writeCoalescingSize(int size) {
+      attributes.attribute(WRITE_COALESCING_SIZE).set(size);
+      return this;
+   }
+
    /**
     * If true, data is written to the cache store only when it is evicted from memory, which is known as 'passivation'.
     * When the data is requested again it is activated, which returns the data to memory and removes it from the
@@ -215,6 +245,10 @@ public void validate() {
       }
       if (numFetchPersistentState > 1)
          throw log.onlyOneFetchPersistentStoreAllowed();
+      if (attributes.attribute(WRITE_COALESCING_WINDOW).get() < 0)
+         throw new CacheConfigurationException("writeCoalescingWindow can not be < 0");
+      if (attributes.attribute(WRITE_COALESCING_SIZE).get() <= 0)
+         throw new CacheConfigurationException("writeCoalescingSize can not be <= 0");
 
       // If a store is present, the reaper expiration thread must be enabled.
       if (!stores.isEmpty()) {
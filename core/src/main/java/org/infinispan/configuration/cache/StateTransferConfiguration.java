@@ -8,9 +8,12 @@
 import org.infinispan.commons.configuration.attributes.Attribute;
 import org.infinispan.commons.configuration.attributes.AttributeDefinition;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.configuration.attributes.ClassAttributeSerializer;
 import org.infinispan.commons.configuration.attributes.Matchable;
+import org.infinispan.commons.configuration.attributes.SimpleInstanceAttributeCopier;
 import org.infinispan.commons.configuration.elements.DefaultElementDefinition;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
+import org.infinispan.util.compression.CompressionCodec;
 
 /**
  * Configures how state is retrieved when a new cache joins the cluster.
@@ -23,17 +26,27 @@ public class StateTransferConfiguration implements Matchable<StateTransferConfig
    public static final AttributeDefinition<Boolean> FETCH_IN_MEMORY_STATE = AttributeDefinition.builder("fetchInMemoryState", true).xmlName("enabled").immutable().build();
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder("timeout", TimeUnit.MINUTES.toMillis(4)).immutable().build();
    public static final AttributeDefinition<Integer> CHUNK_SIZE = AttributeDefinition.builder("chunkSize", 512).immutable().build();
+   public static final AttributeDefinition<Integer> MAX_IN_FLIGHT_CHUNKS = AttributeDefinition.builder("maxInFlightChunks", 4).immutable().build();
+   public static final AttributeDefinition<CompressionCodec> COMPRESSION_CODEC = AttributeDefinition
+         .builder("compressionCodec", null, CompressionCodec.class)
+         .copier(SimpleInstanceAttributeCopier.INSTANCE)
+         .serializer(ClassAttributeSerializer.INSTANCE)
+         .immutable().build();
+   public static final AttributeDefinition<Boolean> INCREMENTAL = AttributeDefinition.builder("incremental", false).immutable().build();
 
    public static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(STATE_TRANSFER.getLocalName());
 
    static final AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER);
+      return new AttributeSet(StateTransferConfiguration.class, FETCH_IN_MEMORY_STATE, TIMEOUT, CHUNK_SIZE, AWAIT_INITIAL_TRANSFER, MAX_IN_FLIGHT_CHUNKS, COMPRESSION_CODEC, INCREMENTAL);
    }
 
    private final Attribute<Boolean> awaitInitialTransfer;
    private final Attribute<Boolean> fetchInMemoryState;
    private final Attribute<Long> timeout;
    private final Attribute<Integer> chunkSize;
+   private final Attribute<Integer> maxInFlightChunks;
+   private final Attribute<CompressionCodec> compressionCodec;
+   private final Attribute<Boolean> incremental;
    private final AttributeSet attributes;
 
    StateTransferConfiguration(AttributeSet attributes) {
@@ -42,6 +55,9 @@ static final AttributeSet attributeDefinitionSet() {
       fetchInMemoryState = attributes.attribute(FETCH_IN_MEMORY_STATE);
       timeout = attributes.attribute(TIMEOUT);
       chunkSize = attributes.attribute(CHUNK_SIZE);
+      maxInFlightChunks = attributes.attribute(MAX_IN_FLIGHT_CHUNKS);
+      compressionCodec = attributes.attribute(COMPRESSION_CODEC);
+      incremental = attributes.attribute(INCREMENTAL);
    }
 
    /**
@@ -81,6 +97,32 @@ public int chunkSize() {
       return chunkSize.get();
    }
 
+   /**
+    * The maximum number of chunks that are sent to the same node without waiting for the previous ones to be
+    * applied. The last chunk of a transfer is only sent after all the other chunks have been applied.
+    */
+   public int maxInFlightChunks() {
+      return maxInFlightChunks.get();
+   }
+
+   /**
+    * The codec used to compress the chunks of state sent to other nodes, or {@code null} if the state is not
+    * compressed.
+    */
+   public CompressionCodec compressionCodec() {
+      return compressionCodec.get();
+   }
+
+   /**
+    * If {@code true}, a joining node keeps the entries it already has (e.g. in a persistent store) and only receives
+    * the entries that differ from the ones of the previous owners. Conflict resolution also skips the entries that are
+    * the same on all the owners. The entries are compared by the hash codes of their keys, values and metadata, so the
+    * values should implement {@code hashCode()}.
+    */
+   public boolean incremental() {
+      return incremental.get();
+   }
+
    /**
     * If {@code true}, this will cause the first call to method {@code CacheManager.getCache()} on the joiner node to
     * block and wait until the joining is complete and the cache has finished receiving state from neighboring caches
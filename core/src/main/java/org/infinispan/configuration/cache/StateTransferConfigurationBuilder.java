@@ -2,7 +2,10 @@
 
 import static org.infinispan.configuration.cache.StateTransferConfiguration.AWAIT_INITIAL_TRANSFER;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.CHUNK_SIZE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.COMPRESSION_CODEC;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.FETCH_IN_MEMORY_STATE;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.INCREMENTAL;
+import static org.infinispan.configuration.cache.StateTransferConfiguration.MAX_IN_FLIGHT_CHUNKS;
 import static org.infinispan.configuration.cache.StateTransferConfiguration.TIMEOUT;
 
 import java.util.concurrent.TimeUnit;
@@ -14,6 +17,7 @@
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.util.compression.CompressionCodec;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -79,6 +83,35 @@ public StateTransferConfigurationBuilder chunkSize(int i) {
       return this;
    }
 
+   /**
+    * The maximum number of chunks that are sent to the same node without waiting for the previous ones to be
+    * applied. The last chunk of a transfer is only sent after all the other chunks have been applied.
+    */
+   public StateTransferConfigurationBuilder maxInFlightChunks(int i) {
+      attributes.attribute(MAX_IN_FLIGHT_CHUNKS).set(i);
+      return this;
+   }
+
+   /**
+    * Compresses the chunks of state sent to other nodes with the given codec. Unless it is a
+    * {@link org.infinispan.util.compression.DeflateCompressionCodec}, the codec must be configured for the cache on the
+    * receiving nodes too.
+    */
+   public StateTransferConfigurationBuilder compressionCodec(CompressionCodec codec) {
+      attributes.attribute(COMPRESSION_CODEC).set(codec);
+      return this;
+   }
+
+   /**
+    * If enabled, a joining node exchanges digests of its entries with the previous owners and only receives the
+    * entries that changed, instead of all the entries of its new segments. Conflict resolution uses the same digests to
+    * only compare the entries that differ between the owners. Useful when nodes restart with a persistent store.
+    */
+   public StateTransferConfigurationBuilder incremental(boolean incremental) {
+      attributes.attribute(INCREMENTAL).set(incremental);
+      return this;
+   }
+
    /**
     * This is the maximum amount of time - in milliseconds - to wait for state from neighboring
     * caches, before throwing an exception and aborting startup.
@@ -102,6 +135,10 @@ public void validate() {
          throw new CacheConfigurationException("chunkSize can not be <= 0");
       }
 
+      if (attributes.attribute(MAX_IN_FLIGHT_CHUNKS).get() <= 0) {
+         throw new CacheConfigurationException("maxInFlightChunks can not be <= 0");
+      }
+
       if (clustering().cacheMode().isInvalidation()) {
          Attribute<Boolean> fetchAttribute = attributes.attribute(FETCH_IN_MEMORY_STATE);
          if (fetchAttribute.isModified() && fetchAttribute.get()) {
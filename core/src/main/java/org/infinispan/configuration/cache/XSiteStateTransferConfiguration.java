@@ -8,9 +8,12 @@
 import org.infinispan.commons.configuration.attributes.Attribute;
 import org.infinispan.commons.configuration.attributes.AttributeDefinition;
 import org.infinispan.commons.configuration.attributes.AttributeSet;
+import org.infinispan.commons.configuration.attributes.ClassAttributeSerializer;
 import org.infinispan.commons.configuration.attributes.Matchable;
+import org.infinispan.commons.configuration.attributes.SimpleInstanceAttributeCopier;
 import org.infinispan.commons.configuration.elements.DefaultElementDefinition;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
+import org.infinispan.util.compression.CompressionCodec;
 
 /**
  * Configuration needed for State Transfer between different sites.
@@ -28,11 +31,16 @@ public class XSiteStateTransferConfiguration implements Matchable<XSiteStateTran
    public static final AttributeDefinition<Long> TIMEOUT = AttributeDefinition.builder("timeout", DEFAULT_TIMEOUT).build();
    public static final AttributeDefinition<Integer> MAX_RETRIES = AttributeDefinition.builder("maxRetries", DEFAULT_MAX_RETRIES).build();
    public static final AttributeDefinition<Long> WAIT_TIME = AttributeDefinition.builder("waitTime", DEFAULT_WAIT_TIME).build();
+   public static final AttributeDefinition<CompressionCodec> COMPRESSION_CODEC = AttributeDefinition
+         .builder("compressionCodec", null, CompressionCodec.class)
+         .copier(SimpleInstanceAttributeCopier.INSTANCE)
+         .serializer(ClassAttributeSerializer.INSTANCE)
+         .immutable().build();
 
    static final ElementDefinition ELEMENT_DEFINITION = new DefaultElementDefinition(STATE_TRANSFER.getLocalName());
 
    static AttributeSet attributeDefinitionSet() {
-      return new AttributeSet(XSiteStateTransferConfiguration.class, CHUNK_SIZE, TIMEOUT, MAX_RETRIES, WAIT_TIME);
+      return new AttributeSet(XSiteStateTransferConfiguration.class, CHUNK_SIZE, TIMEOUT, MAX_RETRIES, WAIT_TIME, COMPRESSION_CODEC);
    }
 
    @Override
@@ -44,6 +52,7 @@ public ElementDefinition getElementDefinition() {
    private final Attribute<Long> timeout;
    private final Attribute<Integer> maxRetries;
    private final Attribute<Long> waitTime;
+   private final Attribute<CompressionCodec> compressionCodec;
    private final AttributeSet attributes;
 
    public XSiteStateTransferConfiguration(AttributeSet attributes) {
@@ -52,6 +61,7 @@ public XSiteStateTransferConfiguration(AttributeSet attributes) {
       timeout = attributes.attribute(TIMEOUT);
       maxRetries = attributes.attribute(MAX_RETRIES);
       waitTime = attributes.attribute(WAIT_TIME);
+      compressionCodec = attributes.attribute(COMPRESSION_CODEC);
    }
 
    public int chunkSize() {
@@ -70,6 +80,10 @@ public long waitTime() {
       return waitTime.get();
    }
 
+   public CompressionCodec compressionCodec() {
+      return compressionCodec.get();
+   }
+
    @Override
    public boolean equals(Object obj) {
       if (this == obj)
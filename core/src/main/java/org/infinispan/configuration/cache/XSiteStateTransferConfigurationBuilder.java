@@ -1,6 +1,7 @@
 package org.infinispan.configuration.cache;
 
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.CHUNK_SIZE;
+import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.COMPRESSION_CODEC;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.ELEMENT_DEFINITION;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.MAX_RETRIES;
 import static org.infinispan.configuration.cache.XSiteStateTransferConfiguration.TIMEOUT;
@@ -11,6 +12,7 @@
 import org.infinispan.commons.configuration.attributes.AttributeSet;
 import org.infinispan.commons.configuration.elements.ElementDefinition;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.util.compression.CompressionCodec;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -92,6 +94,16 @@ public final XSiteStateTransferConfigurationBuilder waitTime(long waitingTimeBet
       return this;
    }
 
+   /**
+    * Compresses the state pushed to the backup site with the given codec. Unless it is a
+    * {@link org.infinispan.util.compression.DeflateCompressionCodec}, the codec must be configured for the cache on the
+    * nodes of the backup site too. By default, the state is not compressed.
+    */
+   public final XSiteStateTransferConfigurationBuilder compressionCodec(CompressionCodec codec) {
+      attributes.attribute(COMPRESSION_CODEC).set(codec);
+      return this;
+   }
+
    public final BackupConfigurationBuilder backup() {
       return backupConfigurationBuilder;
    }
@@ -18,6 +18,7 @@ public enum Attribute {
     ADDRESS_COUNT,
     AFTER,
     ALIASES,
+    ALLOCATOR,
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
     ASYNC_EXECUTOR("async-executor"),
     @Deprecated
@@ -33,7 +34,10 @@ public enum Attribute {
     CHUNK_SIZE,
     CLASS,
     CLUSTER,
+    CLUSTER_EVENT_COALESCE_MAX_EVENTS,
+    CLUSTER_EVENT_COALESCE_WINDOW,
     COMPLETED_TX_TIMEOUT("complete-timeout"),
+    COMPRESSION_CODEC,
     CONCURRENCY_LEVEL,
     CONFIGURATION,
     CONNECTION_ATTEMPTS,
@@ -51,6 +55,7 @@ public enum Attribute {
     @Deprecated
     EVICTION_EXECUTOR,
     EXPIRATION_EXECUTOR,
+    EXPIRY_INDEX,
     EXTENDS,
     FAIL_SILENTLY,
     FAILURE_POLICY_CLASS,
@@ -60,6 +65,7 @@ public enum Attribute {
     FRAGMENTATION_FACTOR,
     GROUP_NAME,
     ID,
+    INCREMENTAL,
     INDEX,
     INITIAL_CLUSTER_SIZE,
     INITIAL_CLUSTER_TIMEOUT,
@@ -85,6 +91,7 @@ public enum Attribute {
     MAX_BATCH_SIZE,
     MAX_ENTRIES,
     MAX_IDLE,
+    MAX_IN_FLIGHT_CHUNKS,
     MAX_RETRIES,
     MAX_THREADS,
     MBEAN_SERVER_LOOKUP,
@@ -169,6 +176,8 @@ public enum Attribute {
     VERSIONING_SCHEME("scheme"),
     WAIT_TIME,
     WHEN_SPLIT,
+    WRITE_COALESCING_SIZE,
+    WRITE_COALESCING_WINDOW,
     WRITE_SKEW_CHECK("write-skew"),
     ZERO_CAPACITY_NODE("zero-capacity-node")
     ;
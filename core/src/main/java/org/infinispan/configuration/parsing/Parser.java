@@ -49,6 +49,7 @@
 import org.infinispan.configuration.cache.InterceptorConfiguration;
 import org.infinispan.configuration.cache.InterceptorConfigurationBuilder;
 import org.infinispan.configuration.cache.MemoryConfigurationBuilder;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
 import org.infinispan.configuration.cache.PartitionHandlingConfigurationBuilder;
 import org.infinispan.configuration.cache.SecurityConfigurationBuilder;
 import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
@@ -1177,7 +1178,7 @@ private void parseSharedStateCacheElement(XMLExtendedStreamReader reader, Elemen
       ConfigurationBuilder builder = holder.getCurrentConfigurationBuilder();
       switch (element) {
          case STATE_TRANSFER: {
-            this.parseStateTransfer(reader, builder);
+            this.parseStateTransfer(reader, builder, holder.getClassLoader());
             break;
          }
          default: {
@@ -1186,14 +1187,14 @@ private void parseSharedStateCacheElement(XMLExtendedStreamReader reader, Elemen
       }
    }
 
-   private void parseBackups(XMLExtendedStreamReader reader, ConfigurationBuilder builder) throws XMLStreamException {
+   private void parseBackups(XMLExtendedStreamReader reader, ConfigurationBuilder builder, ClassLoader classLoader) throws XMLStreamException {
       // If backups is present then remove any existing backups as they were added by the default config.
       builder.sites().backups().clear();
       while (reader.hasNext() && (reader.nextTag() != XMLStreamConstants.END_ELEMENT)) {
          Element element = Element.forName(reader.getLocalName());
          switch (element) {
             case BACKUP: {
-               this.parseBackup(reader, builder);
+               this.parseBackup(reader, builder, classLoader);
                break;
             }
             default: {
@@ -1233,7 +1234,7 @@ private void parsePartitionHandling(XMLExtendedStreamReader reader, Configuratio
       ParseUtils.requireNoContent(reader);
    }
 
-   private void parseBackup(XMLExtendedStreamReader reader, ConfigurationBuilder builder) throws XMLStreamException {
+   private void parseBackup(XMLExtendedStreamReader reader, ConfigurationBuilder builder, ClassLoader classLoader) throws XMLStreamException {
       BackupConfigurationBuilder backup = builder.sites().addBackup();
       for (int i = 0; i < reader.getAttributeCount(); i++) {
          String value = reader.getAttributeValue(i);
@@ -1285,7 +1286,7 @@ private void parseBackup(XMLExtendedStreamReader reader, ConfigurationBuilder bu
                break;
             }
             case STATE_TRANSFER: {
-               this.parseXSiteStateTransfer(reader, backup);
+               this.parseXSiteStateTransfer(reader, backup, classLoader);
                break;
             }
             default: {
@@ -1316,7 +1317,7 @@ private void parseTakeOffline(XMLExtendedStreamReader reader, BackupConfiguratio
       ParseUtils.requireNoContent(reader);
    }
 
-   private void parseXSiteStateTransfer(XMLExtendedStreamReader reader, BackupConfigurationBuilder backup) throws XMLStreamException {
+   private void parseXSiteStateTransfer(XMLExtendedStreamReader reader, BackupConfigurationBuilder backup, ClassLoader classLoader) throws XMLStreamException {
       for (int i = 0; i < reader.getAttributeCount(); i++) {
          String value = reader.getAttributeValue(i);
          Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
@@ -1333,6 +1334,9 @@ private void parseXSiteStateTransfer(XMLExtendedStreamReader reader, BackupConfi
             case WAIT_TIME:
                backup.stateTransfer().waitTime(Long.parseLong(value));
                break;
+            case COMPRESSION_CODEC:
+               backup.stateTransfer().compressionCodec(Util.getInstance(value, classLoader));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1477,7 +1481,7 @@ protected void parseCacheElement(XMLExtendedStreamReader reader, Element element
             break;
          }
          case BACKUPS: {
-            this.parseBackups(reader, builder);
+            this.parseBackups(reader, builder, holder.getClassLoader());
             break;
          }
          case BACKUP_FOR: {
@@ -1570,6 +1574,9 @@ private void parseOffHeapMemoryAttributes(final XMLExtendedStreamReader reader,
             case ADDRESS_COUNT:
                memoryBuilder.addressCount(Integer.parseInt(value));
                break;
+            case ALLOCATOR:
+               memoryBuilder.allocator(OffHeapAllocatorType.valueOf(value));
+               break;
             case STRATEGY:
                memoryBuilder.evictionStrategy(EvictionStrategy.valueOf(value));
                break;
@@ -1916,6 +1923,10 @@ private void parseExpiration(XMLExtendedStreamReader reader, ConfigurationBuilde
                builder.expiration().wakeUpInterval(Long.parseLong(value));
                break;
             }
+            case EXPIRY_INDEX: {
+               builder.expiration().expiryIndex(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -2013,6 +2024,14 @@ private void parseClusteredCacheAttribute(XMLExtendedStreamReader reader,
             builder.clustering().remoteTimeout(Long.parseLong(value));
             break;
          }
+         case CLUSTER_EVENT_COALESCE_WINDOW: {
+            builder.clustering().clusterEventCoalesceWindow(Long.parseLong(value), TimeUnit.MILLISECONDS);
+            break;
+         }
+         case CLUSTER_EVENT_COALESCE_MAX_EVENTS: {
+            builder.clustering().clusterEventCoalesceMaxEvents(Integer.parseInt(value));
+            break;
+         }
          default: {
             this.parseCacheAttribute(reader, index, attribute, value, builder);
          }
@@ -2045,7 +2064,7 @@ private void parseReplicatedCache(XMLExtendedStreamReader reader, ConfigurationB
       holder.popScope();
    }
 
-   private void parseStateTransfer(XMLExtendedStreamReader reader, ConfigurationBuilder builder) throws XMLStreamException {
+   private void parseStateTransfer(XMLExtendedStreamReader reader, ConfigurationBuilder builder, ClassLoader classLoader) throws XMLStreamException {
       for (int i = 0; i < reader.getAttributeCount(); i++) {
          String value = reader.getAttributeValue(i);
          Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
@@ -2066,6 +2085,18 @@ private void parseStateTransfer(XMLExtendedStreamReader reader, ConfigurationBui
                builder.clustering().stateTransfer().chunkSize(Integer.parseInt(value));
                break;
             }
+            case MAX_IN_FLIGHT_CHUNKS: {
+               builder.clustering().stateTransfer().maxInFlightChunks(Integer.parseInt(value));
+               break;
+            }
+            case COMPRESSION_CODEC: {
+               builder.clustering().stateTransfer().compressionCodec(Util.getInstance(value, classLoader));
+               break;
+            }
+            case INCREMENTAL: {
+               builder.clustering().stateTransfer().incremental(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -2233,6 +2264,12 @@ private void parsePersistence(final XMLExtendedStreamReader reader, final Config
             case CONNECTION_INTERVAL:
                builder.persistence().connectionInterval(Integer.parseInt(value));
                break;
+            case WRITE_COALESCING_WINDOW:
+               builder.persistence().writeCoalescingWindow(Long.parseLong(value));
+               break;
+            case WRITE_COALESCING_SIZE:
+               builder.persistence().writeCoalescingSize(Integer.parseInt(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
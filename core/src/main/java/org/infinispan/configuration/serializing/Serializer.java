@@ -523,6 +523,8 @@ private void writeCommonClusteredCacheAttributes(XMLExtendedStreamWriter writer,
       ClusteringConfiguration clustering = configuration.clustering();
       writer.writeAttribute(Attribute.MODE, clustering.cacheMode().isSynchronous() ? "SYNC" : "ASYNC");
       clustering.attributes().write(writer, ClusteringConfiguration.REMOTE_TIMEOUT, Attribute.REMOTE_TIMEOUT);
+      clustering.attributes().write(writer, ClusteringConfiguration.CLUSTER_EVENT_COALESCE_WINDOW, Attribute.CLUSTER_EVENT_COALESCE_WINDOW);
+      clustering.attributes().write(writer, ClusteringConfiguration.CLUSTER_EVENT_COALESCE_MAX_EVENTS, Attribute.CLUSTER_EVENT_COALESCE_MAX_EVENTS);
    }
 
    private void writeCommonCacheAttributesElements(XMLExtendedStreamWriter writer, String name, Configuration configuration) throws XMLStreamException {
@@ -609,6 +611,7 @@ private void writeMemory(XMLExtendedStreamWriter writer, Configuration configura
          switch (memory.storageType()) {
             case OFF_HEAP:
                attributes.write(writer, MemoryStorageConfiguration.ADDRESS_COUNT, Attribute.ADDRESS_COUNT);
+               attributes.write(writer, MemoryStorageConfiguration.ALLOCATOR, Attribute.ALLOCATOR);
                attributes.write(writer, MemoryStorageConfiguration.EVICTION_STRATEGY, Attribute.STRATEGY);
                // fall through
             case BINARY:
@@ -643,6 +646,8 @@ private void writePersistence(XMLExtendedStreamWriter writer, Configuration conf
          attributes.write(writer, PersistenceConfiguration.AVAILABILITY_INTERVAL, Attribute.AVAILABILITY_INTERVAL);
          attributes.write(writer, PersistenceConfiguration.CONNECTION_ATTEMPTS, Attribute.CONNECTION_ATTEMPTS);
          attributes.write(writer, PersistenceConfiguration.CONNECTION_INTERVAL, Attribute.CONNECTION_INTERVAL);
+         attributes.write(writer, PersistenceConfiguration.WRITE_COALESCING_WINDOW, Attribute.WRITE_COALESCING_WINDOW);
+         attributes.write(writer, PersistenceConfiguration.WRITE_COALESCING_SIZE, Attribute.WRITE_COALESCING_SIZE);
          for (StoreConfiguration store : persistence.stores()) {
             writeStore(writer, store);
          }
@@ -693,6 +698,7 @@ private void writeBackup(XMLExtendedStreamWriter writer, Configuration configura
                stateTransfer.write(writer, XSiteStateTransferConfiguration.MAX_RETRIES, Attribute.MAX_RETRIES);
                stateTransfer.write(writer, XSiteStateTransferConfiguration.TIMEOUT, Attribute.TIMEOUT);
                stateTransfer.write(writer, XSiteStateTransferConfiguration.WAIT_TIME, Attribute.WAIT_TIME);
+               stateTransfer.write(writer, XSiteStateTransferConfiguration.COMPRESSION_CODEC, Attribute.COMPRESSION_CODEC);
                writer.writeEndElement();
             }
             AttributeSet takeOffline = backup.takeOffline().attributes();
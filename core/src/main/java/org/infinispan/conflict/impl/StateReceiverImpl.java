@@ -17,7 +17,9 @@
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.logging.Log;
 import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.IntSet;
 import org.infinispan.commons.util.IntSets;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.NullCacheEntry;
 import org.infinispan.container.impl.InternalDataContainer;
@@ -27,16 +29,23 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.notifications.Listener;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.notifications.cachelistener.annotation.DataRehashed;
 import org.infinispan.notifications.cachelistener.event.DataRehashedEvent;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.responses.SuccessfulResponse;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.impl.MapResponseCollector;
 import org.infinispan.statetransfer.InboundTransferTask;
+import org.infinispan.statetransfer.SegmentDigests;
 import org.infinispan.statetransfer.StateChunk;
+import org.infinispan.statetransfer.StateProvider;
+import org.infinispan.statetransfer.StateRequestCommand;
 import org.infinispan.topology.CacheTopology;
 
 /**
@@ -58,8 +67,11 @@
    @Inject RpcManager rpcManager;
    @Inject @ComponentName(STATE_TRANSFER_EXECUTOR)
    ExecutorService stateTransferExecutor;
+   @Inject Configuration configuration;
+   @Inject ComponentRef<StateProvider> stateProvider;
 
    private LimitedExecutor stateReceiverExecutor;
+   private boolean compareDigests;
 
    private final ConcurrentHashMap<Integer, SegmentRequest> requestMap = new ConcurrentHashMap<>();
 
@@ -67,6 +79,7 @@
    public void start() {
       cacheNotifier.addListener(this);
       stateReceiverExecutor = new LimitedExecutor("StateReceiver-" + cacheName, stateTransferExecutor, 1);
+      compareDigests = configuration.clustering().stateTransfer().incremental();
    }
 
    @Stop
@@ -167,11 +180,70 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
             }
          });
 
+         if (compareDigests && replicaHosts.size() > 1) {
+            requestDigests().whenCompleteAsync((matchingBuckets, t) -> {
+               if (t != null) {
+                  // Compare all the entries
+                  log.debugf(t, "Cache %s failed to compare the digests of segment %s", cacheName, segmentId);
+                  requestReplicas(0L);
+               } else {
+                  requestReplicas(matchingBuckets);
+               }
+            }, stateTransferExecutor);
+         } else {
+            requestReplicas(0L);
+         }
+         return future;
+      }
+
+      /**
+       * Compares the digests of the segment on all the replicas.
+       *
+       * @return a bitmask of the buckets that are the same on all the replicas
+       */
+      @SuppressWarnings("unchecked")
+      private CompletableFuture<Long> requestDigests() {
+         IntSet segments = IntSets.immutableSet(segmentId);
+         List<long[]> digests = new ArrayList<>(replicaHosts.size());
+         List<Address> remoteHosts = new ArrayList<>(replicaHosts);
+         if (remoteHosts.remove(rpcManager.getAddress())) {
+            digests.add(stateProvider.running().getSegmentDigests(segments).get(segmentId));
+         }
+         StateRequestCommand cmd = commandsFactory.buildStateRequestCommand(StateRequestCommand.Type.GET_SEGMENT_DIGESTS,
+               rpcManager.getAddress(), topology.getTopologyId(), segments);
+         return rpcManager.invokeCommand(remoteHosts, cmd, MapResponseCollector.validOnly(remoteHosts.size()),
+               rpcManager.getSyncRpcOptions()).toCompletableFuture().thenApply(responses -> {
+            for (Response response : responses.values()) {
+               if (!(response instanceof SuccessfulResponse))
+                  return 0L;
+
+               Map<Integer, long[]> remoteDigests = (Map<Integer, long[]>) ((SuccessfulResponse) response).getResponseValue();
+               digests.add(remoteDigests.get(segmentId));
+            }
+            return SegmentDigests.commonBuckets(digests);
+         });
+      }
+
+      /**
+       * Requests the entries of the segment from all the replicas, except the entries in the matching buckets.
+       */
+      private synchronized void requestReplicas(long matchingBuckets) {
+         if (future.isDone()) {
+            if (trace) log.tracef("Cache %s replicas request for segment %s was cancelled", cacheName, segmentId);
+            return;
+         }
+
+         if (matchingBuckets == SegmentDigests.ALL_BUCKETS) {
+            if (trace) log.tracef("Cache %s segment %s is the same on all replicas %s", cacheName, segmentId, replicaHosts);
+            completeRequest();
+            return;
+         }
+
          for (final Address replica : replicaHosts) {
             if (replica.equals(rpcManager.getAddress())) {
                dataContainer.forEach(entry -> {
                   int keySegment = topology.getDistribution(entry.getKey()).segmentId();
-                  if (keySegment == segmentId) {
+                  if (keySegment == segmentId && !SegmentDigests.isMatching(matchingBuckets, entry.getKey())) {
                      addKeyToReplicaMap(replica, entry);
                   }
                });
@@ -189,7 +261,10 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
                   if (!transferTaskMap.containsKey(replica))
                      return;
 
-                  transferTask.requestSegments().exceptionally(throwable -> {
+                  CompletableFuture<Void> transferFuture = matchingBuckets == 0L ?
+                        transferTask.requestSegments() :
+                        transferTask.requestSegments(Collections.singletonMap(segmentId, matchingBuckets));
+                  transferFuture.exceptionally(throwable -> {
                      if (trace) log.tracef(throwable, "Cache %s exception when processing InboundTransferTask", cacheName);
                      cancel(throwable);
                      return null;
@@ -197,7 +272,6 @@ synchronized CompletableFuture<List<Map<Address, CacheEntry<K, V>>>> requestStat
                });
             }
          }
-         return future;
       }
 
       synchronized void clear() {
@@ -8,6 +8,7 @@
 
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.offheap.OffHeapValueReader;
 import org.infinispan.metadata.Metadata;
 
 /**
@@ -53,6 +54,11 @@ public InternalCacheEntry<K, V> compute(int segment, K key, ComputeAction<K, V>
       return delegate().compute(segment, key, action);
    }
 
+   @Override
+   public <R> R readOffHeapValue(int segment, Object k, OffHeapValueReader<R> reader) {
+      return delegate().readOffHeapValue(segment, k, reader);
+   }
+
    @Override
    public void clear(IntSet segments) {
       delegate().clear(segments);
@@ -83,6 +89,11 @@ public void forEachIncludingExpired(ObjIntConsumer<? super InternalCacheEntry<K,
       delegate().forEachIncludingExpired(action);
    }
 
+   @Override
+   public void forEachExpirationCandidate(long currentTimeMillis, ObjIntConsumer<? super InternalCacheEntry<K, V>> action) {
+      delegate().forEachExpirationCandidate(currentTimeMillis, action);
+   }
+
    @Override
    public void forEach(IntSet segments, Consumer<? super InternalCacheEntry<K, V>> action) {
       delegate().forEach(segments, action);
@@ -19,6 +19,7 @@
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -32,8 +33,11 @@
 import org.infinispan.commons.util.IteratorMapper;
 import org.infinispan.commons.util.PeekableMap;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.ExpirationConfiguration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.offheap.OffHeapConcurrentMap;
+import org.infinispan.container.offheap.OffHeapValueReader;
 import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.eviction.PassivationManager;
@@ -79,6 +83,8 @@
    @Inject protected DataOperationOrderer orderer;
 
    protected boolean hasPassivation;
+   // Only present when expiration().expiryIndex() is enabled
+   protected ExpirationIndex<K> expirationIndex;
 
    protected final List<Consumer<Iterable<InternalCacheEntry<K, V>>>> listeners = new CopyOnWriteArrayList<>();
 
@@ -88,6 +94,12 @@
    @Start
    public void start() {
       hasPassivation = configuration.persistence().passivation();
+      ExpirationConfiguration expiration = configuration.expiration();
+      if (expiration.expiryIndex()) {
+         long tick = expiration.wakeUpInterval() > 0 ? expiration.wakeUpInterval() :
+               ExpirationConfiguration.WAKEUP_INTERVAL.getDefaultValue();
+         expirationIndex = new ExpirationIndex<>(tick, timeService.wallClockTime());
+      }
    }
 
    @Override
@@ -111,6 +123,15 @@ public InternalCacheEntry<K, V> get(Object k) {
       return get(getSegmentForKey(k), k);
    }
 
+   @Override
+   public <R> R readOffHeapValue(int segment, Object k, OffHeapValueReader<R> reader) {
+      Map<?, ?> map = getMapForSegment(segment);
+      if (map instanceof OffHeapConcurrentMap) {
+         return ((OffHeapConcurrentMap) map).readValue(k, reader);
+      }
+      return null;
+   }
+
    @Override
    public InternalCacheEntry<K, V> peek(int segment, Object k) {
       ConcurrentMap<K, InternalCacheEntry<K, V>> entries = getMapForSegment(segment);
@@ -162,6 +183,7 @@ public void put(int segment, K k, V v, Metadata metadata, long createdTimestamp,
             log.tracef("Store %s in container", copy);
 
          entries.put(k, copy);
+         indexExpiration(k, segment, copy);
       } else {
          log.tracef("Insertion attempted for key: %s but there was no map created for it at segment: %d", k, segment);
       }
@@ -199,6 +221,9 @@ public InternalCacheEntry<K, V> remove(int segment, Object k) {
          if (trace) {
             log.tracef("Removed %s from container", e);
          }
+         if (e != null) {
+            unindexExpiration(k);
+         }
 
          return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
       }
@@ -224,6 +249,7 @@ public CompletionStage<Void> evict(int segment, K key) {
          // - we don't need eviction manager either as it is handled in NotifyHelper
          evictionStageRef.set(handleEviction(entry, null, passivator.running(), null, this, null));
          computeEntryRemoved(o, entry);
+         unindexExpiration(o);
          return null;
       });
       return evictionStageRef.get();
@@ -243,9 +269,13 @@ public InternalCacheEntry<K, V> compute(int segment, K key, DataContainer.Comput
             return oldEntry;
          } else if (newEntry == null) {
             computeEntryRemoved(k, oldEntry);
+            if (oldEntry != null) {
+               unindexExpiration(k);
+            }
             return null;
          }
          computeEntryWritten(k, newEntry);
+         indexExpiration(k, segment, newEntry);
          if (trace)
             log.tracef("Store %s in container", newEntry);
          return newEntry;
@@ -265,6 +295,60 @@ public void clear(IntSet segments) {
             map.clear();
          }
       });
+      unindexExpirationForSegments(segments);
+   }
+
+   @Override
+   public void forEachExpirationCandidate(long currentTimeMillis, ObjIntConsumer<? super InternalCacheEntry<K, V>> action) {
+      if (expirationIndex == null) {
+         forEachIncludingExpired(action);
+         return;
+      }
+      expirationIndex.drainDue(currentTimeMillis, (key, segment) -> {
+         InternalCacheEntry<K, V> ice = peek(segment, key);
+         if (ice == null || !ice.canExpire()) {
+            // The entry was removed or replaced by an entry that never expires
+            return;
+         }
+         long expiryTime = ice.getExpiryTime();
+         if (expiryTime <= currentTimeMillis) {
+            action.accept(ice, segment);
+            // Check it again on the next run, in case the action did not remove it
+            expirationIndex.add(key, segment, currentTimeMillis + 1);
+         } else {
+            // The entry was touched or overwritten, reads and writes that expire later don't update the index
+            expirationIndex.add(key, segment, expiryTime);
+         }
+      });
+   }
+
+   private void indexExpiration(K key, int segment, InternalCacheEntry<K, V> entry) {
+      if (expirationIndex != null) {
+         if (entry.canExpire()) {
+            expirationIndex.add(key, segment, entry.getExpiryTime());
+         } else {
+            expirationIndex.remove(key);
+         }
+      }
+   }
+
+   /**
+    * Removes the expiration record of a key that was removed from the container.
+    */
+   protected void unindexExpiration(Object key) {
+      if (expirationIndex != null) {
+         expirationIndex.remove(key);
+      }
+   }
+
+   /**
+    * Removes the expiration records of the keys in the given segments, or of all keys if {@code segments} is
+    * {@code null}, after they were cleared from the container.
+    */
+   protected void unindexExpirationForSegments(IntSet segments) {
+      if (expirationIndex != null) {
+         expirationIndex.removeIf(segments == null ? segment -> true : segments::contains);
+      }
    }
 
    /**
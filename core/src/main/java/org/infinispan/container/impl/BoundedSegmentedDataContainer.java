@@ -90,6 +90,8 @@ public void write(K key, InternalCacheEntry<K, V> value) {
       @Override
       public void delete(K key, InternalCacheEntry<K, V> value, RemovalCause cause) {
          computeEntryRemoved(key, value);
+         // Evicted entries are not removed through remove()
+         unindexExpiration(key);
       }
    }
 
@@ -135,6 +137,7 @@ public InternalCacheEntry<K, V> peek(int segment, Object k) {
    @Override
    public void clear() {
       entries.clear();
+      unindexExpirationForSegments(null);
    }
 
    @Override
@@ -215,6 +218,9 @@ private void clear(IntSet segments, boolean keepSegments) {
             keyIterator.remove();
          }
       }
+      if (expirationIndex != null) {
+         expirationIndex.removeIf(segment -> keepSegments != segments.contains(segment));
+      }
    }
 
    @Override
@@ -162,6 +162,7 @@ public void clear(IntSet segments) {
          iter.next();
          iter.remove();
       }
+      unindexExpirationForSegments(segments);
    }
 
    @Stop
@@ -169,6 +170,7 @@ public void clear(IntSet segments) {
    public void clear() {
       log.tracef("Clearing data container");
       entries.clear();
+      unindexExpirationForSegments(null);
    }
 
    @Override
@@ -213,6 +213,7 @@ public void clear() {
             map.clear();
          }
       }
+      unindexExpirationForSegments(null);
    }
 
    @Override
@@ -263,6 +264,7 @@ public void removeSegments(IntSet segments) {
             int segment = segmentIterator.nextInt();
             stopMap(segment, true);
          }
+         unindexExpirationForSegments(segments);
       }
    }
 
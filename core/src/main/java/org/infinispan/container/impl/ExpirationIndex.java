@@ -0,0 +1,151 @@
+package org.infinispan.container.impl;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Timing wheel that records when the entries of a data container expire, so that the expiration reaper only has to
+ * look at the entries that are due instead of iterating over the whole container.
+ * <p>
+ * Every slot of the wheel covers {@code tickMillis} milliseconds and the wheel wraps around after
+ * {@link #SLOTS} ticks, so a slot may also hold records that are due in a later round. The index keeps at most one
+ * record per key: a write that expires later than the existing record keeps it, and the data container re-indexes the
+ * entry with its current expiry time when the record comes due.
+ *
+ * @since 10.0
+ */
+final class ExpirationIndex<K> {
+   static final int SLOTS = 512;
+
+   private final long tickMillis;
+   private final Set<Record<K>>[] slots;
+   private final ConcurrentMap<Object, Record<K>> records = new ConcurrentHashMap<>();
+   // The last tick processed by the reaper, the slot of this tick is processed again by the next drain
+   private volatile long currentTick;
+
+   @SuppressWarnings("unchecked")
+   ExpirationIndex(long tickMillis, long currentTimeMillis) {
+      this.tickMillis = tickMillis;
+      this.slots = new Set[SLOTS];
+      for (int i = 0; i < SLOTS; i++) {
+         slots[i] = ConcurrentHashMap.newKeySet();
+      }
+      this.currentTick = currentTimeMillis / tickMillis;
+   }
+
+   /**
+    * Records that the entry with the given key expires at the given time.
+    */
+   void add(K key, int segment, long expiryTime) {
+      records.compute(key, (k, existing) -> {
+         if (existing != null) {
+            if (existing.expiryTime <= expiryTime) {
+               // The existing record comes due first
+               return existing;
+            }
+            slotFor(existing.tick).remove(existing);
+         }
+         Record<K> record = new Record<>(key, segment, expiryTime);
+         link(record, Math.max(expiryTime / tickMillis, currentTick));
+         return record;
+      });
+   }
+
+   /**
+    * Removes the record of the given key, if any.
+    */
+   void remove(Object key) {
+      Record<K> record = records.remove(key);
+      if (record != null) {
+         slotFor(record.tick).remove(record);
+      }
+   }
+
+   /**
+    * Removes the records of all the keys in the segments matching the filter.
+    */
+   void removeIf(IntPredicate segmentFilter) {
+      for (Record<K> record : records.values()) {
+         if (segmentFilter.test(record.segment) && records.remove(record.key, record)) {
+            slotFor(record.tick).remove(record);
+         }
+      }
+   }
+
+   /**
+    * @return the number of keys with a record in the index.
+    */
+   int size() {
+      return records.size();
+   }
+
+   /**
+    * Invokes the consumer for every record that is due at the given time and removes it from the index.
+    */
+   synchronized void drainDue(long currentTimeMillis, ExpiredConsumer<K> consumer) {
+      long previousTick = currentTick;
+      long nowTick = currentTimeMillis / tickMillis;
+      if (nowTick < previousTick) {
+         nowTick = previousTick;
+      }
+      currentTick = nowTick;
+      long ticks = Math.min(nowTick - previousTick + 1, SLOTS);
+      for (long tick = nowTick - ticks + 1; tick <= nowTick; tick++) {
+         for (Iterator<Record<K>> iterator = slotFor(tick).iterator(); iterator.hasNext(); ) {
+            Record<K> record = iterator.next();
+            if (record.expiryTime <= currentTimeMillis) {
+               if (records.remove(record.key, record)) {
+                  // The record may have been moved to a later slot by add() in the meantime
+                  slotFor(record.tick).remove(record);
+                  consumer.accept(record.key, record.segment);
+               } else {
+                  // Replaced or removed concurrently
+                  iterator.remove();
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * Must be invoked while holding the mapping of the record's key in {@link #records}.
+    */
+   private void link(Record<K> record, long tick) {
+      record.tick = tick;
+      slotFor(tick).add(record);
+      long tickAfter = currentTick;
+      while (tickAfter > record.tick) {
+         // The reaper moved past the slot while we were adding the record and may have missed it, move it to the
+         // current slot
+         slotFor(record.tick).remove(record);
+         record.tick = tickAfter;
+         slotFor(tickAfter).add(record);
+         tickAfter = currentTick;
+      }
+   }
+
+   private Set<Record<K>> slotFor(long tick) {
+      return slots[(int) (tick % SLOTS)];
+   }
+
+   @FunctionalInterface
+   interface ExpiredConsumer<K> {
+      void accept(K key, int segment);
+   }
+
+   private static final class Record<K> {
+      final K key;
+      final int segment;
+      final long expiryTime;
+      volatile long tick;
+
+      Record(K key, int segment, long expiryTime) {
+         this.key = key;
+         this.segment = segment;
+         this.expiryTime = expiryTime;
+      }
+   }
+}
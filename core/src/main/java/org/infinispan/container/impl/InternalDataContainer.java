@@ -10,6 +10,7 @@
 import org.infinispan.commons.util.IntSets;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.offheap.OffHeapValueReader;
 import org.infinispan.metadata.Metadata;
 import org.reactivestreams.Publisher;
 
@@ -211,6 +212,21 @@ default void forEach(IntSet segments, Consumer<? super InternalCacheEntry<K, V>>
     */
    void forEachIncludingExpired(ObjIntConsumer<? super InternalCacheEntry<K, V>> action);
 
+   /**
+    * Performs the given action for each element of the container that may be expired at the given time. The action
+    * is invoked with entries that are not expired as well, so it must check the expiration itself.
+    * <p>
+    * The default implementation invokes the action for every entry, just like
+    * {@link #forEachIncludingExpired(ObjIntConsumer)}. Containers that keep an index of the expiration times of their
+    * entries only invoke the action for the entries that are due.
+    * @param currentTimeMillis the current wall clock time
+    * @param action The action to be performed for each candidate
+    * @throws NullPointerException if the specified action is null
+    */
+   default void forEachExpirationCandidate(long currentTimeMillis, ObjIntConsumer<? super InternalCacheEntry<K, V>> action) {
+      forEachIncludingExpired(action);
+   }
+
    /**
     * Sets what segments this data container should be using. Already associated segments are unaffected by this and
     * takes a union of existing and new segments.
@@ -244,6 +260,21 @@ default void forEach(IntSet segments, Consumer<? super InternalCacheEntry<K, V>>
     */
    void removeRemovalListener(Object listener);
 
+   /**
+    * Reads the value of the entry for the given key directly from off-heap memory, if the container stores its entries
+    * off-heap. This doesn't create the entry on the heap, and like {@link #get(int, Object)} it updates the eviction
+    * order of the entry.
+    * @param segment segment for the key
+    * @param k key under which entry is stored
+    * @param reader reader of the value memory
+    * @param <R> the type of the result
+    * @return the result of the reader, or null if the entry doesn't exist, is expired or can't be read in place, in
+    * which case it must be retrieved with {@link #get(int, Object)}
+    */
+   default <R> R readOffHeapValue(int segment, Object k, OffHeapValueReader<R> reader) {
+      return null;
+   }
+
    /**
     * Method used to cleanup any pending data, such as evictions
     */
@@ -166,10 +166,12 @@ public void clear(IntSet segments) {
          IntSet finalExtraSegments = extraSegments;
          nonOwnedEntries.keySet().removeIf(k -> finalExtraSegments.contains(getSegmentForKey(k)));
       }
+      unindexExpirationForSegments(segments);
    }
 
    @Override
    public void removeSegments(IntSet segments) {
+      nonOwnedEntries.keySet().forEach(this::unindexExpiration);
       nonOwnedEntries.clear();
       super.removeSegments(segments);
    }
@@ -47,6 +47,7 @@ public class OffHeapConcurrentMap implements ConcurrentMap<WrappedBytes, Interna
    private final OffHeapEntryFactory offHeapEntryFactory;
 
    private final EntryListener listener;
+   private final boolean optimisticReads;
 
    // Objects modified from start/stop
    private MemoryAddressHash memoryLookup;
@@ -103,6 +104,12 @@ private void entryCreated(long newAddress) {
    }
 
    private void entryRemoved(long removedAddress) {
+      // Optimistic readers may still be reading the address, so wait for them before it is released
+      locks.awaitOptimisticReaders(offHeapEntryFactory.getHashCode(removedAddress));
+      releaseRemoved(removedAddress);
+   }
+
+   private void releaseRemoved(long removedAddress) {
       if (listener != null) {
          listener.entryRemoved(removedAddress);
       } else {
@@ -111,6 +118,7 @@ private void entryRemoved(long removedAddress) {
    }
 
    private void entryReplaced(long newAddress, long oldAddress) {
+      locks.awaitOptimisticReaders(offHeapEntryFactory.getHashCode(oldAddress));
       if (listener != null) {
          listener.entryReplaced(newAddress, oldAddress);
       } else {
@@ -126,9 +134,19 @@ private void entryRetrieved(long entryAddress) {
 
    public OffHeapConcurrentMap(int desiredSize, OffHeapMemoryAllocator allocator,
          OffHeapEntryFactory offHeapEntryFactory, EntryListener listener) {
+      this(desiredSize, allocator, offHeapEntryFactory, listener, true);
+   }
+
+   /**
+    * @param optimisticReads whether reads should first be attempted without acquiring the read lock, only
+    *                        acquiring it if a concurrent write was detected
+    */
+   OffHeapConcurrentMap(int desiredSize, OffHeapMemoryAllocator allocator,
+         OffHeapEntryFactory offHeapEntryFactory, EntryListener listener, boolean optimisticReads) {
       this.allocator = Objects.requireNonNull(allocator);
       this.offHeapEntryFactory = Objects.requireNonNull(offHeapEntryFactory);
       this.listener = listener;
+      this.optimisticReads = optimisticReads;
 
       // Since these are segmented now, just use # of processors instead
       lockCount = Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors() << 1);
@@ -231,7 +249,26 @@ public boolean containsKey(Object key) {
       if (!(key instanceof WrappedBytes)) {
          return false;
       }
-      Lock lock = locks.getLock(key).readLock();
+      int hashCode = key.hashCode();
+      // Don't even register as a reader if a write is in progress, so writers aren't delayed by failing readers
+      if (optimisticReads && (locks.tryOptimisticRead(hashCode) & 1) == 0) {
+         int readerIndex = locks.enterOptimisticRead(hashCode);
+         try {
+            long stamp = locks.tryOptimisticRead(hashCode);
+            if ((stamp & 1) == 0) {
+               checkDeallocation();
+               long bucketAddress = memoryLookup.getMemoryAddress(key);
+               long actualAddress = bucketAddress == 0 ? 0 : performGet(bucketAddress, (WrappedBytes) key);
+               boolean contains = actualAddress != 0 && !offHeapEntryFactory.isExpired(actualAddress);
+               if (locks.validate(hashCode, stamp)) {
+                  return contains;
+               }
+            }
+         } finally {
+            locks.exitOptimisticRead(readerIndex);
+         }
+      }
+      Lock lock = locks.getLockFromHashCode(hashCode).readLock();
       lock.lock();
       try {
          checkDeallocation();
@@ -259,7 +296,26 @@ public boolean containsValue(Object value) {
    }
 
    private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k, boolean peek) {
-      Lock lock = locks.getLock(k).readLock();
+      // The retrieval notification requires the read lock as the entry could be released right after validating
+      int hashCode = k.hashCode();
+      if (optimisticReads && (peek || listener == null) && (locks.tryOptimisticRead(hashCode) & 1) == 0) {
+         int readerIndex = locks.enterOptimisticRead(hashCode);
+         try {
+            long stamp = locks.tryOptimisticRead(hashCode);
+            if ((stamp & 1) == 0) {
+               checkDeallocation();
+               long bucketAddress = memoryLookup.getMemoryAddress(k);
+               long actualAddress = bucketAddress == 0 ? 0 : performGet(bucketAddress, k);
+               if (locks.validate(hashCode, stamp)) {
+                  // Entry contents are never modified and the entry can't be released until we exit the read
+                  return actualAddress == 0 ? null : offHeapEntryFactory.fromMemory(actualAddress);
+               }
+            }
+         } finally {
+            locks.exitOptimisticRead(readerIndex);
+         }
+      }
+      Lock lock = locks.getLockFromHashCode(hashCode).readLock();
       lock.lock();
       try {
          checkDeallocation();
@@ -282,6 +338,43 @@ private InternalCacheEntry<WrappedBytes, WrappedBytes> peekOrGet(WrappedBytes k,
       return null;
    }
 
+   /**
+    * Reads the value of the entry for the given key in place, without creating the entry on the heap. The read lock is
+    * held while the reader runs, so the value can't be released until it returns.
+    * @param key the key of the entry
+    * @param reader the reader of the value memory
+    * @param <R> the type of the result
+    * @return the result of the reader or {@code null} if the key isn't present, is expired or its value can't be
+    * read in place, in which case the entry must be retrieved with {@link #get(Object)}
+    */
+   public <R> R readValue(Object key, OffHeapValueReader<R> reader) {
+      if (!(key instanceof WrappedBytes)) {
+         return null;
+      }
+      WrappedBytes k = (WrappedBytes) key;
+      Lock lock = locks.getLockFromHashCode(k.hashCode()).readLock();
+      lock.lock();
+      try {
+         checkDeallocation();
+         long bucketAddress = memoryLookup.getMemoryAddress(k);
+         if (bucketAddress == 0) {
+            return null;
+         }
+         long actualAddress = performGet(bucketAddress, k);
+         if (actualAddress == 0 || offHeapEntryFactory.isExpired(actualAddress)) {
+            return null;
+         }
+         long valueAddress = offHeapEntryFactory.getValueAddress(actualAddress);
+         if (valueAddress == 0) {
+            return null;
+         }
+         entryRetrieved(actualAddress);
+         return reader.read(valueAddress, offHeapEntryFactory.getValueLength(actualAddress));
+      } finally {
+         lock.unlock();
+      }
+   }
+
    /**
     * Gets the actual address for the given key in the given bucket or 0 if it isn't present or expired
     * @param bucketHeadAddress the starting address of the address hash
@@ -507,10 +600,11 @@ public void clear() {
          if (trace) {
             log.trace("Clearing off heap data");
          }
+         locks.awaitAllOptimisticReaders();
          memoryLookup.toStreamRemoved().forEach(address -> {
             while (address != 0) {
                long nextAddress = offHeapEntryFactory.getNext(address);
-               entryRemoved(address);
+               releaseRemoved(address);
                address = nextAddress;
             }
          });
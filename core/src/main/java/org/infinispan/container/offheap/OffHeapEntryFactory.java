@@ -82,6 +82,22 @@ public interface OffHeapEntryFactory extends KeyValueMetadataSizeCalculator<Wrap
     */
    boolean isExpired(long address);
 
+   /**
+    * Returns the address of the value of the entry, if it can be read without updating the entry. Entries with custom
+    * metadata or a max idle can't, as reading them must go through {@link #fromMemory(long)} so that their metadata
+    * is interpreted or their last access time is updated.
+    * @param address the address of the entry
+    * @return the address of the first byte of the value or 0 if the value can't be read in place
+    */
+   long getValueAddress(long address);
+
+   /**
+    * Returns the length of the value of the entry.
+    * @param address the address of the entry
+    * @return the length of the value in bytes
+    */
+   int getValueLength(long address);
+
    /**
     * Method used to calculate how much memory in size the key, value and metadata use.
     * @param key The key for this entry to be used in size calculation
@@ -204,7 +204,7 @@ public long getSize(long entryAddress, boolean includeAllocationOverhead) {
       headerOffset += 4;
 
       int size = headerOffset + keyLength + metadataLength + valueLength;
-      return includeAllocationOverhead ? UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size) : size;
+      return includeAllocationOverhead ? allocator.estimateAllocationSize(size) : size;
    }
 
    @Override
@@ -252,6 +252,51 @@ public byte[] getKey(long address) {
       return keyBytes;
    }
 
+   @Override
+   public long getValueAddress(long address) {
+      // 16 bytes for eviction if needed (optional)
+      // 8 bytes for linked pointer
+      int offset = evictionEnabled ? 24 : 8;
+
+      byte metadataType = MEMORY.getByte(address, offset);
+      if ((metadataType & (CUSTOM | TRANSIENT | TRANSIENT_MORTAL)) != 0) {
+         return 0;
+      }
+      offset += 1;
+      // Ignore hashCode bytes
+      offset += 4;
+      int keyLength = MEMORY.getInt(address, offset);
+      offset += 4;
+
+      int metadataLength;
+      if ((metadataType & HAS_VERSION) != 0) {
+         metadataLength = MEMORY.getInt(address, offset);
+         offset += 4;
+      } else {
+         metadataLength = (metadataType & MORTAL) != 0 ? 16 : 0;
+      }
+
+      // Ignore value length bytes
+      offset += 4;
+      return address + offset + keyLength + metadataLength;
+   }
+
+   @Override
+   public int getValueLength(long address) {
+      // 16 bytes for eviction if needed (optional)
+      // 8 bytes for linked pointer
+      int offset = evictionEnabled ? 24 : 8;
+
+      byte metadataType = MEMORY.getByte(address, offset);
+      // type, hashCode and key length
+      offset += 1 + 4 + 4;
+      if ((metadataType & (CUSTOM + HAS_VERSION)) != 0) {
+         // These have additional 4 bytes for custom metadata or version
+         offset += 4;
+      }
+      return MEMORY.getInt(address, offset);
+   }
+
    /**
     * Assumes the address doesn't contain the linked pointer at the beginning
     * @param address the address to read the entry from
@@ -515,6 +560,6 @@ public long calculateSize(WrappedBytes key, WrappedBytes value, Metadata metadat
             throw new CacheException(e);
          }
       }
-      return UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(totalSize + metadataSize);
+      return allocator.estimateAllocationSize(totalSize + metadataSize);
    }
 }
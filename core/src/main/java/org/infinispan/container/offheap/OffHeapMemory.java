@@ -141,4 +141,31 @@ void free(long address) {
       }
       UNSAFE.freeMemory(address);
    }
+
+   /**
+    * Registers a block carved out of a larger allocation so that accesses to it can be verified when tracing.
+    * @param address the start of the block
+    * @param size the usable size of the block
+    */
+   void trackBlock(long address, long size) {
+      if (trace) {
+         Long prev = allocatedBlocks.put(address, size);
+         if (prev != null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
+
+   /**
+    * Unregisters a block previously registered with {@link #trackBlock(long, long)}.
+    * @param address the start of the block
+    */
+   void untrackBlock(long address) {
+      if (trace) {
+         Long prev = allocatedBlocks.remove(address);
+         if (prev == null) {
+            throw new IllegalArgumentException();
+         }
+      }
+   }
 }
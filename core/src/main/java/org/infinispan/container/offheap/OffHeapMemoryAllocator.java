@@ -23,4 +23,15 @@ public interface OffHeapMemoryAllocator {
    void deallocate(long memoryAddress, long size);
 
    long getAllocatedAmount();
+
+   /**
+    * Estimates how much memory an allocation of the given length will use, including any overhead or rounding
+    * performed by the allocator. This is the amount that {@link #getAllocatedAmount()} is increased by when
+    * allocating the given length.
+    * @param memoryLength the size of memory to allocate
+    * @return the estimated amount of memory used by such an allocation
+    */
+   default long estimateAllocationSize(long memoryLength) {
+      return UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+   }
 }
@@ -0,0 +1,21 @@
+package org.infinispan.container.offheap;
+
+/**
+ * Reads the value of an off-heap entry directly from native memory, without copying it to the heap first.
+ * <p>
+ * The memory is only guaranteed to hold the value for the duration of {@link #read(long, int)}, as the entry may be
+ * replaced, removed or evicted as soon as it returns, so implementations must copy whatever they need before
+ * returning and must never retain the address.
+ *
+ * @param <R> the type of the result
+ * @since 10.0
+ */
+@FunctionalInterface
+public interface OffHeapValueReader<R> {
+   /**
+    * @param address the address of the first byte of the value
+    * @param length the length of the value in bytes
+    * @return the result of the read, returned to the caller of the container
+    */
+   R read(long address, int length);
+}
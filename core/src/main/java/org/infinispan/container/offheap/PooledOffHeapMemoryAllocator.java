@@ -0,0 +1,458 @@
+package org.infinispan.container.offheap;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+import sun.misc.Unsafe;
+
+/**
+ * Memory allocator that carves allocations out of larger slabs of native memory, segregated by size class.
+ * <p>
+ * Requested sizes (plus an 8 byte header that identifies the owning slab) are rounded up to a size class: classes
+ * are 16 bytes apart up to 256 bytes and then there are 4 classes per power of two up to 32 KB. Larger requests are
+ * allocated directly as done by {@link UnpooledOffHeapMemoryAllocator}. Every size class has one set of slabs per
+ * arena and threads are spread across arenas to reduce contention. Freed blocks are kept in an intrusive free list
+ * inside their slab and slabs that no longer contain any allocated blocks are released back to the native heap by
+ * {@link #compact()}, which is invoked periodically in the background.
+ * <p>
+ * Note that blocks are never moved as their addresses are referenced by the data container, so compaction only
+ * reclaims empty slabs.
+ * @since 10.0
+ */
+@MBean(objectName = "OffHeapMemoryAllocator", description = "Pooled allocator of the off heap memory used by the data container")
+@Scope(Scopes.NAMED_CACHE)
+public class PooledOffHeapMemoryAllocator implements OffHeapMemoryAllocator {
+   private static final Log log = LogFactory.getLog(PooledOffHeapMemoryAllocator.class);
+   private static final boolean trace = log.isTraceEnabled();
+   private static final OffHeapMemory MEMORY = OffHeapMemory.INSTANCE;
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+
+   // Every pooled block is preceded by the identifier of the slab that owns it
+   static final int HEADER_SIZE = 8;
+   private static final int SMALL_CLASS_STEP = 16;
+   private static final int SMALL_CLASS_LIMIT = 256;
+   private static final int SMALL_CLASS_COUNT = SMALL_CLASS_LIMIT / SMALL_CLASS_STEP;
+   private static final int SMALL_CLASS_LIMIT_SHIFT = Integer.numberOfTrailingZeros(SMALL_CLASS_LIMIT);
+   private static final int CLASSES_PER_POWER_SHIFT = 2;
+   static final int MAX_POOLED_SIZE = 32 * 1024;
+   private static final int[] CLASS_SIZES;
+   private static final int SLAB_SIZE = 128 * 1024;
+   private static final int MIN_BLOCKS_PER_SLAB = 8;
+   private static final long COMPACTION_INTERVAL_SECONDS = 30;
+
+   static {
+      int largeClasses = (Integer.numberOfTrailingZeros(MAX_POOLED_SIZE) - SMALL_CLASS_LIMIT_SHIFT) << CLASSES_PER_POWER_SHIFT;
+      CLASS_SIZES = new int[SMALL_CLASS_COUNT + largeClasses];
+      for (int i = 0; i < SMALL_CLASS_COUNT; ++i) {
+         CLASS_SIZES[i] = (i + 1) * SMALL_CLASS_STEP;
+      }
+      for (int i = 0; i < largeClasses; ++i) {
+         int base = SMALL_CLASS_LIMIT << (i >> CLASSES_PER_POWER_SHIFT);
+         int step = base >> CLASSES_PER_POWER_SHIFT;
+         CLASS_SIZES[SMALL_CLASS_COUNT + i] = base + ((i & ((1 << CLASSES_PER_POWER_SHIFT) - 1)) + 1) * step;
+      }
+   }
+
+   @Inject @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
+   ScheduledExecutorService executor;
+
+   private final Arena[] arenas;
+   private final int arenaMask;
+   private final Object registryLock = new Object();
+   // Slabs indexed by their identifier, replaced under registryLock when it has to grow
+   private volatile Slab[] slabs = new Slab[64];
+   private int nextSlabId;
+   private final ArrayDeque<Integer> releasedSlabIds = new ArrayDeque<>();
+
+   private final LongAdder amountAllocated = new LongAdder();
+   private final LongAdder amountRequested = new LongAdder();
+   private final LongAdder amountReserved = new LongAdder();
+   private final AtomicInteger slabCount = new AtomicInteger();
+   private final LongAdder releasedSlabs = new LongAdder();
+
+   private ScheduledFuture<?> compactionTask;
+
+   public PooledOffHeapMemoryAllocator() {
+      this(ProcessorInfo.availableProcessors());
+   }
+
+   PooledOffHeapMemoryAllocator(int arenaCount) {
+      int actualArenaCount = Util.findNextHighestPowerOfTwo(Math.max(1, arenaCount));
+      arenas = new Arena[actualArenaCount];
+      for (int i = 0; i < actualArenaCount; ++i) {
+         arenas[i] = new Arena();
+      }
+      arenaMask = actualArenaCount - 1;
+   }
+
+   @Start
+   public void start() {
+      if (executor != null) {
+         compactionTask = executor.scheduleWithFixedDelay(this::compact, COMPACTION_INTERVAL_SECONDS,
+               COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+      }
+   }
+
+   @Stop
+   public void stop() {
+      if (compactionTask != null) {
+         compactionTask.cancel(false);
+         compactionTask = null;
+      }
+      releaseEmptySlabs(true);
+   }
+
+   /**
+    * Returns the index of the size class that fits the given amount of bytes, which must not be larger than
+    * {@link #MAX_POOLED_SIZE}
+    */
+   static int sizeClassIndex(long totalSize) {
+      if (totalSize <= SMALL_CLASS_LIMIT) {
+         return (int) Math.max(0, (totalSize + SMALL_CLASS_STEP - 1) / SMALL_CLASS_STEP - 1);
+      }
+      long value = totalSize - 1;
+      int log2 = 63 - Long.numberOfLeadingZeros(value);
+      long base = 1L << log2;
+      int sub = (int) ((value - base) >> (log2 - CLASSES_PER_POWER_SHIFT));
+      return SMALL_CLASS_COUNT + ((log2 - SMALL_CLASS_LIMIT_SHIFT) << CLASSES_PER_POWER_SHIFT) + sub;
+   }
+
+   static int sizeClassSize(int index) {
+      return CLASS_SIZES[index];
+   }
+
+   static int sizeClassCount() {
+      return CLASS_SIZES.length;
+   }
+
+   private static boolean isPooled(long memoryLength) {
+      return memoryLength + HEADER_SIZE <= MAX_POOLED_SIZE;
+   }
+
+   @Override
+   public long estimateAllocationSize(long memoryLength) {
+      if (isPooled(memoryLength)) {
+         return CLASS_SIZES[sizeClassIndex(memoryLength + HEADER_SIZE)];
+      }
+      return UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+   }
+
+   @Override
+   public long allocate(long memoryLength) {
+      long address;
+      long estimatedMemoryLength;
+      if (isPooled(memoryLength)) {
+         int classIndex = sizeClassIndex(memoryLength + HEADER_SIZE);
+         estimatedMemoryLength = CLASS_SIZES[classIndex];
+         SizeClass sizeClass = arenas[(int) Thread.currentThread().getId() & arenaMask].sizeClasses[classIndex];
+         address = sizeClass.allocate();
+         MEMORY.trackBlock(address, estimatedMemoryLength - HEADER_SIZE);
+      } else {
+         estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(memoryLength);
+         address = MEMORY.allocate(memoryLength);
+         amountReserved.add(estimatedMemoryLength);
+      }
+      amountAllocated.add(estimatedMemoryLength);
+      amountRequested.add(memoryLength);
+      if (trace) {
+         log.tracef("Allocated off heap memory at 0x%016x with %d bytes. Total size: %d", address,
+               estimatedMemoryLength, amountAllocated.sum());
+      }
+      return address;
+   }
+
+   @Override
+   public void deallocate(long memoryAddress, long size) {
+      long estimatedMemoryLength;
+      if (isPooled(size)) {
+         estimatedMemoryLength = CLASS_SIZES[sizeClassIndex(size + HEADER_SIZE)];
+         MEMORY.untrackBlock(memoryAddress);
+         int slabId = (int) UNSAFE.getLong(memoryAddress - HEADER_SIZE);
+         Slab slab = slabs[slabId];
+         slab.sizeClass.free(slab, memoryAddress - HEADER_SIZE);
+      } else {
+         estimatedMemoryLength = UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(size);
+         MEMORY.free(memoryAddress);
+         amountReserved.add(-estimatedMemoryLength);
+      }
+      amountAllocated.add(-estimatedMemoryLength);
+      amountRequested.add(-size);
+      if (trace) {
+         log.tracef("Deallocated off heap memory at 0x%016x with %d bytes. Total size: %d", memoryAddress,
+               estimatedMemoryLength, amountAllocated.sum());
+      }
+   }
+
+   @ManagedAttribute(description = "Amount of off heap memory used by allocated blocks, in bytes",
+         displayName = "Allocated memory", measurementType = MeasurementType.DYNAMIC)
+   @Override
+   public long getAllocatedAmount() {
+      return amountAllocated.sum();
+   }
+
+   @ManagedAttribute(description = "Amount of off heap memory requested by the data container, in bytes",
+         displayName = "Requested memory", measurementType = MeasurementType.DYNAMIC)
+   public long getRequestedAmount() {
+      return amountRequested.sum();
+   }
+
+   @ManagedAttribute(description = "Amount of off heap memory reserved from the native heap, in bytes",
+         displayName = "Reserved memory", measurementType = MeasurementType.DYNAMIC)
+   public long getReservedAmount() {
+      return amountReserved.sum();
+   }
+
+   @ManagedAttribute(description = "Fraction of the reserved off heap memory that is not used by requested data",
+         displayName = "Fragmentation ratio", units = Units.PERCENTAGE)
+   public double getFragmentationRatio() {
+      long reserved = amountReserved.sum();
+      if (reserved <= 0) {
+         return 0;
+      }
+      return 1 - (double) amountRequested.sum() / reserved;
+   }
+
+   @ManagedAttribute(description = "Number of slabs currently reserved", displayName = "Number of slabs",
+         measurementType = MeasurementType.DYNAMIC)
+   public int getSlabCount() {
+      return slabCount.get();
+   }
+
+   @ManagedAttribute(description = "Number of reserved slabs that do not contain any allocated block",
+         displayName = "Number of empty slabs", measurementType = MeasurementType.DYNAMIC)
+   public int getEmptySlabCount() {
+      int count = 0;
+      for (Arena arena : arenas) {
+         for (SizeClass sizeClass : arena.sizeClasses) {
+            count += sizeClass.emptySlabCount();
+         }
+      }
+      return count;
+   }
+
+   @ManagedAttribute(description = "Number of slabs released back to the native heap",
+         displayName = "Number of released slabs", measurementType = MeasurementType.TRENDSUP)
+   public long getReleasedSlabCount() {
+      return releasedSlabs.sum();
+   }
+
+   /**
+    * Releases the slabs that do not contain any allocated block back to the native heap. The slab currently used for
+    * allocations of each size class is retained, even if empty, to avoid churn when entries are constantly replaced.
+    * @return the amount of bytes released
+    */
+   @ManagedOperation(description = "Releases empty slabs back to the native heap", displayName = "Compact")
+   public long compact() {
+      return releaseEmptySlabs(false);
+   }
+
+   private long releaseEmptySlabs(boolean includeCurrent) {
+      long released = 0;
+      for (Arena arena : arenas) {
+         for (SizeClass sizeClass : arena.sizeClasses) {
+            released += sizeClass.releaseEmptySlabs(includeCurrent);
+         }
+      }
+      if (trace && released > 0) {
+         log.tracef("Released %d bytes of empty slabs", released);
+      }
+      return released;
+   }
+
+   private Slab newSlab(SizeClass sizeClass) {
+      int blockSize = sizeClass.blockSize;
+      int capacity = Math.max(MIN_BLOCKS_PER_SLAB, SLAB_SIZE / blockSize);
+      long slabSize = (long) capacity * blockSize;
+      long address = MEMORY.allocate(slabSize);
+      Slab slab;
+      synchronized (registryLock) {
+         Integer releasedId = releasedSlabIds.poll();
+         int id;
+         if (releasedId != null) {
+            id = releasedId;
+         } else {
+            id = nextSlabId++;
+            if (id == slabs.length) {
+               slabs = Arrays.copyOf(slabs, id << 1);
+            }
+         }
+         slab = new Slab(id, address, capacity, sizeClass);
+         slabs[id] = slab;
+      }
+      slabCount.incrementAndGet();
+      amountReserved.add(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(slabSize));
+      return slab;
+   }
+
+   private void releaseSlab(Slab slab) {
+      synchronized (registryLock) {
+         slabs[slab.id] = null;
+         releasedSlabIds.add(slab.id);
+      }
+      MEMORY.free(slab.address);
+      slabCount.decrementAndGet();
+      releasedSlabs.increment();
+      amountReserved.add(-UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(slab.size()));
+   }
+
+   private final class Arena {
+      private final SizeClass[] sizeClasses = new SizeClass[CLASS_SIZES.length];
+
+      Arena() {
+         for (int i = 0; i < sizeClasses.length; ++i) {
+            sizeClasses[i] = new SizeClass(CLASS_SIZES[i]);
+         }
+      }
+   }
+
+   /**
+    * The slabs of a single size class in an arena. All the slab state is guarded by the size class monitor.
+    */
+   private final class SizeClass {
+      private final int blockSize;
+      // Slabs with free blocks other than current
+      private final ArrayDeque<Slab> partial = new ArrayDeque<>();
+      private Slab current;
+
+      SizeClass(int blockSize) {
+         this.blockSize = blockSize;
+      }
+
+      synchronized long allocate() {
+         Slab slab = current;
+         if (slab == null || slab.isFull()) {
+            slab = partial.poll();
+            if (slab != null) {
+               slab.inPartial = false;
+            } else {
+               slab = newSlab(this);
+            }
+            current = slab;
+         }
+         long block = slab.take();
+         UNSAFE.putLong(block, slab.id);
+         return block + HEADER_SIZE;
+      }
+
+      synchronized void free(Slab slab, long block) {
+         boolean wasFull = slab.isFull();
+         slab.give(block);
+         if (wasFull && slab != current && !slab.inPartial) {
+            slab.inPartial = true;
+            partial.add(slab);
+         }
+      }
+
+      synchronized int emptySlabCount() {
+         int count = current != null && current.used == 0 ? 1 : 0;
+         for (Slab slab : partial) {
+            if (slab.used == 0) {
+               count++;
+            }
+         }
+         return count;
+      }
+
+      long releaseEmptySlabs(boolean includeCurrent) {
+         ArrayDeque<Slab> empty = null;
+         synchronized (this) {
+            for (Iterator<Slab> iter = partial.iterator(); iter.hasNext(); ) {
+               Slab slab = iter.next();
+               if (slab.used == 0) {
+                  iter.remove();
+                  if (empty == null) {
+                     empty = new ArrayDeque<>();
+                  }
+                  empty.add(slab);
+               }
+            }
+            if (includeCurrent && current != null && current.used == 0) {
+               if (empty == null) {
+                  empty = new ArrayDeque<>();
+               }
+               empty.add(current);
+               current = null;
+            }
+         }
+         if (empty == null) {
+            return 0;
+         }
+         long released = 0;
+         for (Slab slab : empty) {
+            released += slab.size();
+            releaseSlab(slab);
+         }
+         return released;
+      }
+   }
+
+   /**
+    * A contiguous region of native memory split into blocks of the same size. Blocks that were never handed out are
+    * allocated by bumping an index, freed blocks are kept in a free list linked through their first 8 bytes.
+    */
+   private static final class Slab {
+      private final int id;
+      private final long address;
+      private final int capacity;
+      private final SizeClass sizeClass;
+      private int bumpIndex;
+      private int used;
+      private long freeHead;
+      private boolean inPartial;
+
+      Slab(int id, long address, int capacity, SizeClass sizeClass) {
+         this.id = id;
+         this.address = address;
+         this.capacity = capacity;
+         this.sizeClass = sizeClass;
+      }
+
+      long size() {
+         return (long) capacity * sizeClass.blockSize;
+      }
+
+      boolean isFull() {
+         return used == capacity;
+      }
+
+      long take() {
+         long block;
+         if (freeHead != 0) {
+            block = freeHead;
+            freeHead = UNSAFE.getLong(block);
+         } else {
+            block = address + (long) bumpIndex++ * sizeClass.blockSize;
+         }
+         used++;
+         return block;
+      }
+
+      void give(long block) {
+         UNSAFE.putLong(block, freeHead);
+         freeHead = block;
+         used--;
+      }
+   }
+}
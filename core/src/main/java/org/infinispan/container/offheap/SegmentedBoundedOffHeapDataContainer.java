@@ -268,7 +268,7 @@ public void stop() {
                if (addAllocationSize) {
                   lruLock.lock();
                   try {
-                     currentSize -= UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(allocationSize << 3);
+                     currentSize -= allocator.estimateAllocationSize(allocationSize << 3);
                   } finally {
                      lruLock.unlock();
                   }
@@ -278,7 +278,7 @@ public void stop() {
          if (addAllocationSize) {
             lruLock.lock();
             try {
-               currentSize += UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(allocationSize << 3);
+               currentSize += allocator.estimateAllocationSize(allocationSize << 3);
             } finally {
                lruLock.unlock();
             }
@@ -1,26 +1,54 @@
 package org.infinispan.container.offheap;
 
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import org.infinispan.commons.util.ProcessorInfo;
 import org.infinispan.commons.util.Util;
 
+import sun.misc.Unsafe;
+
 /**
  * Holder for read write locks that provides ability to retrieve them by offset and hashCode
  * Note that locks protect entries
+ * <p>
+ * Every lock also carries a sequence number that is incremented when its write lock is acquired and again when it is
+ * released, which allows readers to optimistically read entries without acquiring the read lock (seqlock style). A
+ * reader obtains a stamp with {@link #tryOptimisticRead(int)}, performs its reads and then verifies with
+ * {@link #validate(int, long)} that no writer acquired the lock in the meantime. Optimistic readers must surround
+ * their reads with {@link #enterOptimisticRead(int)} and {@link #exitOptimisticRead(int)} and writers <b>must</b>
+ * invoke {@link #awaitOptimisticReaders(int)} while holding the write lock before releasing any memory that may be
+ * reachable by such readers, so that a reader never accesses memory that was already deallocated. Readers are counted
+ * per lock and per group of threads, so that readers neither contend with each other nor delay writers of other
+ * locks.
  * @author wburns
  * @since 9.0
  */
 public class StripedLock {
-   private final ReadWriteLock[] locks;
+   private static final Unsafe UNSAFE = UnsafeHolder.UNSAFE;
+   private static final int MAX_READER_CELLS = 16;
+   // Spinning only makes sense if the reader can make progress concurrently
+   private static final int AWAIT_SPINS = ProcessorInfo.availableProcessors() > 1 ? 64 : 0;
+
+   private final SequencedReadWriteLock[] locks;
    private final OffsetCalculator offSetCalculator;
+   // Reader counts of each thread group are contiguous, a reader only ever updates the ones of its own group
+   private final AtomicLongArray optimisticReaders;
+   private final int readerCells;
 
    public StripedLock(int lockCount, OffsetCalculator offSetCalculator) {
-      locks = new ReadWriteLock[Util.findNextHighestPowerOfTwo(lockCount)];
+      locks = new SequencedReadWriteLock[Util.findNextHighestPowerOfTwo(lockCount)];
       for (int i = 0; i< locks.length; ++i) {
-         locks[i] = new ReentrantReadWriteLock();
+         locks[i] = new SequencedReadWriteLock();
       }
       this.offSetCalculator = offSetCalculator;
+      readerCells = Math.min(MAX_READER_CELLS, Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors()));
+      optimisticReaders = new AtomicLongArray(readerCells * locks.length);
    }
 
    /**
@@ -72,4 +100,236 @@ void unlockAll() {
          rwLock.writeLock().unlock();
       }
    }
+
+   /**
+    * Returns a stamp for optimistically reading entries protected by the lock for the given hashCode. The stamp
+    * is odd if the write lock is currently held, in which case an optimistic read is not possible.
+    * @param hashCode the hashCode to retrieve the lock for
+    * @return the stamp to be verified with {@link #validate(int, long)}
+    */
+   long tryOptimisticRead(int hashCode) {
+      return locks[offSetCalculator.calculateOffsetUsingHashCode(hashCode)].sequence;
+   }
+
+   /**
+    * Returns whether the write lock for the given hashCode was not acquired since the stamp was obtained, that is
+    * whether the values read since are consistent.
+    * @param hashCode the hashCode to retrieve the lock for
+    * @param stamp the stamp returned from {@link #tryOptimisticRead(int)}
+    * @return {@code true} if the reads performed after the stamp was obtained are consistent
+    */
+   boolean validate(int hashCode, long stamp) {
+      // Reads performed before can't be reordered after the sequence is verified
+      UNSAFE.loadFence();
+      return (stamp & 1) == 0 && locks[offSetCalculator.calculateOffsetUsingHashCode(hashCode)].sequence == stamp;
+   }
+
+   /**
+    * Registers the current thread as an optimistic reader of the lock for the given hashCode. Must be invoked before
+    * obtaining the stamp.
+    * @param hashCode the hashCode to retrieve the lock for
+    * @return the value that must be provided to {@link #exitOptimisticRead(int)}
+    */
+   int enterOptimisticRead(int hashCode) {
+      int cell = Long.hashCode(Thread.currentThread().getId()) & (readerCells - 1);
+      int index = cell * locks.length + offSetCalculator.calculateOffsetUsingHashCode(hashCode);
+      optimisticReaders.incrementAndGet(index);
+      return index;
+   }
+
+   /**
+    * Unregisters the current thread as an optimistic reader, after which it may not read any entry memory.
+    * @param index the value returned from {@link #enterOptimisticRead(int)}
+    */
+   void exitOptimisticRead(int index) {
+      optimisticReaders.decrementAndGet(index);
+   }
+
+   /**
+    * Waits until all optimistic readers of the lock for the given hashCode that may have obtained a stamp before the
+    * write lock was acquired have completed. Readers that register afterwards will see the write lock as held and
+    * won't read any entry until it is released. The caller must hold the write lock for the given hashCode.
+    * @param hashCode the hashCode to retrieve the lock for
+    */
+   void awaitOptimisticReaders(int hashCode) {
+      awaitOptimisticReadersWithOffset(offSetCalculator.calculateOffsetUsingHashCode(hashCode));
+   }
+
+   /**
+    * Same as {@link #awaitOptimisticReaders(int)} for all locks, which must all be held by the caller.
+    */
+   void awaitAllOptimisticReaders() {
+      for (int offset = 0; offset < locks.length; ++offset) {
+         awaitOptimisticReadersWithOffset(offset);
+      }
+   }
+
+   private void awaitOptimisticReadersWithOffset(int offset) {
+      for (int index = offset; index < optimisticReaders.length(); index += locks.length) {
+         // Readers only hold on to the count for a single lookup, so spin for a while before yielding
+         for (int spins = 0; optimisticReaders.get(index) != 0; ++spins) {
+            if (spins >= AWAIT_SPINS) {
+               Thread.yield();
+            }
+         }
+      }
+   }
+
+   /**
+    * Read write lock that increments a sequence when the write lock is first acquired by a thread and again when it
+    * is finally released by it, so the sequence is odd while the write lock is held.
+    */
+   private static final class SequencedReadWriteLock implements ReadWriteLock {
+      private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+      private final Lock writeLock = new SequencedWriteLock();
+      // Only written while holding the write lock
+      private volatile long sequence;
+
+      @Override
+      public Lock readLock() {
+         return lock.readLock();
+      }
+
+      @Override
+      public Lock writeLock() {
+         return writeLock;
+      }
+
+      private void acquired() {
+         if (lock.getWriteHoldCount() == 1) {
+            sequence = sequence + 1;
+            // Writes performed while holding the lock can't be reordered before the sequence is incremented
+            UNSAFE.storeFence();
+         }
+      }
+
+      private class SequencedWriteLock implements Lock {
+         @Override
+         public void lock() {
+            lock.writeLock().lock();
+            acquired();
+         }
+
+         @Override
+         public void lockInterruptibly() throws InterruptedException {
+            lock.writeLock().lockInterruptibly();
+            acquired();
+         }
+
+         @Override
+         public boolean tryLock() {
+            if (lock.writeLock().tryLock()) {
+               acquired();
+               return true;
+            }
+            return false;
+         }
+
+         @Override
+         public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (lock.writeLock().tryLock(time, unit)) {
+               acquired();
+               return true;
+            }
+            return false;
+         }
+
+         @Override
+         public void unlock() {
+            if (lock.getWriteHoldCount() == 1) {
+               sequence = sequence + 1;
+            }
+            lock.writeLock().unlock();
+         }
+
+         @Override
+         public Condition newCondition() {
+            return new SequencedCondition(lock.writeLock().newCondition());
+         }
+      }
+
+      /**
+       * Condition of the write lock that makes the sequence even while a thread awaits it, as the write lock is
+       * released meanwhile, and odd again once the thread has acquired the write lock back.
+       */
+      private class SequencedCondition implements Condition {
+         private final Condition condition;
+
+         SequencedCondition(Condition condition) {
+            this.condition = condition;
+         }
+
+         private void released() {
+            if (!lock.isWriteLockedByCurrentThread()) {
+               throw new IllegalMonitorStateException();
+            }
+            sequence = sequence + 1;
+         }
+
+         private void reacquired() {
+            sequence = sequence + 1;
+            UNSAFE.storeFence();
+         }
+
+         @Override
+         public void await() throws InterruptedException {
+            released();
+            try {
+               condition.await();
+            } finally {
+               reacquired();
+            }
+         }
+
+         @Override
+         public void awaitUninterruptibly() {
+            released();
+            try {
+               condition.awaitUninterruptibly();
+            } finally {
+               reacquired();
+            }
+         }
+
+         @Override
+         public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            released();
+            try {
+               return condition.awaitNanos(nanosTimeout);
+            } finally {
+               reacquired();
+            }
+         }
+
+         @Override
+         public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            released();
+            try {
+               return condition.await(time, unit);
+            } finally {
+               reacquired();
+            }
+         }
+
+         @Override
+         public boolean awaitUntil(Date deadline) throws InterruptedException {
+            released();
+            try {
+               return condition.awaitUntil(deadline);
+            } finally {
+               reacquired();
+            }
+         }
+
+         @Override
+         public void signal() {
+            condition.signal();
+         }
+
+         @Override
+         public void signalAll() {
+            condition.signalAll();
+         }
+      }
+   }
 }
@@ -146,15 +146,12 @@ public int getNumOwners() {
 
    @Override
    public Set<Address> locateAllOwners(Collection<Object> keys) {
-      // Use a HashSet assuming most of the time the number of keys is small.
-      HashSet<Integer> segments = new HashSet<>();
-      for (Object key : keys) {
-         segments.add(getSegment(key));
-      }
+      // There is a single owner per segment, so there is no need to collect the segments first
       HashSet<Address> ownersUnion = new HashSet<>();
-      for (Integer segment : segments) {
-         if (segmentOwners[segment] != null) {
-            ownersUnion.add(segmentOwners[segment]);
+      for (Object key : keys) {
+         Address owner = segmentOwners[getSegment(key)];
+         if (owner != null) {
+            ownersUnion.add(owner);
          }
       }
       return ownersUnion;
@@ -226,6 +226,14 @@ public Object extractIndexable(Object stored) {
       return encoder.fromStorage(wrapper.isFilterable() ? stored : wrapper.unwrap(stored));
    }
 
+   /**
+    * @return {@code true} if stored byte arrays are returned as they are, unwrapped but neither decoded nor
+    * transcoded, so they can be read directly from storage
+    */
+   public boolean isByteArrayPassThrough() {
+      return transcoder == null && encoder instanceof IdentityEncoder && wrapper instanceof ByteArrayWrapper;
+   }
+
    public Encoder getEncoder() {
       return encoder;
    }
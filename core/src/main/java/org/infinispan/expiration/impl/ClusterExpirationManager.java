@@ -83,7 +83,7 @@ public void processExpiration() {
             // We limit it so there is only so many async expiration removals done at the same time
             List<CompletableFuture> futures = new ArrayList<>(MAX_ASYNC_EXPIRATIONS);
             long currentTimeMillis = timeService.wallClockTime();
-            dataContainer.running().forEachIncludingExpired((ice, segment) -> {
+            dataContainer.running().forEachExpirationCandidate(currentTimeMillis, (ice, segment) -> {
                if (ice.canExpire()) {
                   // Have to synchronize on the entry to make sure we see the value and metadata at the same time
                   boolean expiredMortal;
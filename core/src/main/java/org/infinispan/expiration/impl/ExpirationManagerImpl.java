@@ -1,6 +1,5 @@
 package org.infinispan.expiration.impl;
 
-import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -98,13 +97,11 @@ public void processExpiration() {
                start = timeService.time();
             }
             long currentTimeMillis = timeService.wallClockTime();
-            for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = dataContainer.running().iteratorIncludingExpired();
-                 purgeCandidates.hasNext();) {
-               InternalCacheEntry<K, V> e = purgeCandidates.next();
+            dataContainer.running().forEachExpirationCandidate(currentTimeMillis, (e, segment) -> {
                if (e.isExpired(currentTimeMillis)) {
                   entryExpiredInMemory(e, currentTimeMillis, false);
                }
-            }
+            });
             if (trace) {
                log.tracef("Purging data container completed in %s",
                           Util.prettyPrintTime(timeService.timeDuration(start, TimeUnit.MILLISECONDS)));
@@ -9,9 +9,11 @@
 import org.infinispan.commons.io.ByteBufferFactoryImpl;
 import org.infinispan.configuration.cache.BiasAcquisition;
 import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
 import org.infinispan.container.offheap.OffHeapEntryFactory;
 import org.infinispan.container.offheap.OffHeapEntryFactoryImpl;
 import org.infinispan.container.offheap.OffHeapMemoryAllocator;
+import org.infinispan.container.offheap.PooledOffHeapMemoryAllocator;
 import org.infinispan.container.offheap.UnpooledOffHeapMemoryAllocator;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.impl.NonTransactionalInvocationContextFactory;
@@ -56,6 +58,7 @@
 import org.infinispan.transaction.totalorder.TotalOrderManager;
 import org.infinispan.transaction.xa.TransactionFactory;
 import org.infinispan.transaction.xa.recovery.RecoveryAdminOperations;
+import org.infinispan.util.compression.StateCompressor;
 import org.infinispan.util.concurrent.CommandAckCollector;
 import org.infinispan.xsite.BackupSender;
 import org.infinispan.xsite.BackupSenderImpl;
@@ -86,7 +89,8 @@
                               XSiteStateTransferManager.class, XSiteStateConsumer.class, XSiteStateProvider.class,
                               FunctionalNotifier.class, CommandAckCollector.class, TriangleOrderManager.class,
                               OrderedUpdatesManager.class, ScatteredVersionManager.class, TransactionOriginatorChecker.class,
-                              BiasManager.class, OffHeapEntryFactory.class, OffHeapMemoryAllocator.class})
+                              BiasManager.class, OffHeapEntryFactory.class, OffHeapMemoryAllocator.class,
+                              StateCompressor.class})
 public class EmptyConstructorNamedCacheFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
 
    @Override
@@ -143,6 +147,8 @@ public Object construct(String componentName) {
          return new MarshalledEntryFactoryImpl();
       } else if (componentName.equals(CommitManager.class.getName())) {
          return new CommitManager();
+      } else if (componentName.equals(StateCompressor.class.getName())) {
+         return new StateCompressor();
       } else if (componentName.equals(XSiteStateTransferManager.class.getName())) {
          return configuration.sites().hasEnabledBackups() ? new XSiteStateTransferManagerImpl()
                                                           : new NoOpXSiteStateTransferManager();
@@ -191,6 +197,9 @@ public Object construct(String componentName) {
       } else if (componentName.equals(OffHeapEntryFactory.class.getName())) {
          return new OffHeapEntryFactoryImpl();
       } else if (componentName.equals(OffHeapMemoryAllocator.class.getName())) {
+         if (configuration.memory().allocator() == OffHeapAllocatorType.POOLED) {
+            return new PooledOffHeapMemoryAllocator();
+         }
          return new UnpooledOffHeapMemoryAllocator();
       } else if (componentName.equals(ClusterCacheNotifier.class.getName())) {
          return ComponentAlias.of(CacheNotifier.class);
@@ -53,6 +53,9 @@
 import org.infinispan.jmx.annotations.MBean;
 import org.infinispan.jmx.annotations.ManagedAttribute;
 import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+import org.infinispan.persistence.async.AsyncCacheWriter;
+import org.infinispan.persistence.async.LatencyHistogram;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.MarshallableEntryFactory;
@@ -469,6 +472,7 @@ protected boolean isProperWriter(InvocationContext ctx, FlagAffectedCommand comm
    @Override
    public void resetStatistics() {
       cacheStores.set(0);
+      persistenceManager.getAsyncWriters().forEach(AsyncCacheWriter::resetStatistics);
    }
 
    @ManagedAttribute(
@@ -489,6 +493,83 @@ public int getNumberOfPersistedEntries() {
       return CompletionStages.join(persistenceManager.size());
    }
 
+   @ManagedAttribute(
+         description = "Number of modifications queued by async stores and not yet applied to the stores",
+         displayName = "Async store queue depth",
+         displayType = DisplayType.SUMMARY
+   )
+   public int getAsyncStoreQueueDepth() {
+      int depth = 0;
+      for (AsyncCacheWriter writer : persistenceManager.getAsyncWriters()) {
+         depth += writer.getQueueDepth();
+      }
+      return depth;
+   }
+
+   @ManagedAttribute(
+         description = "Percentage of the modifications queued by async stores that were superseded by a later modification of the same key before being applied",
+         displayName = "Async store coalesce ratio",
+         units = Units.PERCENTAGE,
+         displayType = DisplayType.SUMMARY
+   )
+   public double getAsyncStoreCoalesceRatio() {
+      long submitted = 0;
+      long flushed = 0;
+      for (AsyncCacheWriter writer : persistenceManager.getAsyncWriters()) {
+         // Read flushed first, so that it never exceeds submitted
+         flushed += writer.getFlushedModifications();
+         submitted += writer.getSubmittedModifications();
+      }
+      return submitted == 0 ? 0 : 1 - (double) flushed / submitted;
+   }
+
+   @ManagedAttribute(
+         description = "Median time taken by async stores to apply a batch of modifications",
+         displayName = "Async store median flush time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAsyncStoreFlushTimeMedian() {
+      return LatencyHistogram.percentile(getAsyncStoreFlushTimes(), 50);
+   }
+
+   @ManagedAttribute(
+         description = "99th percentile of the time taken by async stores to apply a batch of modifications",
+         displayName = "Async store 99th percentile flush time",
+         units = Units.NANOSECONDS,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getAsyncStoreFlushTime99thPercentile() {
+      return LatencyHistogram.percentile(getAsyncStoreFlushTimes(), 99);
+   }
+
+   @ManagedAttribute(
+         description = "Number of batches applied by async stores by flush time, as upper bound in nanoseconds=count",
+         displayName = "Async store flush time histogram"
+   )
+   public String getAsyncStoreFlushTimeHistogram() {
+      long[] counts = getAsyncStoreFlushTimes();
+      StringBuilder sb = new StringBuilder("{");
+      for (int i = 0; i < counts.length; i++) {
+         if (counts[i] != 0) {
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(LatencyHistogram.upperBound(i)).append('=').append(counts[i]);
+         }
+      }
+      return sb.append('}').toString();
+   }
+
+   private long[] getAsyncStoreFlushTimes() {
+      long[] counts = new long[LatencyHistogram.BUCKETS];
+      for (AsyncCacheWriter writer : persistenceManager.getAsyncWriters()) {
+         long[] writerCounts = writer.getFlushLatencyHistogram();
+         for (int i = 0; i < counts.length; i++) {
+            counts[i] += writerCounts[i];
+         }
+      }
+      return counts;
+   }
+
    CompletionStage<Void> storeEntry(InvocationContext ctx, Object key, FlagAffectedCommand command) {
       return storeEntry(ctx, key, command, true);
    }
@@ -357,6 +357,37 @@
     */
    Observation observation() default Observation.BOTH;
 
+   /**
+    * Allows the events of an asynchronous {@link #clustered()} listener to be compacted while they are coalesced on
+    * the node that generated them, so that the listener only receives the latest event for each key in the coalescing
+    * window. E.g. a {@link org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated} event followed by a
+    * {@link org.infinispan.notifications.cachelistener.annotation.CacheEntryModified} event for the same key is
+    * delivered as the modification only. This is only suitable for listeners that only care about the current state of
+    * an entry and it is ignored for synchronous listeners.
+    * @return true if the listener only needs the latest event for each key
+    * @since 10.0
+    */
+   boolean compactEvents() default false;
+
+   /**
+    * The maximum number of events waiting to be delivered to each method of an asynchronous listener. Zero or a
+    * negative value, the default, leaves the number of pending events unbounded. This is ignored for synchronous
+    * listeners.
+    * @return the maximum number of pending events of an asynchronous listener method
+    * @see #overflow()
+    * @since 10.0
+    */
+   int maxPendingEvents() default 0;
+
+   /**
+    * Defines what happens to a new event for an asynchronous listener method that already has
+    * {@link #maxPendingEvents()} events waiting to be delivered. The write that raised the event has already been
+    * applied at that point, so it doesn't fail.
+    * @return the overflow policy of this listener
+    * @since 10.0
+    */
+   Overflow overflow() default Overflow.DROP_OLDEST;
+
 
    /**
     * Enumeration that defines when a listener event can be observed. A listener can receive an event before and/or
@@ -396,4 +427,29 @@ public boolean shouldInvoke(boolean pre) {
 
       public abstract boolean shouldInvoke(boolean pre);
    }
+
+   /**
+    * Enumeration that defines what happens to a new event for an asynchronous listener that has too many events
+    * waiting to be delivered.
+    * @since 10.0
+    */
+   enum Overflow {
+      /**
+       * The notifying thread waits until an event has been delivered. An event raised while delivering an event to the
+       * same listener is always accepted, as the thread would otherwise wait for itself.
+       * <p>
+       * The notifying thread can be a thread that must not block, e.g. one handling remote commands, and it waits
+       * after the write has been applied. The listener must therefore not wait for other cache operations and the
+       * async notification executor must have a thread for it, or the cache may stop making progress.
+       */
+      BLOCK,
+      /**
+       * The oldest pending event is discarded, so the listener only misses events when it falls behind
+       */
+      DROP_OLDEST,
+      /**
+       * The new event is discarded
+       */
+      DROP_NEWEST
+   }
 }
@@ -973,15 +973,16 @@ private void registerClusterListenerCallablesToInstall(Set<Object> enlistedAlrea
             // If clustered means it is local - so use our address
             if (listener.isClustered()) {
                Set<Class<? extends Annotation>> filterAnnotations = listener.getFilterAnnotations();
+               Listener l = listener.getTarget().getClass().getAnnotation(Listener.class);
                callables.add(new ClusterListenerReplicateCallable(cache.wired().getName(), listener.getIdentifier(),
                      rpcManager.getAddress(), listener.getFilter(), listener.getConverter(), listener.isSync(),
-                     filterAnnotations, listener.getKeyDataConversion(), listener.getValueDataConversion(), listener.useStorageFormat()));
+                     l != null && l.compactEvents(), filterAnnotations, listener.getKeyDataConversion(), listener.getValueDataConversion(), listener.useStorageFormat()));
                enlistedAlready.add(listener.getTarget());
             } else if (listener.getTarget() instanceof RemoteClusterListener) {
                RemoteClusterListener lcl = (RemoteClusterListener) listener.getTarget();
                Set<Class<? extends Annotation>> filterAnnotations = listener.getFilterAnnotations();
                callables.add(new ClusterListenerReplicateCallable(cache.wired().getName(), lcl.getId(), lcl.getOwnerAddress(),
-                     listener.getFilter(), listener.getConverter(), listener.isSync(),
+                     listener.getFilter(), listener.getConverter(), listener.isSync(), lcl.isCompactEvents(),
                      filterAnnotations, listener.getKeyDataConversion(), listener.getValueDataConversion(), listener.useStorageFormat()));
                enlistedAlready.add(listener.getTarget());
             }
@@ -1145,7 +1146,7 @@ private <C> CompletionStage<Void> registerClusterListeners(List<Address> members
                members, generatedId);
       }
       ClusterListenerReplicateCallable<K, V> callable = new ClusterListenerReplicateCallable(cache.wired().getName(),
-            generatedId, ourAddress, filter, converter, l.sync(),
+            generatedId, ourAddress, filter, converter, l.sync(), l.compactEvents(),
             findListenerCallbacks(listener), keyDataConversion, valueDataConversion, useStorageFormat);
       TriConsumer<Address, Void, Throwable> handleSuspect = (a, ignore, t) -> {
          if (t != null && !(t instanceof SuspectException)) {
@@ -1617,7 +1618,8 @@ public CacheInvocationBuilder setFilterAnnotations(Set<Class<? extends Annotatio
 
       @Override
       public CacheEntryListenerInvocation<K, V> build() {
-         ListenerInvocation<Event<K, V>> invocation = new ListenerInvocationImpl(target, method, sync, classLoader, subject);
+         ListenerInvocation<Event<K, V>> invocation = new ListenerInvocationImpl(target, method, sync, classLoader, subject,
+               maxPendingEvents, overflow);
 
          wireDependencies(filter, converter);
 
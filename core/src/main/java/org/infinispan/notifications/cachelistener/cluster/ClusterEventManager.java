@@ -19,6 +19,17 @@
     */
    void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
 
+   /**
+    * Same as {@link #addEvents(Address, UUID, Collection, boolean)}, but allows the manager to only send the latest
+    * event for each key if the events are asynchronous and it holds them back for a while before sending them.
+    * @param compact Whether the cluster listener only needs the latest event for each key
+    * @see org.infinispan.notifications.Listener#compactEvents()
+    */
+   default void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                          boolean compact) {
+      addEvents(target, identifier, events, sync);
+   }
+
    /**
     * Sends all previously added events on this thread
     */
@@ -47,6 +47,7 @@
    private final CacheEventConverter<K, V, ?> converter;
    private final Address origin;
    private final boolean sync;
+   private final boolean compactEvents;
    private final Set<Class<? extends Annotation>> filterAnnotations;
    private final DataConversion keyDataConversion;
    private final DataConversion valueDataConversion;
@@ -56,12 +57,21 @@ public ClusterListenerReplicateCallable(String cacheName, UUID identifier, Addre
                                            CacheEventConverter<K, V, ?> converter, boolean sync,
                                            Set<Class<? extends Annotation>> filterAnnotations,
                                            DataConversion keyDataConversion, DataConversion valueDataConversion, boolean useStorageFormat) {
+      this(cacheName, identifier, origin, filter, converter, sync, false, filterAnnotations, keyDataConversion,
+            valueDataConversion, useStorageFormat);
+   }
+
+   public ClusterListenerReplicateCallable(String cacheName, UUID identifier, Address origin, CacheEventFilter<K, V> filter,
+                                           CacheEventConverter<K, V, ?> converter, boolean sync, boolean compactEvents,
+                                           Set<Class<? extends Annotation>> filterAnnotations,
+                                           DataConversion keyDataConversion, DataConversion valueDataConversion, boolean useStorageFormat) {
       this.cacheName = cacheName;
       this.identifier = identifier;
       this.origin = origin;
       this.filter = filter;
       this.converter = converter;
       this.sync = sync;
+      this.compactEvents = compactEvents;
       this.filterAnnotations = filterAnnotations;
       this.keyDataConversion = keyDataConversion;
       this.valueDataConversion = valueDataConversion;
@@ -112,7 +122,7 @@ public void accept(EmbeddedCacheManager cacheManager, Cache<K, V> cache) {
                }
                if (!alreadyInstalled) {
                   RemoteClusterListener listener = new RemoteClusterListener(identifier, origin, cacheNotifier,
-                        cacheManagerNotifier, eventManager, sync);
+                        cacheManagerNotifier, eventManager, sync, compactEvents);
                   ListenerHolder listenerHolder = new ListenerHolder(listener, keyDataConversion, valueDataConversion, useStorageFormat);
                   cacheNotifier.addFilteredListener(listenerHolder, filter, converter, filterAnnotations);
                   cacheManagerNotifier.addListener(listener);
@@ -161,6 +171,7 @@ public void writeObject(ObjectOutput output, ClusterListenerReplicateCallable ob
             output.writeObject(object.converter);
          }
          output.writeBoolean(object.sync);
+         output.writeBoolean(object.compactEvents);
          MarshallUtil.marshallCollection(object.filterAnnotations, output);
          DataConversion.writeTo(output, object.keyDataConversion);
          DataConversion.writeTo(output, object.valueDataConversion);
@@ -181,12 +192,13 @@ public ClusterListenerReplicateCallable readObject(ObjectInput input) throws IOE
             converter = (CacheEventConverter) input.readObject();
          }
          boolean sync = input.readBoolean();
+         boolean compactEvents = input.readBoolean();
          Set<Class<? extends Annotation>> listenerAnnots = MarshallUtil.unmarshallCollection(input, HashSet::new);
          DataConversion keyDataConversion = DataConversion.readFrom(input);
          DataConversion valueDataConversion = DataConversion.readFrom(input);
          boolean raw = input.readBoolean();
-         return new ClusterListenerReplicateCallable(cacheName, id, address, filter, converter, sync, listenerAnnots,
-               keyDataConversion, valueDataConversion, raw);
+         return new ClusterListenerReplicateCallable(cacheName, id, address, filter, converter, sync, compactEvents,
+               listenerAnnots, keyDataConversion, valueDataConversion, raw);
       }
 
       @Override
@@ -202,6 +214,7 @@ public String toString() {
             ", identifier=" + identifier +
             ", origin=" + origin +
             ", sync=" + sync +
+            ", compactEvents=" + compactEvents +
             '}';
    }
 }
@@ -49,18 +49,26 @@ public class RemoteClusterListener {
    private final CacheManagerNotifier cacheManagerNotifier;
    private final ClusterEventManager eventManager;
    private final boolean sync;
+   private final boolean compactEvents;
 
    private final ConcurrentMap<GlobalTransaction, Queue<CacheEntryEvent>> transactionChanges =
          new ConcurrentHashMap<>();
 
    public RemoteClusterListener(UUID id, Address origin, CacheNotifier cacheNotifier,
                                 CacheManagerNotifier cacheManagerNotifier, ClusterEventManager eventManager, boolean sync) {
+      this(id, origin, cacheNotifier, cacheManagerNotifier, eventManager, sync, false);
+   }
+
+   public RemoteClusterListener(UUID id, Address origin, CacheNotifier cacheNotifier,
+                                CacheManagerNotifier cacheManagerNotifier, ClusterEventManager eventManager, boolean sync,
+                                boolean compactEvents) {
       this.id = id;
       this.origin = origin;
       this.cacheNotifier = cacheNotifier;
       this.cacheManagerNotifier = cacheManagerNotifier;
       this.eventManager = eventManager;
       this.sync = sync;
+      this.compactEvents = compactEvents;
    }
 
    public UUID getId() {
@@ -71,6 +79,14 @@ public Address getOwnerAddress() {
       return origin;
    }
 
+   /**
+    * @return whether the events for the cluster listener may be compacted to the latest event per key.
+    * @see org.infinispan.notifications.Listener#compactEvents()
+    */
+   public boolean isCompactEvents() {
+      return compactEvents;
+   }
+
    @ViewChanged
    public CompletionStage<Void> viewChange(ViewChangedEvent event) {
       if (!event.getNewMembers().contains(origin)) {
@@ -109,7 +125,7 @@ public CompletionStage<Void> handleClusterEvents(CacheEntryEvent event) throws E
          if (trace) {
             log.tracef("Passing Event to manager %s to send to %s", event, origin);
          }
-         eventManager.addEvents(origin, id, Collections.singleton(ClusterEvent.fromEvent(event)), sync);
+         eventManager.addEvents(origin, id, Collections.singleton(ClusterEvent.fromEvent(event)), sync, compactEvents);
       }
       return CompletableFutures.completedNull();
    }
@@ -126,7 +142,7 @@ public CompletionStage<Void> transactionCompleted(TransactionCompletedEvent even
                log.tracef("Passing Event(s) to manager %s to send to %s", eventsToSend, origin);
             }
          }
-         eventManager.addEvents(origin, id, eventsToSend, sync);
+         eventManager.addEvents(origin, id, eventsToSend, sync, compactEvents);
       }
       return CompletableFutures.completedNull();
    }
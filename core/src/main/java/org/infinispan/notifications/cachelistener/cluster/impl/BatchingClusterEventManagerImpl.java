@@ -1,17 +1,28 @@
 package org.infinispan.notifications.cachelistener.cluster.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.impl.ComponentRef;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
@@ -29,30 +40,64 @@
 import org.infinispan.util.concurrent.CompletionStages;
 import org.infinispan.util.concurrent.AggregateCompletionStage;
 
+/**
+ * Cluster event manager that batches the events generated by an invocation into a single command per target node.
+ * <p>
+ * Events for asynchronous cluster listeners can additionally be coalesced across invocations: when
+ * {@link org.infinispan.configuration.cache.ClusteringConfiguration#clusterEventCoalesceWindow()} is positive the
+ * events for a target are held until the window expires or
+ * {@link org.infinispan.configuration.cache.ClusteringConfiguration#clusterEventCoalesceMaxEvents()} events are
+ * pending, whichever comes first, and are then sent in a single command. Only the latest event per key is kept in the
+ * window for the listeners that enable {@link org.infinispan.notifications.Listener#compactEvents()}.
+ * Events for synchronous listeners are always sent at the end of the invocation, after the events held for the same
+ * target have been sent and acknowledged, so that the target receives the events in the order they were generated.
+ */
 @Scope(Scopes.NAMED_CACHE)
 public class BatchingClusterEventManagerImpl<K, V> implements ClusterEventManager<K, V> {
    @Inject EmbeddedCacheManager cacheManager;
    @Inject Configuration configuration;
    @Inject RpcManager rpcManager;
    @Inject ComponentRef<CommandsFactory> commandsFactory;
+   @Inject @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
+   ScheduledExecutorService scheduler;
 
    private long timeout;
+   private long coalesceWindow;
+   private int coalesceMaxEvents;
 
    private final ThreadLocal<EventContext<K, V>> localContext = new ThreadLocal<>();
+   private final ConcurrentMap<Address, CoalescedEvents> coalescedEvents = new ConcurrentHashMap<>();
 
    @Start
    public void start() {
       timeout = configuration.clustering().remoteTimeout();
+      coalesceWindow = configuration.clustering().clusterEventCoalesceWindow();
+      coalesceMaxEvents = configuration.clustering().clusterEventCoalesceMaxEvents();
+   }
+
+   @Stop
+   public void stop() {
+      // Send whatever is still pending, the remote nodes may still have listeners registered
+      for (CoalescedEvents pending : coalescedEvents.values()) {
+         pending.flush();
+      }
+      coalescedEvents.clear();
    }
 
    @Override
    public void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync) {
+      addEvents(target, identifier, events, sync, false);
+   }
+
+   @Override
+   public void addEvents(Address target, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                         boolean compact) {
       EventContext<K, V> ctx = localContext.get();
       if (ctx == null) {
-         ctx = new UnicastEventContext<>();
+         ctx = new UnicastEventContext();
          localContext.set(ctx);
       }
-      ctx.addTargets(target, identifier, events, sync);
+      ctx.addTargets(target, identifier, events, sync, compact);
    }
 
    @Override
@@ -71,16 +116,18 @@ public void dropEvents() {
    }
 
    private interface EventContext<K, V> {
-      void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync);
+      void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                      boolean compact);
 
       CompletionStage<Void> sendToTargets();
    }
 
-   protected class UnicastEventContext<K, V> implements EventContext<K, V> {
+   protected class UnicastEventContext implements EventContext<K, V> {
       protected final Map<Address, TargetEvents<K, V>> targets = new HashMap<>();
 
       @Override
-      public void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync) {
+      public void addTargets(Address address, UUID identifier, Collection<ClusterEvent<K, V>> events, boolean sync,
+                             boolean compact) {
          TargetEvents<K, V> targetEvents = targets.get(address);
          if (targetEvents == null) {
             targetEvents = new TargetEvents<>();
@@ -97,6 +144,9 @@ public void addTargets(Address address, UUID identifier, Collection<ClusterEvent
          if (sync) {
             targetEvents.sync = true;
          }
+         if (compact) {
+            targetEvents.compacted.add(identifier);
+         }
       }
 
       @Override
@@ -105,9 +155,15 @@ public CompletionStage<Void> sendToTargets() {
          CommandsFactory factory = commandsFactory.running();
          for (Entry<Address, TargetEvents<K, V>> entry : targets.entrySet()) {
             TargetEvents<K, V> multiEvents = entry.getValue();
-            MultiClusterEventCommand<K, V> callable = factory.buildMultiClusterEventCommand(multiEvents.events);
-            CompletionStage<ValidResponse> stage = rpcManager.invokeCommand(entry.getKey(), callable, SingleResponseCollector.validOnly(),
-                  new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS));
+            if (!multiEvents.sync && coalesceWindow > 0) {
+               coalescedEvents.computeIfAbsent(entry.getKey(), CoalescedEvents::new)
+                     .add(multiEvents.events, multiEvents.compacted);
+               continue;
+            }
+            // Events still held for the target must be delivered before the events of this invocation
+            CoalescedEvents held = coalesceWindow > 0 ? coalescedEvents.get(entry.getKey()) : null;
+            CompletionStage<ValidResponse> stage = held != null ? held.flushAndSend(multiEvents.events) :
+                  send(factory, entry.getKey(), multiEvents.events);
             if (multiEvents.sync) {
                aggregateCompletionStage.dependsOn(stage);
             }
@@ -116,8 +172,104 @@ public CompletionStage<Void> sendToTargets() {
       }
    }
 
+   private CompletionStage<ValidResponse> send(CommandsFactory factory, Address target,
+                                               Map<UUID, Collection<ClusterEvent<K, V>>> events) {
+      MultiClusterEventCommand<K, V> callable = factory.buildMultiClusterEventCommand(events);
+      return rpcManager.invokeCommand(target, callable, SingleResponseCollector.validOnly(),
+            new RpcOptions(DeliverOrder.NONE, timeout, TimeUnit.MILLISECONDS));
+   }
+
+   /**
+    * Events for asynchronous listeners on a single target node that are waiting for the coalescing window to expire.
+    */
+   private class CoalescedEvents {
+      private final Address target;
+      private Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
+      // The listeners that only need the latest event per key
+      private final Set<UUID> compacted = new HashSet<>();
+      private int count;
+      private ScheduledFuture<?> flushTask;
+      // Completes when the last command sent to the target is acknowledged
+      private CompletionStage<?> lastSent = CompletableFutures.completedNull();
+
+      CoalescedEvents(Address target) {
+         this.target = target;
+      }
+
+      synchronized void add(Map<UUID, Collection<ClusterEvent<K, V>>> newEvents, Set<UUID> newCompacted) {
+         compacted.addAll(newCompacted);
+         for (Entry<UUID, Collection<ClusterEvent<K, V>>> entry : newEvents.entrySet()) {
+            events.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).addAll(entry.getValue());
+            count += entry.getValue().size();
+         }
+         if (count >= coalesceMaxEvents) {
+            sendInOrder(take());
+         } else if (flushTask == null) {
+            flushTask = scheduler.schedule(this::flush, coalesceWindow, TimeUnit.MILLISECONDS);
+         }
+      }
+
+      synchronized void flush() {
+         Map<UUID, Collection<ClusterEvent<K, V>>> toSend = take();
+         if (toSend != null) {
+            sendInOrder(toSend);
+         }
+      }
+
+      /**
+       * Sends the held events, if any, and then the given events that can't be held.
+       */
+      synchronized CompletionStage<ValidResponse> flushAndSend(Map<UUID, Collection<ClusterEvent<K, V>>> newEvents) {
+         flush();
+         return sendInOrder(newEvents);
+      }
+
+      /**
+       * Sends the events once the previous command sent to the target was acknowledged, as the commands are not
+       * delivered in order otherwise. Must be invoked while holding the monitor.
+       */
+      private CompletionStage<ValidResponse> sendInOrder(Map<UUID, Collection<ClusterEvent<K, V>>> toSend) {
+         CompletionStage<ValidResponse> stage = lastSent.handle((ignored, throwable) -> null)
+               .thenCompose(ignored -> send(commandsFactory.running(), target, toSend));
+         lastSent = stage;
+         return stage;
+      }
+
+      private Map<UUID, Collection<ClusterEvent<K, V>>> take() {
+         if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+         }
+         if (count == 0) {
+            return null;
+         }
+         Map<UUID, Collection<ClusterEvent<K, V>>> taken = events;
+         events = new HashMap<>();
+         count = 0;
+         if (!compacted.isEmpty()) {
+            taken.replaceAll((uuid, listenerEvents) -> compacted.contains(uuid) ? compact(listenerEvents) : listenerEvents);
+            compacted.clear();
+         }
+         return taken;
+      }
+   }
+
+   /**
+    * Keeps only the latest event for each key, in the order the latest events were added.
+    */
+   private static <K, V> Collection<ClusterEvent<K, V>> compact(Collection<ClusterEvent<K, V>> events) {
+      Map<K, ClusterEvent<K, V>> latest = new LinkedHashMap<>();
+      for (ClusterEvent<K, V> event : events) {
+         // Remove first so the entry is moved to the end
+         latest.remove(event.getKey());
+         latest.put(event.getKey(), event);
+      }
+      return latest.size() == events.size() ? events : new ArrayList<>(latest.values());
+   }
+
    private static class TargetEvents<K, V> {
       final Map<UUID, Collection<ClusterEvent<K, V>>> events = new HashMap<>();
+      final Set<UUID> compacted = new HashSet<>();
       boolean sync = false;
    }
 }
@@ -13,10 +13,15 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import javax.security.auth.Subject;
 import javax.transaction.Transaction;
@@ -61,6 +66,8 @@ protected abstract class AbstractInvocationBuilder {
       protected boolean sync;
       protected ClassLoader classLoader;
       protected Subject subject;
+      protected int maxPendingEvents;
+      protected Listener.Overflow overflow = Listener.Overflow.DROP_OLDEST;
 
       public Object getTarget() {
          return target;
@@ -112,10 +119,23 @@ public AbstractInvocationBuilder setSubject(Subject subject) {
          return this;
       }
 
+      public AbstractInvocationBuilder setMaxPendingEvents(int maxPendingEvents) {
+         this.maxPendingEvents = maxPendingEvents;
+         return this;
+      }
+
+      public AbstractInvocationBuilder setOverflow(Listener.Overflow overflow) {
+         this.overflow = overflow;
+         return this;
+      }
+
       public abstract L build();
 
    }
 
+   // Maximum number of events delivered to an async listener by a single notification task
+   private static final int MAX_ASYNC_EVENTS_PER_TASK = 64;
+
    // Processor used to handle async listener notifications.
    @Inject @ComponentName(KnownComponentNames.ASYNC_NOTIFICATION_EXECUTOR)
    protected Executor asyncProcessor;
@@ -214,6 +234,10 @@ protected boolean validateAndAddListenerInvocations(Object listener, AbstractInv
       builder.setTarget(listener);
       builder.setSubject(Security.getSubject());
       builder.setSync(l.sync());
+      if (!l.sync()) {
+         builder.setMaxPendingEvents(l.maxPendingEvents());
+         builder.setOverflow(l.overflow());
+      }
       Map<Class<? extends Annotation>, Class<?>> allowedListeners = getAllowedMethodAnnotations(l);
       // now try all methods on the listener for anything that we like.  Note that only PUBLIC methods are scanned.
       for (Method m : listener.getClass().getMethods()) {
@@ -260,6 +284,10 @@ protected boolean validateAndAddFilterListenerInvocations(Object listener,
       builder.setTarget(listener);
       builder.setSubject(Security.getSubject());
       builder.setSync(l.sync());
+      if (!l.sync()) {
+         builder.setMaxPendingEvents(l.maxPendingEvents());
+         builder.setOverflow(l.overflow());
+      }
       Map<Class<? extends Annotation>, Class<?>> allowedListeners = getAllowedMethodAnnotations(l);
       // now try all methods on the listener for anything that we like.  Note that only PUBLIC methods are scanned.
       for (Method m : listener.getClass().getMethods()) {
@@ -384,13 +412,40 @@ protected static void testListenerMethodValidity(Method m, Class<?> allowedParam
       final boolean sync;
       final WeakReference<ClassLoader> classLoader;
       final Subject subject;
+      // Events of an async listener waiting to be delivered, in notification order
+      private final Queue<Supplier<Object>> pendingEvents;
+      // Events added and not processed by the delivering thread yet, including the one it is delivering
+      private final AtomicInteger pendingCount;
+      // Events in pendingEvents, bounded by maxPendingEvents
+      private final AtomicInteger queuedCount;
+      private final int maxPendingEvents;
+      private final Listener.Overflow overflow;
+      // Events discarded by the overflow policy
+      private final AtomicLong droppedEvents;
+      private volatile Thread deliveringThread;
 
       public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject) {
+         this(target, method, sync, classLoader, subject, 0, Listener.Overflow.DROP_OLDEST);
+      }
+
+      /**
+       * @param maxPendingEvents the maximum number of events waiting to be delivered if the listener is asynchronous,
+       *                         zero or a negative value leaves them unbounded
+       * @param overflow what happens to an event when there are {@code maxPendingEvents} already
+       */
+      public ListenerInvocationImpl(Object target, Method method, boolean sync, ClassLoader classLoader, Subject subject,
+                                    int maxPendingEvents, Listener.Overflow overflow) {
          this.target = target;
          this.method = method;
          this.sync = sync;
          this.classLoader = new WeakReference<>(classLoader);
          this.subject = subject;
+         this.pendingEvents = sync ? null : new ConcurrentLinkedQueue<>();
+         this.pendingCount = sync ? null : new AtomicInteger();
+         this.queuedCount = sync ? null : new AtomicInteger();
+         this.droppedEvents = sync ? null : new AtomicLong();
+         this.maxPendingEvents = maxPendingEvents <= 0 ? Integer.MAX_VALUE : maxPendingEvents;
+         this.overflow = overflow;
       }
 
       @Override
@@ -454,12 +509,140 @@ public CompletionStage<Void> invoke(final A event) {
             if (result instanceof CompletionStage) {
                return (CompletionStage<Void>) result;
             }
-         } else {
-            asyncProcessor.execute(r::get);
+         } else if (enqueue(r)) {
+            // Only one task per listener delivers events, the others are picked up by the running task
+            if (pendingCount.getAndIncrement() == 0) {
+               scheduleDelivery();
+            }
          }
          return CompletableFutures.completedNull();
       }
 
+      /**
+       * Adds the event to the pending events, applying the overflow policy if there are too many of them already.
+       * @return {@code false} if the event was discarded instead
+       */
+      private boolean enqueue(Supplier<Object> event) {
+         if (!reserve()) {
+            switch (overflow) {
+               case DROP_NEWEST:
+                  dropped();
+                  return false;
+               case DROP_OLDEST:
+                  if (pendingEvents.poll() != null) {
+                     // The new event takes the place of the dropped one, the delivering thread skips it
+                     dropped();
+                  } else {
+                     // The delivering thread took the event in the meantime
+                     queuedCount.incrementAndGet();
+                  }
+                  break;
+               default:
+                  awaitCapacity();
+            }
+         }
+         pendingEvents.add(event);
+         return true;
+      }
+
+      private void dropped() {
+         long dropped = droppedEvents.incrementAndGet();
+         if (dropped == 1) {
+            getLog().droppingPendingListenerEvents(method, target, maxPendingEvents);
+         } else {
+            getLog().tracef("Dropped %d events of listener %s", dropped, target);
+         }
+      }
+
+      /**
+       * @return the number of events of an asynchronous listener discarded because too many events were pending
+       */
+      public long getDroppedEvents() {
+         return droppedEvents == null ? 0 : droppedEvents.get();
+      }
+
+      private boolean reserve() {
+         int queued;
+         do {
+            queued = queuedCount.get();
+            if (queued >= maxPendingEvents) {
+               return false;
+            }
+         } while (!queuedCount.compareAndSet(queued, queued + 1));
+         return true;
+      }
+
+      private void awaitCapacity() {
+         if (deliveringThread == Thread.currentThread()) {
+            // The listener raised the event itself, waiting would never end
+            queuedCount.incrementAndGet();
+            return;
+         }
+         boolean interrupted = false;
+         synchronized (this) {
+            while (!reserve()) {
+               try {
+                  wait();
+               } catch (InterruptedException e) {
+                  interrupted = true;
+               }
+            }
+         }
+         if (interrupted) {
+            Thread.currentThread().interrupt();
+         }
+      }
+
+      private void scheduleDelivery() {
+         try {
+            asyncProcessor.execute(this::deliverPendingEventsTask);
+         } catch (RejectedExecutionException e) {
+            // The events have been queued already, so they are all delivered in the current thread instead
+            deliverPendingEvents(Integer.MAX_VALUE);
+         }
+      }
+
+      /**
+       * Delivers up to {@code MAX_ASYNC_EVENTS_PER_TASK} events and submits another task if there are more, so that a
+       * listener with many events doesn't keep a notification thread from the other listeners.
+       */
+      private void deliverPendingEventsTask() {
+         if (deliverPendingEvents(MAX_ASYNC_EVENTS_PER_TASK)) {
+            scheduleDelivery();
+         }
+      }
+
+      /**
+       * @return {@code true} if there are more events to deliver after delivering {@code maxEvents} events.
+       */
+      private boolean deliverPendingEvents(int maxEvents) {
+         deliveringThread = Thread.currentThread();
+         try {
+            for (int delivered = 0; delivered < maxEvents; delivered++) {
+               // The event may have been dropped by the overflow policy
+               Supplier<Object> event = pendingEvents.poll();
+               if (event != null) {
+                  if (queuedCount.getAndDecrement() >= maxPendingEvents && overflow == Listener.Overflow.BLOCK) {
+                     synchronized (this) {
+                        notifyAll();
+                     }
+                  }
+                  try {
+                     event.get();
+                  } catch (Throwable t) {
+                     getLog().unableToInvokeListenerMethod(method, target, t);
+                  }
+               }
+               if (pendingCount.decrementAndGet() == 0) {
+                  return false;
+               }
+            }
+            return true;
+         } finally {
+            deliveringThread = null;
+         }
+      }
+
       @Override
       public Object getTarget() {
          return target;
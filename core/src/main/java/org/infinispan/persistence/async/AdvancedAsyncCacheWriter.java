@@ -22,14 +22,7 @@ public void purge(Executor threadPool, PurgeListener task) {
 
    @Override
    public void clear() {
-      stateLock.writeLock(0);
-      try {
-         assertNotStopped();
-         state.set(newState(true, state.get().next));
-      } finally {
-         stateLock.reset(1);
-         stateLock.writeUnlock();
-      }
+      clearState();
    }
 
    @Override
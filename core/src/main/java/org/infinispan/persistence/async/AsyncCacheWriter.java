@@ -2,7 +2,6 @@
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.CompletableFuture;
@@ -14,9 +13,12 @@
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -26,6 +28,8 @@
 import org.infinispan.configuration.cache.AsyncStoreConfiguration;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.PersistenceConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.ch.impl.SingleSegmentKeyPartitioner;
 import org.infinispan.factories.threads.DefaultThreadFactory;
 import org.infinispan.persistence.modifications.Modification;
 import org.infinispan.persistence.modifications.ModificationsList;
@@ -61,6 +65,12 @@
  * <p/>
  * Write operations affecting same key are now coalesced so that only the final state is actually stored.
  * <p/>
+ * Modifications are added to the current {@link State} without any lock: writers register with the state and check
+ * that it is still the current one before adding their modification, while the coordinator thread replaces the state
+ * and waits for the registered writers before handing its modifications off to the flush workers. Modifications are
+ * partitioned between the flush workers by segment, and each worker applies its batches in order, so modifications of
+ * the same key are always applied in order without waiting for the previous batch of the other workers.
+ * <p/>
  *
  * @author Manik Surtani
  * @author Galder Zamarreño
@@ -73,17 +83,27 @@ public class AsyncCacheWriter extends DelegatingCacheWriter {
    private static final Log log = LogFactory.getLog(AsyncCacheWriter.class);
    private static final boolean trace = log.isTraceEnabled();
 
-   private ExecutorService executor;
+   private ExecutorService[] workers;
    private Thread coordinator;
    private int concurrencyLevel;
    private String cacheName;
    private String nodeName;
+   private KeyPartitioner keyPartitioner;
 
-   protected BufferLock stateLock;
-   @GuardedBy("stateLock")
    protected final AtomicReference<State> state = new AtomicReference<>();
-   @GuardedBy("stateLock")
-   private boolean stopped;
+   private volatile boolean stopped;
+
+   // Modifications added to the current state and not yet handed off to the flush workers
+   private final AtomicInteger staged = new AtomicInteger();
+   // Modifications handed off to the flush workers and not yet applied
+   private final AtomicInteger inFlight = new AtomicInteger();
+   private int modificationQueueSize;
+   private final Object capacityMonitor = new Object();
+   private volatile boolean coordinatorWaiting;
+
+   private final LongAdder submittedModifications = new LongAdder();
+   private final LongAdder flushedModifications = new LongAdder();
+   private final LatencyHistogram flushLatencies = new LatencyHistogram();
 
    private final Lock availabilityLock = new ReentrantLock();
    private final Condition availability = availabilityLock.newCondition();
@@ -106,6 +126,9 @@ public void init(InitializationContext ctx) {
       concurrencyLevel = cacheCfg != null ? cacheCfg.locking().concurrencyLevel() : 16;
       cacheName = cache != null ? cache.getName() : null;
       nodeName = cache != null ? cache.getCacheManager().getCacheManagerConfiguration().transport().nodeName() : null;
+      // Modifications are spread by key hash when there is a single segment
+      KeyPartitioner partitioner = ctx.getKeyPartitioner();
+      keyPartitioner = partitioner instanceof SingleSegmentKeyPartitioner ? null : partitioner;
    }
 
    @Override
@@ -113,17 +136,24 @@ public void start() {
       log.debugf("Async cache loader starting %s", this);
       state.set(newState(false, null));
       stopped = false;
-      stateLock = new BufferLock(asyncConfiguration.modificationQueueSize());
+      staged.set(0);
+      inFlight.set(0);
+      modificationQueueSize = asyncConfiguration.modificationQueueSize();
 
-      // Create a thread pool with unbounded work queue, so that all work is accepted and eventually
-      // executed. A bounded queue could throw RejectedExecutionException and thus lose data.
+      // Every worker has an unbounded work queue, so that all work is accepted and eventually executed.
+      // A bounded queue could throw RejectedExecutionException and thus lose data.
       int poolSize = asyncConfiguration.threadPoolSize();
       DefaultThreadFactory processorThreadFactory =
             new DefaultThreadFactory(null, Thread.NORM_PRIORITY, DefaultThreadFactory.DEFAULT_PATTERN, nodeName,
                                      "AsyncStoreProcessor");
-      executor = new ThreadPoolExecutor(poolSize, poolSize, 120L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
-                                        processorThreadFactory);
-      ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+      workers = new ExecutorService[poolSize];
+      for (int i = 0; i < poolSize; i++) {
+         // A single thread per worker, so that its batches are applied in order
+         ThreadPoolExecutor worker = new ThreadPoolExecutor(1, 1, 120L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                                            processorThreadFactory);
+         worker.allowCoreThreadTimeOut(true);
+         workers[i] = worker;
+      }
 
       DefaultThreadFactory coordinatorThreadFactory =
             new DefaultThreadFactory(null, Thread.NORM_PRIORITY, DefaultThreadFactory.DEFAULT_PATTERN, nodeName,
@@ -136,19 +166,22 @@ public void start() {
    @Override
    public void stop() {
       if (trace) log.tracef("Stop async store %s", this);
-      stateLock.writeLock(0);
       stopped = true;
-      stateLock.writeUnlock();
+      LockSupport.unpark(coordinator);
+      synchronized (capacityMonitor) {
+         capacityMonitor.notifyAll();
+      }
 
       try {
          if (!asyncConfiguration.failSilently() && !delegateAvailable) {
             // The delegate store is unavailable, therefore we must interrupt the AsyncStoreProcessor(s) threads
             // as they will be awaiting an availability signal
             coordinator.interrupt();
-            executor.shutdownNow();
+            for (ExecutorService worker : workers)
+               worker.shutdownNow();
          } else {
-            // It is safe to wait without timeout because the thread pool uses an unbounded work queue (i.e.
-            // all work handed to the pool will be accepted and eventually executed) and AsyncStoreProcessors
+            // It is safe to wait without timeout because the workers use an unbounded work queue (i.e.
+            // all work handed to them will be accepted and eventually executed) and AsyncStoreProcessors
             // decrement the workerThreads latch in a finally block (i.e. even if the back-end store throws
             // java.lang.Error). The coordinator thread can only block forever if the back-end's write() /
             // remove() methods block, but this is no different from PassivationManager.stop() being blocked
@@ -156,10 +189,16 @@ public void stop() {
             coordinator.join();
             // The coordinator thread waits for AsyncStoreProcessor threads to count down their latch (nearly
             // at the end). Thus the threads should have terminated or terminate instantly.
-            executor.shutdown();
+            for (ExecutorService worker : workers)
+               worker.shutdown();
+         }
+         long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+         for (ExecutorService worker : workers) {
+            if (!worker.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+               log.errorAsyncStoreNotStopped();
+               break;
+            }
          }
-         if (!executor.awaitTermination(1, TimeUnit.SECONDS))
-            log.errorAsyncStoreNotStopped();
       } catch (InterruptedException e) {
          log.interruptedWaitingAsyncStorePush(e);
          Thread.currentThread().interrupt();
@@ -193,8 +232,8 @@ public boolean isAvailable() {
       }
       // Available if actual == available || actual != available and queue has capacity
       // Worst case, bulkUpdate comes in before isAvailable is called by the PersistenceManager, in which case the batch
-      // will wait on writeLock until the stateLock is reset when the queue is finally flushed
-      return delegateAvailable || stateLock.hasCapacity();
+      // will wait for capacity until the queue is finally flushed
+      return delegateAvailable || hasCapacity();
    }
 
    @Override
@@ -259,35 +298,152 @@ void assertNotStopped() throws CacheException {
    }
 
    private void put(Modification mod, int count) {
-      stateLock.writeLock(count);
+      if (trace)
+         log.tracef("Queue modification: %s", mod);
+      acquireCapacity(count);
+      boolean added = false;
       try {
-         if (trace)
-            log.tracef("Queue modification: %s", mod);
-
-         assertNotStopped();
-         state.get().put(mod);
+         for (;;) {
+            State s = state.get();
+            int writer = s.enterWriter();
+            try {
+               // The coordinator may have replaced the state before we registered, in which case it won't wait for us
+               if (state.get() != s)
+                  continue;
+
+               assertNotStopped();
+               s.put(mod);
+               s.added.add(count);
+               added = true;
+               break;
+            } finally {
+               s.exitWriter(writer);
+            }
+         }
       } finally {
-         stateLock.writeUnlock();
+         if (!added)
+            releaseCapacity(count);
       }
+      submittedModifications.add(count);
+      signalCoordinator();
    }
 
    private void putAll(List<Modification> mods) {
-      stateLock.writeLock(mods.size());
-      try {
-         state.get().put(new ModificationsList(mods));
-      } finally {
-         stateLock.writeUnlock();
+      put(new ModificationsList(mods), mods.size());
+   }
+
+   /**
+    * Replaces the current state with an empty one that records that the store must be cleared. Modifications that
+    * were not handed off to the flush workers yet are discarded.
+    */
+   void clearState() {
+      State s;
+      do {
+         assertNotStopped();
+         s = state.get();
+         // The coordinator discards the previous state once it processes the cleared one
+      } while (!state.compareAndSet(s, newState(true, s)));
+      signalCoordinator();
+   }
+
+   private void acquireCapacity(int count) {
+      if (modificationQueueSize <= 0) {
+         staged.addAndGet(count);
+         return;
+      }
+      boolean interrupted = false;
+      for (;;) {
+         int current = staged.get();
+         if (current < modificationQueueSize || stopped) {
+            if (staged.compareAndSet(current, current + count))
+               break;
+            continue;
+         }
+         // The queue is full, make sure the coordinator is flushing it
+         signalCoordinator();
+         synchronized (capacityMonitor) {
+            while (staged.get() >= modificationQueueSize && !stopped) {
+               try {
+                  capacityMonitor.wait();
+               } catch (InterruptedException e) {
+                  interrupted = true;
+               }
+            }
+         }
+      }
+      if (interrupted)
+         Thread.currentThread().interrupt();
+   }
+
+   private void releaseCapacity(long count) {
+      if (count == 0)
+         return;
+      int previous = staged.getAndAdd((int) -count);
+      if (modificationQueueSize > 0 && previous >= modificationQueueSize) {
+         synchronized (capacityMonitor) {
+            capacityMonitor.notifyAll();
+         }
       }
    }
 
+   private boolean hasCapacity() {
+      return modificationQueueSize <= 0 || staged.get() < modificationQueueSize;
+   }
+
+   private void signalCoordinator() {
+      if (coordinatorWaiting)
+         LockSupport.unpark(coordinator);
+   }
+
    public AtomicReference<State> getState() {
       return state;
    }
 
+   /**
+    * @return the number of modifications that were queued but not applied to the underlying store yet
+    */
+   public int getQueueDepth() {
+      return Math.max(0, staged.get()) + inFlight.get();
+   }
+
+   /**
+    * @return the number of modifications queued since the statistics were last reset
+    */
+   public long getSubmittedModifications() {
+      return submittedModifications.sum();
+   }
+
+   /**
+    * @return the number of modifications applied to the underlying store since the statistics were last reset, which
+    * is lower than {@link #getSubmittedModifications()} when modifications of the same key were coalesced
+    */
+   public long getFlushedModifications() {
+      return flushedModifications.sum();
+   }
+
+   /**
+    * @return the count of flushes by latency, the element {@code i} counts the flushes that took between
+    * {@code 2^(i-1)} and {@code 2^i} nanoseconds
+    */
+   public long[] getFlushLatencyHistogram() {
+      return flushLatencies.snapshot();
+   }
+
+   public void resetStatistics() {
+      submittedModifications.reset();
+      flushedModifications.reset();
+      flushLatencies.reset();
+   }
+
    protected void clearStore() {
       // No-op, not supported for async
    }
 
+   private int workerIndex(Object key) {
+      int segment = keyPartitioner != null ? keyPartitioner.getSegment(key) : key.hashCode() & Integer.MAX_VALUE;
+      return segment % workers.length;
+   }
+
    private class AsyncStoreCoordinator implements Runnable {
 
       final boolean failSilently;
@@ -301,18 +457,17 @@ public void run() {
          LogFactory.pushNDC(cacheName, trace);
          try {
             for (;;) {
-               final State s, head, tail;
-               final boolean shouldStop;
-               stateLock.readLock();
+               if (!awaitWork())
+                  return;
+
                if (!failSilently) {
                   availabilityLock.lock();
                   try {
-                     // If the delegate is unavailable, relinquish the readLock and await for the delegate to become available
+                     // If the delegate is unavailable, await for the delegate to become available
                      if (!delegateAvailable) {
-                        stateLock.readUnlock();
                         availability.await();
 
-                        // Restart the loop so that the readLock is reacquired
+                        // Restart the loop so that the work is checked again
                         continue;
                      }
                   } catch (InterruptedException e) {
@@ -324,60 +479,75 @@ public void run() {
                   }
                }
 
-               try {
-                  s = state.get();
-                  shouldStop = stopped;
-                  tail = s.next;
-                  assert tail == null || tail.next == null : "State chain longer than 3 entries!";
-                  head = newState(false, s);
-                  state.set(head);
-                  stateLock.reset(0);
-               } finally {
-                  stateLock.readUnlock();
+               final State s = state.get();
+               final boolean shouldStop = stopped;
+               if (!state.compareAndSet(s, newState(false, s))) {
+                  // Concurrently cleared, process the cleared state instead
+                  continue;
                }
+               State tail = s.next;
 
                try {
-                  if (s.clear) {
-                     // clear() must be called synchronously, wait until background threads are done
-                     if (tail != null)
-                        tail.workerThreads.await();
+                  // Modifications added by threads that registered before the state was replaced must be included
+                  s.awaitWriters();
+                  // Count the batch as in flight before releasing its staged capacity, otherwise the queue depth
+                  // could read 0 while the modifications are still unwritten
+                  int count = s.modifications.size();
+                  inFlight.addAndGet(count);
+                  releaseCapacity(s.added.sum());
 
-                     clearStore();
-                  }
+                  if (s.clear) {
+                     // The clear itself is pending until clearStore() returns
+                     inFlight.incrementAndGet();
+                     try {
+                        // clear() must be called synchronously, wait until background threads are done. States that
+                        // were never handed off to the workers were replaced by the clear, so they are discarded.
+                        for (State t = tail; t != null; t = t.next) {
+                           if (t.workerThreads != null) {
+                              t.workerThreads.await();
+                           } else {
+                              t.awaitWriters();
+                              releaseCapacity(t.added.sum());
+                           }
+                        }
+                        s.next = null;
+                        tail = null;
 
-                  final List<Modification> mods = new ArrayList<>(s.modifications.size());
-                  final List<Modification> deferredMods = new ArrayList<>();
-                  if (tail != null && tail.workerThreads.getCount() > 0) {
-                     // sort out modifications that are still in use by tail's AsyncStoreProcessors
-                     for (Map.Entry<Object, Modification> e : s.modifications.entrySet()) {
-                        if (!tail.modifications.containsKey(e.getKey()))
-                           mods.add(e.getValue());
-                        else
-                           deferredMods.add(e.getValue());
+                        clearStore();
+                     } finally {
+                        inFlight.decrementAndGet();
                      }
-                  } else {
-                     mods.addAll(s.modifications.values());
                   }
 
-                  // create AsyncStoreProcessors
-                  final List<AsyncStoreProcessor> procs = createProcessors(s, mods);
-                  final List<AsyncStoreProcessor> deferredProcs = createProcessors(s, deferredMods);
-                  s.workerThreads = new CountDownLatch(procs.size() + deferredProcs.size());
+                  // Group the modifications by worker, each worker applies its batches in order so modifications
+                  // that are still in use by tail's AsyncStoreProcessors are applied after them
+                  List<List<Modification>> mods = new ArrayList<>(workers.length);
+                  for (int i = 0; i < workers.length; i++) {
+                     mods.add(new ArrayList<>());
+                  }
+                  for (Modification mod : s.modifications.values()) {
+                     mods.get(workerIndex(modificationKey(mod))).add(mod);
+                  }
 
-                  // schedule AsyncStoreProcessors that don't conflict with tail's processors
-                  for (AsyncStoreProcessor processor : procs)
-                     executor.execute(processor);
+                  final List<AsyncStoreProcessor> procs = new ArrayList<>(workers.length);
+                  final List<Integer> procWorkers = new ArrayList<>(workers.length);
+                  for (int i = 0; i < workers.length; i++) {
+                     if (!mods.get(i).isEmpty()) {
+                        procs.add(new AsyncStoreProcessor(mods.get(i), s, failSilently));
+                        procWorkers.add(i);
+                     }
+                  }
+                  s.workerThreads = new CountDownLatch(procs.size());
+                  for (int i = 0; i < procs.size(); i++)
+                     workers[procWorkers.get(i)].execute(procs.get(i));
 
-                  // wait until background threads of previous round are done
+                  // wait until background threads of previous round are done, so that at most two rounds are in
+                  // progress and the chain of states read by the loaders stays short
                   if (tail != null) {
                      tail.workerThreads.await();
                      s.next = null;
                   }
 
-                  // schedule remaining AsyncStoreProcessors
-                  for (AsyncStoreProcessor processor : deferredProcs)
-                     executor.execute(processor);
-
                   // if this is the last state to process, wait for background threads, then quit
                   if (shouldStop) {
                      s.workerThreads.await();
@@ -392,23 +562,30 @@ public void run() {
          }
       }
 
-      private List<AsyncStoreProcessor> createProcessors(State state, List<Modification> mods) {
-         List<AsyncStoreProcessor> result = new ArrayList<>();
-         // distribute modifications evenly across worker threads
-         int threads = Math.min(mods.size(), asyncConfiguration.threadPoolSize());
-         if (threads > 0) {
-            // create background threads
-            int start = 0;
-            int quotient = mods.size() / threads;
-            int remainder = mods.size() % threads;
-            for (int i = 0; i < threads; i++) {
-               int end = start + quotient + (i < remainder ? 1 : 0);
-               result.add(new AsyncStoreProcessor(mods.subList(start, end), state, failSilently));
-               start = end;
-            }
-            assert start == mods.size() : "Thread distribution is broken!";
+      /**
+       * Waits until there are modifications to apply, the state was cleared or the writer is stopped.
+       *
+       * @return {@code false} if the thread was interrupted
+       */
+      private boolean awaitWork() {
+         while (!hasWork()) {
+            coordinatorWaiting = true;
+            // Check again after publishing that we are waiting, writers check the flag after adding modifications
+            if (!hasWork())
+               LockSupport.park(this);
+            coordinatorWaiting = false;
+            if (Thread.currentThread().isInterrupted())
+               return false;
          }
-         return result;
+         return true;
+      }
+
+      private boolean hasWork() {
+         return staged.get() > 0 || state.get().clear || stopped;
+      }
+
+      private Object modificationKey(Modification mod) {
+         return mod.getType() == Modification.Type.STORE ? ((Store) mod).getKey() : ((Remove) mod).getKey();
       }
    }
 
@@ -427,9 +604,13 @@ private class AsyncStoreProcessor implements Runnable {
 
       @Override
       public void run() {
+         long start = System.nanoTime();
          try {
             retryWork(configuration.connectionAttempts());
          } finally {
+            flushLatencies.record(System.nanoTime() - start);
+            flushedModifications.add(modifications.size());
+            inFlight.addAndGet(-modifications.size());
             // decrement active worker threads and disconnect myState if this was the last one
             myState.workerThreads.countDown();
             if (myState.workerThreads.getCount() == 0 && myState.next == null)
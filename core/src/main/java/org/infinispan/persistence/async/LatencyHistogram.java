@@ -0,0 +1,70 @@
+package org.infinispan.persistence.async;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of latencies, with a bucket for each power of two nanoseconds.
+ * <p>
+ * Bucket {@code i} counts the latencies in {@code [2^(i-1), 2^i)} nanoseconds, so percentiles are reported as the upper
+ * bound of their bucket and are at most twice the actual value.
+ *
+ * @since 10.0
+ */
+public final class LatencyHistogram {
+   public static final int BUCKETS = 64;
+
+   private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+   void record(long nanos) {
+      buckets.incrementAndGet(bucket(nanos));
+   }
+
+   static int bucket(long nanos) {
+      return nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+   }
+
+   public static long upperBound(int bucket) {
+      return bucket >= 63 ? Long.MAX_VALUE : 1L << bucket;
+   }
+
+   /**
+    * @return the count of each bucket
+    */
+   long[] snapshot() {
+      long[] counts = new long[BUCKETS];
+      for (int i = 0; i < BUCKETS; i++) {
+         counts[i] = buckets.get(i);
+      }
+      return counts;
+   }
+
+   void reset() {
+      for (int i = 0; i < BUCKETS; i++) {
+         buckets.set(i, 0);
+      }
+   }
+
+   /**
+    * @param counts the bucket counts, as returned by {@link #snapshot()}
+    * @param percentile the percentile, between 0 and 100
+    * @return the upper bound in nanoseconds of the bucket containing the percentile, or 0 if nothing was recorded
+    */
+   public static long percentile(long[] counts, double percentile) {
+      long total = 0;
+      for (long count : counts) {
+         total += count;
+      }
+      if (total == 0) {
+         return 0;
+      }
+      long rank = (long) Math.ceil(total * percentile / 100);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+         seen += counts[i];
+         if (seen >= rank && counts[i] > 0) {
+            return upperBound(i);
+         }
+      }
+      return upperBound(counts.length - 1);
+   }
+}
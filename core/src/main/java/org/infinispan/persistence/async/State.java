@@ -4,8 +4,12 @@
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.infinispan.commons.util.ByRef;
+import org.infinispan.commons.util.ProcessorInfo;
+import org.infinispan.commons.util.Util;
 import org.infinispan.persistence.modifications.Clear;
 import org.infinispan.persistence.modifications.Modification;
 import org.infinispan.persistence.modifications.ModificationsList;
@@ -20,6 +24,12 @@ public class State {
 
    final static Clear CLEAR = new Clear();
 
+   private static final int WRITER_CELLS = Math.min(16, Util.findNextHighestPowerOfTwo(ProcessorInfo.availableProcessors()));
+   // Each cell gets its own cache line, so that writers of different threads don't contend
+   private static final int CELL_STRIDE = 16;
+   // Spinning only makes sense if the writers can make progress concurrently
+   private static final int AWAIT_SPINS = ProcessorInfo.availableProcessors() > 1 ? 64 : 0;
+
    /**
     * True if the state has been cleared before making modifications.
     */
@@ -41,6 +51,17 @@ public class State {
     */
    CountDownLatch workerThreads;
 
+   /**
+    * Number of threads currently adding modifications to this instance, striped by thread.
+    */
+   private final AtomicIntegerArray writers = new AtomicIntegerArray(WRITER_CELLS * CELL_STRIDE);
+
+   /**
+    * Number of modifications added to this instance, including the ones replaced by later modifications of the same
+    * key. Only accurate once {@link #awaitWriters()} returned.
+    */
+   final LongAdder added = new LongAdder();
+
    public State(boolean clear, ConcurrentMap<Object, Modification> modMap, State next) {
       this.clear = clear;
       this.modifications = modMap;
@@ -67,6 +88,38 @@ else if (state.clear)
       return null;
    }
 
+   /**
+    * Registers the current thread as adding modifications to this instance. The caller must then verify that this
+    * instance is still the current state before adding any modification, and invoke {@link #exitWriter(int)} when
+    * done.
+    *
+    * @return the value to pass to {@link #exitWriter(int)}
+    */
+   int enterWriter() {
+      int index = (Long.hashCode(Thread.currentThread().getId()) & (WRITER_CELLS - 1)) * CELL_STRIDE;
+      writers.incrementAndGet(index);
+      return index;
+   }
+
+   void exitWriter(int index) {
+      writers.decrementAndGet(index);
+   }
+
+   /**
+    * Waits until all the threads that registered with {@link #enterWriter()} have completed. Must only be invoked
+    * once this instance has been replaced as the current state, so threads registering afterwards won't modify it.
+    */
+   void awaitWriters() {
+      for (int index = 0; index < writers.length(); index += CELL_STRIDE) {
+         // Writers only add a single modification, so spin for a while before yielding
+         for (int spins = 0; writers.get(index) != 0; ++spins) {
+            if (spins >= AWAIT_SPINS) {
+               Thread.yield();
+            }
+         }
+      }
+   }
+
    Map<Object, Modification> flattenModifications(ByRef<Boolean> containsClear) {
       Map<Object, Modification> map = new HashMap<>();
       for (State state = this; state != null; state = state.next) {
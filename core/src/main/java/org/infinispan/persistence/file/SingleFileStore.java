@@ -7,30 +7,38 @@
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.persistence.Store;
 import org.infinispan.commons.time.TimeService;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
-import org.infinispan.persistence.spi.CacheLoader;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.ch.impl.SingleSegmentKeyPartitioner;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.MarshallableEntryFactory;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.support.AbstractSegmentedAdvancedLoadWriteStore;
 import org.infinispan.util.KeyValuePair;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -58,6 +66,12 @@
  * data loss, and data can be recomputed or re-queried from the original data
  * source.
  * <p/>
+ * The in-memory index is split by segment: every segment has its own key index and its own list of free blocks, so
+ * that operations on keys mapping to different segments do not contend with each other. Free blocks that do not
+ * belong to a segment (found when rebuilding the index, produced by merging adjacent blocks or released by
+ * clearing a segment) are kept in a shared free list, which is consulted when the segment free list has no block of
+ * sufficient size. When the store is bounded the eviction order is only LRU within a segment.
+ * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
  * of individual cache entries.
  *
@@ -67,7 +81,7 @@
  */
 @Store
 @ConfiguredBy(SingleFileStoreConfiguration.class)
-public class SingleFileStore<K, V> implements AdvancedLoadWriteStore<K, V> {
+public class SingleFileStore<K, V> extends AbstractSegmentedAdvancedLoadWriteStore<K, V> {
    private static final Log log = LogFactory.getLog(SingleFileStore.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -84,12 +98,19 @@
    protected InitializationContext ctx;
 
    private FileChannel channel;
-   private Map<K, FileEntry> entries;
-   private SortedSet<FileEntry> freeList;
-   private long filePos = MAGIC.length;
+   private KeyPartitioner keyPartitioner;
+   private int numSegments;
+   // Segments are created lazily, as most of them are never used when this store is composed per segment
+   private AtomicReferenceArray<Segment<K>> segments;
+   // Free blocks that are not owned by any segment
+   private ConcurrentSkipListSet<FileEntry> freeList;
+   // Only maintained when the store is bounded
+   private final AtomicInteger boundedSize = new AtomicInteger();
+   private final AtomicLong filePos = new AtomicLong(MAGIC.length);
    private File file;
    private float fragmentationFactor = .75f;
-   // Prevent clear() from truncating the file after a write() allocated the entry but before it wrote the data
+   // Prevent clear() and the free space optimizations from truncating the file after a write() allocated the entry
+   // but before it wrote the data
    private ReadWriteLock resizeLock = new ReentrantReadWriteLock();
    private TimeService timeService;
    private MarshallableEntryFactory<K, V> entryFactory;
@@ -119,12 +140,13 @@ public void start() {
          }
          channel = new RandomAccessFile(file, "rw").getChannel();
 
-         // initialize data structures. Only use LinkedHashMap (LRU) for entries when cache store is bounded
-         Map<K, FileEntry> entryMap = configuration.maxEntries() > 0 ?
-               new LinkedHashMap<>(16, 0.75f, true) :
-               new HashMap<>();
-         entries = Collections.synchronizedMap(entryMap);
-         freeList = Collections.synchronizedSortedSet(new TreeSet<>());
+         // initialize data structures
+         keyPartitioner = ctx.getKeyPartitioner();
+         numSegments = keyPartitioner instanceof SingleSegmentKeyPartitioner ? 1 :
+               ctx.getCache().getCacheConfiguration().clustering().hash().numSegments();
+         segments = new AtomicReferenceArray<>(numSegments);
+         freeList = new ConcurrentSkipListSet<>();
+         boundedSize.set(0);
 
          // check file format and read persistent state if enabled for the cache
          byte[] header = new byte[MAGIC.length];
@@ -146,14 +168,14 @@ public void start() {
    public void stop() {
       try {
          if (channel != null) {
-            log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), entries.size(), channel.size());
+            log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), size(), channel.size());
 
             // reset state
             channel.close();
             channel = null;
-            entries = null;
+            segments = null;
             freeList = null;
-            filePos = MAGIC.length;
+            filePos.set(MAGIC.length);
          }
       } catch (Exception e) {
          throw new PersistenceException(e);
@@ -175,129 +197,166 @@ public boolean isAvailable() {
       return file.exists();
    }
 
+   @Override
+   protected ToIntFunction<Object> getKeyMapper() {
+      return keyPartitioner;
+   }
+
+   private Segment<K> getSegment(int segment) {
+      Segment<K> seg = segments.get(segment);
+      if (seg == null) {
+         seg = new Segment<>(configuration.maxEntries() > 0);
+         if (!segments.compareAndSet(segment, null, seg)) {
+            seg = segments.get(segment);
+         }
+      }
+      return seg;
+   }
+
    /**
     * Rebuilds the in-memory index from file.
     */
    private void rebuildIndex() throws Exception {
       ByteBuffer buf = ByteBuffer.allocate(KEY_POS);
-      for (; ; ) {
-         // read FileEntry fields from file (size, keyLen etc.)
-         buf.clear().limit(KEY_POS);
-         channel.read(buf, filePos);
-         // return if end of file is reached
-         if (buf.remaining() > 0)
-            return;
-         buf.flip();
-
-         // initialize FileEntry from buffer
-         int entrySize = buf.getInt();
-         int keyLen = buf.getInt();
-         int dataLen = buf.getInt();
-         int metadataLen = buf.getInt();
-         long expiryTime = buf.getLong();
-         FileEntry fe = new FileEntry(filePos, entrySize, keyLen, dataLen, metadataLen, expiryTime);
-
-         // sanity check
-         if (fe.size < KEY_POS + fe.keyLen + fe.dataLen + fe.metadataLen) {
-            throw log.errorReadingFileStore(file.getPath(), filePos);
-         }
-
-         // update file pointer
-         filePos += fe.size;
-
-         // check if the entry is used or free
-         if (fe.keyLen > 0) {
-            // load the key from file
-            if (buf.capacity() < fe.keyLen)
-               buf = ByteBuffer.allocate(fe.keyLen);
+      long filePos = this.filePos.get();
+      try {
+         for (; ; ) {
+            // read FileEntry fields from file (size, keyLen etc.)
+            buf.clear().limit(KEY_POS);
+            channel.read(buf, filePos);
+            // return if end of file is reached
+            if (buf.remaining() > 0)
+               return;
+            buf.flip();
 
-            buf.clear().limit(fe.keyLen);
-            channel.read(buf, fe.offset + KEY_POS);
+            // initialize FileEntry from buffer
+            int entrySize = buf.getInt();
+            int keyLen = buf.getInt();
+            int dataLen = buf.getInt();
+            int metadataLen = buf.getInt();
+            long expiryTime = buf.getLong();
+            FileEntry fe = new FileEntry(filePos, entrySize, keyLen, dataLen, metadataLen, expiryTime);
+
+            // sanity check
+            if (fe.size < KEY_POS + fe.keyLen + fe.dataLen + fe.metadataLen) {
+               throw log.errorReadingFileStore(file.getPath(), filePos);
+            }
 
-            // deserialize key and add to entries map
-            // Marshaller should allow for provided type return for safety
-            K key = (K) ctx.getPersistenceMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
-            entries.put(key, fe);
-         } else {
-            // add to free list
-            freeList.add(fe);
+            // update file pointer
+            filePos += fe.size;
+
+            // check if the entry is used or free
+            if (fe.keyLen > 0) {
+               // load the key from file
+               if (buf.capacity() < fe.keyLen)
+                  buf = ByteBuffer.allocate(fe.keyLen);
+
+               buf.clear().limit(fe.keyLen);
+               channel.read(buf, fe.offset + KEY_POS);
+
+               // deserialize key and add to the index of its segment
+               // Marshaller should allow for provided type return for safety
+               K key = (K) ctx.getPersistenceMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
+               Segment<K> seg = getSegment(keyPartitioner.getSegment(key));
+               synchronized (seg.entries) {
+                  if (seg.entries.put(key, fe) == null) {
+                     incrementBoundedSize();
+                  }
+               }
+            } else {
+               // add to the shared free list
+               freeList.add(fe);
+            }
          }
+      } finally {
+         this.filePos.set(filePos);
       }
    }
 
-   /**
-    * The base class implementation calls {@link CacheLoader#loadEntry(Object)} for this, we can do better because
-    * we keep all keys in memory.
-    */
    @Override
-   public boolean contains(Object key) {
-      FileEntry entry = entries.get(key);
+   public boolean contains(int segment, Object key) {
+      Segment<K> seg = segments.get(segment);
+      if (seg == null)
+         return false;
+      FileEntry entry;
+      synchronized (seg.entries) {
+         entry = seg.entries.get(key);
+      }
       return entry != null && !entry.isExpired(timeService.wallClockTime());
    }
 
    /**
-    * Allocates the requested space in the file.
+    * Allocates the requested space in the file, preferring the free blocks of the given segment, then the shared free
+    * blocks and finally the end of the file.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
     *
+    * @param segment segment the space is allocated for
     * @param len requested space
     * @return allocated file position and length as FileEntry object
     */
-   private FileEntry allocate(int len) {
-      synchronized (freeList) {
-         // lookup a free entry of sufficient size
-         SortedSet<FileEntry> candidates = freeList.tailSet(new FileEntry(0, len));
-         for (Iterator<FileEntry> it = candidates.iterator(); it.hasNext(); ) {
-            FileEntry free = it.next();
-            // ignore entries that are still in use by concurrent readers
-            if (free.isLocked())
-               continue;
+   private FileEntry allocate(Segment<K> segment, int len) {
+      FileEntry fe = allocateFromFreeList(segment.freeList, len);
+      if (fe == null) {
+         fe = allocateFromFreeList(freeList, len);
+      }
+      if (fe != null)
+         return fe;
 
-            // There's no race condition risk between locking the entry on
-            // loading and checking whether it's locked (or store allocation),
-            // because for the entry to be lockable, it needs to be in the
-            // entries collection, in which case it's not in the free list.
-            // The only way an entry can be found in the free list is if it's
-            // been removed, and to remove it, lock on "entries" needs to be
-            // acquired, which is also a pre-requisite for loading data.
+      // no appropriate free section available, append at end of file
+      fe = new FileEntry(filePos.getAndAdd(len), len);
+      if (trace) log.tracef("New entry allocated at %d:%d, file size is %d", fe.offset, fe.size, fe.offset + fe.size);
+      return fe;
+   }
 
-            // found one, remove from freeList
-            it.remove();
-            return allocateExistingEntry(free, len);
-         }
+   private FileEntry allocateFromFreeList(ConcurrentSkipListSet<FileEntry> freeList, int len) {
+      // lookup a free entry of sufficient size
+      for (FileEntry free : freeList.tailSet(new FileEntry(0, len))) {
+         // ignore entries that are still in use by concurrent readers or were already taken by a concurrent writer
+         if (!free.tryAllocate())
+            continue;
 
-         // no appropriate free section available, append at end of file
-         FileEntry fe = new FileEntry(filePos, len);
-         filePos += len;
-         if (trace) log.tracef("New entry allocated at %d:%d, %d free entries, file size is %d", fe.offset, fe.size, freeList.size(), filePos);
-         return fe;
+         // There's no race condition risk between locking the entry on
+         // loading and checking whether it's locked (or store allocation),
+         // because for the entry to be lockable, it needs to be in the
+         // entries collection, in which case it's not in the free list.
+         // The only way an entry can be found in the free list is if it's
+         // been removed, and to remove it, the lock on the segment entries
+         // needs to be acquired, which is also a pre-requisite for loading data.
+
+         // The iterator is weakly consistent and may return an entry that was allocated by a concurrent writer and
+         // whose space was freed again under an equal FileEntry, but tryAllocate() only succeeds once per instance.
+         freeList.remove(free);
+         return allocateExistingEntry(freeList, free, len);
       }
+      return null;
    }
 
-   private FileEntry allocateExistingEntry(FileEntry free, int len) {
+   private FileEntry allocateExistingEntry(ConcurrentSkipListSet<FileEntry> freeList, FileEntry free, int len) {
       int remainder = free.size - len;
       // If the entry is quite bigger than configured threshold, then split it
       if ((remainder >= SMALLEST_ENTRY_SIZE) && (len <= (free.size * fragmentationFactor))) {
          try {
             // Add remainder of the space as a fileEntry
             FileEntry newFreeEntry = new FileEntry(free.offset + len, remainder);
-            addNewFreeEntry(newFreeEntry);
+            addNewFreeEntry(freeList, newFreeEntry);
             FileEntry newEntry = new FileEntry(free.offset, len);
-            if (trace) log.tracef("Split entry at %d:%d, allocated %d:%d, free %d:%d, %d free entries",
-                  free.offset, free.size, newEntry.offset, newEntry.size, newFreeEntry.offset, newFreeEntry.size,
-                  freeList.size());
+            if (trace) log.tracef("Split entry at %d:%d, allocated %d:%d, free %d:%d",
+                  free.offset, free.size, newEntry.offset, newEntry.size, newFreeEntry.offset, newFreeEntry.size);
             return newEntry;
          } catch (IOException e) {
             throw new PersistenceException("Cannot add new free entry", e);
          }
       }
 
-      if (trace) log.tracef("Existing free entry allocated at %d:%d, %d free entries", free.offset, free.size, freeList.size());
+      if (trace) log.tracef("Existing free entry allocated at %d:%d", free.offset, free.size);
       return free;
    }
 
    /**
-    * Writes a new free entry to the file and also adds it to the free list
+    * Writes a new free entry to the file and also adds it to the given free list
     */
-   private void addNewFreeEntry(FileEntry fe) throws IOException {
+   private void addNewFreeEntry(ConcurrentSkipListSet<FileEntry> freeList, FileEntry fe) throws IOException {
       ByteBuffer buf = ByteBuffer.allocate(KEY_POS);
       buf.putInt(fe.size);
       buf.putInt(0);
@@ -314,7 +373,7 @@ private void addNewFreeEntry(FileEntry fe) throws IOException {
     * <p/>
     * Note: Caller must hold the {@code resizeLock} in shared mode.
     */
-   private void free(FileEntry fe) throws IOException {
+   private void free(ConcurrentSkipListSet<FileEntry> freeList, FileEntry fe) throws IOException {
       if (fe != null) {
          // Invalidate entry on disk (by setting keyLen field to 0)
          // No need to wait for readers to unlock here, the FileEntry instance is not modified,
@@ -323,12 +382,12 @@ private void free(FileEntry fe) throws IOException {
          if (!freeList.add(fe)) {
             throw new IllegalStateException(String.format("Trying to free an entry that was not allocated: %s", fe));
          }
-         if (trace) log.tracef("Deleted entry at %d:%d, there are now %d free entries", fe.offset, fe.size, freeList.size());
+         if (trace) log.tracef("Deleted entry at %d:%d", fe.offset, fe.size);
       }
    }
 
    @Override
-   public void write(MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
+   public void write(int segment, MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
       try {
          // serialize cache value
          org.infinispan.commons.io.ByteBuffer key = marshalledEntry.getKeyBytes();
@@ -338,11 +397,12 @@ public void write(MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
          // allocate file entry and store in cache file
          int metadataLength = metadata == null ? 0 : metadata.getLength() + TIMESTAMP_BYTES;
          int len = KEY_POS + key.getLength() + data.getLength() + metadataLength;
+         Segment<K> seg = getSegment(segment);
          FileEntry newEntry;
          FileEntry oldEntry = null;
          resizeLock.readLock().lock();
          try {
-            newEntry = allocate(len);
+            newEntry = allocate(seg, len);
             newEntry = new FileEntry(newEntry.offset, newEntry.size, key.getLength(), data.getLength(), metadataLength, marshalledEntry.expiryTime());
 
             ByteBuffer buf = ByteBuffer.allocate(len);
@@ -367,15 +427,17 @@ public void write(MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
             if (trace) log.tracef("Wrote entry %s:%d at %d:%d", marshalledEntry.getKey(), len, newEntry.offset, newEntry.size);
 
             // add the new entry to in-memory index
-            oldEntry = entries.put(marshalledEntry.getKey(), newEntry);
+            synchronized (seg.entries) {
+               oldEntry = seg.entries.put(marshalledEntry.getKey(), newEntry);
+            }
 
             // if we added an entry, check if we need to evict something
-            if (oldEntry == null)
-               oldEntry = evict();
+            if (oldEntry == null && configuration.maxEntries() > 0 && incrementBoundedSize() > configuration.maxEntries())
+               evict(segment);
          } finally {
-            // in case we replaced or evicted an entry, add to freeList
+            // in case we replaced an entry, add to freeList
             try {
-               free(oldEntry);
+               free(seg.freeList, oldEntry);
             } finally {
                resizeLock.readLock().unlock();
             }
@@ -385,48 +447,73 @@ public void write(MarshallableEntry<? extends K, ? extends V> marshalledEntry) {
       }
    }
 
+   private int incrementBoundedSize() {
+      return configuration.maxEntries() > 0 ? boundedSize.incrementAndGet() : 0;
+   }
+
+   private void decrementBoundedSize(int delta) {
+      if (configuration.maxEntries() > 0) {
+         boundedSize.addAndGet(-delta);
+      }
+   }
+
    /**
-    * Try to evict an entry if the capacity of the cache store is reached.
-    *
-    * @return FileEntry to evict, or null (if unbounded or capacity is not yet reached)
+    * Evicts an entry because the capacity of the cache store is reached. The least recently used entry of the
+    * segment that was written to is evicted, unless it is the only entry of that segment, in which case the
+    * following segments are tried.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
     */
-   private FileEntry evict() {
-      if (configuration.maxEntries() > 0) {
-         synchronized (entries) {
-            if (entries.size() > configuration.maxEntries()) {
-               Iterator<FileEntry> it = entries.values().iterator();
-               FileEntry fe = it.next();
-               it.remove();
-               return fe;
-            }
+   private void evict(int segment) throws IOException {
+      for (int i = 0; i < numSegments; i++) {
+         int victimSegment = (segment + i) % numSegments;
+         Segment<K> seg = segments.get(victimSegment);
+         if (seg == null)
+            continue;
+
+         FileEntry fe;
+         synchronized (seg.entries) {
+            // The entry just written is the most recently used one of its segment, never evict it
+            if (seg.entries.size() <= (victimSegment == segment ? 1 : 0))
+               continue;
+            Iterator<FileEntry> it = seg.entries.values().iterator();
+            fe = it.next();
+            it.remove();
          }
+         decrementBoundedSize(1);
+         free(seg.freeList, fe);
+         return;
       }
-      return null;
    }
 
    @Override
    public void clear() {
       resizeLock.writeLock().lock();
       try {
-         synchronized (entries) {
-            synchronized (freeList) {
+         for (int i = 0; i < numSegments; i++) {
+            Segment<K> seg = segments.get(i);
+            if (seg == null)
+               continue;
+            synchronized (seg.entries) {
                // wait until all readers are done reading file entries
-               for (FileEntry fe : entries.values())
+               for (FileEntry fe : seg.entries.values())
                   fe.waitUnlocked();
-               for (FileEntry fe : freeList)
-                  fe.waitUnlocked();
-
-               // clear in-memory state
-               entries.clear();
-               freeList.clear();
-
-               // reset file
-               if (trace) log.tracef("Truncating file, current size is %d", filePos);
-               channel.truncate(0);
-               channel.write(ByteBuffer.wrap(MAGIC), 0);
-               filePos = MAGIC.length;
+               seg.entries.clear();
             }
+            for (FileEntry fe : seg.freeList)
+               fe.waitUnlocked();
+            seg.freeList.clear();
          }
+         for (FileEntry fe : freeList)
+            fe.waitUnlocked();
+         freeList.clear();
+         boundedSize.set(0);
+
+         // reset file
+         if (trace) log.tracef("Truncating file, current size is %d", filePos.get());
+         channel.truncate(0);
+         channel.write(ByteBuffer.wrap(MAGIC), 0);
+         filePos.set(MAGIC.length);
       } catch (Exception e) {
          throw new PersistenceException(e);
       } finally {
@@ -434,12 +521,55 @@ public void clear() {
       }
    }
 
+   /**
+    * Removes all the entries of the given segments. Only the index of those segments is visited, the blocks of the
+    * removed entries are released to the shared free list.
+    */
    @Override
-   public boolean delete(Object key) {
+   public void clear(IntSet segments) {
       resizeLock.readLock().lock();
       try {
-         FileEntry fe = entries.remove(key);
-         free(fe);
+         for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
+            Segment<K> seg = this.segments.get(iter.nextInt());
+            if (seg == null)
+               continue;
+            List<FileEntry> removed;
+            synchronized (seg.entries) {
+               removed = new ArrayList<>(seg.entries.values());
+               seg.entries.clear();
+            }
+            decrementBoundedSize(removed.size());
+            for (FileEntry fe : removed) {
+               free(freeList, fe);
+            }
+            if (trace) log.tracef("Cleared %d entries from segment", removed.size());
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         resizeLock.readLock().unlock();
+      }
+   }
+
+   @Override
+   public void removeSegments(IntSet segments) {
+      clear(segments);
+   }
+
+   @Override
+   public boolean delete(int segment, Object key) {
+      Segment<K> seg = segments.get(segment);
+      if (seg == null)
+         return false;
+      resizeLock.readLock().lock();
+      try {
+         FileEntry fe;
+         synchronized (seg.entries) {
+            fe = seg.entries.remove(key);
+         }
+         if (fe != null)
+            decrementBoundedSize(1);
+         free(seg.freeList, fe);
          return fe != null;
       } catch (Exception e) {
          throw new PersistenceException(e);
@@ -449,17 +579,20 @@ public boolean delete(Object key) {
    }
 
    @Override
-   public MarshallableEntry<K, V> loadEntry(Object key) {
-      return _load(key, true, true);
+   public MarshallableEntry<K, V> get(int segment, Object key) {
+      return _load(segment, key, true, true);
    }
 
-   private MarshallableEntry<K, V> _load(Object key, boolean loadValue, boolean loadMetadata) {
+   private MarshallableEntry<K, V> _load(int segment, Object key, boolean loadValue, boolean loadMetadata) {
+      Segment<K> seg = segments.get(segment);
+      if (seg == null)
+         return null;
       final FileEntry fe;
       resizeLock.readLock().lock();
       try {
-         synchronized (entries) {
+         synchronized (seg.entries) {
             // lookup FileEntry of the key
-            fe = entries.get(key);
+            fe = seg.entries.get(key);
             if (fe == null)
                return null;
 
@@ -522,14 +655,24 @@ private MarshallableEntry<K, V> _load(Object key, boolean loadValue, boolean loa
 
    @Override
    public Flowable<K> publishKeys(Predicate<? super K> filter) {
+      return publishKeys(IntSets.immutableRangeSet(numSegments), filter);
+   }
+
+   @Override
+   public Flowable<K> publishKeys(IntSet segments, Predicate<? super K> filter) {
       return Flowable.fromIterable(() -> {
-         List<K> keys = new ArrayList<>(entries.size());
+         List<K> keys = new ArrayList<>();
          long now = ctx.getTimeService().wallClockTime();
-         synchronized (entries) {
-            for (Map.Entry<K, FileEntry> e : entries.entrySet()) {
-               K key = e.getKey();
-               if (!e.getValue().isExpired(now)  && (filter == null || filter.test(key))) {
-                  keys.add(key);
+         for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
+            Segment<K> seg = this.segments.get(iter.nextInt());
+            if (seg == null)
+               continue;
+            synchronized (seg.entries) {
+               for (Map.Entry<K, FileEntry> e : seg.entries.entrySet()) {
+                  K key = e.getKey();
+                  if (!e.getValue().isExpired(now) && (filter == null || filter.test(key))) {
+                     keys.add(key);
+                  }
                }
             }
          }
@@ -540,15 +683,25 @@ public Flowable<K> publishKeys(Predicate<? super K> filter) {
 
    @Override
    public Flowable<MarshallableEntry<K, V>> entryPublisher(Predicate<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
+      return entryPublisher(IntSets.immutableRangeSet(numSegments), filter, fetchValue, fetchMetadata);
+   }
+
+   @Override
+   public Flowable<MarshallableEntry<K, V>> entryPublisher(IntSet segments, Predicate<? super K> filter, boolean fetchValue, boolean fetchMetadata) {
       if (fetchMetadata || fetchValue) {
          return Flowable.fromIterable(() -> {
             // This way the sorting of entries is lazily done on each invocation of the publisher
-            List<KeyValuePair<K, FileEntry>> keysToLoad = new ArrayList<>(entries.size());
+            List<KeyValuePair<K, FileEntry>> keysToLoad = new ArrayList<>();
             long now = ctx.getTimeService().wallClockTime();
-            synchronized (entries) {
-               for (Map.Entry<K, FileEntry> e : entries.entrySet()) {
-                  if ((filter == null || filter.test(e.getKey())) && !e.getValue().isExpired(now)) {
-                     keysToLoad.add(new KeyValuePair<>(e.getKey(), e.getValue()));
+            for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
+               Segment<K> seg = this.segments.get(iter.nextInt());
+               if (seg == null)
+                  continue;
+               synchronized (seg.entries) {
+                  for (Map.Entry<K, FileEntry> e : seg.entries.entrySet()) {
+                     if ((filter == null || filter.test(e.getKey())) && !e.getValue().isExpired(now)) {
+                        keysToLoad.add(new KeyValuePair<>(e.getKey(), e.getValue()));
+                     }
                   }
                }
             }
@@ -560,7 +713,7 @@ public Flowable<MarshallableEntry<K, V>> entryPublisher(Predicate<? super K> fil
             });
             return keysToLoad.iterator();
          }).map(kvp -> {
-            MarshallableEntry<K, V> entry = _load(kvp.getKey(), fetchValue, fetchMetadata);
+            MarshallableEntry<K, V> entry = _load(keyPartitioner.getSegment(kvp.getKey()), kvp.getKey(), fetchValue, fetchMetadata);
             if (entry == null) {
                // Rxjava2 doesn't allow nulls
                entry = entryFactory.getEmpty();
@@ -568,30 +721,44 @@ public Flowable<MarshallableEntry<K, V>> entryPublisher(Predicate<? super K> fil
             return entry;
          }).filter(me -> me != entryFactory.getEmpty());
       } else {
-         return publishKeys(filter).map(k -> entryFactory.create(k));
+         return publishKeys(segments, filter).map(k -> entryFactory.create(k));
       }
    }
 
    /**
     * Manipulates the free entries for optimizing disk space.
+    * <p/>
+    * Note: Caller must either hold the {@code resizeLock} in exclusive mode or be the only user of the store.
     */
    private void processFreeEntries() {
+      // Remember which free list every free entry belongs to, so it can be removed from it
+      Map<FileEntry, ConcurrentSkipListSet<FileEntry>> owners = new HashMap<>();
+      for (FileEntry fe : freeList)
+         owners.put(fe, freeList);
+      for (int i = 0; i < numSegments; i++) {
+         Segment<K> seg = segments.get(i);
+         if (seg == null)
+            continue;
+         for (FileEntry fe : seg.freeList)
+            owners.put(fe, seg.freeList);
+      }
+
       // Get a reverse sorted list of free entries based on file offset (bigger entries will be ahead of smaller entries)
       // This helps to work backwards with free entries at end of the file
-      List<FileEntry> l  = new ArrayList<>(freeList);
+      List<FileEntry> l  = new ArrayList<>(owners.keySet());
       l.sort((o1, o2) -> {
          long diff = o1.offset - o2.offset;
          return (diff == 0) ? 0 : ((diff > 0) ? -1 : 1);
       });
 
-      truncateFile(l);
-      mergeFreeEntries(l);
+      truncateFile(l, owners);
+      mergeFreeEntries(l, owners);
    }
 
    /**
     * Removes free entries towards the end of the file and truncates the file.
     */
-   private void truncateFile(List<FileEntry> entries) {
+   private void truncateFile(List<FileEntry> entries, Map<FileEntry, ConcurrentSkipListSet<FileEntry>> owners) {
       long startTime = 0;
       if (trace) startTime = timeService.wallClockTime();
 
@@ -603,10 +770,10 @@ private void truncateFile(List<FileEntry> entries) {
          // Till we have free entries at the end of the file,
          // we can remove them and contract the file to release disk
          // space.
-         if (!fe.isLocked() && ((fe.offset + fe.size) == filePos)) {
+         if (!fe.isLocked() && ((fe.offset + fe.size) == filePos.get())) {
             truncateOffset = fe.offset;
-            filePos = fe.offset;
-            freeList.remove(fe);
+            filePos.set(fe.offset);
+            owners.remove(fe).remove(fe);
             it.remove();
             reclaimedSpace += fe.size;
             removedEntries++;
@@ -624,15 +791,16 @@ private void truncateFile(List<FileEntry> entries) {
       }
 
       if (trace) {
-         log.tracef("Removed entries: %d, Reclaimed Space: %d, Free Entries %d", removedEntries, reclaimedSpace, freeList.size());
+         log.tracef("Removed entries: %d, Reclaimed Space: %d, Free Entries %d", removedEntries, reclaimedSpace, entries.size());
          log.tracef("Time taken for truncateFile: %d (ms)", timeService.wallClockTime() - startTime);
       }
    }
 
    /**
-    * Coalesces adjacent free entries to create larger free entries (so that the probability of finding a free entry during allocation increases)
+    * Coalesces adjacent free entries to create larger free entries (so that the probability of finding a free entry during allocation increases).
+    * Merged entries are added to the shared free list, as they may span blocks freed by different segments.
     */
-   private void mergeFreeEntries(List<FileEntry> entries) {
+   private void mergeFreeEntries(List<FileEntry> entries, Map<FileEntry, ConcurrentSkipListSet<FileEntry>> owners) {
       long startTime = 0;
       if (trace) startTime = timeService.wallClockTime();
       FileEntry lastEntry = null;
@@ -646,12 +814,12 @@ private void mergeFreeEntries(List<FileEntry> entries) {
          if ((lastEntry != null) && (lastEntry.offset == (fe.offset + fe.size))) {
             if (newEntry == null) {
                newEntry = new FileEntry(fe.offset, fe.size + lastEntry.size);
-               freeList.remove(lastEntry);
+               owners.get(lastEntry).remove(lastEntry);
                mergeCounter++;
             } else {
                newEntry = new FileEntry(fe.offset, fe.size + newEntry.size);
             }
-            freeList.remove(fe);
+            owners.get(fe).remove(fe);
             mergeCounter++;
          } else {
             if (newEntry != null) {
@@ -671,73 +839,137 @@ private void mergeFreeEntries(List<FileEntry> entries) {
 
    private void mergeAndLogEntry(FileEntry entry, int mergeCounter) {
       try {
-         addNewFreeEntry(entry);
-         if (trace) log.tracef("Merged %d entries at %d:%d, %d free entries", mergeCounter, entry.offset, entry.size, freeList.size());
+         addNewFreeEntry(freeList, entry);
+         if (trace) log.tracef("Merged %d entries at %d:%d", mergeCounter, entry.offset, entry.size);
       } catch (IOException e) {
          throw new PersistenceException("Could not add new merged entry", e);
       }
    }
+
    @Override
    public void purge(Executor threadPool, final PurgeListener task) {
       long now = timeService.wallClockTime();
-      List<KeyValuePair<Object, FileEntry>> entriesToPurge = new ArrayList<>();
-      synchronized (entries) {
-         for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
-            Map.Entry<K, FileEntry> next = it.next();
-            FileEntry fe = next.getValue();
-            if (fe.isExpired(now)) {
-               it.remove();
-               entriesToPurge.add(new KeyValuePair<>(next.getKey(), fe));
-            }
-         }
-      }
-
       resizeLock.readLock().lock();
       try {
-         for (Iterator<KeyValuePair<Object, FileEntry>> it = entriesToPurge.iterator(); it.hasNext(); ) {
-            KeyValuePair<Object, FileEntry> next = it.next();
-            FileEntry fe = next.getValue();
-            if (fe.isExpired(now)) {
-               it.remove();
+         for (int i = 0; i < numSegments; i++) {
+            Segment<K> seg = segments.get(i);
+            if (seg == null)
+               continue;
+            List<KeyValuePair<Object, FileEntry>> entriesToPurge = new ArrayList<>();
+            synchronized (seg.entries) {
+               for (Iterator<Map.Entry<K, FileEntry>> it = seg.entries.entrySet().iterator(); it.hasNext(); ) {
+                  Map.Entry<K, FileEntry> next = it.next();
+                  FileEntry fe = next.getValue();
+                  if (fe.isExpired(now)) {
+                     it.remove();
+                     entriesToPurge.add(new KeyValuePair<>(next.getKey(), fe));
+                  }
+               }
+            }
+            decrementBoundedSize(entriesToPurge.size());
+
+            for (KeyValuePair<Object, FileEntry> next : entriesToPurge) {
                try {
-                  free(fe);
+                  free(seg.freeList, next.getValue());
                } catch (Exception e) {
                   throw new PersistenceException(e);
                }
                if (task != null) task.entryPurged(next.getKey());
             }
          }
-
-         // Disk space optimizations
-         synchronized (freeList) {
-           processFreeEntries();
-         }
       } finally {
          resizeLock.readLock().unlock();
       }
+
+      // Disk space optimizations, writers must not allocate while the free lists are reorganized
+      resizeLock.writeLock().lock();
+      try {
+         processFreeEntries();
+      } finally {
+         resizeLock.writeLock().unlock();
+      }
    }
 
    @Override
    public int size() {
-      return entries.size();
+      int size = 0;
+      for (int i = 0; i < numSegments; i++) {
+         Segment<K> seg = segments.get(i);
+         if (seg != null) {
+            synchronized (seg.entries) {
+               size += seg.entries.size();
+            }
+         }
+      }
+      return size;
+   }
+
+   @Override
+   public int size(IntSet segments) {
+      int size = 0;
+      long now = timeService.wallClockTime();
+      for (PrimitiveIterator.OfInt iter = segments.iterator(); iter.hasNext(); ) {
+         Segment<K> seg = this.segments.get(iter.nextInt());
+         if (seg == null)
+            continue;
+         synchronized (seg.entries) {
+            for (FileEntry fe : seg.entries.values()) {
+               if (!fe.isExpired(now))
+                  size++;
+            }
+         }
+      }
+      return size;
    }
 
    Map<K, FileEntry> getEntries() {
+      Map<K, FileEntry> entries = new HashMap<>();
+      for (int i = 0; i < numSegments; i++) {
+         Segment<K> seg = segments.get(i);
+         if (seg != null) {
+            synchronized (seg.entries) {
+               entries.putAll(seg.entries);
+            }
+         }
+      }
       return entries;
    }
 
    SortedSet<FileEntry> getFreeList() {
-      return freeList;
+      SortedSet<FileEntry> free = new TreeSet<>(freeList);
+      for (int i = 0; i < numSegments; i++) {
+         Segment<K> seg = segments.get(i);
+         if (seg != null) {
+            free.addAll(seg.freeList);
+         }
+      }
+      return free;
    }
 
    long getFileSize() {
-      return filePos;
+      return filePos.get();
    }
 
    public SingleFileStoreConfiguration getConfiguration() {
       return configuration;
    }
 
+   /**
+    * The in-memory state of a segment: the index of its keys and the blocks it freed.
+    * <p/>
+    * The index is guarded by its own monitor, the free list is a concurrent set so that writers of the same segment
+    * can allocate from it without blocking each other.
+    */
+   private static class Segment<K> {
+      final Map<K, FileEntry> entries;
+      final ConcurrentSkipListSet<FileEntry> freeList = new ConcurrentSkipListSet<>();
+
+      Segment(boolean bounded) {
+         // Only use LinkedHashMap (LRU) for entries when cache store is bounded
+         entries = bounded ? new LinkedHashMap<>(16, 0.75f, true) : new HashMap<>();
+      }
+   }
+
    /**
     * Helper class to represent an entry in the cache file.
     * <p/>
@@ -789,6 +1021,11 @@ private static class FileEntry implements Comparable<FileEntry> {
        */
       transient int readers = 0;
 
+      /**
+       * Whether this free entry was taken out of a free list by an allocation.
+       */
+      transient boolean allocated = false;
+
       FileEntry(long offset, int size) {
          this(offset, size, 0, 0, 0, -1);
       }
@@ -806,6 +1043,16 @@ synchronized boolean isLocked() {
          return readers > 0;
       }
 
+      /**
+       * Marks a free entry as allocated, unless it has concurrent readers or was already allocated.
+       */
+      synchronized boolean tryAllocate() {
+         if (readers > 0 || allocated)
+            return false;
+         allocated = true;
+         return true;
+      }
+
       synchronized void lock() {
          readers++;
       }
@@ -1,6 +1,7 @@
 package org.infinispan.persistence.manager;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
@@ -10,6 +11,7 @@
 import org.infinispan.commons.api.Lifecycle;
 import org.infinispan.commons.util.IntSet;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.persistence.async.AsyncCacheWriter;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.PersistenceException;
@@ -53,6 +55,13 @@ public interface PersistenceManager extends Lifecycle {
 
    Collection<String> getStoresAsString();
 
+   /**
+    * @return the writers applying modifications asynchronously to the stores configured with async enabled
+    */
+   default Collection<AsyncCacheWriter> getAsyncWriters() {
+      return Collections.emptyList();
+   }
+
    /**
     * Removes the expired entries from all the existing storage.
     */
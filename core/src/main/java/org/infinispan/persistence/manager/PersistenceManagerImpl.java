@@ -172,6 +172,8 @@ public class PersistenceManagerImpl implements PersistenceManager {
    private boolean preloaded;
    private Future availabilityFuture;
    private volatile StoreUnavailableException unavailableException;
+   // Only present if write coalescing is enabled and there are non tx writers
+   private volatile WriteCoalescer writeCoalescer;
 
    @Override
    @Start()
@@ -197,6 +199,12 @@ public void start() {
             loaders.forEach(l -> startLoader(l, undelegated));
             readOnly = nonTxWriters.isEmpty() && txWriters.isEmpty();
 
+            long coalescingWindow = configuration.persistence().writeCoalescingWindow();
+            if (coalescingWindow > 0 && !nonTxWriters.isEmpty()) {
+               writeCoalescer = new WriteCoalescer(this::writeBatchToAllNonTxStores, scheduledExecutor,
+                     coalescingWindow, configuration.persistence().writeCoalescingSize());
+            }
+
             // Ensure that after writers and loaders have started, they are classified as available by their isAvailable impl
             pollStoreAvailability();
 
@@ -262,6 +270,12 @@ private static int getNextTraceNumber() {
    @Override
    @Stop
    public void stop() {
+      // Pending writes need the stores, so they must be written before acquiring the mutex
+      WriteCoalescer coalescer = writeCoalescer;
+      if (coalescer != null) {
+         writeCoalescer = null;
+         coalescer.stop();
+      }
       storesMutex.writeLock().lock();
       publisherSemaphore.acquireUninterruptibly(Integer.MAX_VALUE);
       try {
@@ -393,6 +407,11 @@ public CompletionStage<Void> preload() {
    public void disableStore(String storeType) {
       if (enabled) {
          boolean noMoreStores;
+         WriteCoalescer coalescer = writeCoalescer;
+         if (coalescer != null) {
+            // Write the pending entries while the store is still present
+            CompletionStages.join(coalescer.flush().handle((ignore, t) -> null));
+         }
          storesMutex.writeLock().lock();
          publisherSemaphore.acquireUninterruptibly(Integer.MAX_VALUE);
          try {
@@ -482,6 +501,21 @@ public Collection<String> getStoresAsString() {
       }
    }
 
+   @Override
+   public Collection<AsyncCacheWriter> getAsyncWriters() {
+      storesMutex.readLock().lock();
+      try {
+         List<AsyncCacheWriter> asyncWriters = new ArrayList<>();
+         for (CacheWriter writer : nonTxWriters) {
+            if (writer instanceof AsyncCacheWriter)
+               asyncWriters.add((AsyncCacheWriter) writer);
+         }
+         return asyncWriters;
+      } finally {
+         storesMutex.readLock().unlock();
+      }
+   }
+
    private static class AdvancedPurgeListener<K, V> implements AdvancedCacheExpirationWriter.ExpirationPurgeListener<K, V> {
       private final InternalExpirationManager<K, V> expirationManager;
 
@@ -578,6 +612,14 @@ private static int getNextTraceNumber(String message) {
    @Override
    public CompletionStage<Void> clearAllStores(Predicate<? super StoreConfiguration> predicate) {
       assert !Thread.currentThread().getName().startsWith("persistence") : "Thread name is: " + Thread.currentThread().getName();
+      WriteCoalescer coalescer = writeCoalescer;
+      if (coalescer != null) {
+         // Pending writes must not be written after the stores are cleared, their failures are reported to the writers
+         return coalescer.flush()
+               .handle((ignore, t) -> null)
+               .thenCompose(ignore -> runOnPersistenceExAndContinue(traceId -> clearAllStoresSync(predicate, traceId),
+                     "Clearing all stores for id %d"));
+      }
       return runOnPersistenceExAndContinue(traceId -> clearAllStoresSync(predicate, traceId), "Clearing all stores for id %d");
    }
 
@@ -641,6 +683,12 @@ private boolean deleteFromAllStoresSync(Object key, int segment, Predicate<? sup
    public CompletionStage<Boolean> deleteFromAllStores(Object key, int segment, Predicate<? super StoreConfiguration> predicate) {
       Objects.requireNonNull(key);
       assert !Thread.currentThread().getName().startsWith("persistence") : "Thread name is: " + Thread.currentThread().getName();
+      WriteCoalescer coalescer = writeCoalescer;
+      if (coalescer != null) {
+         // A batch that is still writing the key must not resurrect it after the delete
+         return coalescer.cancel(key).thenCompose(ignore -> supplyOnPersistenceExAndContinue(
+               traceId -> deleteFromAllStoresSync(key, segment, predicate, traceId), "Deleting from all stores for id %d"));
+      }
       return supplyOnPersistenceExAndContinue(traceId -> deleteFromAllStoresSync(key, segment, predicate, traceId),
             "Deleting from all stores for id %d");
    }
@@ -896,6 +944,10 @@ private void writeToAllNonTxStoresSync(MarshallableEntry marshalledEntry, int se
    public CompletionStage<Void> writeToAllNonTxStores(MarshallableEntry marshalledEntry, int segment,
          Predicate<? super StoreConfiguration> predicate, long flags) {
       assert !Thread.currentThread().getName().startsWith("persistence") : "Thread name is: " + Thread.currentThread().getName();
+      WriteCoalescer coalescer = writeCoalescer;
+      if (coalescer != null) {
+         return coalescer.write(marshalledEntry, predicate, flags);
+      }
       return runOnPersistenceExAndContinue(traceId -> writeToAllNonTxStoresSync(marshalledEntry, segment, predicate, flags, traceId),
             "Writing to all stores for id %d");
    }
@@ -961,7 +1013,16 @@ public CompletionStage<Void> deleteBatchFromAllNonTxStores(Iterable<Object> keys
          return CompletableFutures.completedNull();
 
       assert !Thread.currentThread().getName().startsWith("persistence") : "Thread name is: " + Thread.currentThread().getName();
+      WriteCoalescer coalescer = writeCoalescer;
+      if (coalescer != null) {
+         // A batch that is still writing one of the keys must not resurrect it after the delete
+         return coalescer.cancelAll(keys).thenCompose(ignore -> deleteBatchFromAllNonTxStoresAsync(keys, predicate));
+      }
+      return deleteBatchFromAllNonTxStoresAsync(keys, predicate);
+   }
 
+   private CompletionStage<Void> deleteBatchFromAllNonTxStoresAsync(Iterable<Object> keys,
+         Predicate<? super StoreConfiguration> predicate) {
       return runOnPersistenceExAndContinue(traceId -> {
          storesMutex.readLock().lock();
          try {
@@ -0,0 +1,287 @@
+package org.infinispan.persistence.manager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.util.concurrent.AggregateCompletionStage;
+import org.infinispan.util.concurrent.CompletableFutures;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import net.jcip.annotations.GuardedBy;
+
+/**
+ * Gathers concurrent single entry writes so that they are written to the stores together as a batch.
+ * <p>
+ * The first write of a batch schedules it to be flushed after the configured window, unless the batch reaches its
+ * maximum size before that, in which case it is flushed immediately by the thread adding the last write. The stage
+ * returned for a write completes only once the batch containing it has been written, so callers observe the same
+ * guarantees as with a single entry write.
+ * <p>
+ * Writes of the same key in a batch are collapsed, only the latest value is written. Writes to the same key are
+ * normally serialized by the key lock, so this only happens when the lock is not acquired (e.g. passivation).
+ * <p>
+ * A removal of a key must reach the stores after the batches writing the key, so {@link #cancel(Object)} returns a
+ * stage that completes once the batches that were already being written when it was invoked are done.
+ *
+ * @since 10.0
+ */
+class WriteCoalescer {
+   private static final Log log = LogFactory.getLog(WriteCoalescer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   /**
+    * Writes a batch of entries to all the stores matching the predicate and flags.
+    */
+   interface BatchWriter {
+      CompletionStage<Void> writeBatch(Iterable<MarshallableEntry> entries, Predicate<? super StoreConfiguration> predicate,
+            long flags);
+   }
+
+   private final BatchWriter batchWriter;
+   private final ScheduledExecutorService scheduledExecutor;
+   private final long windowMillis;
+   private final int maxBatchSize;
+
+   @GuardedBy("this")
+   private Batch current;
+   // Completes once all the batches with a write of the key that are being written are done
+   @GuardedBy("this")
+   private final Map<Object, CompletableFuture<Void>> inFlight = new HashMap<>();
+
+   WriteCoalescer(BatchWriter batchWriter, ScheduledExecutorService scheduledExecutor, long windowMillis,
+         int maxBatchSize) {
+      this.batchWriter = batchWriter;
+      this.scheduledExecutor = scheduledExecutor;
+      this.windowMillis = windowMillis;
+      this.maxBatchSize = maxBatchSize;
+   }
+
+   /**
+    * Adds the entry to the current batch.
+    * @return a stage that completes once the entry has been written to the stores
+    */
+   CompletionStage<Void> write(MarshallableEntry entry, Predicate<? super StoreConfiguration> predicate, long flags) {
+      PendingWrite write = new PendingWrite(entry, predicate, flags);
+      Batch toFlush = null;
+      Batch conflicting = null;
+      synchronized (this) {
+         if (current != null) {
+            PendingWrite previous = current.writes.get(entry.getKey());
+            if (previous != null && !previous.sameTarget(write)) {
+               // The previous write targets other stores, it can't be replaced so write it first
+               conflicting = detach();
+            }
+         }
+         if (current == null) {
+            Batch batch = new Batch();
+            batch.flushFuture = scheduledExecutor.schedule(() -> flushScheduled(batch), windowMillis, TimeUnit.MILLISECONDS);
+            current = batch;
+         }
+         PendingWrite previous = current.writes.put(entry.getKey(), write);
+         if (previous != null) {
+            // The previous value is overwritten, so it is written when the new one is
+            write.future.whenComplete((v, t) -> complete(previous.future, t));
+         }
+         if (current.writes.size() >= maxBatchSize) {
+            toFlush = detach();
+         }
+      }
+      if (conflicting != null) {
+         flush(conflicting);
+      }
+      if (toFlush != null) {
+         flush(toFlush);
+      }
+      return write.future;
+   }
+
+   /**
+    * Removes a pending write of the given key, because the key is being removed from the stores. The write is
+    * considered complete, as it would have been superseded by the removal anyway.
+    * @return a stage that completes once the batches that are being written with a write of the key are done, it
+    *         never completes exceptionally
+    */
+   CompletionStage<Void> cancel(Object key) {
+      PendingWrite removed = null;
+      CompletionStage<Void> written;
+      synchronized (this) {
+         if (current != null) {
+            removed = current.writes.remove(key);
+         }
+         written = inFlight.get(key);
+      }
+      if (removed != null) {
+         if (trace) {
+            log.tracef("Pending write of key %s superseded by its removal", key);
+         }
+         removed.future.complete(null);
+      }
+      return written == null ? CompletableFutures.completedNull() : written;
+   }
+
+   /**
+    * Same as {@link #cancel(Object)} for all the given keys.
+    */
+   CompletionStage<Void> cancelAll(Iterable<Object> keys) {
+      AggregateCompletionStage<Void> written = CompletionStages.aggregateCompletionStage();
+      for (Object key : keys) {
+         written.dependsOn(cancel(key));
+      }
+      return written.freeze();
+   }
+
+   /**
+    * Writes the current batch without waiting for the window to elapse.
+    * @return a stage that completes once the batch has been written
+    */
+   CompletionStage<Void> flush() {
+      Batch batch;
+      synchronized (this) {
+         batch = detach();
+      }
+      return batch == null ? CompletableFutures.completedNull() : flush(batch);
+   }
+
+   /**
+    * Writes the current batch and waits for it to be written, so no write is lost when the stores are stopped.
+    */
+   void stop() {
+      try {
+         CompletionStages.join(flush());
+      } catch (Throwable t) {
+         log.debug("Failed writing the pending writes while stopping", t);
+      }
+   }
+
+   @GuardedBy("this")
+   private Batch detach() {
+      Batch batch = current;
+      if (batch != null) {
+         current = null;
+         batch.flushFuture.cancel(false);
+         markInFlight(batch);
+      }
+      return batch;
+   }
+
+   @GuardedBy("this")
+   private void markInFlight(Batch batch) {
+      for (Object key : batch.writes.keySet()) {
+         // A previous batch with the key may still be written as well
+         inFlight.merge(key, batch.written, (previous, written) -> CompletableFuture.allOf(previous, written));
+      }
+   }
+
+   private void writtenBatch(Batch batch) {
+      batch.written.complete(null);
+      synchronized (this) {
+         for (Object key : batch.writes.keySet()) {
+            inFlight.computeIfPresent(key, (k, written) -> written.isDone() ? null : written);
+         }
+      }
+   }
+
+   private void flushScheduled(Batch batch) {
+      synchronized (this) {
+         if (current != batch) {
+            // Already flushed because it reached the maximum size
+            return;
+         }
+         current = null;
+         markInFlight(batch);
+      }
+      flush(batch);
+   }
+
+   private CompletionStage<Void> flush(Batch batch) {
+      if (trace) {
+         log.tracef("Writing %d coalesced writes", batch.writes.size());
+      }
+      // Writes almost always share the same predicate and flags, so this is normally a single group
+      List<List<PendingWrite>> groups = new ArrayList<>(1);
+      for (PendingWrite write : batch.writes.values()) {
+         List<PendingWrite> group = null;
+         for (List<PendingWrite> candidate : groups) {
+            if (candidate.get(0).sameTarget(write)) {
+               group = candidate;
+               break;
+            }
+         }
+         if (group == null) {
+            group = new ArrayList<>();
+            groups.add(group);
+         }
+         group.add(write);
+      }
+      CompletableFuture<?>[] futures = new CompletableFuture[groups.size()];
+      for (int i = 0; i < groups.size(); i++) {
+         List<PendingWrite> group = groups.get(i);
+         List<MarshallableEntry> entries = new ArrayList<>(group.size());
+         for (PendingWrite write : group) {
+            entries.add(write.entry);
+         }
+         PendingWrite first = group.get(0);
+         CompletionStage<Void> stage;
+         try {
+            stage = batchWriter.writeBatch(entries, first.predicate, first.flags);
+         } catch (Throwable t) {
+            stage = CompletableFutures.completedExceptionFuture(t);
+         }
+         futures[i] = stage.whenComplete((v, t) -> {
+            for (PendingWrite write : group) {
+               complete(write.future, t);
+            }
+         }).toCompletableFuture();
+      }
+      CompletableFuture<Void> all = CompletableFuture.allOf(futures);
+      all.whenComplete((v, t) -> writtenBatch(batch));
+      return all;
+   }
+
+   private static void complete(CompletableFuture<Void> future, Throwable t) {
+      if (t != null) {
+         future.completeExceptionally(t);
+      } else {
+         future.complete(null);
+      }
+   }
+
+   private static class Batch {
+      // Insertion ordered so that entries are written in the order they were added
+      final Map<Object, PendingWrite> writes = new LinkedHashMap<>();
+      // Completes once the batch has been written, successfully or not
+      final CompletableFuture<Void> written = new CompletableFuture<>();
+      ScheduledFuture<?> flushFuture;
+   }
+
+   private static class PendingWrite {
+      final MarshallableEntry entry;
+      final Predicate<? super StoreConfiguration> predicate;
+      final long flags;
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+
+      PendingWrite(MarshallableEntry entry, Predicate<? super StoreConfiguration> predicate, long flags) {
+         this.entry = entry;
+         this.predicate = predicate;
+         this.flags = flags;
+      }
+
+      boolean sameTarget(PendingWrite other) {
+         return flags == other.flags && Objects.equals(predicate, other.predicate);
+      }
+   }
+}
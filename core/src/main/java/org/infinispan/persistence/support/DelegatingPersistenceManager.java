@@ -16,6 +16,7 @@
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.persistence.async.AsyncCacheWriter;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.MarshallableEntry;
@@ -86,6 +87,11 @@ public Collection<String> getStoresAsString() {
       return persistenceManager.getStoresAsString();
    }
 
+   @Override
+   public Collection<AsyncCacheWriter> getAsyncWriters() {
+      return persistenceManager.getAsyncWriters();
+   }
+
    @Override
    public void purgeExpired() {
       persistenceManager.purgeExpired();
@@ -563,7 +563,8 @@ private void handleSegment(int segment, LocalizedCacheTopology topology, Address
    private void addToMap(Map<Address, IntSet> map, Address owner, int segment) {
       IntSet set = map.get(owner);
       if (set == null) {
-         set = IntSets.mutableEmptySet();
+         // Size the set for all segments up front, so it doesn't have to grow while the segments are added
+         set = IntSets.mutableEmptySet(maxSegment);
          map.put(owner, set);
       }
       set.set(segment);
@@ -453,11 +453,13 @@ private <I, R> CompletionStage<R> parallelAtMostOnce(CacheSet<I> cacheSet, Set<K
          Function<I, K> toKeyFunction, IntSet segments,
          Function<? super Publisher<I>, ? extends CompletionStage<R>> collator,
          Function<? super Publisher<R>, ? extends CompletionStage<R>> finalizer) {
-      Flowable<? extends CompletionStage<R>> stageFlowable = Flowable.fromIterable(segments)
+      // Creating the segment publishers is cheap, subscribing to them is done on the async threads
+      Flowable<? extends CompletionStage<R>> stageFlowable =
+            new FlowableFromIntSetFunction<>(segments, cacheSet::localPublisher)
             .parallel()
             .runOn(asyncScheduler)
-            .map(segment -> {
-               Flowable<I> innerFlowable = Flowable.fromPublisher(cacheSet.localPublisher(segment));
+            .map(segmentPublisher -> {
+               Flowable<I> innerFlowable = Flowable.fromPublisher(segmentPublisher);
                if (keysToExclude != null) {
                   innerFlowable = innerFlowable.filter(i -> !keysToExclude.contains(toKeyFunction.apply(i)));
                }
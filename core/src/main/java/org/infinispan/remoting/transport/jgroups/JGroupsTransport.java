@@ -116,6 +116,8 @@
  * <li><tt>channelLookup</tt> - Fully qualified class name of a
  * {@link JGroupsChannelLookup} instance</li>
  * </ul>
+ * The <tt>adaptiveReadRouting</tt> property enables sending remote reads to the owner with the lowest latency first,
+ * and to the other owners only when the reply is later than usual.
  * These are normally passed in as Properties in
  * {@link TransportConfigurationBuilder#withProperties(Properties)} or
  * in the Infinispan XML configuration file.
@@ -131,6 +133,7 @@ public class JGroupsTransport implements Transport {
    public static final String CONFIGURATION_FILE = "configurationFile";
    public static final String CHANNEL_LOOKUP = "channelLookup";
    public static final String CHANNEL_CONFIGURATOR = "channelConfigurator";
+   public static final String ADAPTIVE_READ_ROUTING = "adaptiveReadRouting";
    public static final short REPLY_FLAGS =
          (short) (Message.Flag.NO_FC.value() | Message.Flag.OOB.value() | Message.Flag.NO_TOTAL_ORDER.value());
    protected static final String DEFAULT_JGROUPS_CONFIGURATION_FILE = "default-configs/default-jgroups-udp.xml";
@@ -171,6 +174,7 @@ public class JGroupsTransport implements Transport {
    private volatile Set<String>  sitesView = Collections.emptySet();
    private CompletableFuture<Void> nextViewFuture = new CompletableFuture<>();
    private RequestRepository requests;
+   private ReadLatencyTracker readLatencyTracker;
 
    // ------------------------------------------------------------------------------------------------------------------
    // Lifecycle and setup stuff
@@ -399,6 +403,9 @@ public void start() {
       probeHandler.updateThreadPool(remoteExecutor);
       props = TypedProperties.toTypedProperties(configuration.transport().properties());
       requests = new RequestRepository();
+      if (props.getBooleanProperty(ADAPTIVE_READ_ROUTING, false)) {
+         readLatencyTracker = new ReadLatencyTracker();
+      }
 
       if (log.isInfoEnabled())
          log.startingJGroupsChannel(configuration.transport().clusterName());
@@ -710,6 +717,9 @@ protected void receiveClusterView(View newView) {
             requests.forEach(request -> request.onNewView(clusterView.getMembersSet()));
          }
       });
+      if (readLatencyTracker != null) {
+         readLatencyTracker.retainAll(clusterView.getMembersSet());
+      }
 
       JGroupsAddressCache.pruneAddressCache();
    }
@@ -952,9 +962,15 @@ public <T> CompletionStage<T> invokeCommandStaggered(Collection<Address> targets
                                                         long timeout, TimeUnit unit) {
       long requestId = requests.newRequestId();
       logRequest(requestId, command, targets, "staggered");
-      StaggeredRequest<T> request =
-            new StaggeredRequest<>(collector, requestId, requests, targets, getAddress(), command, deliverOrder,
-                                   timeout, unit, this);
+      StaggeredRequest<T> request;
+      if (readLatencyTracker != null) {
+         List<Address> sortedTargets = readLatencyTracker.sortTargets(targets, timeService.time());
+         request = new StaggeredRequest<>(collector, requestId, requests, sortedTargets, getAddress(), command,
+                                          deliverOrder, timeout, unit, this, readLatencyTracker);
+      } else {
+         request = new StaggeredRequest<>(collector, requestId, requests, targets, getAddress(), command, deliverOrder,
+                                          timeout, unit, this);
+      }
       try {
          addRequest(request);
          request.onNewView(clusterView.getMembersSet());
@@ -0,0 +1,135 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.remoting.transport.Address;
+
+/**
+ * Keeps track of the latency and of the outstanding staggered requests of every node, so that a
+ * {@link StaggeredRequest} is sent first to the owner that is expected to reply first, and is only sent to the next
+ * owner when the reply takes longer than usual.
+ * <p>
+ * The latency estimate is the one used by the TCP retransmission timer (RFC 6298): an exponentially weighted moving
+ * average of the latency and of its mean deviation. The average plus four times the deviation is a high percentile
+ * of the latency, so the next owner only receives the request when the first one is unusually slow (e.g. during a
+ * GC pause).
+ *
+ * @since 10.0
+ */
+class ReadLatencyTracker {
+   private static final double ALPHA = 1 / 8d;
+   private static final double BETA = 1 / 4d;
+   private static final int DEVIATION_FACTOR = 4;
+   // Don't send the request to the next owner sooner than this, even if the first owner usually replies faster
+   private static final long MIN_STAGGER_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+   // A node that was slow does not receive requests first, so its statistics must expire for it to get another chance
+   private static final long MAX_SAMPLE_AGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+   private final ConcurrentMap<Address, NodeLatency> nodes = new ConcurrentHashMap<>();
+
+   /**
+    * @return the targets ordered by their expected latency. Nodes without recent statistics are tried first, and nodes
+    * with the same expected latency keep their original order.
+    */
+   List<Address> sortTargets(Collection<Address> targets, long now) {
+      Address[] sorted = targets.toArray(new Address[0]);
+      // Take a snapshot of the latencies, as they can change while sorting
+      double[] latencies = new double[sorted.length];
+      for (int i = 0; i < sorted.length; i++) {
+         latencies[i] = expectedLatency(sorted[i], now);
+      }
+      // Insertion sort is stable and the number of owners is small
+      for (int i = 1; i < sorted.length; i++) {
+         Address target = sorted[i];
+         double latency = latencies[i];
+         int j = i - 1;
+         while (j >= 0 && latencies[j] > latency) {
+            sorted[j + 1] = sorted[j];
+            latencies[j + 1] = latencies[j];
+            j--;
+         }
+         sorted[j + 1] = target;
+         latencies[j + 1] = latency;
+      }
+      return Arrays.asList(sorted);
+   }
+
+   /**
+    * @return the time to wait for a reply from {@code target} before sending the request to the next target.
+    */
+   long staggerDelayNanos(Address target, long maxDelayNanos) {
+      NodeLatency latency = nodes.get(target);
+      if (latency == null || !latency.hasSamples()) {
+         return maxDelayNanos;
+      }
+      long delay = (long) (latency.average + DEVIATION_FACTOR * latency.deviation);
+      return Math.min(maxDelayNanos, Math.max(MIN_STAGGER_DELAY_NANOS, delay));
+   }
+
+   void requestSent(Address target) {
+      nodes.computeIfAbsent(target, a -> new NodeLatency()).outstanding.incrementAndGet();
+   }
+
+   void responseReceived(Address target, long latencyNanos, long now) {
+      NodeLatency latency = nodes.get(target);
+      if (latency != null) {
+         latency.outstanding.decrementAndGet();
+         latency.addSample(latencyNanos, now);
+      }
+   }
+
+   /**
+    * The request was completed by another target before {@code target} replied.
+    */
+   void requestAbandoned(Address target, long elapsedNanos, long now) {
+      NodeLatency latency = nodes.get(target);
+      if (latency != null) {
+         latency.outstanding.decrementAndGet();
+         // The elapsed time is only a lower bound, but it is still useful if the node is slower than usual
+         if (elapsedNanos > latency.average) {
+            latency.addSample(elapsedNanos, now);
+         }
+      }
+   }
+
+   void retainAll(Collection<Address> members) {
+      nodes.keySet().retainAll(members);
+   }
+
+   private double expectedLatency(Address target, long now) {
+      NodeLatency latency = nodes.get(target);
+      if (latency == null || !latency.hasSamples() || now - latency.lastSampleTime > MAX_SAMPLE_AGE_NANOS) {
+         return 0;
+      }
+      // Requests already queued on the target will delay the reply
+      return latency.average * (1 + Math.max(0, latency.outstanding.get()));
+   }
+
+   private static class NodeLatency {
+      final AtomicInteger outstanding = new AtomicInteger();
+      volatile double average = -1;
+      volatile double deviation;
+      volatile long lastSampleTime;
+
+      boolean hasSamples() {
+         return average >= 0;
+      }
+
+      synchronized void addSample(long latencyNanos, long now) {
+         lastSampleTime = now;
+         if (average < 0) {
+            average = latencyNanos;
+            deviation = latencyNanos / 2d;
+         } else {
+            deviation = (1 - BETA) * deviation + BETA * Math.abs(average - latencyNanos);
+            average = (1 - ALPHA) * average + ALPHA * latencyNanos;
+         }
+      }
+   }
+}
@@ -22,22 +22,45 @@
    private final ReplicableCommand command;
    private final DeliverOrder deliverOrder;
    private final JGroupsTransport transport;
+   private final ReadLatencyTracker latencyTracker;
 
    @GuardedBy("responseCollector")
    private long deadline;
    @GuardedBy("responseCollector")
    private int targetIndex;
+   // Only used with a latency tracker: the targets that were sent the request but did not reply yet
+   @GuardedBy("responseCollector")
+   private final Address[] pendingTargets;
+   @GuardedBy("responseCollector")
+   private final long[] sendTimes;
 
    StaggeredRequest(ResponseCollector<T> responseCollector, long requestId, RequestRepository repository,
                     Collection<Address> targets, Address excludedTarget, ReplicableCommand command,
                     DeliverOrder deliverOrder, long timeout, TimeUnit unit, JGroupsTransport transport) {
+      this(responseCollector, requestId, repository, targets, excludedTarget, command, deliverOrder, timeout, unit,
+           transport, null);
+   }
+
+   StaggeredRequest(ResponseCollector<T> responseCollector, long requestId, RequestRepository repository,
+                    Collection<Address> targets, Address excludedTarget, ReplicableCommand command,
+                    DeliverOrder deliverOrder, long timeout, TimeUnit unit, JGroupsTransport transport,
+                    ReadLatencyTracker latencyTracker) {
       super(responseCollector, requestId, repository, targets, excludedTarget);
 
       this.command = command;
       this.deliverOrder = deliverOrder;
       this.transport = transport;
+      this.latencyTracker = latencyTracker;
 
       this.deadline = transport.timeService.expectedEndTime(timeout, unit);
+      if (latencyTracker != null) {
+         this.pendingTargets = new Address[getTargetsSize()];
+         this.sendTimes = new long[getTargetsSize()];
+         whenComplete((v, t) -> abandonPendingTargets());
+      } else {
+         this.pendingTargets = null;
+         this.sendTimes = null;
+      }
    }
 
    @Override
@@ -47,11 +70,44 @@ public void setTimeout(ScheduledExecutorService timeoutExecutor, long timeout, T
 
    @Override
    public synchronized void onResponse(Address sender, Response response) {
+      if (latencyTracker != null) {
+         recordResponse(sender);
+      }
       super.onResponse(sender, response);
 
       sendNextMessage();
    }
 
+   private void recordResponse(Address sender) {
+      long sendTime = -1;
+      synchronized (responseCollector) {
+         for (int i = 0; i < pendingTargets.length; i++) {
+            if (sender.equals(pendingTargets[i])) {
+               pendingTargets[i] = null;
+               sendTime = sendTimes[i];
+               break;
+            }
+         }
+      }
+      if (sendTime >= 0) {
+         long now = transport.getTimeService().time();
+         latencyTracker.responseReceived(sender, now - sendTime, now);
+      }
+   }
+
+   private void abandonPendingTargets() {
+      long now = transport.getTimeService().time();
+      synchronized (responseCollector) {
+         for (int i = 0; i < pendingTargets.length; i++) {
+            Address target = pendingTargets[i];
+            if (target != null) {
+               pendingTargets[i] = null;
+               latencyTracker.requestAbandoned(target, now - sendTimes[i], now);
+            }
+         }
+      }
+   }
+
    @Override
    protected void onTimeout() {
       // Don't call super.onTimeout() if it's just a stagger timeout
@@ -93,6 +149,11 @@ void sendNextMessage() {
             }
 
             isFinalTarget = targetIndex >= getTargetsSize();
+            if (latencyTracker != null) {
+               pendingTargets[targetIndex - 1] = target;
+               sendTimes[targetIndex - 1] = transport.getTimeService().time();
+               latencyTracker.requestSent(target);
+            }
          }
 
          // Sending may block in flow-control or even in TCP, so we must do it outside the critical section
@@ -104,6 +165,10 @@ void sendNextMessage() {
          long delayNanos = transport.getTimeService().remainingTime(deadline, TimeUnit.NANOSECONDS);
          if (!isFinalTarget) {
             delayNanos = delayNanos / 10 / getTargetsSize();
+            if (latencyTracker != null) {
+               // Only send the request to the next target if the reply is later than usual
+               delayNanos = latencyTracker.staggerDelayNanos(target, delayNanos);
+            }
          }
          super.setTimeout(transport.getTimeoutExecutor(), delayNanos, TimeUnit.NANOSECONDS);
       } catch (Exception e) {
@@ -79,7 +79,7 @@ private CompletableFuture<Void> replicateAndInvalidate(CacheTopology cacheTopolo
          AtomicInteger outboundInvalidations = new AtomicInteger(1);
          CompletableFuture<Void> outboundTaskFuture = new CompletableFuture<>();
          OutboundTransferTask outboundTransferTask = new OutboundTransferTask(nextMember, oldSegments,
-            cacheTopology.getCurrentCH().getNumSegments(), chunkSize, cacheTopology.getTopologyId(), keyPartitioner,
+            cacheTopology.getCurrentCH().getNumSegments(), chunkSize, maxInFlightChunks, cacheTopology.getTopologyId(), keyPartitioner,
             task -> {
                if (outboundInvalidations.decrementAndGet() == 0) {
                   outboundTaskFuture.complete(null);
@@ -163,7 +163,7 @@ public void startKeysTransfer(IntSet segments, Address origin) {
       CacheTopology cacheTopology = distributionManager.getCacheTopology();
       Address localAddress = rpcManager.getAddress();
       OutboundTransferTask outboundTransferTask = new OutboundTransferTask(origin, segments,
-         cacheTopology.getCurrentCH().getNumSegments(), chunkSize, cacheTopology.getTopologyId(), keyPartitioner,
+         cacheTopology.getCurrentCH().getNumSegments(), chunkSize, maxInFlightChunks, cacheTopology.getTopologyId(), keyPartitioner,
          this::onTaskCompletion, list -> {},
          (ice, ef) -> {
             Metadata metadata = ice.getMetadata();
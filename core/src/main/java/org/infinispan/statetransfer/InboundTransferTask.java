@@ -1,8 +1,12 @@
 package org.infinispan.statetransfer;
 
+import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import net.jcip.annotations.GuardedBy;
 import org.infinispan.commands.CommandsFactory;
@@ -48,6 +52,11 @@ public class InboundTransferTask {
     */
    private final CompletableFuture<Void> completionFuture = new CompletableFuture<>();
 
+   /**
+    * The number of entries applied so far for each segment, chunks of different segments are applied in parallel.
+    */
+   private final ConcurrentMap<Integer, LongAdder> appliedEntries = new ConcurrentHashMap<>();
+
    private final int topologyId;
 
    private final RpcManager rpcManager;
@@ -107,20 +116,34 @@ public Address getSource() {
       return source;
    }
 
+   public int getTopologyId() {
+      return topologyId;
+   }
+
    /**
     * Send START_STATE_TRANSFER request to source node.
     *
     * @return a {@code CompletableFuture} that completes when the transfer is done.
     */
    public CompletableFuture<Void> requestSegments() {
-      return startTransfer(applyState ? StateRequestCommand.Type.START_STATE_TRANSFER : StateRequestCommand.Type.START_CONSISTENCY_CHECK);
+      return startTransfer(applyState ? StateRequestCommand.Type.START_STATE_TRANSFER : StateRequestCommand.Type.START_CONSISTENCY_CHECK, null);
+   }
+
+   /**
+    * Send START_STATE_TRANSFER request to source node, asking it to skip the buckets that this node already has.
+    *
+    * @param matchingBuckets for every segment, a bitmask of the buckets that the source must not send
+    * @return a {@code CompletableFuture} that completes when the transfer is done.
+    */
+   public CompletableFuture<Void> requestSegments(Map<Integer, Long> matchingBuckets) {
+      return startTransfer(applyState ? StateRequestCommand.Type.START_STATE_TRANSFER : StateRequestCommand.Type.START_CONSISTENCY_CHECK, matchingBuckets);
    }
 
    public CompletableFuture<Void> requestKeys() {
-      return startTransfer(StateRequestCommand.Type.START_KEYS_TRANSFER);
+      return startTransfer(StateRequestCommand.Type.START_KEYS_TRANSFER, null);
    }
 
-   private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type) {
+   private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type, Map<Integer, Long> matchingBuckets) {
       if (!isCancelled) {
          IntSet segmentsCopy = getSegments();
          if (segmentsCopy.isEmpty()) {
@@ -133,7 +156,9 @@ private CompletableFuture<Void> startTransfer(StateRequestCommand.Type type) {
          }
          // start transfer of cache entries
          try {
-            StateRequestCommand cmd = commandsFactory.buildStateRequestCommand(type, rpcManager.getAddress(), topologyId, segmentsCopy);
+            StateRequestCommand cmd = matchingBuckets == null ?
+                  commandsFactory.buildStateRequestCommand(type, rpcManager.getAddress(), topologyId, segmentsCopy) :
+                  commandsFactory.buildStateRequestCommand(type, rpcManager.getAddress(), topologyId, segmentsCopy, matchingBuckets);
             Response response = rpcManager.blocking(rpcManager.invokeCommand(source, cmd,
                                                                              SingleResponseCollector.validOnly(),
                                                                              rpcOptions));
@@ -251,6 +276,20 @@ public void onStateReceived(int segmentId, boolean isLastChunk) {
       }
    }
 
+   public void onEntriesApplied(int segmentId, int count) {
+      if (count > 0) {
+         appliedEntries.computeIfAbsent(segmentId, k -> new LongAdder()).add(count);
+      }
+   }
+
+   /**
+    * Returns the number of entries applied so far for the given segment.
+    */
+   public long getAppliedEntries(int segmentId) {
+      LongAdder adder = appliedEntries.get(segmentId);
+      return adder != null ? adder.sum() : 0;
+   }
+
    private void notifyCompletion(boolean success) {
       if (success) {
          completionFuture.complete(null);
@@ -8,6 +8,7 @@
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -27,7 +28,9 @@
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.rpc.RpcOptions;
 import org.infinispan.remoting.transport.Address;
+import org.infinispan.remoting.transport.impl.SingleResponseCollector;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
+import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -63,6 +66,13 @@ public class OutboundTransferTask implements Runnable {
 
    private final int chunkSize;
 
+   private final int maxInFlightChunks;
+
+   /**
+    * Limits the number of chunks sent to the destination that were not applied yet.
+    */
+   private final Semaphore inFlightChunks;
+
    private final KeyPartitioner keyPartitioner;
 
    private final InternalDataContainer<Object, Object> dataContainer;
@@ -98,7 +108,7 @@ public class OutboundTransferTask implements Runnable {
    private InternalEntryFactory entryFactory;
 
    public OutboundTransferTask(Address destination, IntSet segments, int segmentCount, int chunkSize,
-                               int topologyId, KeyPartitioner keyPartitioner,
+                               int maxInFlightChunks, int topologyId, KeyPartitioner keyPartitioner,
                                Consumer<OutboundTransferTask> onCompletion, Consumer<List<StateChunk>> onChunkReplicated,
                                BiFunction<InternalCacheEntry, InternalEntryFactory, InternalCacheEntry> mapEntryFromDataContainer,
                                BiFunction<MarshallableEntry, InternalEntryFactory, InternalCacheEntry> mapEntryFromStore, InternalDataContainer dataContainer,
@@ -114,6 +124,9 @@ public OutboundTransferTask(Address destination, IntSet segments, int segmentCou
       if (chunkSize <= 0) {
          throw new IllegalArgumentException("chunkSize must be greater than 0");
       }
+      if (maxInFlightChunks <= 0) {
+         throw new IllegalArgumentException("maxInFlightChunks must be greater than 0");
+      }
       this.onCompletion = onCompletion;
       this.onChunkReplicated = onChunkReplicated;
       this.mapEntryFromDataContainer = mapEntryFromDataContainer;
@@ -121,6 +134,8 @@ public OutboundTransferTask(Address destination, IntSet segments, int segmentCou
       this.destination = destination;
       this.segments = IntSets.concurrentCopyFrom(segments, segmentCount);
       this.chunkSize = chunkSize;
+      this.maxInFlightChunks = maxInFlightChunks;
+      this.inFlightChunks = new Semaphore(maxInFlightChunks);
       this.topologyId = topologyId;
       this.keyPartitioner = keyPartitioner;
       this.dataContainer = dataContainer;
@@ -218,7 +233,7 @@ public void run() {
       }
    }
 
-   private void sendEntry(InternalCacheEntry ice, int segmentId) {
+   private void sendEntry(InternalCacheEntry ice, int segmentId) throws InterruptedException {
       // send if we have a full chunk
       if (accumulatedEntries >= chunkSize) {
          sendEntries(false);
@@ -230,7 +245,7 @@ private void sendEntry(InternalCacheEntry ice, int segmentId) {
       accumulatedEntries++;
    }
 
-   private void sendEntries(boolean isLast) {
+   private void sendEntries(boolean isLast) throws InterruptedException {
       List<StateChunk> chunks = new ArrayList<>();
       for (Map.Entry<Integer, List<InternalCacheEntry>> e : entriesBySegment.entrySet()) {
          List<InternalCacheEntry> entries = e.getValue();
@@ -260,20 +275,44 @@ private void sendEntries(boolean isLast) {
          }
 
          StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(rpcManager.getAddress(), topologyId, chunks, applyState, pushTransfer);
-         // send synchronously, in order. it is important that the last chunk is received last in order to correctly detect completion of the stream of chunks
-         try {
-            rpcManager.invokeRemotely(Collections.singleton(destination), cmd, rpcOptions);
-            onChunkReplicated.accept(chunks);
-         } catch (SuspectException e) {
-            log.debugf("Node %s left cache %s while we were sending state to it, cancelling transfer.", destination, cacheName);
-            cancel();
-         } catch (Exception e) {
-            if (isCancelled()) {
-               log.debugf("Stopping cancelled transfer to node %s, segments %s", destination, segments);
-            } else {
-               log.errorf(e, "Failed to send entries to node %s: %s", destination, e.getMessage());
-            }
+         // Up to maxInFlightChunks commands are sent without waiting for the previous ones to be applied.
+         // The last chunk must be applied last in order to correctly detect completion of the stream of chunks, so
+         // it is only sent after all the other commands were applied, and the task waits for it to be applied as well.
+         if (isLast) {
+            awaitInFlightChunks();
          }
+         inFlightChunks.acquire();
+         rpcManager.invokeCommand(destination, cmd, SingleResponseCollector.validOnly(), rpcOptions)
+               .whenComplete((response, throwable) -> {
+                  try {
+                     if (throwable == null) {
+                        onChunkReplicated.accept(chunks);
+                     } else {
+                        onSendFailure(CompletableFutures.extractException(throwable));
+                     }
+                  } finally {
+                     inFlightChunks.release();
+                  }
+               });
+      }
+      if (isLast) {
+         awaitInFlightChunks();
+      }
+   }
+
+   private void awaitInFlightChunks() throws InterruptedException {
+      inFlightChunks.acquire(maxInFlightChunks);
+      inFlightChunks.release(maxInFlightChunks);
+   }
+
+   private void onSendFailure(Throwable t) {
+      if (t instanceof SuspectException) {
+         log.debugf("Node %s left cache %s while we were sending state to it, cancelling transfer.", destination, cacheName);
+         cancel();
+      } else if (isCancelled()) {
+         log.debugf("Stopping cancelled transfer to node %s, segments %s", destination, segments);
+      } else {
+         log.errorf(t, "Failed to send entries to node %s: %s", destination, t.getMessage());
       }
    }
 
@@ -316,6 +355,7 @@ public String toString() {
             ", destination=" + destination +
             ", segments=" + segments +
             ", chunkSize=" + chunkSize +
+            ", maxInFlightChunks=" + maxInFlightChunks +
             ", timeout=" + timeout +
             ", cacheName='" + cacheName + '\'' +
             '}';
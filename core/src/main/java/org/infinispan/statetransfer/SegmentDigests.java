@@ -0,0 +1,185 @@
+package org.infinispan.statetransfer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import io.reactivex.Flowable;
+
+/**
+ * Digests of the entries of a node, used to find out which entries are the same on several nodes without
+ * transferring them.
+ * <p>
+ * The entries of every segment are split in {@link #BUCKETS} buckets by the hash code of their key, and the digest of
+ * a bucket is the sum of the hashes of its keys, values and metadata. This is the lowest level of a Merkle tree: two
+ * nodes have the same entries in a bucket (barring hash collisions) if the digests of the bucket are equal. The
+ * buckets of a segment fit in a {@code long} bitmask.
+ * <p>
+ * Used by incremental state transfer and by conflict resolution, to skip the buckets that are the same on all the
+ * owners.
+ *
+ * @since 10.0
+ */
+public final class SegmentDigests {
+   private static final Log log = LogFactory.getLog(SegmentDigests.class);
+
+   public static final int BUCKETS = Long.SIZE;
+
+   /**
+    * Bitmask of a segment where all the buckets match.
+    */
+   public static final long ALL_BUCKETS = -1L;
+
+   private static final long[] EMPTY_SEGMENT = new long[BUCKETS];
+
+   private SegmentDigests() {
+   }
+
+   public static int bucket(Object key) {
+      int h = key.hashCode();
+      // The segment is also derived from the key, spread the bits so that the buckets are not correlated with it
+      h ^= h >>> 16;
+      h *= 0x85ebca6b;
+      h ^= h >>> 13;
+      return h & (BUCKETS - 1);
+   }
+
+   /**
+    * Computes the digests of the buckets of the given segments, including the entries that are only in the stores.
+    * Segments without any entry are not included in the result.
+    */
+   static Map<Integer, long[]> compute(IntSet segments, InternalDataContainer<Object, Object> dataContainer,
+                                       PersistenceManager persistenceManager, KeyPartitioner keyPartitioner) {
+      Map<Integer, long[]> digests = new HashMap<>();
+      forEachEntry(segments, dataContainer, persistenceManager, keyPartitioner, (key, segment, value, metadata) -> {
+         long[] buckets = digests.computeIfAbsent(segment, s -> new long[BUCKETS]);
+         buckets[bucket(key)] += entryHash(key, value, metadata);
+      });
+      return digests;
+   }
+
+   /**
+    * @return For every segment in {@code local}, a bitmask of the buckets that have the same digest in {@code remote}.
+    */
+   static Map<Integer, Long> matchingBuckets(Map<Integer, long[]> local, Map<Integer, long[]> remote) {
+      Map<Integer, Long> matching = new HashMap<>();
+      for (Map.Entry<Integer, long[]> e : local.entrySet()) {
+         long[] localBuckets = e.getValue();
+         long[] remoteBuckets = remote.get(e.getKey());
+         long mask = 0;
+         if (remoteBuckets != null) {
+            for (int i = 0; i < BUCKETS; i++) {
+               if (localBuckets[i] == remoteBuckets[i]) {
+                  mask |= 1L << i;
+               }
+            }
+         }
+         matching.put(e.getKey(), mask);
+      }
+      return matching;
+   }
+
+   /**
+    * @param digests the digests of the buckets of the same segment on several nodes, {@code null} if a node has no
+    *                entries in the segment
+    * @return a bitmask of the buckets that have the same digest on all the nodes
+    */
+   public static long commonBuckets(Collection<long[]> digests) {
+      long mask = ALL_BUCKETS;
+      long[] first = null;
+      for (long[] buckets : digests) {
+         if (buckets == null) {
+            buckets = EMPTY_SEGMENT;
+         }
+         if (first == null) {
+            first = buckets;
+            continue;
+         }
+         for (int i = 0; i < BUCKETS; i++) {
+            if (first[i] != buckets[i]) {
+               mask &= ~(1L << i);
+            }
+         }
+      }
+      return mask;
+   }
+
+   public static boolean isMatching(long matchingBuckets, Object key) {
+      return (matchingBuckets & (1L << bucket(key))) != 0;
+   }
+
+   static boolean isMatching(Map<Integer, Long> matchingBuckets, int segment, Object key) {
+      Long mask = matchingBuckets.get(segment);
+      return mask != null && isMatching(mask.longValue(), key);
+   }
+
+   /**
+    * Invokes the consumer for every non-L1 entry in the given segments, first from the data container and then from
+    * the stores.
+    */
+   static void forEachEntry(IntSet segments, InternalDataContainer<Object, Object> dataContainer,
+                            PersistenceManager persistenceManager, KeyPartitioner keyPartitioner,
+                            EntryConsumer consumer) {
+      dataContainer.forEach(segments, ice -> {
+         if (!ice.isL1Entry()) {
+            consumer.accept(ice.getKey(), keyPartitioner.getSegment(ice.getKey()), ice.getValue(), ice.getMetadata());
+         }
+      });
+      AdvancedCacheLoader<Object, Object> stProvider = persistenceManager.getStateTransferProvider();
+      if (stProvider != null) {
+         try {
+            Flowable.fromPublisher(stProvider.entryPublisher(k -> !dataContainer.containsKey(k), true, true))
+                  .blockingForEach(me -> {
+                     int segment = keyPartitioner.getSegment(me.getKey());
+                     if (segments.contains(segment)) {
+                        consumer.accept(me.getKey(), segment, me.getValue(), me.getMetadata());
+                     }
+                  });
+         } catch (CacheException e) {
+            log.failedLoadingKeysFromCacheStore(e);
+         }
+      }
+   }
+
+   static void forEachKey(IntSet segments, InternalDataContainer<Object, Object> dataContainer,
+                          PersistenceManager persistenceManager, KeyPartitioner keyPartitioner,
+                          BiConsumer<Object, Integer> consumer) {
+      forEachEntry(segments, dataContainer, persistenceManager, keyPartitioner,
+            (key, segment, value, metadata) -> consumer.accept(key, segment));
+   }
+
+   private static long entryHash(Object key, Object value, Metadata metadata) {
+      long lifespan = metadata != null ? metadata.lifespan() : -1;
+      long maxIdle = metadata != null ? metadata.maxIdle() : -1;
+      Object version = metadata != null ? metadata.version() : null;
+      long h = key.hashCode();
+      h = h * 31 + Objects.hashCode(value);
+      h = h * 31 + Long.hashCode(lifespan);
+      h = h * 31 + Long.hashCode(maxIdle);
+      h = h * 31 + Objects.hashCode(version);
+      // MurmurHash3 finalizer, so that entries with similar hash codes do not have similar hashes
+      h ^= h >>> 33;
+      h *= 0xff51afd7ed558ccdL;
+      h ^= h >>> 33;
+      h *= 0xc4ceb9fe1a85ec53L;
+      h ^= h >>> 33;
+      return h;
+   }
+
+   @FunctionalInterface
+   interface EntryConsumer {
+      void accept(Object key, int segment, Object value, Metadata metadata);
+   }
+}
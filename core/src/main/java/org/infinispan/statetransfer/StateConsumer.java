@@ -1,6 +1,7 @@
 package org.infinispan.statetransfer;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -28,6 +29,11 @@ public interface StateConsumer {
 
    boolean isStateTransferInProgressForKey(Object key);
 
+   /**
+    * Returns the number of entries applied so far for each segment that is still being transferred to this node.
+    */
+   Map<Integer, Long> getInboundTransferProgress();
+
    /**
     * Receive notification of topology changes. StateRequestCommands are issued for segments that are new to this member
     * and the segments that are no longer owned are discarded.
@@ -156,6 +156,7 @@ public class StateConsumerImpl implements StateConsumer {
    protected boolean isTransactional;
    protected boolean isInvalidationMode;
    protected boolean isTotalOrder;
+   protected boolean isIncrementalTransfer;
    protected volatile KeyInvalidationListener keyInvalidationListener; //for test purpose only!
 
    protected volatile CacheTopology cacheTopology;
@@ -231,6 +232,20 @@ public boolean isStateTransferInProgress() {
       return stateTransferTopologyId.get() != NO_STATE_TRANSFER_IN_PROGRESS;
    }
 
+   @Override
+   public Map<Integer, Long> getInboundTransferProgress() {
+      Map<Integer, Long> progress = new HashMap<>();
+      synchronized (transferMapsLock) {
+         for (List<InboundTransferTask> inboundTransfers : transfersBySource.values()) {
+            for (InboundTransferTask inboundTransfer : inboundTransfers) {
+               inboundTransfer.getUnfinishedSegments().forEach((int segmentId) ->
+                     progress.merge(segmentId, inboundTransfer.getAppliedEntries(segmentId), Long::sum));
+            }
+         }
+      }
+      return progress;
+   }
+
    @Override
    public boolean isStateTransferInProgressForKey(Object key) {
       if (isInvalidationMode) {
@@ -450,7 +465,10 @@ public CompletableFuture<Void> onTopologyUpdate(final CacheTopology cacheTopolog
          // We need to discard data from all segments we don't own, not just those we previously owned,
          // when we lose membership (e.g. because there was a merge, the local partition was in degraded mode
          // and the other partition was available) or when L1 is enabled.
-         if ((isMember || wasMember) && cacheTopology.getPhase() == CacheTopology.Phase.NO_REBALANCE) {
+         // With incremental state transfer, a joiner keeps the entries it already had (e.g. in a persistent store) until
+         // the end of the rebalance, so that it only needs to receive the entries that changed while it was away
+         boolean keepEntriesForRebalance = isIncrementalTransfer && isMember && !wasMember;
+         if ((isMember || wasMember) && cacheTopology.getPhase() == CacheTopology.Phase.NO_REBALANCE && !keepEntriesForRebalance) {
             int numSegments = newWriteCh.getNumSegments();
             IntSet removedSegments = IntSets.mutableEmptySet(numSegments);
             IntSet newSegments = getOwnedSegments(newWriteCh);
@@ -579,8 +597,17 @@ public CompletionStage<?> applyState(final Address sender, int topologyId, boole
                     dataContainer.sizeIncludingExpired());
       }
       IntSet mySegments = IntSets.from(wCh.getSegmentsForOwner(rpcManager.getAddress()));
-      Iterator<StateChunk> iterator = stateChunks.iterator();
-      return applyStateIteration(sender, pushTransfer, mySegments, iterator).whenComplete((v, t) -> {
+      // The chunks belong to different segments, so they can be applied in parallel
+      AggregateCompletionStage<Void> aggregateStage = CompletionStages.aggregateCompletionStage();
+      for (StateChunk stateChunk : stateChunks) {
+         if (pushTransfer) {
+            // push-transfer is specific for scattered cache but this is the easiest way to integrate it
+            aggregateStage.dependsOn(doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries()));
+         } else {
+            aggregateStage.dependsOn(applyChunk(sender, mySegments, stateChunk));
+         }
+      }
+      return aggregateStage.freeze().whenComplete((v, t) -> {
          if (trace) {
             log.tracef("After applying the received state the data container of cache %s has %d keys", cacheName,
                        dataContainer.sizeIncludingExpired());
@@ -591,25 +618,6 @@ public CompletionStage<?> applyState(final Address sender, int topologyId, boole
       });
    }
 
-   private CompletionStage<?> applyStateIteration(Address sender, boolean pushTransfer, IntSet mySegments,
-                                                  Iterator<StateChunk> iterator) {
-      CompletionStage<?> chunkStage = CompletableFutures.completedNull();
-      // Replace recursion with iteration if the state was applied synchronously
-      while (iterator.hasNext() && CompletionStages.isCompletedSuccessfully(chunkStage)) {
-         StateChunk stateChunk = iterator.next();
-         if (pushTransfer) {
-            // push-transfer is specific for scattered cache but this is the easiest way to integrate it
-            chunkStage = doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries());
-         } else {
-            chunkStage = applyChunk(sender, mySegments, stateChunk);
-         }
-      }
-      if (!iterator.hasNext())
-         return chunkStage;
-
-      return chunkStage.thenCompose(v -> applyStateIteration(sender, pushTransfer, mySegments, iterator));
-   }
-
    private CompletionStage<Void> applyChunk(Address sender, IntSet mySegments, StateChunk stateChunk) {
       if (!mySegments.contains(stateChunk.getSegmentId())) {
          log.debugf("Discarding received cache entries for segment %d of cache %s because they do not belong to this node.", stateChunk.getSegmentId(), cacheName);
@@ -628,8 +636,10 @@ private CompletionStage<Void> applyChunk(Address sender, IntSet mySegments, Stat
       }
       if (inboundTransfer != null) {
          return doApplyState(sender, stateChunk.getSegmentId(), stateChunk.getCacheEntries())
-                   .thenAccept(
-                      v -> inboundTransfer.onStateReceived(stateChunk.getSegmentId(), stateChunk.isLastChunk()));
+                   .thenAccept(v -> {
+                      inboundTransfer.onEntriesApplied(stateChunk.getSegmentId(), stateChunk.getCacheEntries().size());
+                      inboundTransfer.onStateReceived(stateChunk.getSegmentId(), stateChunk.isLastChunk());
+                   });
       } else {
          if (cache.wired().getStatus().allowInvocations()) {
             log.ignoringUnsolicitedState(sender, stateChunk.getSegmentId(), cacheName);
@@ -771,6 +781,7 @@ public void start() {
       isTransactional = configuration.transaction().transactionMode().isTransactional();
       isTotalOrder = configuration.transaction().transactionProtocol().isTotalOrder();
       timeout = configuration.clustering().stateTransfer().timeout();
+      isIncrementalTransfer = configuration.clustering().stateTransfer().incremental();
 
       CacheMode mode = configuration.clustering().cacheMode();
       isFetchEnabled = mode.needsStateTransfer() &&
@@ -980,6 +991,57 @@ private Response getTransactions(Address source, IntSet segments, int topologyId
       return rpcManager.blocking(rpcManager.invokeCommand(source, cmd, SingleResponseCollector.validOnly(), rpcOptions));
    }
 
+   /**
+    * Compares the digests of the local entries with the digests of the source, and removes the local entries in the
+    * buckets that differ, since they are going to be replaced by the entries of the source.
+    *
+    * @return for every segment, a bitmask of the buckets that the source does not need to send
+    */
+   @SuppressWarnings("unchecked")
+   private Map<Integer, Long> reuseLocalEntries(InboundTransferTask inboundTransfer) {
+      Address source = inboundTransfer.getSource();
+      IntSet segments = inboundTransfer.getSegments();
+      Map<Integer, long[]> localDigests = SegmentDigests.compute(segments, dataContainer, persistenceManager, keyPartitioner);
+      if (localDigests.isEmpty()) {
+         return Collections.emptyMap();
+      }
+
+      IntSet localSegments = IntSets.from(localDigests.keySet());
+      Map<Integer, long[]> sourceDigests = Collections.emptyMap();
+      try {
+         StateRequestCommand cmd = commandsFactory.buildStateRequestCommand(StateRequestCommand.Type.GET_SEGMENT_DIGESTS,
+               rpcManager.getAddress(), inboundTransfer.getTopologyId(), localSegments);
+         Response response = rpcManager.blocking(rpcManager.invokeCommand(source, cmd, SingleResponseCollector.validOnly(), rpcOptions));
+         if (response instanceof SuccessfulResponse) {
+            sourceDigests = (Map<Integer, long[]>) ((SuccessfulResponse) response).getResponseValue();
+         }
+      } catch (Exception e) {
+         // Request all the entries from the source
+         log.debugf(e, "Failed to get the segment digests of cache %s from node %s", cacheName, source);
+      }
+
+      Map<Integer, Long> matchingBuckets = SegmentDigests.matchingBuckets(localDigests, sourceDigests);
+      Set<Object> keysToRemove = new HashSet<>();
+      SegmentDigests.forEachKey(localSegments, dataContainer, persistenceManager, keyPartitioner, (key, segment) -> {
+         if (!SegmentDigests.isMatching(matchingBuckets, segment, key)) {
+            keysToRemove.add(key);
+         }
+      });
+      if (trace) {
+         log.tracef("Reusing buckets %s from segments %s, removing %d stale keys", matchingBuckets, localSegments,
+               keysToRemove.size());
+      }
+      if (!keysToRemove.isEmpty()) {
+         // Same flags as the state transfer writes, so that keys written by user commands in the meantime are kept
+         InvalidateCommand invalidateCmd = commandsFactory.buildInvalidateCommand(STATE_TRANSFER_FLAGS,
+               keysToRemove.toArray());
+         InvocationContext ctx = icf.createNonTxInvocationContext();
+         ctx.setLockOwner(invalidateCmd.getKeyLockOwner());
+         interceptorChain.invoke(ctx, invalidateCmd);
+      }
+      return matchingBuckets;
+   }
+
    // not used in scattered cache
    private void requestSegments(IntSet segments, Map<Address, IntSet> sources, Set<Address> excludedSources) {
       if (sources.isEmpty()) {
@@ -1138,7 +1200,9 @@ private InboundTransferTask addTransfer(Address source, IntSet segmentsFromSourc
       }
 
       stateRequestExecutor.executeAsync(() -> {
-         CompletableFuture<Void> transferStarted = inboundTransfer.requestSegments();
+         CompletableFuture<Void> transferStarted = isIncrementalTransfer ?
+               inboundTransfer.requestSegments(reuseLocalEntries(inboundTransfer)) :
+               inboundTransfer.requestSegments();
 
          if (trace)
             log.tracef("Waiting for inbound transfer to finish: %s", inboundTransfer);
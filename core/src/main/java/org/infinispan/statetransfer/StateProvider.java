@@ -2,6 +2,7 @@
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commons.util.IntSet;
@@ -58,6 +59,31 @@ public interface StateProvider {
     */
    void startOutboundTransfer(Address destination, int topologyId, IntSet segments, boolean applyState) throws InterruptedException;
 
+   /**
+    * Start to send the cache entries that belong to the given set of segments, except the entries in the buckets that
+    * the destination already has. This is invoked in response to a StateRequestCommand of type
+    * StateRequestCommand.Type.START_STATE_TRANSFER or StateRequestCommand.Type.START_CONSISTENCY_CHECK when
+    * incremental state transfer is enabled.
+    *
+    * @param destination the address of the requester
+    * @param topologyId
+    * @param segments
+    * @param applyState true if the state should be applied, false if it is only for comparison (conflict resolution)
+    * @param matchingBuckets for every segment, a bitmask of the buckets that must not be sent
+    */
+   void startOutboundTransfer(Address destination, int topologyId, IntSet segments, boolean applyState,
+                              Map<Integer, Long> matchingBuckets) throws InterruptedException;
+
+   /**
+    * Computes the digests of the local entries in the given segments, so that a joiner or the conflict manager can find
+    * out which entries are the same on both nodes. This is invoked in response to a StateRequestCommand of type
+    * StateRequestCommand.Type.GET_SEGMENT_DIGESTS.
+    *
+    * @param segments
+    * @return for every segment with at least one entry, the digests of its buckets
+    */
+   Map<Integer, long[]> getSegmentDigests(IntSet segments);
+
    /**
     * Cancel sending of cache entries that belong to the given set of segments. This is invoked in response to a
     * StateRequestCommand of type StateRequestCommand.Type.CANCEL_STATE_TRANSFER.
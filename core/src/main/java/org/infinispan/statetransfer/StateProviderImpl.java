@@ -79,6 +79,7 @@ public class StateProviderImpl implements StateProvider {
 
    protected long timeout;
    protected int chunkSize;
+   protected int maxInFlightChunks;
 
    /**
     * A map that keeps track of current outbound state transfers by destination address. There could be multiple transfers
@@ -122,6 +123,7 @@ public CompletableFuture<Void> onTopologyUpdate(CacheTopology cacheTopology, boo
    public void start() {
       timeout = configuration.clustering().stateTransfer().timeout();
       chunkSize = configuration.clustering().stateTransfer().chunkSize();
+      maxInFlightChunks = configuration.clustering().stateTransfer().maxInFlightChunks();
    }
 
    @Stop(priority = 0)
@@ -274,7 +276,7 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
 
       // the destination node must already have an InboundTransferTask waiting for these segments
       OutboundTransferTask outboundTransfer = new OutboundTransferTask(destination, segments,
-            this.configuration.clustering().hash().numSegments(), chunkSize, requestTopologyId,
+            this.configuration.clustering().hash().numSegments(), chunkSize, maxInFlightChunks, requestTopologyId,
             keyPartitioner, this::onTaskCompletion, chunks -> {},
             OutboundTransferTask::defaultMapEntryFromDataContainer, OutboundTransferTask::defaultMapEntryFromStore,
             dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, applyState, false);
@@ -282,6 +284,32 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, In
       outboundTransfer.execute(executorService);
    }
 
+   @Override
+   public void startOutboundTransfer(Address destination, int requestTopologyId, IntSet segments, boolean applyState,
+                                     Map<Integer, Long> matchingBuckets) throws InterruptedException {
+      if (trace) {
+         log.tracef("Starting incremental outbound transfer to node %s for cache %s, topology id %d, segments %s",
+                    destination, cacheName, requestTopologyId, segments);
+      }
+
+      // Skip the entries in the buckets that have the same digest on the destination
+      OutboundTransferTask outboundTransfer = new OutboundTransferTask(destination, segments,
+            this.configuration.clustering().hash().numSegments(), chunkSize, maxInFlightChunks, requestTopologyId,
+            keyPartitioner, this::onTaskCompletion, chunks -> {},
+            (ice, ef) -> SegmentDigests.isMatching(matchingBuckets, keyPartitioner.getSegment(ice.getKey()), ice.getKey()) ?
+                  null : OutboundTransferTask.defaultMapEntryFromDataContainer(ice, ef),
+            (me, ef) -> SegmentDigests.isMatching(matchingBuckets, keyPartitioner.getSegment(me.getKey()), me.getKey()) ?
+                  null : OutboundTransferTask.defaultMapEntryFromStore(me, ef),
+            dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName, applyState, false);
+      addTransfer(outboundTransfer);
+      outboundTransfer.execute(executorService);
+   }
+
+   @Override
+   public Map<Integer, long[]> getSegmentDigests(IntSet segments) {
+      return SegmentDigests.compute(segments, dataContainer, persistenceManager, keyPartitioner);
+   }
+
    protected void addTransfer(OutboundTransferTask transferTask) {
       if (trace) {
          log.tracef("Adding outbound transfer to %s for segments %s", transferTask.getDestination(),
@@ -4,7 +4,9 @@
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commands.InitializableCommand;
@@ -42,6 +44,7 @@ public enum Type {
       START_STATE_TRANSFER,
       CANCEL_STATE_TRANSFER,
       CONFIRM_REVOKED_SEGMENTS,
+      GET_SEGMENT_DIGESTS,
       ;
 
       private static final Type[] CACHED_VALUES = values();
@@ -55,6 +58,11 @@ public enum Type {
 
    private IntSet segments;
 
+   /**
+    * For incremental state transfer, the buckets of each segment that the requester already has.
+    */
+   private Map<Integer, Long> matchingBuckets;
+
    private StateProvider stateProvider;
    private BiasManager biasManager;
 
@@ -74,6 +82,12 @@ public StateRequestCommand(ByteString cacheName, Type type, Address origin, int
       this.segments = segments;
    }
 
+   public StateRequestCommand(ByteString cacheName, Type type, Address origin, int topologyId, IntSet segments,
+                              Map<Integer, Long> matchingBuckets) {
+      this(cacheName, type, origin, topologyId, segments);
+      this.matchingBuckets = matchingBuckets;
+   }
+
    @Override
    public void init(ComponentRegistry componentRegistry, boolean isRemote) {
       this.stateProvider = componentRegistry.getStateTransferManager().getStateProvider();
@@ -92,7 +106,11 @@ public CompletableFuture<Object> invokeAsync() throws Throwable {
                return CompletableFuture.completedFuture(transactions);
 
             case START_CONSISTENCY_CHECK:
-               stateProvider.startOutboundTransfer(getOrigin(), topologyId, segments, false);
+               if (matchingBuckets != null && !matchingBuckets.isEmpty()) {
+                  stateProvider.startOutboundTransfer(getOrigin(), topologyId, segments, false, matchingBuckets);
+               } else {
+                  stateProvider.startOutboundTransfer(getOrigin(), topologyId, segments, false);
+               }
                return CompletableFutures.completedNull();
 
             case START_KEYS_TRANSFER:
@@ -100,9 +118,16 @@ public CompletableFuture<Object> invokeAsync() throws Throwable {
                return CompletableFutures.completedNull();
 
             case START_STATE_TRANSFER:
-               stateProvider.startOutboundTransfer(getOrigin(), topologyId, segments, true);
+               if (matchingBuckets != null && !matchingBuckets.isEmpty()) {
+                  stateProvider.startOutboundTransfer(getOrigin(), topologyId, segments, true, matchingBuckets);
+               } else {
+                  stateProvider.startOutboundTransfer(getOrigin(), topologyId, segments, true);
+               }
                return CompletableFutures.completedNull();
 
+            case GET_SEGMENT_DIGESTS:
+               return CompletableFuture.completedFuture(stateProvider.getSegmentDigests(segments));
+
             case CANCEL_CONSISTENCY_CHECK:
             case CANCEL_STATE_TRANSFER:
                stateProvider.cancelOutboundTransfer(getOrigin(), topologyId, segments);
@@ -157,6 +182,10 @@ public IntSet getSegments() {
       return segments;
    }
 
+   public Map<Integer, Long> getMatchingBuckets() {
+      return matchingBuckets;
+   }
+
    @Override
    public byte getCommandId() {
       return COMMAND_ID;
@@ -167,10 +196,12 @@ public byte getCommandId() {
    public void writeTo(ObjectOutput output) throws IOException {
       MarshallUtil.marshallEnum(type, output);
       switch (type) {
+         case START_STATE_TRANSFER:
          case START_CONSISTENCY_CHECK:
+            MarshallUtil.marshallMap(matchingBuckets, ObjectOutput::writeInt, ObjectOutput::writeLong, output);
          case CANCEL_CONSISTENCY_CHECK:
          case START_KEYS_TRANSFER:
-         case START_STATE_TRANSFER:
+         case GET_SEGMENT_DIGESTS:
          case GET_TRANSACTIONS:
          case CANCEL_STATE_TRANSFER:
             output.writeObject(getOrigin());
@@ -188,10 +219,12 @@ public void writeTo(ObjectOutput output) throws IOException {
    public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
       type = MarshallUtil.unmarshallEnum(input, ordinal -> Type.CACHED_VALUES[ordinal]);
       switch (type) {
+         case START_STATE_TRANSFER:
          case START_CONSISTENCY_CHECK:
+            matchingBuckets = MarshallUtil.unmarshallMap(input, ObjectInput::readInt, ObjectInput::readLong, HashMap::new);
          case CANCEL_CONSISTENCY_CHECK:
          case START_KEYS_TRANSFER:
-         case START_STATE_TRANSFER:
+         case GET_SEGMENT_DIGESTS:
          case GET_TRANSACTIONS:
          case CANCEL_STATE_TRANSFER:
             setOrigin((Address) input.readObject());
@@ -15,6 +15,8 @@
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.util.ByteString;
+import org.infinispan.util.compression.CompressedPayload;
+import org.infinispan.util.compression.StateCompressor;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -41,6 +43,11 @@ public class StateResponseCommand extends BaseRpcCommand implements Initializabl
     */
    private Collection<StateChunk> stateChunks;
 
+   /**
+    * The state chunks marshalled and compressed, if the sender has compression enabled.
+    */
+   private CompressedPayload compressedChunks;
+
    /**
     * Whether the returned state should be applied to the underlying cache upon delivery
     */
@@ -57,6 +64,7 @@ public class StateResponseCommand extends BaseRpcCommand implements Initializabl
     */
    private StateConsumer stateConsumer;
    private StateReceiver stateReceiver;
+   private StateCompressor stateCompressor;
 
    private StateResponseCommand() {
       super(null);  // for command id uniqueness test
@@ -76,10 +84,17 @@ public StateResponseCommand(ByteString cacheName, Address origin, int topologyId
       this.pushTransfer = pushTransfer;
    }
 
+   public StateResponseCommand(ByteString cacheName, Address origin, int topologyId, Collection<StateChunk> stateChunks,
+                               CompressedPayload compressedChunks, boolean applyState, boolean pushTransfer) {
+      this(cacheName, origin, topologyId, stateChunks, applyState, pushTransfer);
+      this.compressedChunks = compressedChunks;
+   }
+
    @Override
    public void init(ComponentRegistry componentRegistry, boolean isRemote) {
       this.stateConsumer = componentRegistry.getStateTransferManager().getStateConsumer();
       this.stateReceiver = componentRegistry.getConflictManager().running().getStateReceiver();
+      this.stateCompressor = componentRegistry.getComponent(StateCompressor.class);
    }
 
    @Override
@@ -87,11 +102,12 @@ public CompletableFuture<Object> invokeAsync() throws Throwable {
       final boolean trace = log.isTraceEnabled();
       LogFactory.pushNDC(cacheName, trace);
       try {
+         Collection<StateChunk> chunks = getStateChunks();
          if (applyState) {
-            return (CompletableFuture) stateConsumer.applyState(getOrigin(), topologyId, pushTransfer, stateChunks)
+            return (CompletableFuture) stateConsumer.applyState(getOrigin(), topologyId, pushTransfer, chunks)
                                                     .toCompletableFuture();
          } else {
-            stateReceiver.receiveState(getOrigin(), topologyId, stateChunks);
+            stateReceiver.receiveState(getOrigin(), topologyId, chunks);
          }
          return CompletableFutures.completedNull();
       } finally {
@@ -125,6 +141,9 @@ public byte getCommandId() {
    }
 
    public Collection<StateChunk> getStateChunks() {
+      if (stateChunks == null && compressedChunks != null) {
+         stateChunks = stateCompressor.decompress(compressedChunks);
+      }
       return stateChunks;
    }
 
@@ -132,7 +151,13 @@ public Collection<StateChunk> getStateChunks() {
    public void writeTo(ObjectOutput output) throws IOException {
       output.writeObject(getOrigin());
       output.writeBoolean(pushTransfer);
-      MarshallUtil.marshallCollection(stateChunks, output);
+      if (compressedChunks != null) {
+         output.writeBoolean(true);
+         CompressedPayload.writeTo(output, compressedChunks);
+      } else {
+         output.writeBoolean(false);
+         MarshallUtil.marshallCollection(stateChunks, output);
+      }
       output.writeBoolean(applyState);
    }
 
@@ -140,7 +165,11 @@ public void writeTo(ObjectOutput output) throws IOException {
    public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
       setOrigin((Address) input.readObject());
       pushTransfer = input.readBoolean();
-      stateChunks = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+      if (input.readBoolean()) {
+         compressedChunks = CompressedPayload.readFrom(input);
+      } else {
+         stateChunks = MarshallUtil.unmarshallCollection(input, ArrayList::new);
+      }
       applyState = input.readBoolean();
    }
 
@@ -149,7 +178,7 @@ public String toString() {
       return "StateResponseCommand{" +
             "cache=" + cacheName +
             ", pushTransfer=" + pushTransfer +
-            ", stateChunks=" + stateChunks +
+            ", stateChunks=" + (stateChunks != null ? stateChunks : compressedChunks) +
             ", origin=" + getOrigin() +
             ", topologyId=" + topologyId +
             ", applyState=" + applyState +
@@ -285,6 +285,11 @@ public boolean isStateTransferInProgress() {
       return stateConsumer.isStateTransferInProgress();
    }
 
+   @ManagedAttribute(description = "Retrieves the number of entries applied so far for each segment that is still being transferred to this cluster member.", displayName = "Inbound state transfer progress", dataType = DataType.TRAIT)
+   public String getInboundTransferProgress() {
+      return stateConsumer.getInboundTransferProgress().toString();
+   }
+
    @Override
    public boolean isStateTransferInProgressForKey(Object key) {
       return stateConsumer.isStateTransferInProgressForKey(key);
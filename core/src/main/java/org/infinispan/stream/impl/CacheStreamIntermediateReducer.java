@@ -3,17 +3,25 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.infinispan.commands.functional.functions.InjectableComponent;
 import org.infinispan.commons.marshall.AdvancedExternalizer;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.marshall.core.Ids;
 import org.infinispan.stream.impl.intops.IntermediateOperation;
+import org.infinispan.stream.impl.intops.object.FilterOperation;
+import org.infinispan.stream.impl.intops.object.MapOperation;
+import org.infinispan.stream.impl.intops.object.PeekOperation;
 import org.infinispan.util.function.SerializableFunction;
 import org.reactivestreams.Publisher;
 
@@ -36,12 +44,44 @@
    @Override
    public CompletionStage<R> apply(Publisher<Object> objectPublisher) {
       Flowable<Object> innerPublisher = Flowable.fromPublisher(objectPublisher);
+      List<IntermediateOperation> statelessOps = new ArrayList<>();
       for (IntermediateOperation intOp : intOps) {
-         innerPublisher = intOp.mapFlowable(innerPublisher);
+         if (isFusable(intOp)) {
+            statelessOps.add(intOp);
+         } else {
+            innerPublisher = applyStateless(innerPublisher, statelessOps);
+            innerPublisher = intOp.mapFlowable(innerPublisher);
+         }
       }
+      innerPublisher = applyStateless(innerPublisher, statelessOps);
       return transformer.apply(innerPublisher);
    }
 
+   private static boolean isFusable(IntermediateOperation intOp) {
+      return intOp instanceof FilterOperation || intOp instanceof MapOperation || intOp instanceof PeekOperation;
+   }
+
+   /**
+    * Applies a run of consecutive filter, map and peek operations, and clears the list. Every operator of a
+    * {@link Flowable} adds a subscriber to the chain that each element has to go through, so a run of more than one
+    * operation is fused into a single function invoked once per element.
+    */
+   private static Flowable<Object> applyStateless(Flowable<Object> input, List<IntermediateOperation> statelessOps) {
+      Flowable<Object> output;
+      switch (statelessOps.size()) {
+         case 0:
+            return input;
+         case 1:
+            output = statelessOps.get(0).mapFlowable(input);
+            break;
+         default:
+            FusedFunction fused = new FusedFunction(statelessOps.toArray(new IntermediateOperation[0]));
+            output = input.map(fused).filter(FusedFunction::isPresent);
+      }
+      statelessOps.clear();
+      return output;
+   }
+
    @Override
    public void inject(ComponentRegistry registry) {
       for (IntermediateOperation intOp : intOps) {
@@ -49,6 +89,54 @@ public void inject(ComponentRegistry registry) {
       }
    }
 
+   /**
+    * Runs an element through a chain of filter, map and peek operations, returning {@link #FILTERED} if a filter
+    * rejects it, as a {@link Flowable} cannot emit {@code null}.
+    */
+   private static final class FusedFunction implements io.reactivex.functions.Function<Object, Object> {
+      private static final Object FILTERED = new Object();
+
+      private final Predicate<Object>[] predicates;
+      private final Function<Object, Object>[] functions;
+      private final Consumer<Object>[] consumers;
+
+      FusedFunction(IntermediateOperation[] ops) {
+         predicates = new Predicate[ops.length];
+         functions = new Function[ops.length];
+         consumers = new Consumer[ops.length];
+         for (int i = 0; i < ops.length; i++) {
+            IntermediateOperation op = ops[i];
+            if (op instanceof FilterOperation) {
+               predicates[i] = (Predicate<Object>) ((FilterOperation) op).getPredicate();
+            } else if (op instanceof MapOperation) {
+               functions[i] = (Function<Object, Object>) ((MapOperation) op).getFunction();
+            } else {
+               consumers[i] = (Consumer<Object>) ((PeekOperation) op).getConsumer();
+            }
+         }
+      }
+
+      static boolean isPresent(Object value) {
+         return value != FILTERED;
+      }
+
+      @Override
+      public Object apply(Object value) {
+         for (int i = 0; i < predicates.length; i++) {
+            if (predicates[i] != null) {
+               if (!predicates[i].test(value)) {
+                  return FILTERED;
+               }
+            } else if (functions[i] != null) {
+               value = Objects.requireNonNull(functions[i].apply(value), "The mapper function returned a null value.");
+            } else {
+               consumers[i].accept(value);
+            }
+         }
+         return value;
+      }
+   }
+
    public static final class ReducerExternalizer implements AdvancedExternalizer<CacheStreamIntermediateReducer> {
       @Override
       public void writeObject(ObjectOutput output, CacheStreamIntermediateReducer object) throws IOException {
@@ -33,6 +33,10 @@
  * returned from the first publisher and so forth. If no publisher has recently published an entry the iterator
  * will block until one does so or all are known to have completed.
  * <p>
+ * Each publisher is asked for two batches up front, and for another batch every time a batch has been consumed. This
+ * way the next batch is already being retrieved while the current one is consumed, and at most two batches per
+ * publisher are held in memory. A consumer that stops polling stops requesting new batches.
+ * <p>
  * The iterator returned should be closed by the user when they are done to ensure resources are freed properly.
  * @author wburns
  * @since 9.0
@@ -229,7 +233,6 @@ void signalConsumer() {
       private final Publisher<T> publisher;
       private final SimplePlainQueue<T> queue;
       private final long batchSize;
-      private final long limit;
       private MultiSubscriberIterator notifier;
 
       private long produced;
@@ -238,10 +241,10 @@ void signalConsumer() {
 
       QueueSubscriber(Publisher<T> publisher, int batchSize, MultiSubscriberIterator subscriber) {
          this.publisher = publisher;
-         this.queue = new SpscArrayQueue<>(batchSize);
+         // Room for the batch being consumed and the batch being prefetched
+         this.queue = new SpscArrayQueue<>(batchSize << 1);
          this.batchSize = batchSize;
          this.notifier = subscriber;
-         this.limit = batchSize - (batchSize >> 2);
       }
 
       void start() {
@@ -255,7 +258,7 @@ public T poll() {
          T returned = queue.poll();
          if (returned != null) {
             long p = produced + 1;
-            if (p == limit) {
+            if (p == batchSize) {
                produced = 0;
                get().request(p);
             } else {
@@ -268,6 +271,8 @@ public T poll() {
       @Override
       public void onSubscribe(Subscription s) {
          if (SubscriptionHelper.setOnce(this, s)) {
+            // Two separate requests, so that a remote publisher retrieves them as two batches
+            s.request(batchSize);
             s.request(batchSize);
          }
       }
@@ -0,0 +1,62 @@
+package org.infinispan.util.compression;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.infinispan.commons.marshall.MarshallUtil;
+
+/**
+ * A batch of state marshalled and compressed by a {@link CompressionCodec}.
+ *
+ * @see StateCompressor
+ * @since 10.0
+ */
+public final class CompressedPayload {
+   private final byte codecId;
+   private final int uncompressedLength;
+   private final byte[] bytes;
+
+   public CompressedPayload(byte codecId, int uncompressedLength, byte[] bytes) {
+      this.codecId = codecId;
+      this.uncompressedLength = uncompressedLength;
+      this.bytes = bytes;
+   }
+
+   /**
+    * @return the {@link CompressionCodec#getId() id} of the codec used to compress the state.
+    */
+   public byte getCodecId() {
+      return codecId;
+   }
+
+   public int getUncompressedLength() {
+      return uncompressedLength;
+   }
+
+   public byte[] getBytes() {
+      return bytes;
+   }
+
+   public static void writeTo(ObjectOutput output, CompressedPayload payload) throws IOException {
+      output.writeByte(payload.codecId);
+      output.writeInt(payload.uncompressedLength);
+      MarshallUtil.marshallByteArray(payload.bytes, output);
+   }
+
+   public static CompressedPayload readFrom(ObjectInput input) throws IOException {
+      byte codecId = input.readByte();
+      int uncompressedLength = input.readInt();
+      byte[] bytes = MarshallUtil.unmarshallByteArray(input);
+      return new CompressedPayload(codecId, uncompressedLength, bytes);
+   }
+
+   @Override
+   public String toString() {
+      return "CompressedPayload{" +
+            "codecId=" + codecId +
+            ", uncompressedLength=" + uncompressedLength +
+            ", compressedLength=" + bytes.length +
+            '}';
+   }
+}
@@ -0,0 +1,32 @@
+package org.infinispan.util.compression;
+
+/**
+ * Compresses the marshalled state sent by state transfer and cross-site state transfer.
+ * <p>
+ * The {@link #getId() id} of the codec is sent with every compressed batch. A receiving node only decompresses the
+ * batches of a {@link DeflateCompressionCodec} or of a codec configured in its own configuration of the cache, it never
+ * loads a codec named by another node. Implementations must be thread-safe.
+ *
+ * @since 10.0
+ */
+public interface CompressionCodec {
+
+   /**
+    * @return the id sent with every compressed batch. The ids from 0 to 31 are reserved for the codecs provided by
+    * Infinispan. Codecs that can decompress each other's output, e.g. with different compression levels, share an id.
+    */
+   byte getId();
+
+   /**
+    * Compresses the given bytes.
+    */
+   byte[] compress(byte[] bytes);
+
+   /**
+    * Decompresses the given bytes.
+    *
+    * @param bytes the compressed bytes, as returned by {@link #compress(byte[])}
+    * @param uncompressedLength the length of the bytes before compression
+    */
+   byte[] decompress(byte[] bytes, int uncompressedLength);
+}
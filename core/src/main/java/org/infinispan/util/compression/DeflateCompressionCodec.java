@@ -0,0 +1,96 @@
+package org.infinispan.util.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.infinispan.commons.CacheException;
+
+/**
+ * {@link CompressionCodec} using the Deflate implementation of the JDK.
+ * <p>
+ * The default level is {@link Deflater#BEST_SPEED}, which already shrinks marshalled entries considerably without
+ * making the compression slower than the network.
+ *
+ * @since 10.0
+ */
+public class DeflateCompressionCodec implements CompressionCodec {
+   public static final byte ID = 1;
+
+   private final int level;
+
+   public DeflateCompressionCodec() {
+      this(Deflater.BEST_SPEED);
+   }
+
+   public DeflateCompressionCodec(int level) {
+      this.level = level;
+   }
+
+   @Override
+   public byte getId() {
+      return ID;
+   }
+
+   @Override
+   public byte[] compress(byte[] bytes) {
+      Deflater deflater = new Deflater(level);
+      try {
+         deflater.setInput(bytes);
+         deflater.finish();
+         ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(bytes.length / 2, 64));
+         byte[] buffer = new byte[8192];
+         while (!deflater.finished()) {
+            int count = deflater.deflate(buffer);
+            output.write(buffer, 0, count);
+         }
+         return output.toByteArray();
+      } finally {
+         deflater.end();
+      }
+   }
+
+   @Override
+   public byte[] decompress(byte[] bytes, int uncompressedLength) {
+      Inflater inflater = new Inflater();
+      try {
+         inflater.setInput(bytes);
+         byte[] result = new byte[uncompressedLength];
+         int offset = 0;
+         while (offset < uncompressedLength && !inflater.finished()) {
+            int count = inflater.inflate(result, offset, uncompressedLength - offset);
+            if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+               break;
+            }
+            offset += count;
+         }
+         if (offset != uncompressedLength) {
+            throw new CacheException("Compressed state is truncated, expected " + uncompressedLength +
+                  " bytes but got " + offset);
+         }
+         return result;
+      } catch (DataFormatException e) {
+         throw new CacheException(e);
+      } finally {
+         inflater.end();
+      }
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      return level == ((DeflateCompressionCodec) o).level;
+   }
+
+   @Override
+   public int hashCode() {
+      return level;
+   }
+
+   @Override
+   public String toString() {
+      return "DeflateCompressionCodec{level=" + level + '}';
+   }
+}
@@ -0,0 +1,203 @@
+package org.infinispan.util.compression;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.BackupConfiguration;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.jmx.annotations.DisplayType;
+import org.infinispan.jmx.annotations.MBean;
+import org.infinispan.jmx.annotations.ManagedAttribute;
+import org.infinispan.jmx.annotations.ManagedOperation;
+import org.infinispan.jmx.annotations.MeasurementType;
+import org.infinispan.jmx.annotations.Units;
+
+/**
+ * Marshalls and compresses the batches of state sent by state transfer and cross-site state transfer, and keeps track
+ * of the compression ratio and of the time spent compressing and decompressing.
+ * <p>
+ * Compression is enabled by the sender, which writes the id of the codec in every {@link CompressedPayload}. The
+ * receiver only accepts the ids of the {@link DeflateCompressionCodec} and of the codecs in its own configuration of the
+ * cache, so nodes and sites with different settings can still exchange state compressed with the built-in codec.
+ *
+ * @since 10.0
+ */
+@Scope(Scopes.NAMED_CACHE)
+@MBean(objectName = "StateCompression", description = "Compression of the state sent by (cross-site) state transfer")
+public class StateCompressor {
+   @Inject @ComponentName(KnownComponentNames.INTERNAL_MARSHALLER)
+   StreamingMarshaller marshaller;
+   @Inject TimeService timeService;
+   @Inject Configuration configuration;
+
+   private final ConcurrentMap<Byte, CompressionCodec> codecs = new ConcurrentHashMap<>();
+
+   private final LongAdder uncompressedBytes = new LongAdder();
+   private final LongAdder compressedBytes = new LongAdder();
+   private final LongAdder compressionTime = new LongAdder();
+   private final LongAdder decompressionTime = new LongAdder();
+   private final LongAdder compressedBatches = new LongAdder();
+   private final LongAdder decompressedBatches = new LongAdder();
+
+   @Start
+   public void start() {
+      addCodec(new DeflateCompressionCodec());
+      addCodec(configuration.clustering().stateTransfer().compressionCodec());
+      for (BackupConfiguration backup : configuration.sites().allBackups()) {
+         addCodec(backup.stateTransfer().compressionCodec());
+      }
+   }
+
+   private void addCodec(CompressionCodec codec) {
+      if (codec == null) {
+         return;
+      }
+      CompressionCodec existing = codecs.putIfAbsent(codec.getId(), codec);
+      if (existing != null && existing.getClass() != codec.getClass()) {
+         throw new CacheConfigurationException("Compression codecs " + existing.getClass().getName() + " and " +
+               codec.getClass().getName() + " use the same id " + codec.getId());
+      }
+   }
+
+   /**
+    * Marshalls and compresses the given state.
+    */
+   public CompressedPayload compress(Object state, CompressionCodec codec) {
+      long start = timeService.time();
+      byte[] bytes;
+      try {
+         bytes = marshaller.objectToByteBuffer(state);
+      } catch (IOException e) {
+         throw new CacheException(e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+      byte[] compressed = codec.compress(bytes);
+      compressionTime.add(timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+      uncompressedBytes.add(bytes.length);
+      compressedBytes.add(compressed.length);
+      compressedBatches.increment();
+      return new CompressedPayload(codec.getId(), bytes.length, compressed);
+   }
+
+   /**
+    * Decompresses and unmarshalls the state in the given payload.
+    */
+   @SuppressWarnings("unchecked")
+   public <T> T decompress(CompressedPayload payload) {
+      long start = timeService.time();
+      CompressionCodec codec = codecs.get(payload.getCodecId());
+      if (codec == null) {
+         throw new CacheException("Compression codec with id " + payload.getCodecId() + " is not configured");
+      }
+      byte[] bytes = codec.decompress(payload.getBytes(), payload.getUncompressedLength());
+      Object state;
+      try {
+         state = marshaller.objectFromByteBuffer(bytes);
+      } catch (IOException | ClassNotFoundException e) {
+         throw new CacheException(e);
+      }
+      decompressionTime.add(timeService.timeDuration(start, TimeUnit.NANOSECONDS));
+      decompressedBatches.increment();
+      return (T) state;
+   }
+
+   @ManagedAttribute(
+         description = "Number of bytes of state before compression",
+         displayName = "Uncompressed bytes",
+         measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getUncompressedBytes() {
+      return uncompressedBytes.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of bytes of state after compression",
+         displayName = "Compressed bytes",
+         measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getCompressedBytes() {
+      return compressedBytes.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Size of the compressed state relative to its uncompressed size",
+         displayName = "Compression ratio",
+         units = Units.PERCENTAGE,
+         displayType = DisplayType.SUMMARY
+   )
+   public double getCompressionRatio() {
+      long uncompressed = uncompressedBytes.sum();
+      return uncompressed == 0 ? 0 : (double) compressedBytes.sum() / uncompressed;
+   }
+
+   @ManagedAttribute(
+         description = "Number of batches of state compressed",
+         displayName = "Compressed batches",
+         measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getCompressedBatches() {
+      return compressedBatches.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Number of batches of state decompressed",
+         displayName = "Decompressed batches",
+         measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getDecompressedBatches() {
+      return decompressedBatches.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Total time spent marshalling and compressing state",
+         displayName = "Compression time",
+         units = Units.NANOSECONDS,
+         measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getCompressionTime() {
+      return compressionTime.sum();
+   }
+
+   @ManagedAttribute(
+         description = "Total time spent decompressing and unmarshalling state",
+         displayName = "Decompression time",
+         units = Units.NANOSECONDS,
+         measurementType = MeasurementType.TRENDSUP,
+         displayType = DisplayType.SUMMARY
+   )
+   public long getDecompressionTime() {
+      return decompressionTime.sum();
+   }
+
+   @ManagedOperation(
+         description = "Resets statistics gathered by this component",
+         displayName = "Reset statistics")
+   public void resetStatistics() {
+      uncompressedBytes.reset();
+      compressedBytes.reset();
+      compressionTime.reset();
+      decompressionTime.reset();
+      compressedBatches.reset();
+      decompressedBatches.reset();
+   }
+}
@@ -0,0 +1,4 @@
+/**
+ * Compression of the state sent by state transfer and cross-site state transfer.
+ */
+package org.infinispan.util.compression;
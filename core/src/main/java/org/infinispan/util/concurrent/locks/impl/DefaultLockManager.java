@@ -79,8 +79,7 @@ public KeyAwareLockPromise lock(Object key, Object lockOwner, long time, TimeUni
 
       if (key == lockOwner) {
          // If the lock is already owned by this lock owner there is no reason to attempt the lock needlessly
-         InfinispanLock lock = lockContainer.getLock(key);
-         if (lock != null && lock.getLockOwner() == key) {
+         if (lockContainer.getLockOwner(key) == key) {
             if (trace)
                log.tracef("Not locking key=%s as it is already held by the same lock owner", key);
             return KeyAwareLockPromise.NO_OP;
@@ -188,8 +187,7 @@ public boolean isLocked(Object key) {
 
    @Override
    public Object getOwner(Object key) {
-      InfinispanLock lock = lockContainer.getLock(key);
-      return lock == null ? null : lock.getLockOwner();
+      return lockContainer.getLockOwner(key);
    }
 
    @Override
@@ -0,0 +1,279 @@
+package org.infinispan.util.concurrent.locks.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.scopes.Scope;
+import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.util.concurrent.locks.DeadlockChecker;
+import org.infinispan.util.concurrent.locks.ExtendedLockPromise;
+
+/**
+ * A lock container that gives a dedicated lock to each hot key and uses a {@link StripedLockContainer} for all the
+ * other keys.
+ * <p>
+ * The hot keys are updated at runtime with {@link #setHotKeys(Collection)}, e.g. with the most contended keys. A key
+ * only moves between its stripe and its dedicated lock when nobody holds or waits for the lock it moves from, so the
+ * change is applied by the first {@link #acquire(Object, Object, long, TimeUnit)} of the key after that happens.
+ * <p>
+ * The route of a key is only changed with compare-and-set operations on its entry in the routing map and no monitor is
+ * held while invoking an {@link InfinispanLock}. A move first installs an intermediate entry, checks that the lock it
+ * moves from is idle and then completes the move with a second compare-and-set. An acquisition that finds the
+ * intermediate entry after acquiring the old lock replaces it, so the move fails, and an acquisition that finds its lock
+ * is no longer the route of the key after acquiring it releases it and retries. A key is therefore never locked through
+ * both its stripe and its dedicated lock.
+ *
+ * @since 10.0
+ */
+@Scope(Scopes.NAMED_CACHE)
+public class HotKeyLockContainer implements LockContainer {
+
+   private final StripedLockContainer stripedContainer;
+   private final ConcurrentMap<Object, Route> routes = new ConcurrentHashMap<>();
+   private volatile Set<Object> hotKeys = Collections.emptySet();
+   private Executor executor;
+   private TimeService timeService;
+
+   public HotKeyLockContainer(StripedLockContainer stripedContainer) {
+      this.stripedContainer = stripedContainer;
+   }
+
+   @Inject
+   void inject(@ComponentName(KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR) Executor executor, TimeService timeService) {
+      this.executor = executor;
+      this.timeService = timeService;
+      for (Route route : routes.values()) {
+         route.lock.setTimeService(timeService);
+      }
+   }
+
+   /**
+    * Sets the keys that should use a dedicated lock. The keys that are no longer hot release their dedicated lock as
+    * soon as it is not used.
+    */
+   public void setHotKeys(Collection<?> keys) {
+      Set<Object> newHotKeys = new HashSet<>(keys);
+      hotKeys = newHotKeys;
+      routes.forEach((key, route) -> {
+         if (route.state == RouteState.DEDICATED && !newHotKeys.contains(key) && !route.lock.hasLockOwners()) {
+            tryRetire(key, route);
+         }
+      });
+   }
+
+   /**
+    * @return the keys currently using a dedicated lock.
+    */
+   public Set<Object> getDedicatedLockKeys() {
+      Set<Object> keys = new HashSet<>();
+      routes.forEach((key, route) -> {
+         if (route.isDedicated()) {
+            keys.add(key);
+         }
+      });
+      return Collections.unmodifiableSet(keys);
+   }
+
+   @Override
+   public ExtendedLockPromise acquire(Object key, Object lockOwner, long time, TimeUnit timeUnit) {
+      while (true) {
+         Route route = routes.get(key);
+         if (route == null || !route.isDedicated()) {
+            InfinispanLock stripe = stripedContainer.getLock(key);
+            if (route == null && hotKeys.contains(key) && !stripe.hasLockOwners()) {
+               tryPromote(key, stripe);
+               continue;
+            }
+            boolean newOwner = !stripe.containsLockOwner(lockOwner);
+            ExtendedLockPromise promise = stripe.acquire(lockOwner, time, timeUnit);
+            if (isRoutedToStripe(key)) {
+               return promise;
+            }
+            if (newOwner) {
+               stripe.release(lockOwner);
+            }
+         } else {
+            if (route.state == RouteState.DEDICATED && !hotKeys.contains(key) && !route.lock.hasLockOwners()) {
+               tryRetire(key, route);
+               continue;
+            }
+            boolean newOwner = !route.lock.containsLockOwner(lockOwner);
+            ExtendedLockPromise promise = route.lock.acquire(lockOwner, time, timeUnit);
+            if (isRoutedTo(key, route.lock)) {
+               return promise;
+            }
+            if (newOwner) {
+               route.lock.release(lockOwner);
+            }
+         }
+      }
+   }
+
+   @Override
+   public InfinispanLock getLock(Object key) {
+      Route route = routes.get(key);
+      return route != null && route.isDedicated() ? route.lock : stripedContainer.getLock(key);
+   }
+
+   @Override
+   public void release(Object key, Object lockOwner) {
+      // A dedicated lock is never removed while it has lock owners
+      Route route = routes.get(key);
+      if (route != null && route.isDedicated() && route.lock.containsLockOwner(lockOwner)) {
+         route.lock.release(lockOwner);
+      } else {
+         stripedContainer.release(key, lockOwner);
+      }
+   }
+
+   @Override
+   public int getNumLocksHeld() {
+      int count = stripedContainer.getNumLocksHeld();
+      for (Route route : routes.values()) {
+         if (route.isDedicated() && route.lock.isLocked()) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   @Override
+   public boolean isLocked(Object key) {
+      return getLock(key).isLocked();
+   }
+
+   @Override
+   public int size() {
+      int size = stripedContainer.size();
+      for (Route route : routes.values()) {
+         if (route.isDedicated()) {
+            size++;
+         }
+      }
+      return size;
+   }
+
+   @Override
+   public void deadlockCheck(DeadlockChecker deadlockChecker) {
+      stripedContainer.deadlockCheck(deadlockChecker);
+      routes.values().forEach(route -> route.lock.deadlockCheck(deadlockChecker));
+   }
+
+   @Override
+   public String toString() {
+      return "HotKeyLockContainer{" +
+            "routes=" + routes +
+            ", stripedContainer=" + stripedContainer +
+            '}';
+   }
+
+   /**
+    * Tries to move the key from its stripe to a dedicated lock. It fails if the stripe is not idle after the move is
+    * announced or if an acquisition through the stripe cancels it.
+    */
+   private void tryPromote(Object key, InfinispanLock stripe) {
+      Route promoting = new Route(new InfinispanLock(executor, timeService), RouteState.PROMOTING);
+      if (routes.putIfAbsent(key, promoting) != null) {
+         return;
+      }
+      if (stripe.hasLockOwners()) {
+         // The stripe could still be held for this key
+         routes.remove(key, promoting);
+      } else {
+         routes.replace(key, promoting, new Route(promoting.lock, RouteState.DEDICATED));
+      }
+   }
+
+   /**
+    * Tries to move the key from its dedicated lock back to its stripe. It fails if the dedicated lock is not idle
+    * after the move is announced or if an acquisition through the dedicated lock cancels it.
+    */
+   private void tryRetire(Object key, Route dedicated) {
+      Route retiring = new Route(dedicated.lock, RouteState.RETIRING);
+      if (!routes.replace(key, dedicated, retiring)) {
+         return;
+      }
+      if (dedicated.lock.hasLockOwners() || !routes.remove(key, retiring)) {
+         routes.replace(key, retiring, dedicated);
+      }
+   }
+
+   /**
+    * Invoked after acquiring the stripe of the key.
+    *
+    * @return {@code true} if the key is still routed to its stripe, cancelling any move to a dedicated lock.
+    */
+   private boolean isRoutedToStripe(Object key) {
+      while (true) {
+         Route route = routes.get(key);
+         if (route == null) {
+            return true;
+         } else if (route.isDedicated()) {
+            return false;
+         } else if (routes.remove(key, route)) {
+            return true;
+         }
+      }
+   }
+
+   /**
+    * Invoked after acquiring the dedicated lock of the key.
+    *
+    * @return {@code true} if the key is still routed to {@code lock}, cancelling any move back to its stripe.
+    */
+   private boolean isRoutedTo(Object key, InfinispanLock lock) {
+      while (true) {
+         Route route = routes.get(key);
+         if (route == null || route.lock != lock) {
+            return false;
+         } else if (route.state == RouteState.DEDICATED ||
+               routes.replace(key, route, new Route(lock, RouteState.DEDICATED))) {
+            return true;
+         }
+      }
+   }
+
+   private enum RouteState {
+      /**
+       * The key is moving to the dedicated lock but it is still locked through its stripe.
+       */
+      PROMOTING,
+      DEDICATED,
+      /**
+       * The key is moving back to its stripe but it is still locked through the dedicated lock.
+       */
+      RETIRING
+   }
+
+   private static final class Route {
+      final InfinispanLock lock;
+      final RouteState state;
+
+      Route(InfinispanLock lock, RouteState state) {
+         this.lock = lock;
+         this.state = state;
+      }
+
+      boolean isDedicated() {
+         return state != RouteState.PROMOTING;
+      }
+
+      @Override
+      public String toString() {
+         return "Route{" +
+               "state=" + state +
+               ", lock=" + lock +
+               '}';
+      }
+   }
+}
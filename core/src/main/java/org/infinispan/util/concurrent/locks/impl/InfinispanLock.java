@@ -49,6 +49,8 @@ public class InfinispanLock {
          newUpdater(InfinispanLock.class, LockPlaceHolder.class, "current");
    private static final AtomicReferenceFieldUpdater<LockPlaceHolder, LockState> STATE_UPDATER =
          newUpdater(LockPlaceHolder.class, LockState.class, "lockState");
+   // Most locks only ever see a single owner, don't allocate the default 16 slots table for them
+   private static final int OWNERS_INITIAL_CAPACITY = 1;
 
 
    private final Queue<LockPlaceHolder> pendingRequest;
@@ -69,7 +71,7 @@ public InfinispanLock(Executor executor, TimeService timeService) {
       this.executor = executor;
       this.timeService = timeService;
       pendingRequest = new ConcurrentLinkedQueue<>();
-      lockOwners = new ConcurrentHashMap<>();
+      lockOwners = new ConcurrentHashMap<>(OWNERS_INITIAL_CAPACITY);
       current = null;
       releaseRunnable = null;
    }
@@ -85,7 +87,7 @@ public InfinispanLock(Executor executor, TimeService timeService, Runnable relea
       this.executor = executor;
       this.timeService = timeService;
       pendingRequest = new ConcurrentLinkedQueue<>();
-      lockOwners = new ConcurrentHashMap<>();
+      lockOwners = new ConcurrentHashMap<>(OWNERS_INITIAL_CAPACITY);
       current = null;
       this.releaseRunnable = releaseRunnable;
    }
@@ -143,6 +145,17 @@ public ExtendedLockPromise acquire(Object lockOwner, long time, TimeUnit timeUni
          log.tracef("Created a new one: %s", lockPlaceHolder);
       }
 
+      if (pendingRequest.isEmpty() && cas(null, lockPlaceHolder)) {
+         // Nobody is waiting, so the lock is acquired without going through the queue
+         if (!lockPlaceHolder.setAcquire()) {
+            // released concurrently by the same lock owner, let the next one in
+            tryAcquire(lockPlaceHolder);
+         } else if (trace) {
+            log.tracef("%s successfully acquired the lock.", lockPlaceHolder);
+         }
+         return lockPlaceHolder;
+      }
+
       pendingRequest.add(lockPlaceHolder);
       tryAcquire(null);
       return lockPlaceHolder;
@@ -232,6 +245,13 @@ public boolean containsLockOwner(Object lockOwner) {
       return lockOwners.containsKey(lockOwner);
    }
 
+   /**
+    * @return {@code true} if any lock owner holds, waits for or has not yet cleaned up its request for this lock.
+    */
+   boolean hasLockOwners() {
+      return !lockOwners.isEmpty();
+   }
+
    private void onCanceled(LockPlaceHolder canceled) {
       if (trace) {
          log.tracef("Release lock for %s. It was canceled.", canceled.owner);
@@ -4,6 +4,7 @@
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.infinispan.commons.time.TimeService;
 import org.infinispan.commons.util.ByRef;
@@ -12,11 +13,19 @@
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
+import org.infinispan.interceptors.InvocationStage;
+import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.concurrent.locks.DeadlockChecker;
 import org.infinispan.util.concurrent.locks.ExtendedLockPromise;
+import org.infinispan.util.concurrent.locks.LockListener;
+import org.infinispan.util.concurrent.locks.LockState;
 
 /**
  * A lock container that creates and maintains a new lock per entry.
+ * <p>
+ * A key locked by a single lock owner is only mapped to an {@link OwnerToken}, which is also the promise returned to
+ * the lock owner. The {@link InfinispanLock} is only created when a second lock owner arrives or when it is requested
+ * with {@link #getLock(Object)}, and it is removed when it is no longer locked.
  *
  * @author Pedro Ruivo
  * @since 8.0
@@ -25,7 +34,8 @@
 public class PerKeyLockContainer implements LockContainer {
 
    private static final int INITIAL_CAPACITY = 32;
-   private final ConcurrentMap<Object, InfinispanLock> lockMap;
+   // the values are either an OwnerToken or an InfinispanLock
+   private final ConcurrentMap<Object, Object> lockMap;
    private Executor executor;
    private TimeService timeService;
 
@@ -37,18 +47,30 @@ public PerKeyLockContainer() {
    void inject(@ComponentName(KnownComponentNames.ASYNC_OPERATIONS_EXECUTOR) Executor executor, TimeService timeService) {
       this.executor = executor;
       this.timeService = timeService;
-      for (InfinispanLock lock : lockMap.values()) {
-         lock.setTimeService(timeService);
+      for (Object lock : lockMap.values()) {
+         if (lock instanceof InfinispanLock) {
+            ((InfinispanLock) lock).setTimeService(timeService);
+         }
       }
    }
 
    @Override
    public ExtendedLockPromise acquire(Object key, Object lockOwner, long time, TimeUnit timeUnit) {
+      OwnerToken token = new OwnerToken(lockOwner);
+      if (lockMap.putIfAbsent(key, token) == null) {
+         return token;
+      }
       ByRef<ExtendedLockPromise> reference = ByRef.create(null);
-      lockMap.compute(key, (aKey, lock) -> {
-         if (lock == null) {
-            lock = createInfinispanLock(aKey);
+      lockMap.compute(key, (aKey, current) -> {
+         if (current == null) {
+            reference.set(token);
+            return token;
+         }
+         if (current instanceof OwnerToken && ((OwnerToken) current).owner.equals(lockOwner)) {
+            reference.set((OwnerToken) current);
+            return current;
          }
+         InfinispanLock lock = inflate(aKey, current);
          reference.set(lock.acquire(lockOwner, time, timeUnit));
          return lock;
       });
@@ -57,22 +79,44 @@ public ExtendedLockPromise acquire(Object key, Object lockOwner, long time, Time
 
    @Override
    public InfinispanLock getLock(Object key) {
-      return lockMap.get(key);
+      Object current = lockMap.get(key);
+      if (current instanceof OwnerToken) {
+         return (InfinispanLock) lockMap.computeIfPresent(key, this::inflate);
+      }
+      return (InfinispanLock) current;
+   }
+
+   @Override
+   public Object getLockOwner(Object key) {
+      Object current = lockMap.get(key);
+      if (current instanceof OwnerToken) {
+         return ((OwnerToken) current).owner;
+      }
+      return current == null ? null : ((InfinispanLock) current).getLockOwner();
    }
 
    @Override
    public void release(Object key, Object lockOwner) {
+      Object current = lockMap.get(key);
+      if (current instanceof OwnerToken && ((OwnerToken) current).owner.equals(lockOwner) &&
+            lockMap.remove(key, current)) {
+         return;
+      }
       lockMap.computeIfPresent(key, (ignoredKey, lock) -> {
-         lock.release(lockOwner);
-         return !lock.isLocked() ? null : lock; //remove it if empty
+         if (lock instanceof OwnerToken) {
+            return ((OwnerToken) lock).owner.equals(lockOwner) ? null : lock;
+         }
+         InfinispanLock infinispanLock = (InfinispanLock) lock;
+         infinispanLock.release(lockOwner);
+         return !infinispanLock.isLocked() ? null : lock; //remove it if empty
       });
    }
 
    @Override
    public int getNumLocksHeld() {
       int count = 0;
-      for (InfinispanLock lock : lockMap.values()) {
-         if (lock.isLocked()) {
+      for (Object lock : lockMap.values()) {
+         if (lock instanceof OwnerToken || ((InfinispanLock) lock).isLocked()) {
             count++;
          }
       }
@@ -81,8 +125,8 @@ public int getNumLocksHeld() {
 
    @Override
    public boolean isLocked(Object key) {
-      InfinispanLock lock = lockMap.get(key);
-      return lock != null && lock.isLocked();
+      Object lock = lockMap.get(key);
+      return lock instanceof OwnerToken || lock != null && ((InfinispanLock) lock).isLocked();
    }
 
    @Override
@@ -92,7 +136,12 @@ public int size() {
 
    @Override
    public void deadlockCheck(DeadlockChecker deadlockChecker) {
-      lockMap.values().forEach(lock -> lock.deadlockCheck(deadlockChecker));
+      // a key mapped to an owner token has no lock owner waiting for it
+      lockMap.values().forEach(lock -> {
+         if (lock instanceof InfinispanLock) {
+            ((InfinispanLock) lock).deadlockCheck(deadlockChecker);
+         }
+      });
    }
 
    @Override
@@ -102,8 +151,82 @@ public String toString() {
             '}';
    }
 
+   /**
+    * Must be invoked while updating the key in {@link #lockMap}.
+    *
+    * @return the {@link InfinispanLock} of the key, creating it and acquiring it for the token's owner if needed.
+    */
+   private InfinispanLock inflate(Object key, Object current) {
+      if (current instanceof InfinispanLock) {
+         return (InfinispanLock) current;
+      }
+      InfinispanLock lock = createInfinispanLock(key);
+      // the lock is free, so it is immediately acquired
+      lock.acquire(((OwnerToken) current).owner, 0, TimeUnit.MILLISECONDS);
+      return lock;
+   }
+
    private InfinispanLock createInfinispanLock(Object key) {
-      return new InfinispanLock(executor, timeService, () -> lockMap.computeIfPresent(key, (ignoredKey, lock) -> lock.isLocked() ? lock : null));
+      return new InfinispanLock(executor, timeService, () -> lockMap.computeIfPresent(key, (ignoredKey, lock) ->
+            lock instanceof InfinispanLock && !((InfinispanLock) lock).isLocked() ? null : lock));
    }
 
+   /**
+    * The promise of a lock owner that acquired a free key. It is always acquired and it stays valid for the lock owner
+    * after the key is moved to an {@link InfinispanLock}.
+    */
+   private static final class OwnerToken implements ExtendedLockPromise {
+      private final Object owner;
+
+      private OwnerToken(Object owner) {
+         this.owner = owner;
+      }
+
+      @Override
+      public boolean isAvailable() {
+         return true;
+      }
+
+      @Override
+      public void lock() {
+         //acquired!
+      }
+
+      @Override
+      public void addListener(LockListener listener) {
+         listener.onEvent(LockState.ACQUIRED);
+      }
+
+      @Override
+      public InvocationStage toInvocationStage() {
+         return InvocationStage.completedNullStage();
+      }
+
+      @Override
+      public void cancel(LockState cause) {
+         //no-op, a thread is inside the critical section.
+      }
+
+      @Override
+      public Object getRequestor() {
+         return owner;
+      }
+
+      @Override
+      public Object getOwner() {
+         return owner;
+      }
+
+      @Override
+      public InvocationStage toInvocationStage(Supplier<TimeoutException> timeoutSupplier) {
+         return InvocationStage.completedNullStage();
+      }
+
+      @Override
+      public String toString() {
+         return "OwnerToken{" +
+               "owner=" + owner +
+               '}';
+      }
+   }
 }
@@ -1892,4 +1892,8 @@ CacheConfigurationException offHeapMemoryEvictionSizeNotLargeEnoughForAddresses(
 
    @Message(value = "The store location '%s' is not a child of the global persistent location '%s'", id = 558)
    CacheConfigurationException forbiddenStoreLocation(Path location, Path global);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Method [%s] of asynchronous listener %s already has %d events waiting to be delivered, dropping events", id = 559)
+   void droppingPendingListenerEvents(Method m, Object target, int maxPendingEvents);
 }
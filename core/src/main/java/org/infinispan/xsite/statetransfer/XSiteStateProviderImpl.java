@@ -36,6 +36,8 @@
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.RetryOnFailureXSiteCommand;
 import org.infinispan.statetransfer.StateTransferLock;
+import org.infinispan.util.compression.CompressionCodec;
+import org.infinispan.util.compression.StateCompressor;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -69,6 +71,7 @@ public class XSiteStateProviderImpl implements XSiteStateProvider {
    @Inject Configuration configuration;
    @Inject ComponentRef<XSiteStateTransferManager> stateTransferManager;
    @Inject StateTransferLock stateTransferLock;
+   @Inject StateCompressor stateCompressor;
 
    public XSiteStateProviderImpl() {
       runningStateTransfer = new ConcurrentHashMap<>();
@@ -169,6 +172,9 @@ private void sendFromSharedBuffer(XSiteBackup xSiteBackup, List<XSiteState> shar
       }
 
       XSiteStatePushCommand command = commandsFactory.buildXSiteStatePushCommand(privateBuffer, xSiteBackup.getTimeout());
+      if (task.compressionCodec != null) {
+         command.compress(stateCompressor, task.compressionCodec);
+      }
       RetryOnFailureXSiteCommand remoteSite = RetryOnFailureXSiteCommand.newInstance(xSiteBackup, command, task.retryPolicy);
       remoteSite.execute(rpcManager, task.waitTime, TimeUnit.MILLISECONDS);
    }
@@ -180,6 +186,7 @@ private class StatePushTask implements Runnable {
       private final Address origin;
       private final RetryPolicy retryPolicy;
       private final long waitTime;
+      private final CompressionCodec compressionCodec;
       private final int minTopologyId;
       private volatile boolean finished;
       private volatile boolean canceled;
@@ -189,6 +196,7 @@ public StatePushTask(String siteName, Address origin, XSiteStateTransferConfigur
          this.minTopologyId = minTopologyId;
          this.chunkSize = configuration.chunkSize();
          this.waitTime = configuration.waitTime();
+         this.compressionCodec = configuration.compressionCodec();
          this.retryPolicy = new MaxRetriesPolicy(configuration.maxRetries());
          this.origin = origin;
          this.xSiteBackup = new XSiteBackup(siteName, true, configuration.timeout());
@@ -3,12 +3,17 @@
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.infinispan.commands.InitializableCommand;
 import org.infinispan.commons.marshall.MarshallUtil;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.util.ByteString;
+import org.infinispan.util.compression.CompressedPayload;
+import org.infinispan.util.compression.CompressionCodec;
+import org.infinispan.util.compression.StateCompressor;
 import org.infinispan.util.concurrent.CompletableFutures;
 import org.infinispan.xsite.BackupReceiver;
 import org.infinispan.xsite.XSiteReplicateCommand;
@@ -23,8 +28,11 @@ public class XSiteStatePushCommand extends XSiteReplicateCommand implements Init
 
    public static final byte COMMAND_ID = 33;
    private XSiteState[] chunk;
+   // The chunk marshalled and compressed, if the sending site has compression enabled
+   private CompressedPayload compressedChunk;
    private long timeoutMillis;
    private XSiteStateConsumer consumer;
+   private StateCompressor stateCompressor;
 
    public XSiteStatePushCommand(ByteString cacheName, XSiteState[] chunk, long timeoutMillis) {
       super(cacheName);
@@ -38,6 +46,10 @@ public XSiteStatePushCommand(ByteString cacheName) {
 
    @Override
    public Object performInLocalSite(BackupReceiver receiver) throws Throwable {
+      if (compressedChunk != null) {
+         stateCompressor = receiver.getCache().getAdvancedCache().getComponentRegistry()
+               .getComponent(StateCompressor.class);
+      }
       receiver.handleStateTransferState(this);
       return null;
    }
@@ -49,19 +61,31 @@ public XSiteStatePushCommand() {
    @Override
    public void init(ComponentRegistry componentRegistry, boolean isRemote) {
       this.consumer = componentRegistry.getXSiteStateTransferManager().running().getStateConsumer();
+      this.stateCompressor = componentRegistry.getComponent(StateCompressor.class);
    }
 
    public XSiteState[] getChunk() {
+      if (chunk == null && compressedChunk != null) {
+         List<XSiteState> states = stateCompressor.decompress(compressedChunk);
+         chunk = states.toArray(new XSiteState[0]);
+      }
       return chunk;
    }
 
+   /**
+    * Replaces the chunk with its marshalled and compressed form when the command is sent to the backup site.
+    */
+   public void compress(StateCompressor stateCompressor, CompressionCodec codec) {
+      this.compressedChunk = stateCompressor.compress(Arrays.asList(chunk), codec);
+   }
+
    public long getTimeout() {
       return timeoutMillis;
    }
 
    @Override
    public CompletableFuture<Object> invokeAsync() throws Throwable {
-      consumer.applyState(chunk);
+      consumer.applyState(getChunk());
       return CompletableFutures.completedNull();
    }
 
@@ -73,13 +97,23 @@ public byte getCommandId() {
    @Override
    public void writeTo(ObjectOutput output) throws IOException {
       output.writeLong(timeoutMillis);
-      MarshallUtil.marshallArray(chunk, output);
+      if (compressedChunk != null) {
+         output.writeBoolean(true);
+         CompressedPayload.writeTo(output, compressedChunk);
+      } else {
+         output.writeBoolean(false);
+         MarshallUtil.marshallArray(chunk, output);
+      }
    }
 
    @Override
    public void readFrom(ObjectInput input) throws IOException, ClassNotFoundException {
       timeoutMillis = input.readLong();
-      chunk = MarshallUtil.unmarshallArray(input, XSiteState[]::new);
+      if (input.readBoolean()) {
+         compressedChunk = CompressedPayload.readFrom(input);
+      } else {
+         chunk = MarshallUtil.unmarshallArray(input, XSiteState[]::new);
+      }
    }
 
    @Override
@@ -97,7 +131,7 @@ public String toString() {
       return "XSiteStatePushCommand{" +
             "cacheName=" + cacheName +
             ", timeout=" + timeoutMillis +
-            " (" + chunk.length + " keys)" +
+            (chunk != null ? " (" + chunk.length + " keys)" : ", " + compressedChunk) +
             '}';
    }
 }
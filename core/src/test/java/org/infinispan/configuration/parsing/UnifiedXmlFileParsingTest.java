@@ -143,6 +143,9 @@ public void check(ConfigurationBuilderHolder holder) {
                   assertEquals(proto1.getProtocolName(), proto1.getProperties(), proto2.getProperties());
                }
             }
+            PersistenceConfiguration persistenceConfiguration = getConfiguration(holder, "local").persistence();
+            assertEquals(5, persistenceConfiguration.writeCoalescingWindow());
+            assertEquals(256, persistenceConfiguration.writeCoalescingSize());
          }
       },
 
@@ -0,0 +1,111 @@
+package org.infinispan.conflict.impl;
+
+import static org.infinispan.test.TestingUtil.wrapInboundInvocationHandler;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.commands.remote.CacheRpcCommand;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.conflict.ConflictManagerFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.partitionhandling.BasePartitionHandlingTest;
+import org.infinispan.partitionhandling.PartitionHandling;
+import org.infinispan.remoting.inboundhandler.AbstractDelegatingHandler;
+import org.infinispan.remoting.inboundhandler.DeliverOrder;
+import org.infinispan.remoting.inboundhandler.PerCacheInboundInvocationHandler;
+import org.infinispan.remoting.inboundhandler.Reply;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.statetransfer.StateChunk;
+import org.infinispan.statetransfer.StateResponseCommand;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the conflict manager only transfers the entries in the buckets whose digests differ when incremental
+ * state transfer is enabled.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "conflict.resolution.ConflictManagerDigestTest")
+public class ConflictManagerDigestTest extends BasePartitionHandlingTest {
+
+   private static final String CACHE_NAME = "conflict-digest-cache";
+   private static final int NUMBER_OF_CACHE_ENTRIES = 100;
+   private static final int INCONSISTENT_VALUE_INCREMENT = 10;
+
+   public ConflictManagerDigestTest() {
+      this.cacheMode = CacheMode.DIST_SYNC;
+      this.partitionHandling = PartitionHandling.ALLOW_READ_WRITES;
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      super.createCacheManagers();
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC);
+      builder.clustering().partitionHandling().whenSplit(partitionHandling).mergePolicy(null)
+            .stateTransfer().fetchInMemoryState(true).incremental(true);
+      defineConfigurationOnAllManagers(CACHE_NAME, builder);
+   }
+
+   public void testOnlyDifferentBucketsTransferred() {
+      waitForClusterToForm(CACHE_NAME);
+      IntStream.range(0, NUMBER_OF_CACHE_ENTRIES).forEach(i -> getCache(0).put(i, "v" + i));
+
+      final int cacheIndex = numMembersInCluster - 1;
+      CountStateEntriesHandler handler =
+            wrapInboundInvocationHandler(getCache(cacheIndex), CountStateEntriesHandler::new);
+      assertEquals(0, getConflicts(cacheIndex).count());
+      assertEquals(0, handler.entries.get());
+
+      introduceCacheConflicts();
+      List<Map<Address, CacheEntry<Object, Object>>> conflicts = getConflicts(cacheIndex).collect(Collectors.toList());
+      assertEquals(NUMBER_OF_CACHE_ENTRIES / INCONSISTENT_VALUE_INCREMENT, conflicts.size());
+      assertTrue(handler.entries.get() > 0);
+      assertTrue(handler.entries.get() < NUMBER_OF_CACHE_ENTRIES);
+   }
+
+   private void introduceCacheConflicts() {
+      LocalizedCacheTopology topology = getCache(0).getDistributionManager().getCacheTopology();
+      for (int i = 0; i < NUMBER_OF_CACHE_ENTRIES; i += INCONSISTENT_VALUE_INCREMENT) {
+         Address primary = topology.getDistribution(i).primary();
+         AdvancedCache<Object, Object> primaryCache = manager(primary).getCache(CACHE_NAME).getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL);
+         primaryCache.put(i, "INCONSISTENT");
+      }
+   }
+
+   private AdvancedCache<Object, Object> getCache(int index) {
+      return advancedCache(index, CACHE_NAME);
+   }
+
+   private Stream<Map<Address, CacheEntry<Object, Object>>> getConflicts(int index) {
+      return ConflictManagerFactory.get(getCache(index)).getConflicts();
+   }
+
+   private static class CountStateEntriesHandler extends AbstractDelegatingHandler {
+      final AtomicInteger entries = new AtomicInteger();
+
+      CountStateEntriesHandler(PerCacheInboundInvocationHandler delegate) {
+         super(delegate);
+      }
+
+      @Override
+      public void handle(CacheRpcCommand command, Reply reply, DeliverOrder order) {
+         if (command instanceof StateResponseCommand) {
+            for (StateChunk chunk : ((StateResponseCommand) command).getStateChunks()) {
+               entries.addAndGet(chunk.getCacheEntries().size());
+            }
+         }
+         delegate.handle(command, reply, order);
+      }
+   }
+}
@@ -0,0 +1,96 @@
+package org.infinispan.container.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.time.TimeService;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.ControlledTimeService;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that the {@link ExpirationIndex} keeps at most one record per key.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "container.impl.ExpirationIndexTest")
+public class ExpirationIndexTest extends SingleCacheManagerTest {
+
+   private final ControlledTimeService timeService = new ControlledTimeService();
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.expiration().disableReaper().expiryIndex(true);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      TestingUtil.replaceComponent(cm, TimeService.class, timeService, true);
+      cache = cm.getCache();
+      return cm;
+   }
+
+   public void testRewrittenKeyHasOneRecord() {
+      ExpirationIndex<Object> index = expirationIndex();
+      for (int i = 0; i < 1000; i++) {
+         cache.put("key", "value-" + i, 10 + i % 7, TimeUnit.SECONDS);
+         timeService.advance(1);
+      }
+      assertEquals(1, index.size());
+
+      cache.put("key", "immortal");
+      assertEquals(0, index.size());
+
+      cache.put("key", "value", 10, TimeUnit.SECONDS);
+      cache.put("other", "value", 10, TimeUnit.SECONDS);
+      assertEquals(2, index.size());
+
+      cache.remove("key");
+      assertEquals(1, index.size());
+
+      cache.clear();
+      assertEquals(0, index.size());
+   }
+
+   public void testEarlierExpiryReplacesRecord() {
+      ExpirationIndex<String> index = new ExpirationIndex<>(10, 0);
+      index.add("key", 0, 1000);
+      index.add("key", 0, 2000);
+      index.add("key", 0, 50);
+      assertEquals(1, index.size());
+
+      List<String> due = new ArrayList<>();
+      index.drainDue(100, (key, segment) -> due.add(key));
+      assertEquals(1, due.size());
+      assertEquals(0, index.size());
+
+      // The replaced record is not reported when its slot comes due
+      index.drainDue(3000, (key, segment) -> due.add(key));
+      assertEquals(1, due.size());
+   }
+
+   public void testRemoveBySegment() {
+      ExpirationIndex<String> index = new ExpirationIndex<>(10, 0);
+      for (int i = 0; i < 10; i++) {
+         index.add("key-" + i, i % 2, 100 + i);
+      }
+      index.removeIf(segment -> segment == 0);
+      assertEquals(5, index.size());
+
+      List<String> due = new ArrayList<>();
+      index.drainDue(1000, (key, segment) -> due.add(key));
+      assertEquals(5, due.size());
+      assertEquals(0, index.size());
+   }
+
+   @SuppressWarnings("unchecked")
+   private ExpirationIndex<Object> expirationIndex() {
+      InternalDataContainer<Object, Object> container = TestingUtil.extractComponent(cache, InternalDataContainer.class);
+      return ((AbstractInternalDataContainer<Object, Object>) container).expirationIndex;
+   }
+}
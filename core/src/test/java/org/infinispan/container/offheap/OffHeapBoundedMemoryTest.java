@@ -2,6 +2,7 @@
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 import java.util.concurrent.TimeUnit;
 
@@ -11,6 +12,7 @@
 import org.infinispan.commons.util.MemoryUnit;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.MemoryStorageConfiguration;
+import org.infinispan.configuration.cache.OffHeapAllocatorType;
 import org.infinispan.configuration.cache.StorageType;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.impl.InternalDataContainerAdapter;
@@ -77,6 +79,33 @@ public void testAllocatedAmountEqual() {
       assertEquals(allocator.getAllocatedAmount(), container.currentSize);
    }
 
+   public void testAllocatedAmountEqualPooled() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory()
+            .size(MemoryUnit.MEGABYTES.toBytes(20))
+            .evictionType(EvictionType.MEMORY)
+            .storageType(StorageType.OFF_HEAP)
+            .allocator(OffHeapAllocatorType.POOLED);
+      EmbeddedCacheManager manager = TestCacheManagerFactory.createCacheManager(builder);
+      AdvancedCache<Object, Object> cache = manager.getCache().getAdvancedCache();
+
+      OffHeapMemoryAllocator allocator = cache.getComponentRegistry().getComponent(
+            OffHeapMemoryAllocator.class);
+      assertTrue(allocator instanceof PooledOffHeapMemoryAllocator);
+      BoundedOffHeapDataContainer container = (BoundedOffHeapDataContainer) getContainer(cache);
+      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+
+      for (int i = 0; i < 100; ++i) {
+         cache.put(i, "value-" + i);
+      }
+
+      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+
+      cache.clear();
+
+      assertEquals(allocator.getAllocatedAmount(), container.currentSize);
+   }
+
    public void testAllocatedAmountEqualWithVersion() {
       ConfigurationBuilder builder = new ConfigurationBuilder();
       builder.memory()
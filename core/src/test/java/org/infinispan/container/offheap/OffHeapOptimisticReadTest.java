@@ -0,0 +1,233 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import org.infinispan.commons.marshall.WrappedByteArray;
+import org.infinispan.commons.marshall.WrappedBytes;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.entries.ImmortalCacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the optimistic read path of the {@link StripedLock} and of the {@link OffHeapConcurrentMap} reads using it.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "container.offheap.OffHeapOptimisticReadTest")
+public class OffHeapOptimisticReadTest extends SingleCacheManagerTest {
+   private static final int KEY_COUNT = 256;
+   private static final long DURATION_MILLIS = TimeUnit.SECONDS.toMillis(3);
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.memory().storageType(StorageType.OFF_HEAP);
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testStampInvalidatedByWriter() {
+      StripedLock locks = new StripedLock(4, new ModulusOffsetCalculator(4));
+      long stamp = locks.tryOptimisticRead(1);
+      assertEquals(0, stamp & 1);
+      assertTrue(locks.validate(1, stamp));
+
+      Lock writeLock = locks.getLockFromHashCode(1).writeLock();
+      writeLock.lock();
+      try {
+         // The stamp is odd while the write lock is held, so no optimistic read can succeed
+         assertEquals(1, locks.tryOptimisticRead(1) & 1);
+         assertFalse(locks.validate(1, stamp));
+         assertFalse(locks.validate(1, locks.tryOptimisticRead(1)));
+         // Other stripes are not affected
+         assertTrue(locks.validate(2, locks.tryOptimisticRead(2)));
+      } finally {
+         writeLock.unlock();
+      }
+      // A read that overlapped with the writer stays invalid after the write lock is released
+      assertFalse(locks.validate(1, stamp));
+      assertTrue(locks.validate(1, locks.tryOptimisticRead(1)));
+   }
+
+   public void testConditionOfWriteLock() throws Exception {
+      StripedLock locks = new StripedLock(4, new ModulusOffsetCalculator(4));
+      Lock writeLock = locks.getLockFromHashCode(1).writeLock();
+      Condition condition = writeLock.newCondition();
+      writeLock.lock();
+      try {
+         long stamp = locks.tryOptimisticRead(1);
+         Future<Void> signaller = fork(() -> {
+            // The waiter released the write lock, so the stamp shows no writer until another one acquires it
+            eventually(() -> locks.validate(1, locks.tryOptimisticRead(1)));
+            writeLock.lock();
+            try {
+               assertEquals(1, locks.tryOptimisticRead(1) & 1);
+               condition.signal();
+            } finally {
+               writeLock.unlock();
+            }
+         });
+         assertTrue(condition.await(10, TimeUnit.SECONDS));
+         signaller.get(10, TimeUnit.SECONDS);
+         // The waiter holds the write lock again
+         assertEquals(1, locks.tryOptimisticRead(1) & 1);
+         assertFalse(locks.validate(1, stamp));
+      } finally {
+         writeLock.unlock();
+      }
+      assertTrue(locks.validate(1, locks.tryOptimisticRead(1)));
+   }
+
+   public void testWriterAwaitsOptimisticReaders() throws Exception {
+      StripedLock locks = new StripedLock(4, new ModulusOffsetCalculator(4));
+      int readerIndex = locks.enterOptimisticRead(1);
+      AtomicBoolean awaited = new AtomicBoolean();
+      Future<Void> writer = fork(() -> {
+         Lock writeLock = locks.getLockFromHashCode(1).writeLock();
+         writeLock.lock();
+         try {
+            locks.awaitOptimisticReaders(1);
+            awaited.set(true);
+         } finally {
+            writeLock.unlock();
+         }
+      });
+      // The writer can't release memory while the reader may still access it
+      eventually(() -> locks.tryOptimisticRead(1) % 2 == 1);
+      Thread.sleep(50);
+      assertFalse(awaited.get());
+
+      // Readers of other stripes don't delay the writer
+      int otherIndex = locks.enterOptimisticRead(2);
+      locks.exitOptimisticRead(readerIndex);
+      writer.get(10, TimeUnit.SECONDS);
+      assertTrue(awaited.get());
+      locks.exitOptimisticRead(otherIndex);
+
+      // All locks must wait for every reader
+      readerIndex = locks.enterOptimisticRead(3);
+      Future<Void> clearer = fork(() -> {
+         locks.lockAll();
+         try {
+            locks.awaitAllOptimisticReaders();
+         } finally {
+            locks.unlockAll();
+         }
+      });
+      Thread.sleep(50);
+      assertFalse(clearer.isDone());
+      locks.exitOptimisticRead(readerIndex);
+      clearer.get(10, TimeUnit.SECONDS);
+   }
+
+   public void testReadersRaceWithWritersAndClear() throws Exception {
+      OffHeapMemoryAllocator allocator = TestingUtil.extractComponent(cache, OffHeapMemoryAllocator.class);
+      OffHeapEntryFactory entryFactory = TestingUtil.extractComponent(cache, OffHeapEntryFactory.class);
+      // Few addresses, so that the buckets are long and writers often free memory a reader is walking
+      OffHeapConcurrentMap map = new OffHeapConcurrentMap(16, allocator, entryFactory, null, true);
+      map.start();
+      try {
+         WrappedBytes[] keys = new WrappedBytes[KEY_COUNT];
+         for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = new WrappedByteArray(("key-" + i).getBytes());
+         }
+         AtomicBoolean stop = new AtomicBoolean();
+         AtomicLong reads = new AtomicLong();
+         List<Future<Void>> futures = new ArrayList<>();
+         for (int r = 0; r < 4; r++) {
+            futures.add(fork(() -> {
+               ThreadLocalRandom random = ThreadLocalRandom.current();
+               while (!stop.get()) {
+                  int i = random.nextInt(KEY_COUNT);
+                  InternalCacheEntry<WrappedBytes, WrappedBytes> entry = random.nextBoolean() ? map.get(keys[i]) :
+                        map.peek(keys[i]);
+                  if (entry != null) {
+                     // A reader that saw freed or reused memory would return another key or a corrupt value
+                     assertEquals(keys[i], entry.getKey());
+                     assertValueOf(i, entry.getValue());
+                  }
+                  map.containsKey(keys[i]);
+                  reads.incrementAndGet();
+               }
+            }));
+         }
+         for (int w = 0; w < 2; w++) {
+            futures.add(fork(() -> {
+               ThreadLocalRandom random = ThreadLocalRandom.current();
+               while (!stop.get()) {
+                  int i = random.nextInt(KEY_COUNT);
+                  if (random.nextInt(4) == 0) {
+                     map.remove(keys[i]);
+                  } else {
+                     map.put(keys[i], new ImmortalCacheEntry(keys[i], value(i, random.nextInt(64))));
+                  }
+               }
+            }));
+         }
+         futures.add(fork(() -> {
+            // Clearing acquires all the write locks and frees every entry, like a resize of the whole table
+            while (!stop.get()) {
+               Thread.sleep(5);
+               map.clear();
+            }
+         }));
+
+         Thread.sleep(DURATION_MILLIS);
+         stop.set(true);
+         for (Future<Void> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+         }
+         assertTrue(reads.get() > 0);
+
+         map.clear();
+         assertEquals(0, map.size());
+         assertNull(map.get(keys[0]));
+      } finally {
+         map.stop();
+      }
+   }
+
+   private static WrappedBytes value(int index, int length) {
+      // The value repeats the index of its key, followed by padding of variable length
+      byte[] bytes = new byte[4 + length];
+      bytes[0] = (byte) (index >>> 24);
+      bytes[1] = (byte) (index >>> 16);
+      bytes[2] = (byte) (index >>> 8);
+      bytes[3] = (byte) index;
+      for (int i = 4; i < bytes.length; i++) {
+         bytes[i] = (byte) index;
+      }
+      return new WrappedByteArray(bytes);
+   }
+
+   private static void assertValueOf(int index, WrappedBytes value) {
+      byte[] bytes = value.getBytes();
+      int offset = value.backArrayOffset();
+      int length = value.getLength();
+      assertTrue(length >= 4);
+      int valueIndex = ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) |
+            ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+      assertEquals(index, valueIndex);
+      for (int i = 4; i < length; i++) {
+         assertEquals((byte) index, bytes[offset + i]);
+      }
+   }
+}
@@ -0,0 +1,117 @@
+package org.infinispan.container.offheap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "container.offheap.PooledOffHeapMemoryAllocatorTest")
+public class PooledOffHeapMemoryAllocatorTest {
+
+   @DataProvider(name = "roundings")
+   Object[][] roundings() {
+      return new Object[][] {
+            // The estimate adds the 8 byte header and rounds up to the size class
+            { 2, 16 },
+            { 8, 16 },
+            { 9, 32 },
+            { 123, 144 },
+            { 248, 256 },
+            { 249, 320 },
+            { 312, 320 },
+            { 313, 384 },
+            { 1000, 1024 },
+            { 1017, 1280 },
+            { 32760, 32768 },
+            // Larger allocations are not pooled
+            { 32761, UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(32761) },
+      };
+   }
+
+   @Test(dataProvider = "roundings")
+   public void testRoundings(long original, long expected) {
+      assertEquals(expected, new PooledOffHeapMemoryAllocator(1).estimateAllocationSize(original));
+   }
+
+   public void testSizeClassesAreSorted() {
+      int previous = 0;
+      for (int i = 0; i < PooledOffHeapMemoryAllocator.sizeClassCount(); ++i) {
+         int size = PooledOffHeapMemoryAllocator.sizeClassSize(i);
+         assertTrue(size > previous);
+         assertEquals(0, size % 16);
+         assertEquals(i, PooledOffHeapMemoryAllocator.sizeClassIndex(size));
+         assertEquals(i, PooledOffHeapMemoryAllocator.sizeClassIndex(previous + 1));
+         previous = size;
+      }
+      assertEquals(PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE, previous);
+   }
+
+   public void testAllocateAndDeallocate() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(2);
+      List<Long> addresses = new ArrayList<>();
+      Set<Long> distinct = new HashSet<>();
+      int length = 100;
+      long expected = 0;
+      for (int i = 0; i < 10_000; ++i) {
+         long address = allocator.allocate(length);
+         OffHeapMemory.INSTANCE.putLong(address, length - 8, i);
+         addresses.add(address);
+         distinct.add(address);
+         expected += allocator.estimateAllocationSize(length);
+      }
+      assertEquals(addresses.size(), distinct.size());
+      assertEquals(expected, allocator.getAllocatedAmount());
+      assertEquals(10_000L * length, allocator.getRequestedAmount());
+      assertTrue(allocator.getSlabCount() > 1);
+      assertTrue(allocator.getReservedAmount() >= allocator.getAllocatedAmount());
+
+      for (int i = 0; i < addresses.size(); ++i) {
+         assertEquals(i, OffHeapMemory.INSTANCE.getLong(addresses.get(i), length - 8));
+      }
+
+      // Freed blocks are reused before any new slab is reserved
+      int slabs = allocator.getSlabCount();
+      for (int i = 0; i < 100; ++i) {
+         allocator.deallocate(addresses.get(i), length);
+      }
+      for (int i = 0; i < 100; ++i) {
+         addresses.set(i, allocator.allocate(length));
+      }
+      assertEquals(slabs, allocator.getSlabCount());
+
+      for (Long address : addresses) {
+         allocator.deallocate(address, length);
+      }
+      assertEquals(0, allocator.getAllocatedAmount());
+      assertEquals(0, allocator.getRequestedAmount());
+      assertEquals(slabs, allocator.getEmptySlabCount());
+
+      // Compaction keeps the slab currently used for allocations
+      assertTrue(allocator.compact() > 0);
+      assertEquals(1, allocator.getSlabCount());
+
+      allocator.stop();
+      assertEquals(0, allocator.getSlabCount());
+      assertEquals(0, allocator.getReservedAmount());
+   }
+
+   public void testLargeAllocation() {
+      PooledOffHeapMemoryAllocator allocator = new PooledOffHeapMemoryAllocator(1);
+      long length = PooledOffHeapMemoryAllocator.MAX_POOLED_SIZE * 2;
+      long address = allocator.allocate(length);
+      assertEquals(0, allocator.getSlabCount());
+      assertEquals(UnpooledOffHeapMemoryAllocator.estimateSizeOverhead(length), allocator.getAllocatedAmount());
+      allocator.deallocate(address, length);
+      assertEquals(0, allocator.getAllocatedAmount());
+      assertEquals(0, allocator.getReservedAmount());
+   }
+}
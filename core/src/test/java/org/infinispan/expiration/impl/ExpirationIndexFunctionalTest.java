@@ -0,0 +1,78 @@
+package org.infinispan.expiration.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the expiration tests with the expiry index enabled, so the reaper only looks at the entries that are due.
+ */
+@Test(groups = "functional", testName = "expiration.impl.ExpirationIndexFunctionalTest")
+public class ExpirationIndexFunctionalTest extends ExpirationFunctionalTest {
+
+   @Factory
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.LOCAL).withStorage(StorageType.OBJECT),
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.LOCAL).withStorage(StorageType.OFF_HEAP),
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.DIST_SYNC).withStorage(StorageType.OBJECT),
+            new ExpirationIndexFunctionalTest().cacheMode(CacheMode.DIST_SYNC).withStorage(StorageType.OFF_HEAP)
+      };
+   }
+
+   @Override
+   protected void configure(ConfigurationBuilder config) {
+      super.configure(config);
+      config.expiration().expiryIndex(true);
+   }
+
+   public void testReaperRemovesDueEntries() {
+      for (int i = 0; i < SIZE; i++) {
+         cache.put("short-" + i, "value-" + i, 10, TimeUnit.MILLISECONDS);
+         cache.put("long-" + i, "value-" + i, 1, TimeUnit.HOURS);
+         cache.put("immortal-" + i, "value-" + i);
+      }
+      timeService.advance(11);
+
+      expirationManager.processExpiration();
+      assertEquals(2 * SIZE, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+
+      timeService.advance(TimeUnit.HOURS.toMillis(1));
+      expirationManager.processExpiration();
+      assertEquals(SIZE, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+   }
+
+   public void testReaperSkipsOverwrittenEntries() {
+      cache.put("key", "value", 10, TimeUnit.MILLISECONDS);
+      cache.put("key", "value", 20, TimeUnit.MILLISECONDS);
+      timeService.advance(11);
+
+      expirationManager.processExpiration();
+      assertEquals(1, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+
+      timeService.advance(10);
+      expirationManager.processExpiration();
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+   }
+
+   public void testReaperReindexesTouchedEntries() {
+      cache.put("key", "value", -1, null, 10, TimeUnit.MILLISECONDS);
+      timeService.advance(5);
+      assertEquals("value", cache.get("key"));
+      timeService.advance(6);
+
+      expirationManager.processExpiration();
+      assertEquals(1, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+
+      timeService.advance(5);
+      expirationManager.processExpiration();
+      assertEquals(0, cache.getAdvancedCache().getDataContainer().sizeIncludingExpired());
+   }
+}
@@ -224,6 +224,37 @@ public void testCancel() throws InterruptedException {
       assertFalse(lock.isLocked());
    }
 
+   public void testUncontendedAcquire() throws InterruptedException {
+      final InfinispanLock lock = new InfinispanLock(commonPool(), AbstractCacheTest.TIME_SERVICE);
+      final String lockOwner1 = "LO1";
+      final String lockOwner2 = "LO2";
+
+      ExtendedLockPromise lockPromise1 = lock.acquire(lockOwner1, 0, TimeUnit.MILLISECONDS); //free, acquired immediately
+      assertTrue(lockPromise1.isAvailable());
+      assertEquals(lockOwner1, lock.getLockOwner());
+      assertTrue(lockPromise1 == lock.acquire(lockOwner1, 0, TimeUnit.MILLISECONDS));
+
+      ExtendedLockPromise lockPromise2 = lock.acquire(lockOwner2, 1, TimeUnit.DAYS); //queued
+      assertFalse(lockPromise2.isAvailable());
+
+      lock.release(lockOwner1);
+      assertTrue(lockPromise2.isAvailable());
+      lockPromise2.lock();
+      assertEquals(lockOwner2, lock.getLockOwner());
+
+      lock.release(lockOwner2);
+      assertNull(lock.getLockOwner());
+      assertFalse(lock.isLocked());
+
+      //free again, the same owner can re-acquire it
+      lockPromise1 = lock.acquire(lockOwner1, 0, TimeUnit.MILLISECONDS);
+      lockPromise1.lock();
+      assertEquals(lockOwner1, lock.getLockOwner());
+      lock.release(lockOwner1);
+      assertFalse(lock.isLocked());
+      assertFalse(lock.containsLockOwner(lockOwner1));
+   }
+
    public void testSingleCounter() throws ExecutionException, InterruptedException {
       final NotThreadSafeCounter counter = new NotThreadSafeCounter();
       final InfinispanLock counterLock = new InfinispanLock(commonPool(), AbstractCacheTest.TIME_SERVICE);
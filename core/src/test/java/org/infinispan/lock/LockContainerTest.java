@@ -2,15 +2,18 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.infinispan.test.AbstractCacheTest;
 import org.infinispan.test.AbstractInfinispanTest;
@@ -18,6 +21,8 @@
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.concurrent.locks.LockPromise;
+import org.infinispan.util.concurrent.locks.impl.HotKeyLockContainer;
+import org.infinispan.util.concurrent.locks.impl.InfinispanLock;
 import org.infinispan.util.concurrent.locks.impl.LockContainer;
 import org.infinispan.util.concurrent.locks.impl.PerKeyLockContainer;
 import org.infinispan.util.concurrent.locks.impl.StripedLockContainer;
@@ -46,6 +51,39 @@ public void testSingleCounterTestPerEntry() throws ExecutionException, Interrupt
       doSingleCounterTest(lockContainer, -1);
    }
 
+   public void testPerEntryLockCreatedForSecondOwner() throws InterruptedException {
+      PerKeyLockContainer lockContainer = new PerKeyLockContainer();
+      TestingUtil.inject(lockContainer, executor, AbstractCacheTest.TIME_SERVICE);
+      final String lockOwner1 = "LO1";
+      final String lockOwner2 = "LO2";
+      Map<Object, Object> lockMap = TestingUtil.extractField(lockContainer, "lockMap");
+
+      LockPromise lockPromise1 = lockContainer.acquire("key", lockOwner1, 0, TimeUnit.MILLISECONDS);
+      AssertJUnit.assertTrue(lockPromise1.isAvailable());
+      AssertJUnit.assertSame(lockPromise1, lockContainer.acquire("key", lockOwner1, 0, TimeUnit.MILLISECONDS));
+      AssertJUnit.assertEquals(lockOwner1, lockContainer.getLockOwner("key"));
+      AssertJUnit.assertTrue(lockContainer.isLocked("key"));
+      //a single lock owner doesn't need a lock
+      AssertJUnit.assertFalse(lockMap.get("key") instanceof InfinispanLock);
+
+      LockPromise lockPromise2 = lockContainer.acquire("key", lockOwner2, 1, TimeUnit.DAYS);
+      AssertJUnit.assertFalse(lockPromise2.isAvailable());
+      AssertJUnit.assertTrue(lockMap.get("key") instanceof InfinispanLock);
+      AssertJUnit.assertEquals(lockOwner1, lockContainer.getLockOwner("key"));
+
+      lockContainer.release("key", lockOwner1);
+      acquireLock(lockPromise2, false);
+      AssertJUnit.assertEquals(lockOwner2, lockContainer.getLockOwner("key"));
+      lockContainer.release("key", lockOwner2);
+      AssertJUnit.assertEquals(0, lockContainer.size());
+
+      lockContainer.acquire("key", lockOwner1, 0, TimeUnit.MILLISECONDS);
+      AssertJUnit.assertFalse(lockMap.get("key") instanceof InfinispanLock);
+      lockContainer.release("key", lockOwner1);
+      AssertJUnit.assertEquals(0, lockContainer.size());
+      AssertJUnit.assertNull(lockContainer.getLockOwner("key"));
+   }
+
    public void testSingleLockWithStriped() throws InterruptedException {
       StripedLockContainer lockContainer = new StripedLockContainer(16);
       TestingUtil.inject(lockContainer, executor, AbstractCacheTest.TIME_SERVICE);
@@ -58,7 +96,93 @@ public void testSingleCounterWithStriped() throws ExecutionException, Interrupte
       doSingleCounterTest(lockContainer, 16);
    }
 
+   public void testSingleCounterWithHotKey() throws ExecutionException, InterruptedException {
+      HotKeyLockContainer lockContainer = createHotKeyLockContainer(16);
+      lockContainer.setHotKeys(Collections.singleton("key"));
+      //the dedicated lock is kept while the key is hot
+      doSingleCounterTest(lockContainer, 17);
+   }
+
+   public void testHotKeyPromotionAndDemotion() throws InterruptedException {
+      HotKeyLockContainer lockContainer = createHotKeyLockContainer(16);
+      final String lockOwner1 = "LO1";
+      final String lockOwner2 = "LO2";
+
+      acquireLock(lockContainer.acquire("key", lockOwner1, 0, TimeUnit.MILLISECONDS), false);
+      lockContainer.setHotKeys(Collections.singleton("key"));
+
+      //the stripe is still held for the key, so it can't be moved to a dedicated lock yet
+      LockPromise lockPromise2 = lockContainer.acquire("key", lockOwner2, 1, TimeUnit.DAYS);
+      AssertJUnit.assertFalse(lockPromise2.isAvailable());
+      AssertJUnit.assertTrue(lockContainer.getDedicatedLockKeys().isEmpty());
+
+      lockContainer.release("key", lockOwner1);
+      acquireLock(lockPromise2, false);
+      lockContainer.release("key", lockOwner2);
+      AssertJUnit.assertEquals(0, lockContainer.getNumLocksHeld());
+
+      //free now, the next acquisition moves it
+      acquireLock(lockContainer.acquire("key", lockOwner1, 0, TimeUnit.MILLISECONDS), false);
+      AssertJUnit.assertEquals(Collections.singleton("key"), lockContainer.getDedicatedLockKeys());
+      AssertJUnit.assertEquals(lockOwner1, lockContainer.getLock("key").getLockOwner());
+      AssertJUnit.assertEquals(1, lockContainer.getNumLocksHeld());
+
+      //the dedicated lock is held, so it is kept until released
+      lockContainer.setHotKeys(Collections.emptySet());
+      acquireLock(lockContainer.acquire("key", lockOwner2, 0, TimeUnit.MILLISECONDS), true);
+      AssertJUnit.assertEquals(Collections.singleton("key"), lockContainer.getDedicatedLockKeys());
+      lockContainer.release("key", lockOwner2);
+      lockContainer.release("key", lockOwner1);
+
+      lockContainer.setHotKeys(Collections.emptySet());
+      AssertJUnit.assertTrue(lockContainer.getDedicatedLockKeys().isEmpty());
+      AssertJUnit.assertEquals(0, lockContainer.getNumLocksHeld());
+      AssertJUnit.assertEquals(16, lockContainer.size());
+   }
+
+   public void testSingleCounterWhileHotKeysChange() throws ExecutionException, InterruptedException {
+      HotKeyLockContainer lockContainer = createHotKeyLockContainer(16);
+      AtomicBoolean stop = new AtomicBoolean();
+      Future<Void> toggler = fork(() -> {
+         boolean hot = false;
+         while (!stop.get()) {
+            hot = !hot;
+            lockContainer.setHotKeys(hot ? Collections.singleton("key") : Collections.emptySet());
+            Thread.yield();
+         }
+         lockContainer.setHotKeys(Collections.emptySet());
+         return null;
+      });
+      try {
+         runSingleCounter(lockContainer);
+      } finally {
+         stop.set(true);
+      }
+      toggler.get();
+      AssertJUnit.assertEquals(0, lockContainer.getNumLocksHeld());
+      AssertJUnit.assertTrue(lockContainer.getDedicatedLockKeys().isEmpty());
+      AssertJUnit.assertEquals(16, lockContainer.size());
+   }
+
+   private HotKeyLockContainer createHotKeyLockContainer(int concurrencyLevel) {
+      StripedLockContainer stripedContainer = new StripedLockContainer(concurrencyLevel);
+      TestingUtil.inject(stripedContainer, executor, AbstractCacheTest.TIME_SERVICE);
+      HotKeyLockContainer lockContainer = new HotKeyLockContainer(stripedContainer);
+      TestingUtil.inject(lockContainer, executor, AbstractCacheTest.TIME_SERVICE);
+      return lockContainer;
+   }
+
    private void doSingleCounterTest(LockContainer lockContainer, int poolSize) throws InterruptedException, ExecutionException {
+      runSingleCounter(lockContainer);
+      AssertJUnit.assertEquals(0, lockContainer.getNumLocksHeld());
+      if (poolSize == -1) {
+         AssertJUnit.assertEquals(0, lockContainer.size());
+      } else {
+         AssertJUnit.assertEquals(poolSize, lockContainer.size());
+      }
+   }
+
+   private void runSingleCounter(LockContainer lockContainer) throws InterruptedException, ExecutionException {
       final NotThreadSafeCounter counter = new NotThreadSafeCounter();
       final String key = "key";
       final int numThreads = 8;
@@ -74,7 +198,7 @@ private void doSingleCounterTest(LockContainer lockContainer, int poolSize) thro
             barrier.await();
             while (true) {
                lockContainer.acquire(key, lockOwner, 1, TimeUnit.DAYS).lock();
-               AssertJUnit.assertEquals(lockOwner, lockContainer.getLock(key).getLockOwner());
+               AssertJUnit.assertEquals(lockOwner, lockContainer.getLockOwner(key));
                try {
                   int value = counter.getCount();
                   if (value == maxCounterValue) {
@@ -99,13 +223,6 @@ private void doSingleCounterTest(LockContainer lockContainer, int poolSize) thro
       for (int i = 0; i < maxCounterValue; ++i) {
          AssertJUnit.assertTrue(seenResults.contains(i));
       }
-
-      AssertJUnit.assertEquals(0, lockContainer.getNumLocksHeld());
-      if (poolSize == -1) {
-         AssertJUnit.assertEquals(0, lockContainer.size());
-      } else {
-         AssertJUnit.assertEquals(poolSize, lockContainer.size());
-      }
    }
 
    private void doSingleLockTest(LockContainer container, int poolSize) throws InterruptedException {
@@ -1,15 +1,34 @@
 package org.infinispan.notifications;
 
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.infinispan.Cache;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.CacheEntryListenerInvocation;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.CacheNotifierImpl;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
 import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.impl.AbstractListenerImpl;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
@@ -52,6 +71,202 @@ public void testAsyncNotification() throws InterruptedException {
       assertNotSame(currentThread, asyncListener.caller);
    }
 
+   public void testAsyncNotificationsDeliveredInOrder() throws InterruptedException {
+      int numEvents = 500;
+      OrderedAsyncListener listener = new OrderedAsyncListener(numEvents);
+      c.addListener(listener);
+      for (int i = 0; i < numEvents; i++) {
+         c.put("k", "v" + i);
+      }
+      assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+      Thread currentThread = Thread.currentThread();
+      for (int i = 0; i < numEvents; i++) {
+         assertEquals("v" + i, listener.values.get(i));
+         assertNotSame(currentThread, listener.callers.get(i));
+      }
+   }
+
+   public void testPendingEventsUnboundedByDefault() throws InterruptedException {
+      BlockingAsyncListener listener = new UnboundedAsyncListener();
+      c.addListener(listener);
+      c.put("k", "v0");
+      assertTrue(listener.blocked.await(10, TimeUnit.SECONDS));
+      // The writer is neither blocked nor failed while the listener is stuck
+      for (int i = 1; i <= 2000; i++) {
+         c.put("k", "v" + i);
+      }
+      listener.release.countDown();
+      eventuallyEquals(2001, () -> listener.values.size());
+      assertEquals(0, droppedEvents(listener));
+   }
+
+   public void testDropOldestPendingEvent() throws InterruptedException {
+      BlockingAsyncListener listener = new DroppingAsyncListener();
+      c.addListener(listener);
+      c.put("k", "v0");
+      assertTrue(listener.blocked.await(10, TimeUnit.SECONDS));
+      for (int i = 1; i <= 10; i++) {
+         c.put("k", "v" + i);
+      }
+      listener.release.countDown();
+      // Only the last 4 events are kept while the listener is blocked
+      eventuallyEquals(5, () -> listener.values.size());
+      assertEquals(Arrays.asList("v0", "v7", "v8", "v9", "v10"), listener.values);
+      assertEquals(6, droppedEvents(listener));
+   }
+
+   public void testDropNewestPendingEvent() throws InterruptedException {
+      BlockingAsyncListener listener = new DroppingNewestAsyncListener();
+      c.addListener(listener);
+      c.put("k", "v0");
+      assertTrue(listener.blocked.await(10, TimeUnit.SECONDS));
+      c.put("k", "v1");
+      c.put("k", "v2");
+      // The write was applied, so it succeeds even though its event is dropped
+      c.put("k", "v3");
+      assertEquals("v3", c.get("k"));
+      listener.release.countDown();
+      eventuallyEquals(3, () -> listener.values.size());
+      assertEquals(Arrays.asList("v0", "v1", "v2"), listener.values);
+      assertEquals(1, droppedEvents(listener));
+   }
+
+   public void testBlockOnTooManyPendingEvents() throws Exception {
+      BlockingAsyncListener listener = new BlockingAsyncListener();
+      c.addListener(listener);
+      c.put("k", "v0");
+      assertTrue(listener.blocked.await(10, TimeUnit.SECONDS));
+      c.put("k", "v1");
+      c.put("k", "v2");
+      Thread[] writer = new Thread[1];
+      Future<?> future = fork(() -> {
+         writer[0] = Thread.currentThread();
+         c.put("k", "v3");
+      });
+      eventually(() -> writer[0] != null && writer[0].getState() == Thread.State.WAITING);
+      assertFalse(future.isDone());
+      listener.release.countDown();
+      future.get(10, TimeUnit.SECONDS);
+      eventuallyEquals(4, () -> listener.values.size());
+      assertEquals(Arrays.asList("v0", "v1", "v2", "v3"), listener.values);
+   }
+
+   public void testRejectedDeliveryDoesNotRecurse() throws InterruptedException {
+      int numEvents = 1000;
+      StackDepthAsyncListener listener = new StackDepthAsyncListener(numEvents);
+      c.addListener(listener);
+      CacheNotifier notifier = TestingUtil.extractComponent(c, CacheNotifier.class);
+      HeldExecutor executor = new HeldExecutor();
+      TestingUtil.replaceField(executor, "asyncProcessor", notifier, AbstractListenerImpl.class);
+
+      for (int i = 0; i < numEvents; i++) {
+         c.put("k", "v" + i);
+      }
+      // Only the first event submitted a task, the others are waiting for it
+      assertEquals(1, executor.tasks.size());
+      executor.reject = true;
+      executor.tasks.poll().run();
+
+      assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+      // The events left after the first batch are delivered in a loop on this thread
+      assertTrue("Stack depths " + listener.stackDepths,
+            listener.stackDepths.get(numEvents - 1) - listener.stackDepths.get(100) < 5);
+   }
+
+   private long droppedEvents(Object listener) {
+      CacheNotifierImpl<?, ?> notifier = (CacheNotifierImpl<?, ?>) TestingUtil.extractComponent(c, CacheNotifier.class);
+      for (CacheEntryListenerInvocation<?, ?> invocation :
+            notifier.getListenerCollectionForAnnotation(CacheEntryModified.class)) {
+         if (invocation.getTarget() == listener) {
+            Object listenerInvocation = TestingUtil.extractField(invocation, "invocation");
+            AtomicLong droppedEvents = TestingUtil.extractField(listenerInvocation, "droppedEvents");
+            return droppedEvents.get();
+         }
+      }
+      throw new AssertionError("Listener " + listener + " is not registered");
+   }
+
+   static class HeldExecutor implements Executor {
+      final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+      volatile boolean reject;
+
+      @Override
+      public void execute(Runnable command) {
+         if (reject) {
+            throw new RejectedExecutionException();
+         }
+         tasks.add(command);
+      }
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST, maxPendingEvents = 2,
+         overflow = Listener.Overflow.BLOCK)
+   public static class BlockingAsyncListener {
+      final List<String> values = Collections.synchronizedList(new ArrayList<>());
+      final CountDownLatch blocked = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void handle(CacheEntryEvent<String, String> e) throws InterruptedException {
+         values.add(e.getValue());
+         blocked.countDown();
+         release.await(10, TimeUnit.SECONDS);
+      }
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST, maxPendingEvents = 4,
+         overflow = Listener.Overflow.DROP_OLDEST)
+   public static class DroppingAsyncListener extends BlockingAsyncListener {
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST, maxPendingEvents = 2,
+         overflow = Listener.Overflow.DROP_NEWEST)
+   public static class DroppingNewestAsyncListener extends BlockingAsyncListener {
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST)
+   public static class UnboundedAsyncListener extends BlockingAsyncListener {
+   }
+
+   @Listener(sync = false, observation = Listener.Observation.POST, maxPendingEvents = 0)
+   public static class StackDepthAsyncListener {
+      final List<Integer> stackDepths = Collections.synchronizedList(new ArrayList<>());
+      final CountDownLatch latch;
+
+      StackDepthAsyncListener(int numEvents) {
+         latch = new CountDownLatch(numEvents);
+      }
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void handle(CacheEntryEvent<String, String> e) {
+         stackDepths.add(new Throwable().getStackTrace().length);
+         latch.countDown();
+      }
+   }
+
+   @Listener(sync = false)
+   public static class OrderedAsyncListener {
+      final List<String> values = Collections.synchronizedList(new ArrayList<>());
+      final List<Thread> callers = Collections.synchronizedList(new ArrayList<>());
+      final CountDownLatch latch;
+
+      OrderedAsyncListener(int numEvents) {
+         latch = new CountDownLatch(numEvents);
+      }
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void handle(CacheEntryEvent<String, String> e) {
+         if (!e.isPre()) {
+            values.add(e.getValue());
+            callers.add(Thread.currentThread());
+            latch.countDown();
+         }
+      }
+   }
+
    public abstract static class AbstractListener {
       Thread caller;
       CountDownLatch latch;
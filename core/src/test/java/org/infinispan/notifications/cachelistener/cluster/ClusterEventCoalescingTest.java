@@ -0,0 +1,225 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.cluster.impl.BatchingClusterEventManagerImpl;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.Event;
+import org.infinispan.test.Exceptions;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.util.ControlledRpcManager;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the events for asynchronous cluster listeners are coalesced by the
+ * {@link BatchingClusterEventManagerImpl} when a coalescing window is configured.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "notifications.cachelistener.cluster.ClusterEventCoalescingTest")
+@CleanupAfterMethod
+public class ClusterEventCoalescingTest extends MultipleCacheManagersTest {
+   private static final long WINDOW = TimeUnit.MINUTES.toMillis(10);
+   private static final int MAX_EVENTS = 8;
+
+   private ScheduledExecutorService scheduler;
+   private ScheduledFuture<?> flushTask;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC)
+            .clusterEventCoalesceWindow(WINDOW, TimeUnit.MILLISECONDS)
+            .clusterEventCoalesceMaxEvents(MAX_EVENTS);
+      createClusteredCaches(2, builder);
+      // The flush task of the window only runs when the test says so
+      scheduler = mock(ScheduledExecutorService.class);
+      flushTask = mock(ScheduledFuture.class);
+      doReturn(flushTask).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+      TestingUtil.replaceField(scheduler, "scheduler", eventManager(), BatchingClusterEventManagerImpl.class);
+   }
+
+   public void testWindowFlush() {
+      EventCollector listener = new EventCollector();
+      cache(0).addListener(listener);
+
+      cache(1).put(new MagicKey(cache(1)), "v1");
+      cache(1).put(new MagicKey(cache(1)), "v2");
+      Runnable flush = scheduledFlush();
+      assertEquals(0, listener.events.size());
+
+      flush.run();
+      eventuallyEquals(2, () -> listener.events.size());
+   }
+
+   public void testSizeFlush() {
+      EventCollector listener = new EventCollector();
+      cache(0).addListener(listener);
+
+      for (int i = 0; i < MAX_EVENTS; i++) {
+         cache(1).put(new MagicKey(cache(1)), "v" + i);
+      }
+      // The last event fills the window, which is sent without waiting for the flush task
+      eventuallyEquals(MAX_EVENTS, () -> listener.events.size());
+      verify(flushTask).cancel(false);
+   }
+
+   public void testCompaction() {
+      EventCollector listener = new EventCollector();
+      CompactingEventCollector compactingListener = new CompactingEventCollector();
+      cache(0).addListener(listener);
+      cache(0).addListener(compactingListener);
+
+      MagicKey key = new MagicKey(cache(1));
+      cache(1).put(key, "v1");
+      cache(1).put(key, "v2");
+      cache(1).put(key, "v3");
+      scheduledFlush().run();
+
+      // Only the listener that opted in loses the intermediate events
+      eventuallyEquals(3, () -> listener.events.size());
+      eventuallyEquals(1, () -> compactingListener.events.size());
+      CacheEntryEvent<Object, Object> event = compactingListener.events.get(0);
+      assertEquals(Event.Type.CACHE_ENTRY_MODIFIED, event.getType());
+      assertEquals(key, event.getKey());
+      assertEquals("v3", event.getValue());
+   }
+
+   public void testFlushOnStop() {
+      EventCollector listener = new EventCollector();
+      cache(0).addListener(listener);
+
+      cache(1).put(new MagicKey(cache(1)), "v1");
+      scheduledFlush();
+      assertEquals(0, listener.events.size());
+
+      eventManager().stop();
+      eventuallyEquals(1, () -> listener.events.size());
+      verify(flushTask).cancel(false);
+   }
+
+   public void testSyncListenerIsNotCoalesced() {
+      SyncEventCollector listener = new SyncEventCollector();
+      cache(0).addListener(listener);
+
+      cache(1).put(new MagicKey(cache(1)), "v1");
+      assertEquals(1, listener.events.size());
+      verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+   }
+
+   public void testSyncEventsSentAfterHeldEvents() throws Exception {
+      CreatedEventCollector createdListener = new CreatedEventCollector();
+      SyncModifiedEventCollector modifiedListener = new SyncModifiedEventCollector();
+      cache(0).addListener(createdListener);
+      cache(0).addListener(modifiedListener);
+
+      MagicKey key = new MagicKey(cache(1));
+      cache(1).put(key, "v1");
+      scheduledFlush();
+      assertEquals(0, createdListener.events.size());
+
+      ControlledRpcManager rpcManager = ControlledRpcManager.replaceRpcManager(cache(1));
+      rpcManager.excludeCommands(PutKeyValueCommand.class);
+      Future<Void> put = fork(() -> {
+         cache(1).put(key, "v2");
+      });
+      // The held event is sent first and the event for the synchronous listener only once it was acknowledged
+      ControlledRpcManager.BlockedRequest held = rpcManager.expectCommand(MultiClusterEventCommand.class);
+      assertFalse(put.isDone());
+      held.send().receiveAll();
+      eventuallyEquals(1, () -> createdListener.events.size());
+      assertEquals(0, modifiedListener.events.size());
+
+      rpcManager.expectCommand(MultiClusterEventCommand.class).send().receiveAll();
+      put.get(10, TimeUnit.SECONDS);
+      assertEquals(1, modifiedListener.events.size());
+      assertEquals(Event.Type.CACHE_ENTRY_MODIFIED, modifiedListener.events.get(0).getType());
+      rpcManager.revertRpcManager();
+   }
+
+   public void testInvalidConfiguration() {
+      Exceptions.expectException(CacheConfigurationException.class, () -> new ConfigurationBuilder().clustering()
+            .cacheMode(CacheMode.DIST_SYNC).clusterEventCoalesceWindow(-1, TimeUnit.MILLISECONDS).build());
+      Exceptions.expectException(CacheConfigurationException.class, () -> new ConfigurationBuilder().clustering()
+            .cacheMode(CacheMode.DIST_SYNC).clusterEventCoalesceMaxEvents(0).build());
+   }
+
+   private Runnable scheduledFlush() {
+      ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+      verify(scheduler).schedule(captor.capture(), eq(WINDOW), eq(TimeUnit.MILLISECONDS));
+      return captor.getValue();
+   }
+
+   private BatchingClusterEventManagerImpl<?, ?> eventManager() {
+      ClusterEventManager<?, ?> eventManager = TestingUtil.extractComponent(cache(1), ClusterEventManager.class);
+      assertTrue(eventManager instanceof BatchingClusterEventManagerImpl);
+      return (BatchingClusterEventManagerImpl<?, ?>) eventManager;
+   }
+
+   @Listener(clustered = true, sync = false)
+   public static class EventCollector {
+      final List<CacheEntryEvent<Object, Object>> events = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> event) {
+         events.add(event);
+      }
+   }
+
+   @Listener(clustered = true, sync = false, compactEvents = true)
+   public static class CompactingEventCollector extends EventCollector {
+   }
+
+   @Listener(clustered = true)
+   public static class SyncEventCollector extends EventCollector {
+   }
+
+   @Listener(clustered = true, sync = false)
+   public static class CreatedEventCollector {
+      final List<CacheEntryEvent<Object, Object>> events = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryCreated
+      public void onEvent(CacheEntryEvent<Object, Object> event) {
+         events.add(event);
+      }
+   }
+
+   @Listener(clustered = true)
+   public static class SyncModifiedEventCollector {
+      final List<CacheEntryEvent<Object, Object>> events = Collections.synchronizedList(new ArrayList<>());
+
+      @CacheEntryModified
+      public void onEvent(CacheEntryEvent<Object, Object> event) {
+         events.add(event);
+      }
+   }
+}
@@ -0,0 +1,138 @@
+package org.infinispan.persistence;
+
+import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.BOTH;
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.marshall.persistence.impl.MarshalledEntryUtil;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.concurrent.CompletionStages;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that single entry writes are coalesced and written to the stores with a single bulk update.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "persistence.WriteCoalescingTest")
+@CleanupAfterMethod
+public class WriteCoalescingTest extends SingleCacheManagerTest {
+   private static final int MAX_BATCH_SIZE = 10;
+   private static final String SHORT_WINDOW_CACHE = "shortWindow";
+
+   public void testWritesAreFlushedWhenBatchIsFull() throws Exception {
+      DummyInMemoryStore store = TestingUtil.getFirstWriter(cache);
+      store.clearStats();
+      List<CompletableFuture<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < MAX_BATCH_SIZE - 1; ++i) {
+         futures.add(cache.putAsync("k" + i, "v" + i));
+      }
+      // The window is long enough for the writes to be waiting for the batch to be full
+      eventuallyEquals(MAX_BATCH_SIZE - 1, this::pendingWrites);
+      for (CompletableFuture<Object> future : futures) {
+         assertFalse(future.isDone());
+      }
+      assertEquals(0, (int) store.stats().get("write"));
+
+      futures.add(cache.putAsync("k" + (MAX_BATCH_SIZE - 1), "v"));
+      for (CompletableFuture<Object> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+      assertEquals(1, (int) store.stats().get("bulkUpdate"));
+      assertEquals(MAX_BATCH_SIZE, (int) store.stats().get("write"));
+      for (int i = 0; i < MAX_BATCH_SIZE; ++i) {
+         assertTrue(store.contains("k" + i));
+      }
+   }
+
+   public void testWritesAreFlushedAfterWindow() throws Exception {
+      Cache<Object, Object> shortWindowCache = cacheManager.getCache(SHORT_WINDOW_CACHE);
+      DummyInMemoryStore store = TestingUtil.getFirstWriter(shortWindowCache);
+      store.clearStats();
+      List<CompletableFuture<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < 3; ++i) {
+         futures.add(shortWindowCache.putAsync("k" + i, "v" + i));
+      }
+      for (CompletableFuture<Object> future : futures) {
+         future.get(10, TimeUnit.SECONDS);
+      }
+      assertEquals(3, (int) store.stats().get("write"));
+      for (int i = 0; i < 3; ++i) {
+         assertTrue(store.contains("k" + i));
+      }
+   }
+
+   public void testRemovalSupersedesPendingWrite() {
+      PersistenceManager persistenceManager = extractComponent(cache, PersistenceManager.class);
+      KeyPartitioner keyPartitioner = extractComponent(cache, KeyPartitioner.class);
+      DummyInMemoryStore store = TestingUtil.getFirstWriter(cache);
+      store.clearStats();
+      String key = "k";
+      CompletionStage<Void> write = persistenceManager.writeToAllNonTxStores(MarshalledEntryUtil.create(key, "v", cache),
+            keyPartitioner.getSegment(key), BOTH);
+      CompletionStages.join(persistenceManager.deleteFromAllStores(key, keyPartitioner.getSegment(key), BOTH));
+      CompletionStages.join(write);
+      assertFalse(store.contains(key));
+      assertEquals(0, (int) store.stats().get("write"));
+   }
+
+   public void testPendingWritesAreFlushedOnStop() {
+      PersistenceManager persistenceManager = extractComponent(cache, PersistenceManager.class);
+      KeyPartitioner keyPartitioner = extractComponent(cache, KeyPartitioner.class);
+      DummyInMemoryStore store = TestingUtil.getFirstWriter(cache);
+      store.clearStats();
+      String key = "k";
+      CompletionStage<Void> write = persistenceManager.writeToAllNonTxStores(MarshalledEntryUtil.create(key, "v", cache),
+            keyPartitioner.getSegment(key), BOTH);
+      assertFalse(write.toCompletableFuture().isDone());
+      persistenceManager.stop();
+      CompletionStages.join(write);
+      assertEquals(1, (int) store.stats().get("write"));
+   }
+
+   private int pendingWrites() {
+      // The coalescer and its batches are not accessible from this package
+      Object coalescer = TestingUtil.extractField(extractComponent(cache, PersistenceManager.class), "writeCoalescer");
+      synchronized (coalescer) {
+         Object batch = TestingUtil.extractField(coalescer, "current");
+         return batch == null ? 0 : TestingUtil.<Map<?, ?>>extractField(batch, "writes").size();
+      }
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() {
+      ConfigurationBuilder cfg = getDefaultStandaloneCacheConfig(false);
+      cfg.persistence()
+            .writeCoalescingWindow(1, TimeUnit.MINUTES)
+            .writeCoalescingSize(MAX_BATCH_SIZE)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(cfg);
+
+      ConfigurationBuilder shortWindow = getDefaultStandaloneCacheConfig(false);
+      shortWindow.persistence()
+            .writeCoalescingWindow(50)
+            .writeCoalescingSize(MAX_BATCH_SIZE)
+            .addStore(DummyInMemoryStoreConfigurationBuilder.class);
+      cm.defineConfiguration(SHORT_WINDOW_CACHE, shortWindow.build());
+      return cm;
+   }
+}
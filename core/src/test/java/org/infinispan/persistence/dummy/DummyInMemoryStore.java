@@ -7,6 +7,7 @@
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
@@ -30,9 +31,11 @@
 import org.infinispan.persistence.spi.MarshallableEntry;
 import org.infinispan.persistence.spi.MarshalledValue;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.reactive.RxJavaInterop;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
+import org.reactivestreams.Publisher;
 
 import io.reactivex.Flowable;
 
@@ -115,6 +118,15 @@ public void write(MarshallableEntry entry) {
       }
    }
 
+   @Override
+   public CompletionStage<Void> bulkUpdate(Publisher publisher) {
+      assertRunning();
+      record("bulkUpdate");
+      return Flowable.fromPublisher((Publisher<MarshallableEntry>) publisher)
+            .doOnNext(this::write)
+            .to(RxJavaInterop.flowableToCompletionStage());
+   }
+
    @Override
    public void clear() {
       assertRunning();
@@ -1,13 +1,27 @@
 package org.infinispan.persistence.file;
 
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
 import org.infinispan.commons.util.Util;
+import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
 import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.distribution.ch.impl.HashFunctionPartitioner;
 import org.infinispan.persistence.BaseStoreTest;
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.PersistenceMockUtil;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Factory;
@@ -22,6 +36,8 @@
 @Test(groups = "unit", testName = "persistence.file.SingleFileStoreTest")
 public class SingleFileStoreTest extends BaseStoreTest {
 
+   private static final int NUM_SEGMENTS = 4;
+
    protected String tmpDirectory;
    protected StorageType storage;
 
@@ -58,6 +74,11 @@ protected void clearTempDir() {
    protected AdvancedLoadWriteStore createStore() {
       clearTempDir();
       SingleFileStore store = new SingleFileStore();
+      store.init(createContext(configuration().build()));
+      return store;
+   }
+
+   private ConfigurationBuilder configuration() {
       ConfigurationBuilder configurationBuilder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
       configurationBuilder
             .persistence()
@@ -65,7 +86,173 @@ protected AdvancedLoadWriteStore createStore() {
                   .location(this.tmpDirectory)
             .memory()
                .storageType(storage);
-      store.init(createContext(configurationBuilder.build()));
-      return store;
+      return configurationBuilder;
+   }
+
+   /**
+    * Replaces the store with one that maps the keys to {@link #NUM_SEGMENTS} segments.
+    */
+   private HashFunctionPartitioner startSegmentedStore() {
+      cl.destroy();
+      ConfigurationBuilder configurationBuilder = configuration();
+      configurationBuilder.clustering().hash().numSegments(NUM_SEGMENTS);
+      Configuration configuration = configurationBuilder.build();
+      HashFunctionPartitioner keyPartitioner = new HashFunctionPartitioner();
+      keyPartitioner.init(configuration.clustering().hash());
+      SingleFileStore<Object, Object> store = new SingleFileStore<>();
+      store.init(PersistenceMockUtil.createContext(getClass(), configuration, getMarshaller(), timeService, null,
+            keyPartitioner));
+      store.start();
+      cl = store;
+      return keyPartitioner;
+   }
+
+   /**
+    * @return {@code count} keys of the same length in each segment
+    */
+   private static List<List<String>> keysPerSegment(HashFunctionPartitioner keyPartitioner, int count) {
+      List<List<String>> keys = new ArrayList<>();
+      for (int i = 0; i < NUM_SEGMENTS; i++) {
+         keys.add(new ArrayList<>());
+      }
+      int remaining = NUM_SEGMENTS;
+      for (int i = 0; remaining > 0; i++) {
+         String key = String.format("key-%06d", i);
+         List<String> segmentKeys = keys.get(keyPartitioner.getSegment(key));
+         if (segmentKeys.size() < count) {
+            segmentKeys.add(key);
+            if (segmentKeys.size() == count) {
+               remaining--;
+            }
+         }
+      }
+      return keys;
+   }
+
+   private void writeAll(List<String> keys) {
+      for (String key : keys) {
+         cl.write(marshalledEntry(internalCacheEntry(key, value(key), -1)));
+      }
+   }
+
+   /**
+    * @return a value that makes every entry bigger than the smallest block the store splits off
+    */
+   private static String value(String key) {
+      StringBuilder sb = new StringBuilder("value-").append(key);
+      while (sb.length() < 200) {
+         sb.append('-');
+      }
+      return sb.toString();
+   }
+
+   public void testClearSegments() {
+      SingleFileStore<Object, Object> store = (SingleFileStore<Object, Object>) cl;
+      store.write(marshalledEntry(internalCacheEntry("k1", "v1", -1)));
+      store.write(marshalledEntry(internalCacheEntry("k2", "v2", -1)));
+      assertEquals(2, store.size(IntSets.immutableSet(0)));
+
+      store.clear(IntSets.immutableSet(0));
+      assertEquals(0, store.size());
+      assertContains("k1", false);
+      assertEquals(2, store.getFreeList().size());
+
+      // The released space is reused by the next writes
+      long fileSize = store.getFileSize();
+      store.write(marshalledEntry(internalCacheEntry("k1", "v1", -1)));
+      assertEquals(fileSize, store.getFileSize());
+   }
+
+   public void testClearSomeOfManySegments() {
+      HashFunctionPartitioner keyPartitioner = startSegmentedStore();
+      List<List<String>> keys = keysPerSegment(keyPartitioner, 10);
+      for (List<String> segmentKeys : keys) {
+         writeAll(segmentKeys);
+      }
+      SingleFileStore<Object, Object> store = (SingleFileStore<Object, Object>) cl;
+      assertEquals(10 * NUM_SEGMENTS, store.size());
+      long fileSize = store.getFileSize();
+
+      IntSet cleared = IntSets.immutableSet(0, 2);
+      store.clear(cleared);
+      assertEquals(0, store.size(cleared));
+      assertEquals(20, store.size(IntSets.immutableSet(1, 3)));
+      assertEquals(20, store.size());
+      assertEquals(20, store.getFreeList().size());
+      for (int segment = 0; segment < NUM_SEGMENTS; segment++) {
+         for (String key : keys.get(segment)) {
+            assertContains(key, !cleared.contains(segment));
+         }
+      }
+      for (String key : keys.get(1)) {
+         assertEquals(value(key), unwrap(cl.loadEntry(key).getValue()));
+      }
+
+      // The blocks of the cleared segments are shared, so the other segments reuse them
+      writeAll(keys.get(3).subList(0, 1));
+      writeAll(keys.get(0));
+      assertEquals(fileSize, store.getFileSize());
+      assertEquals(30, store.size());
+   }
+
+   public void testPublishKeysBySegment() {
+      HashFunctionPartitioner keyPartitioner = startSegmentedStore();
+      List<List<String>> keys = keysPerSegment(keyPartitioner, 5);
+      for (List<String> segmentKeys : keys) {
+         writeAll(segmentKeys);
+      }
+      SingleFileStore<Object, Object> store = (SingleFileStore<Object, Object>) cl;
+
+      for (int segment = 0; segment < NUM_SEGMENTS; segment++) {
+         Set<Object> published = new HashSet<>(
+               store.publishKeys(IntSets.immutableSet(segment), null).toList().blockingGet());
+         assertEquals(new HashSet<>(keys.get(segment)), published);
+      }
+
+      IntSet segments = IntSets.immutableSet(1, 3);
+      Set<Object> expected = new HashSet<>(keys.get(1));
+      expected.addAll(keys.get(3));
+      assertEquals(expected, new HashSet<>(store.publishKeys(segments, null).toList().blockingGet()));
+
+      // The filter only applies to the keys of the given segments
+      String filtered = keys.get(1).get(0);
+      expected.remove(filtered);
+      assertEquals(expected,
+            new HashSet<>(store.publishKeys(segments, k -> !k.equals(filtered)).toList().blockingGet()));
+
+      // A cleared segment publishes no keys
+      store.clear(IntSets.immutableSet(2));
+      assertTrue(store.publishKeys(IntSets.immutableSet(2), null).toList().blockingGet().isEmpty());
+   }
+
+   public void testFreeSpaceReusedAcrossSegmentsAfterRestart() {
+      HashFunctionPartitioner keyPartitioner = startSegmentedStore();
+      List<List<String>> keys = keysPerSegment(keyPartitioner, 10);
+      writeAll(keys.get(0));
+      // Keeps the freed blocks away from the end of the file, so they are not truncated on restart
+      writeAll(keys.get(2).subList(0, 1));
+      for (String key : keys.get(0)) {
+         assertTrue(cl.delete(key));
+      }
+      SingleFileStore<Object, Object> store = (SingleFileStore<Object, Object>) cl;
+      long fileSize = store.getFileSize();
+      assertFalse(store.getFreeList().isEmpty());
+
+      // The free list of segment 0 is not persistent, the index rebuild gives its blocks to all the segments
+      store.stop();
+      store.start();
+      assertEquals(fileSize, store.getFileSize());
+      assertEquals(1, store.size());
+      assertFalse(store.getFreeList().isEmpty());
+
+      writeAll(keys.get(1));
+      assertEquals(fileSize, store.getFileSize());
+      assertEquals(11, store.size());
+      for (String key : keys.get(1)) {
+         assertEquals(value(key), unwrap(cl.loadEntry(key).getValue()));
+      }
+      for (String key : keys.get(0)) {
+         assertContains(key, false);
+      }
    }
 }
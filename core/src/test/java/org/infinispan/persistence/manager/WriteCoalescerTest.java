@@ -0,0 +1,112 @@
+package org.infinispan.persistence.manager;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a removal through {@link WriteCoalescer#cancel(Object)} is ordered after the batches that are still
+ * writing the key.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "persistence.manager.WriteCoalescerTest")
+public class WriteCoalescerTest extends AbstractInfinispanTest {
+   private final List<CompletableFuture<Void>> batchWrites = new ArrayList<>();
+   private WriteCoalescer coalescer;
+
+   @BeforeMethod
+   public void setUp() {
+      batchWrites.clear();
+      ScheduledExecutorService scheduledExecutor = mock(ScheduledExecutorService.class);
+      doReturn(mock(ScheduledFuture.class)).when(scheduledExecutor).schedule(any(Runnable.class), anyLong(),
+            any(TimeUnit.class));
+      // The batches are only written when the test completes their stage
+      coalescer = new WriteCoalescer((entries, predicate, flags) -> {
+         CompletableFuture<Void> write = new CompletableFuture<>();
+         batchWrites.add(write);
+         return write;
+      }, scheduledExecutor, TimeUnit.MINUTES.toMillis(1), 10);
+   }
+
+   public void testCancelPendingWrite() {
+      CompletionStage<Void> write = coalescer.write(entry("k"), null, 0);
+      CompletionStage<Void> cancel = coalescer.cancel("k");
+      assertTrue(write.toCompletableFuture().isDone());
+      assertTrue(cancel.toCompletableFuture().isDone());
+
+      coalescer.flush();
+      // The batch is empty, so nothing is written
+      assertTrue(batchWrites.isEmpty());
+   }
+
+   public void testCancelWaitsForBatchBeingWritten() {
+      CompletionStage<Void> write = coalescer.write(entry("k"), null, 0);
+      coalescer.write(entry("other"), null, 0);
+      coalescer.flush();
+      assertEquals(1, batchWrites.size());
+
+      CompletionStage<Void> cancel = coalescer.cancel("k");
+      assertFalse(cancel.toCompletableFuture().isDone());
+      // Keys that are not being written don't wait
+      assertTrue(coalescer.cancel("unrelated").toCompletableFuture().isDone());
+
+      batchWrites.get(0).complete(null);
+      assertTrue(write.toCompletableFuture().isDone());
+      assertTrue(cancel.toCompletableFuture().isDone());
+      // Nothing is written anymore once the batch is done
+      assertTrue(coalescer.cancel("k").toCompletableFuture().isDone());
+   }
+
+   public void testCancelWaitsForFailedBatch() {
+      CompletionStage<Void> write = coalescer.write(entry("k"), null, 0);
+      coalescer.flush();
+      CompletionStage<Void> cancel = coalescer.cancelAll(Arrays.asList("k", "unrelated"));
+      assertFalse(cancel.toCompletableFuture().isDone());
+
+      batchWrites.get(0).completeExceptionally(new IllegalStateException());
+      assertTrue(write.toCompletableFuture().isCompletedExceptionally());
+      // The removal goes ahead even if the batch failed
+      assertTrue(cancel.toCompletableFuture().isDone());
+      assertFalse(cancel.toCompletableFuture().isCompletedExceptionally());
+   }
+
+   public void testCancelWaitsForAllBatchesWithKey() {
+      coalescer.write(entry("k"), null, 0);
+      coalescer.flush();
+      coalescer.write(entry("k"), null, 0);
+      coalescer.flush();
+      assertEquals(2, batchWrites.size());
+
+      CompletionStage<Void> cancel = coalescer.cancel("k");
+      batchWrites.get(1).complete(null);
+      assertFalse(cancel.toCompletableFuture().isDone());
+      batchWrites.get(0).complete(null);
+      assertTrue(cancel.toCompletableFuture().isDone());
+   }
+
+   private static MarshallableEntry entry(Object key) {
+      MarshallableEntry entry = mock(MarshallableEntry.class);
+      when(entry.getKey()).thenReturn(key);
+      return entry;
+   }
+}
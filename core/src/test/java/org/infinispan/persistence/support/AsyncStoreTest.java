@@ -6,6 +6,7 @@
 import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 import static org.testng.AssertJUnit.fail;
 
 import java.lang.reflect.Method;
@@ -211,6 +212,31 @@ public void testMultiplePutsOnSameKey() throws Exception {
       doTestSameKeyRemove(key);
    }
 
+   @Test(timeOut=30000)
+   public void testStatistics() throws Exception {
+      TestResourceTracker.testThreadStarted(this);
+      createStore();
+
+      final int number = 100;
+      for (int i = 0; i < number; i++) {
+         writer.write(MarshalledEntryUtil.create("testStatistics-k", "v" + i, marshaller));
+      }
+      writer.delete("testStatistics-k");
+      eventually(() -> writer.getQueueDepth() == 0);
+      assertEquals(number + 1, writer.getSubmittedModifications());
+      long flushed = writer.getFlushedModifications();
+      assertTrue(flushed >= 1 && flushed <= number + 1);
+      long flushes = 0;
+      for (long count : writer.getFlushLatencyHistogram()) {
+         flushes += count;
+      }
+      assertTrue(flushes > 0 && flushes <= flushed);
+
+      writer.resetStatistics();
+      assertEquals(0, writer.getSubmittedModifications());
+      assertEquals(0, writer.getFlushedModifications());
+   }
+
    @Test(timeOut=30000)
    public void testRestrictionOnAddingToAsyncQueue() throws Exception {
       TestResourceTracker.testThreadStarted(this);
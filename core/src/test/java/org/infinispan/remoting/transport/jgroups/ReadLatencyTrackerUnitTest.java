@@ -0,0 +1,81 @@
+package org.infinispan.remoting.transport.jgroups;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.distribution.TestAddress;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for {@link ReadLatencyTracker}.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "remoting.transport.jgroups.ReadLatencyTrackerUnitTest")
+public class ReadLatencyTrackerUnitTest extends AbstractInfinispanTest {
+   private static final long MAX_DELAY = TimeUnit.SECONDS.toNanos(1);
+
+   private final Address a = new TestAddress(0);
+   private final Address b = new TestAddress(1);
+
+   public void testUnknownTargetsKeepOrder() {
+      ReadLatencyTracker tracker = new ReadLatencyTracker();
+      assertEquals(Arrays.asList(a, b), tracker.sortTargets(Arrays.asList(a, b), 0));
+      assertEquals(MAX_DELAY, tracker.staggerDelayNanos(a, MAX_DELAY));
+   }
+
+   public void testFastestTargetFirst() {
+      ReadLatencyTracker tracker = new ReadLatencyTracker();
+      long now = 0;
+      for (int i = 0; i < 10; i++) {
+         tracker.requestSent(a);
+         tracker.responseReceived(a, millis(10), now);
+         tracker.requestSent(b);
+         tracker.responseReceived(b, millis(2), now);
+      }
+      List<Address> sorted = tracker.sortTargets(Arrays.asList(a, b), now);
+      assertEquals(Arrays.asList(b, a), sorted);
+
+      // A node with many outstanding requests is slower
+      for (int i = 0; i < 10; i++) {
+         tracker.requestSent(b);
+      }
+      assertEquals(Arrays.asList(a, b), tracker.sortTargets(Arrays.asList(a, b), now));
+   }
+
+   public void testStaggerDelayFollowsLatency() {
+      ReadLatencyTracker tracker = new ReadLatencyTracker();
+      for (int i = 0; i < 20; i++) {
+         tracker.requestSent(a);
+         tracker.responseReceived(a, millis(5), 0);
+      }
+      long delay = tracker.staggerDelayNanos(a, MAX_DELAY);
+      assertTrue(delay >= millis(5));
+      assertTrue(delay < millis(20));
+   }
+
+   public void testStaleStatisticsExpire() {
+      ReadLatencyTracker tracker = new ReadLatencyTracker();
+      tracker.requestSent(a);
+      tracker.responseReceived(a, millis(100), 0);
+      tracker.requestSent(b);
+      tracker.responseReceived(b, millis(1), 0);
+      assertEquals(Arrays.asList(b, a), tracker.sortTargets(Arrays.asList(a, b), 0));
+
+      // b keeps replying, a is tried again after its statistics expire
+      long later = TimeUnit.SECONDS.toNanos(2);
+      tracker.requestSent(b);
+      tracker.responseReceived(b, millis(1), later);
+      assertEquals(Arrays.asList(a, b), tracker.sortTargets(Arrays.asList(a, b), later));
+   }
+
+   private static long millis(long millis) {
+      return TimeUnit.MILLISECONDS.toNanos(millis);
+   }
+}
@@ -1,6 +1,7 @@
 package org.infinispan.statetransfer;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -25,6 +26,11 @@ public boolean isStateTransferInProgress() {
       return delegate.isStateTransferInProgress();
    }
 
+   @Override
+   public Map<Integer, Long> getInboundTransferProgress() {
+      return delegate.getInboundTransferProgress();
+   }
+
    @Override
    public boolean isStateTransferInProgressForKey(Object key) {
       return delegate.isStateTransferInProgressForKey(key);
@@ -0,0 +1,152 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.commands.FlagAffectedCommand;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.InterceptorConfiguration;
+import org.infinispan.context.Flag;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.impl.FlagBitSets;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.interceptors.BaseAsyncInterceptor;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that a node restarting with a persistent store and incremental state transfer ends up with the latest values,
+ * including the entries updated and removed while it was stopped, and that it only receives the changed entries.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "statetransfer.IncrementalStateTransferTest")
+public class IncrementalStateTransferTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 500;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      for (int i = 0; i < 3; i++) {
+         addClusterEnabledCacheManager(configuration(i));
+      }
+      waitForClusterToForm();
+   }
+
+   private ConfigurationBuilder configuration(int index) {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(2);
+      builder.clustering().stateTransfer().incremental(true);
+      builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class)
+            .storeName(storeName(index))
+            .fetchPersistentState(true)
+            .shared(false);
+      return builder;
+   }
+
+   private String storeName(int index) {
+      return getClass().getSimpleName() + "-" + index;
+   }
+
+   @AfterClass(alwaysRun = true)
+   protected void removeStores() {
+      for (int i = 0; i < 3; i++) {
+         DummyInMemoryStore.removeStoreData(storeName(i));
+      }
+   }
+
+   public void testRestartedNodeReceivesChanges() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put("k" + i, "v" + i);
+      }
+
+      DummyInMemoryStore store = TestingUtil.getFirstWriter(cache(2));
+      Set<Object> storedKeys = new HashSet<>(store.keySet());
+      killMember(2);
+
+      for (int i = 0; i < NUM_KEYS; i += 10) {
+         cache(0).put("k" + i, "updated" + i);
+      }
+      for (int i = 5; i < NUM_KEYS; i += 10) {
+         cache(0).remove("k" + i);
+      }
+
+      StateTransferPutCounter counter = new StateTransferPutCounter();
+      ConfigurationBuilder builder = configuration(2);
+      builder.customInterceptors().addInterceptor().position(InterceptorConfiguration.Position.FIRST)
+            .interceptor(counter);
+      addClusterEnabledCacheManager(builder);
+      waitForClusterToForm();
+
+      for (Cache<Object, Object> cache : caches()) {
+         for (int i = 0; i < NUM_KEYS; i++) {
+            assertEquals(expectedValue(i), cache.get("k" + i));
+         }
+      }
+
+      // The restarted node must hold the latest values itself, not only read them from the other owners
+      AdvancedCache<Object, Object> restarted = advancedCache(2);
+      LocalizedCacheTopology topology = restarted.getDistributionManager().getCacheTopology();
+      int owned = 0;
+      int mustTransfer = 0;
+      for (int i = 0; i < NUM_KEYS; i++) {
+         String key = "k" + i;
+         if (!topology.isReadOwner(key)) {
+            continue;
+         }
+         assertEquals(expectedValue(i), restarted.withFlags(Flag.CACHE_MODE_LOCAL).get(key));
+         if (i % 10 == 5) {
+            continue;
+         }
+         owned++;
+         if (i % 10 == 0 || !storedKeys.contains(key)) {
+            mustTransfer++;
+         }
+      }
+
+      // A full state transfer would send every owned entry, the unchanged entries kept in the store are skipped
+      assertTrue("The restarted node should keep some unchanged entries", mustTransfer < owned);
+      assertTrue("Received " + counter.puts + " entries, expected at least " + mustTransfer,
+            counter.puts.get() >= mustTransfer);
+      assertTrue("Received " + counter.puts + " entries, a full transfer would be " + owned,
+            counter.puts.get() < owned);
+   }
+
+   private static Object expectedValue(int i) {
+      if (i % 10 == 0) {
+         return "updated" + i;
+      } else if (i % 10 == 5) {
+         return null;
+      }
+      return "v" + i;
+   }
+
+   /**
+    * Counts the entries applied from state chunks.
+    */
+   static class StateTransferPutCounter extends BaseAsyncInterceptor {
+      final AtomicInteger puts = new AtomicInteger();
+
+      @Override
+      public Object visitCommand(InvocationContext ctx, VisitableCommand command) throws Throwable {
+         if (command instanceof PutKeyValueCommand &&
+               ((FlagAffectedCommand) command).hasAnyFlag(FlagBitSets.PUT_FOR_STATE_TRANSFER)) {
+            puts.incrementAndGet();
+         }
+         return invokeNext(ctx, command);
+      }
+   }
+}
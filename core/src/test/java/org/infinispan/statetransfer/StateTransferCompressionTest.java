@@ -0,0 +1,101 @@
+package org.infinispan.statetransfer;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.util.compression.DeflateCompressionCodec;
+import org.infinispan.util.compression.StateCompressor;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the state transfer of a cache that compresses its state chunks, including to a joiner that doesn't have
+ * compression enabled.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "statetransfer.StateTransferCompressionTest")
+@CleanupAfterMethod
+public class StateTransferCompressionTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 500;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createCluster(configuration(true), 2);
+      waitForClusterToForm();
+   }
+
+   private ConfigurationBuilder configuration(boolean compress) {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false);
+      builder.clustering().hash().numOwners(1).stateTransfer().chunkSize(50);
+      if (compress) {
+         builder.clustering().stateTransfer().compressionCodec(new DeflateCompressionCodec());
+      }
+      return builder;
+   }
+
+   public void testCompressionStatistics() {
+      populate();
+      for (Cache<Object, Object> cache : caches()) {
+         extractComponent(cache, StateCompressor.class).resetStatistics();
+      }
+
+      Cache<Object, Object> joiner = join(true);
+
+      long uncompressedBytes = 0;
+      long compressedBytes = 0;
+      long compressedBatches = 0;
+      long decompressedBatches = 0;
+      for (Cache<Object, Object> cache : caches()) {
+         StateCompressor compressor = extractComponent(cache, StateCompressor.class);
+         uncompressedBytes += compressor.getUncompressedBytes();
+         compressedBytes += compressor.getCompressedBytes();
+         compressedBatches += compressor.getCompressedBatches();
+         decompressedBatches += compressor.getDecompressedBatches();
+      }
+      assertTrue(compressedBatches > 0);
+      assertTrue(extractComponent(joiner, StateCompressor.class).getDecompressedBatches() > 0);
+      assertEquals(compressedBatches, decompressedBatches);
+      // The values repeat most of their bytes, so they compress to less than half
+      assertTrue(compressedBytes + " / " + uncompressedBytes, compressedBytes * 2 < uncompressedBytes);
+
+      extractComponent(joiner, StateCompressor.class).resetStatistics();
+      assertEquals(0, extractComponent(joiner, StateCompressor.class).getDecompressedBatches());
+   }
+
+   public void testJoinerWithoutCodec() {
+      populate();
+
+      // The codec is sent with every chunk, so the joiner decompresses the state with it
+      Cache<Object, Object> joiner = join(false);
+      StateCompressor joinerCompressor = extractComponent(joiner, StateCompressor.class);
+      assertTrue(joinerCompressor.getDecompressedBatches() > 0);
+      assertEquals(0, joinerCompressor.getCompressedBatches());
+      assertTrue(joiner.getAdvancedCache().getDataContainer().size() > 0);
+   }
+
+   private void populate() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put("k" + i, value(i));
+      }
+   }
+
+   private Cache<Object, Object> join(boolean compress) {
+      addClusterEnabledCacheManager(configuration(compress));
+      waitForClusterToForm();
+      Cache<Object, Object> joiner = cache(2);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals(value(i), joiner.get("k" + i));
+      }
+      return joiner;
+   }
+
+   private static String value(int index) {
+      return "value-value-value-value-value-value-" + index;
+   }
+}
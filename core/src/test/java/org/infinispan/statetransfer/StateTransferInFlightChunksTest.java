@@ -0,0 +1,60 @@
+package org.infinispan.statetransfer;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that state transfer with small chunks and several chunks in flight transfers all the entries.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "statetransfer.StateTransferInFlightChunksTest")
+public class StateTransferInFlightChunksTest extends MultipleCacheManagersTest {
+   private static final int NUM_KEYS = 1000;
+
+   @Override
+   public Object[] factory() {
+      return new Object[]{
+            new StateTransferInFlightChunksTest().cacheMode(CacheMode.DIST_SYNC).transactional(false),
+            new StateTransferInFlightChunksTest().cacheMode(CacheMode.DIST_SYNC).transactional(true),
+            new StateTransferInFlightChunksTest().cacheMode(CacheMode.REPL_SYNC).transactional(false),
+      };
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createCluster(configuration(), 2);
+      waitForClusterToForm();
+   }
+
+   private ConfigurationBuilder configuration() {
+      ConfigurationBuilder builder = getDefaultClusteredCacheConfig(cacheMode, transactional);
+      builder.clustering().stateTransfer().chunkSize(10).maxInFlightChunks(8);
+      return builder;
+   }
+
+   public void testJoinerReceivesAllEntries() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put("k" + i, "v" + i);
+      }
+
+      addClusterEnabledCacheManager(configuration());
+      waitForClusterToForm();
+
+      Cache<Object, Object> joiner = cache(2);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         assertEquals("v" + i, joiner.get("k" + i));
+      }
+      int localEntries = 0;
+      for (Cache<Object, Object> cache : caches()) {
+         localEntries += cache.getAdvancedCache().getDataContainer().size();
+      }
+      int expectedCopies = cacheMode.isReplicated() ? 3 : 2;
+      assertEquals(NUM_KEYS * expectedCopies, localEntries);
+   }
+}
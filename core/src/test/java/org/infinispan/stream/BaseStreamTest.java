@@ -194,6 +194,29 @@ public void testObjCollectorGroupBy() {
       grouped.get(false).parallelStream().forEach(e -> assertTrue(e.getKey() % 2 == 1));
    }
 
+   public void testObjCollectorGroupByAggregate() {
+      Cache<Integer, String> cache = getCache(0);
+      int range = 10;
+      // First populate the cache with a bunch of values
+      IntStream.range(0, range).boxed().forEach(i -> cache.put(i, i + "-value"));
+
+      assertEquals(range, cache.size());
+      CacheSet<Map.Entry<Integer, String>> entrySet = cache.entrySet();
+
+      // Every node groups and counts its own entries, only the partial counts are sent to the originator
+      Map<Integer, Long> counts = createStream(entrySet).collect(
+            () -> Collectors.groupingBy(e -> e.getKey() % 3, Collectors.counting()));
+      assertEquals(3, counts.size());
+      assertEquals(Long.valueOf(4), counts.get(0));
+      assertEquals(Long.valueOf(3), counts.get(1));
+      assertEquals(Long.valueOf(3), counts.get(2));
+
+      Map<Boolean, Integer> sums = createStream(entrySet).collect(
+            () -> Collectors.groupingBy(e -> e.getKey() % 2 == 0, Collectors.summingInt(Map.Entry::getKey)));
+      assertEquals(Integer.valueOf(20), sums.get(true));
+      assertEquals(Integer.valueOf(25), sums.get(false));
+   }
+
    public void testObjCollect() {
       Cache<Integer, String> cache = getCache(0);
       int range = 10;
@@ -241,6 +264,29 @@ public void testObjCount() {
       assertEquals(range, createStream(entrySet).count());
    }
 
+   public void testObjFilterMapChainCount() {
+      Cache<Integer, String> cache = getCache(0);
+      int range = 12;
+      // First populate the cache with a bunch of values
+      IntStream.range(0, range).boxed().forEach(i -> cache.put(i, i + "-value"));
+
+      assertEquals(range, cache.size());
+      CacheSet<Map.Entry<Integer, String>> entrySet = cache.entrySet();
+
+      assertEquals(4, createStream(entrySet)
+            .filter(e -> e.getKey() % 2 == 0)
+            .map(Map.Entry::getValue)
+            .filter(v -> !v.startsWith("4") && !v.startsWith("8"))
+            .count());
+      assertEquals(new HashSet<>(Arrays.asList(0, 4, 8)), createStream(entrySet)
+            .map(Map.Entry::getKey)
+            .filter(k -> k % 2 == 0)
+            .map(k -> k * 2)
+            .filter(k -> k % 4 == 0 && k < 10)
+            .map(k -> k)
+            .collect(() -> Collectors.toSet()));
+   }
+
    public void testObjFindAny() {
       Cache<Integer, String> cache = getCache(0);
       int range = 10;
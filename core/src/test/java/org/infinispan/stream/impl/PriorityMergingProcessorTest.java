@@ -0,0 +1,108 @@
+package org.infinispan.stream.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.infinispan.commons.util.CloseableIterator;
+import org.testng.annotations.Test;
+
+import io.reactivex.Flowable;
+
+/**
+ * Tests the requests that the {@link PriorityMergingProcessor} issues to its publishers: the second batch has to be
+ * requested before the first one is consumed, and no more than two batches may be outstanding per publisher.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "stream.impl.PriorityMergingProcessorTest")
+public class PriorityMergingProcessorTest {
+   private static final int BATCH_SIZE = 10;
+
+   public void testSecondBatchRequestedBeforeFirstConsumed() {
+      RecordingPublisher first = new RecordingPublisher(0, 100);
+      RecordingPublisher second = new RecordingPublisher(100, 100);
+
+      try (CloseableIterator<Integer> iterator = PriorityMergingProcessor.build(first.flowable, BATCH_SIZE,
+            second.flowable, BATCH_SIZE).iterator()) {
+         // Nothing was consumed yet, both batches are requested as separate requests
+         assertEquals(Arrays.asList((long) BATCH_SIZE, (long) BATCH_SIZE), first.requests);
+         assertEquals(Arrays.asList((long) BATCH_SIZE, (long) BATCH_SIZE), second.requests);
+
+         // Consuming less than a batch doesn't request anything
+         for (int i = 0; i < BATCH_SIZE - 1; i++) {
+            assertEquals(i, iterator.next().intValue());
+         }
+         assertEquals(2, first.requests.size());
+
+         // Consuming the first batch requests the third one
+         assertEquals(BATCH_SIZE - 1, iterator.next().intValue());
+         assertEquals(3, first.requests.size());
+         assertEquals(BATCH_SIZE, first.requests.get(2).longValue());
+         assertEquals(2, second.requests.size());
+      }
+   }
+
+   public void testAtMostTwoBatchesOutstanding() {
+      RecordingPublisher first = new RecordingPublisher(0, 95);
+      RecordingPublisher second = new RecordingPublisher(95, 45);
+
+      int consumed = 0;
+      try (CloseableIterator<Integer> iterator = PriorityMergingProcessor.build(first.flowable, BATCH_SIZE,
+            second.flowable, BATCH_SIZE).iterator()) {
+         while (iterator.hasNext()) {
+            int value = iterator.next();
+            assertEquals(consumed++, value);
+            if (value < 95) {
+               first.consumed++;
+            } else {
+               second.consumed++;
+            }
+            first.assertOutstanding();
+            second.assertOutstanding();
+         }
+      }
+      assertEquals(140, consumed);
+      assertEquals(95, first.consumed);
+      assertEquals(45, second.consumed);
+   }
+
+   public void testCloseCancelsWithoutRequesting() {
+      RecordingPublisher first = new RecordingPublisher(0, 100);
+      RecordingPublisher second = new RecordingPublisher(100, 100);
+
+      CloseableIterator<Integer> iterator = PriorityMergingProcessor.build(first.flowable, BATCH_SIZE,
+            second.flowable, BATCH_SIZE).iterator();
+      iterator.close();
+      // Closing the iterator cancels the publishers without requesting another batch
+      assertEquals(2, first.requests.size());
+      assertEquals(2, second.requests.size());
+      assertTrue(first.cancelled);
+      assertTrue(second.cancelled);
+   }
+
+   private static class RecordingPublisher {
+      final List<Long> requests = new CopyOnWriteArrayList<>();
+      final Flowable<Integer> flowable;
+      volatile boolean cancelled;
+      int consumed;
+
+      RecordingPublisher(int start, int count) {
+         this.flowable = Flowable.range(start, count)
+               .doOnRequest(requests::add)
+               .doOnCancel(() -> cancelled = true);
+      }
+
+      void assertOutstanding() {
+         long requested = requests.stream().mapToLong(Long::longValue).sum();
+         long outstanding = requested - consumed;
+         assertTrue("Outstanding " + outstanding + " with requests " + requests, outstanding <= 2 * BATCH_SIZE);
+         for (Long request : requests) {
+            assertEquals(BATCH_SIZE, request.longValue());
+         }
+      }
+   }
+}
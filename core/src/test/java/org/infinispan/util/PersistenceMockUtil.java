@@ -16,6 +16,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.distribution.ch.impl.SingleSegmentKeyPartitioner;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.GlobalComponentRegistry;
@@ -50,12 +51,19 @@ public static InitializationContext createContext(Class<?> testClass, Configurat
 
    public static InitializationContext createContext(Class<?> testClass, Configuration configuration, PersistenceMarshaller marshaller,
                                                      TimeService timeService, ClassWhiteList whiteList) {
+      return createContext(testClass, configuration, marshaller, timeService, whiteList,
+            SingleSegmentKeyPartitioner.getInstance());
+   }
+
+   public static InitializationContext createContext(Class<?> testClass, Configuration configuration, PersistenceMarshaller marshaller,
+                                                     TimeService timeService, ClassWhiteList whiteList,
+                                                     KeyPartitioner keyPartitioner) {
       Cache mockCache = mockCache(testClass.getSimpleName(), configuration, timeService, whiteList);
       MarshalledEntryFactoryImpl mef = new MarshalledEntryFactoryImpl(marshaller);
       GlobalConfigurationBuilder global = new GlobalConfigurationBuilder();
       global.globalState().persistentLocation(TestingUtil.tmpDirectory(testClass));
       return new InitializationContextImpl(configuration.persistence().stores().get(0), mockCache,
-            SingleSegmentKeyPartitioner.getInstance(), marshaller,
+            keyPartitioner, marshaller,
             timeService, new ByteBufferFactoryImpl(), mef, mef,
             new WithinThreadExecutor(), global.build());
    }
@@ -0,0 +1,149 @@
+package org.infinispan.util.compression;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.CacheException;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.Exceptions;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link StateCompressor} and the {@link DeflateCompressionCodec}.
+ *
+ * @since 10.0
+ */
+@Test(groups = "unit", testName = "util.compression.StateCompressorTest")
+public class StateCompressorTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      return TestCacheManagerFactory.createCacheManager(false);
+   }
+
+   public void testCodecRoundTrip() {
+      Random random = new Random(42);
+      byte[] randomBytes = new byte[10000];
+      random.nextBytes(randomBytes);
+      byte[] repeatedBytes = new byte[100000];
+      Arrays.fill(repeatedBytes, (byte) 'x');
+
+      for (CompressionCodec codec : Arrays.asList(new DeflateCompressionCodec(),
+            new DeflateCompressionCodec(Deflater.BEST_COMPRESSION))) {
+         for (byte[] bytes : Arrays.asList(new byte[0], randomBytes, repeatedBytes)) {
+            byte[] compressed = codec.compress(bytes);
+            assertTrue(Arrays.equals(bytes, codec.decompress(compressed, bytes.length)));
+         }
+         assertTrue(codec.compress(repeatedBytes).length < repeatedBytes.length / 100);
+      }
+   }
+
+   public void testCodecRejectsTruncatedInput() {
+      CompressionCodec codec = new DeflateCompressionCodec();
+      byte[] bytes = new byte[1000];
+      new Random(42).nextBytes(bytes);
+      byte[] compressed = codec.compress(bytes);
+      byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+      Exceptions.expectException(CacheException.class, "Compressed state is truncated.*",
+            () -> codec.decompress(truncated, bytes.length));
+   }
+
+   public void testStateRoundTrip() {
+      StateCompressor compressor = stateCompressor();
+      compressor.resetStatistics();
+      List<String> state = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+         state.add("value-" + i);
+      }
+
+      CompressedPayload payload = compressor.compress(state, new DeflateCompressionCodec());
+      assertEquals(DeflateCompressionCodec.ID, payload.getCodecId());
+      assertTrue(payload.getBytes().length < payload.getUncompressedLength());
+      assertEquals(state, compressor.decompress(payload));
+
+      assertEquals(1, compressor.getCompressedBatches());
+      assertEquals(1, compressor.getDecompressedBatches());
+      assertEquals(payload.getUncompressedLength(), compressor.getUncompressedBytes());
+      assertEquals(payload.getBytes().length, compressor.getCompressedBytes());
+      assertTrue(compressor.getCompressionRatio() < 1);
+   }
+
+   public void testBuiltInCodecNotConfiguredLocally() throws Exception {
+      // The cache doesn't compress its own state, but it accepts the state compressed by other nodes with Deflate
+      StateCompressor compressor = stateCompressor();
+      CompressionCodec codec = new DeflateCompressionCodec(Deflater.BEST_COMPRESSION);
+      byte[] bytes = TestingUtil.extractGlobalMarshaller(cacheManager).objectToByteBuffer("state");
+      CompressedPayload payload = new CompressedPayload(codec.getId(), bytes.length, codec.compress(bytes));
+      assertEquals("state", compressor.decompress(payload));
+   }
+
+   public void testRejectsCodecNotConfiguredLocally() throws Exception {
+      StateCompressor compressor = stateCompressor();
+      compressor.resetStatistics();
+      CompressionCodec codec = new CustomCodec();
+      byte[] bytes = TestingUtil.extractGlobalMarshaller(cacheManager).objectToByteBuffer("state");
+      CompressedPayload payload = new CompressedPayload(codec.getId(), bytes.length, codec.compress(bytes));
+      Exceptions.expectException(CacheException.class, "Compression codec with id 100 is not configured",
+            () -> compressor.decompress(payload));
+      assertEquals(0, compressor.getDecompressedBatches());
+   }
+
+   public void testCodecConfiguredLocally() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().stateTransfer().compressionCodec(new CustomCodec());
+      cacheManager.defineConfiguration("custom-codec", builder.build());
+      StateCompressor compressor = TestingUtil.extractComponent(cacheManager.getCache("custom-codec"),
+            StateCompressor.class);
+      CompressedPayload payload = compressor.compress("state", new CustomCodec());
+      assertEquals(100, payload.getCodecId());
+      assertEquals("state", compressor.decompress(payload));
+   }
+
+   public void testCodecsWithSameId() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().stateTransfer().compressionCodec(new CustomCodec() {
+         @Override
+         public byte getId() {
+            return DeflateCompressionCodec.ID;
+         }
+      });
+      StateCompressor compressor = new StateCompressor();
+      compressor.configuration = builder.build();
+      Exceptions.expectException(CacheConfigurationException.class, ".*use the same id 1", compressor::start);
+   }
+
+   private StateCompressor stateCompressor() {
+      return TestingUtil.extractComponent(cache, StateCompressor.class);
+   }
+
+   /**
+    * Doesn't compress at all, only the id matters.
+    */
+   public static class CustomCodec implements CompressionCodec {
+      @Override
+      public byte getId() {
+         return 100;
+      }
+
+      @Override
+      public byte[] compress(byte[] bytes) {
+         return bytes.clone();
+      }
+
+      @Override
+      public byte[] decompress(byte[] bytes, int uncompressedLength) {
+         return bytes.clone();
+      }
+   }
+}
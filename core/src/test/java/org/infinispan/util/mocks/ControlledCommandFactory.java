@@ -339,6 +339,11 @@ public StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type sub
       return actual.buildStateRequestCommand(subtype, sender, topologyId, segments);
    }
 
+   @Override
+   public StateRequestCommand buildStateRequestCommand(StateRequestCommand.Type subtype, Address sender, int topologyId, IntSet segments, Map<Integer, Long> matchingBuckets) {
+      return actual.buildStateRequestCommand(subtype, sender, topologyId, segments, matchingBuckets);
+   }
+
    @Override
    public StateResponseCommand buildStateResponseCommand(Address sender, int viewId, Collection<StateChunk> stateChunks, boolean applyState, boolean pushTransfer) {
       return actual.buildStateResponseCommand(sender, viewId, stateChunks, applyState, pushTransfer);
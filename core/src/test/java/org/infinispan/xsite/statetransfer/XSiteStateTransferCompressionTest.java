@@ -0,0 +1,90 @@
+package org.infinispan.xsite.statetransfer;
+
+import static org.infinispan.test.TestingUtil.extractComponent;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.BackupConfigurationBuilder;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.util.compression.DeflateCompressionCodec;
+import org.infinispan.util.compression.StateCompressor;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the cross-site state transfer with the state compressed by the sending site.
+ *
+ * @since 10.0
+ */
+@Test(groups = "xsite", testName = "xsite.statetransfer.XSiteStateTransferCompressionTest")
+public class XSiteStateTransferCompressionTest extends AbstractStateTransferTest {
+
+   public XSiteStateTransferCompressionTest() {
+      super();
+      implicitBackupCache = true;
+      cacheMode = CacheMode.DIST_SYNC;
+      transactional = false;
+   }
+
+   @Override
+   protected void adaptLONConfiguration(BackupConfigurationBuilder builder) {
+      builder.stateTransfer().chunkSize(10).compressionCodec(new DeflateCompressionCodec());
+   }
+
+   @Override
+   protected ConfigurationBuilder getNycActiveConfig() {
+      return getDefaultClusteredCacheConfig(cacheMode, transactional);
+   }
+
+   @Override
+   protected ConfigurationBuilder getLonActiveConfig() {
+      return getDefaultClusteredCacheConfig(cacheMode, transactional);
+   }
+
+   public void testCompressedStatePush() {
+      takeSiteOffline();
+      assertOffline();
+
+      // Several chunks per node, with values that compress well
+      final int amountOfData = chunkSize() * 10;
+      for (int i = 0; i < amountOfData; ++i) {
+         cache(LON, 0).put(key(i), value(i));
+      }
+      assertInSite(NYC, cache -> assertTrue(cache.isEmpty()));
+
+      startStateTransfer();
+      assertEventuallyStateTransferNotRunning();
+      assertOnline(LON, NYC);
+
+      assertInSite(NYC, cache -> {
+         for (int i = 0; i < amountOfData; ++i) {
+            assertEquals(value(i), cache.get(key(i)));
+         }
+      });
+      assertEventuallyNoStateTransferInReceivingSite(null);
+      assertEventuallyNoStateTransferInSendingSite();
+
+      long compressedBatches = 0;
+      for (Cache<?, ?> cache : caches(LON)) {
+         StateCompressor compressor = extractComponent(cache, StateCompressor.class);
+         compressedBatches += compressor.getCompressedBatches();
+         assertTrue(compressor.getCompressedBytes() <= compressor.getUncompressedBytes());
+      }
+      long decompressedBatches = 0;
+      for (Cache<?, ?> cache : caches(NYC)) {
+         decompressedBatches += extractComponent(cache, StateCompressor.class).getDecompressedBatches();
+      }
+      assertTrue(compressedBatches > 0);
+      // Retried pushes are decompressed again, so every compressed batch is decompressed at least once
+      assertTrue(decompressedBatches >= compressedBatches);
+   }
+
+   private static String key(int index) {
+      return "key-" + index;
+   }
+
+   private static String value(int index) {
+      return "value-value-value-value-" + index;
+   }
+}
@@ -1,6 +1,13 @@
 package org.infinispan.extendedstats.topK;
 
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.read.GetAllCommand;
@@ -12,6 +19,8 @@
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.extendedstats.logging.Log;
 import org.infinispan.extendedstats.wrappers.TopKeyLockManager;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.impl.BasicComponentRegistry;
 import org.infinispan.interceptors.BaseCustomAsyncInterceptor;
@@ -22,10 +31,17 @@
 import org.infinispan.jmx.annotations.Parameter;
 import org.infinispan.transaction.WriteSkewException;
 import org.infinispan.util.concurrent.locks.LockManager;
+import org.infinispan.util.concurrent.locks.impl.HotKeyLockContainer;
+import org.infinispan.util.concurrent.locks.impl.LockContainer;
+import org.infinispan.util.concurrent.locks.impl.StripedLockContainer;
 import org.infinispan.util.logging.LogFactory;
 
 /**
  * Intercepts the VisitableCommands to calculate the corresponding top-key values.
+ * <p>
+ * If lock striping is enabled, the most contended keys are also given dedicated locks through a
+ * {@link HotKeyLockContainer}, which is updated every {@link #HOT_KEY_REFRESH_MILLIS} milliseconds with the keys
+ * most contended since the previous update.
  *
  * @author Pedro Ruivo
  * @since 6.0
@@ -34,13 +50,21 @@
 public class CacheUsageInterceptor extends BaseCustomAsyncInterceptor {
 
    public static final int DEFAULT_TOP_KEY = 10;
+   public static final long HOT_KEY_REFRESH_MILLIS = 1000;
 
    private static final Log log = LogFactory.getLog(CacheUsageInterceptor.class, Log.class);
 
    @Inject BasicComponentRegistry componentRegistry;
    @Inject DistributionManager distributionManager;
+   @Inject @ComponentName(KnownComponentNames.TIMEOUT_SCHEDULE_EXECUTOR)
+   ScheduledExecutorService scheduler;
 
    private StreamSummaryContainer streamSummaryContainer;
+   private HotKeyLockContainer hotKeyLockContainer;
+   private ScheduledFuture<?> hotKeyTask;
+   private volatile int hotKeyCount = DEFAULT_TOP_KEY;
+   // Only accessed by the hot key refresh task
+   private Map<Object, Long> lastContention = Collections.emptyMap();
 
    private final InvocationFinallyAction writeSkewReturnHandler = new InvocationFinallyAction() {
       @Override
@@ -203,6 +227,24 @@ public Map<String, Long> getNTopWriteSkewFailedKeys(@Parameter(name = "n", descr
       return streamSummaryContainer.getTopKFromAsKeyString(StreamSummaryContainer.Stat.MOST_WRITE_SKEW_FAILED_KEYS, n);
    }
 
+   @ManagedOperation(description = "Set the number of most contended keys that get a dedicated lock",
+                     displayName = "Set hot key count")
+   public void setHotKeyCount(@Parameter(name = "n", description = "the number of hot keys") int n) {
+      hotKeyCount = Math.max(0, n);
+   }
+
+   @ManagedAttribute(description = "Shows the number of most contended keys that get a dedicated lock",
+                     displayName = "Hot key count")
+   public int getHotKeyCount() {
+      return hotKeyCount;
+   }
+
+   @ManagedAttribute(description = "Shows the number of keys currently using a dedicated lock instead of lock striping",
+                     displayName = "Number of dedicated key locks")
+   public int getNumberOfDedicatedLocks() {
+      return hotKeyLockContainer == null ? 0 : hotKeyLockContainer.getDedicatedLockKeys().size();
+   }
+
    @ManagedOperation(description = "Show the top n keys whose write skew check was failed",
                      displayName = "Top Keys whose Write Skew Check was failed")
    public void setStatisticsEnabled(@Parameter(name = "enabled", description = "true to enable the top-k collection") boolean enabled) {
@@ -220,16 +262,58 @@ protected void start() {
       LockManager newLockManager = new TopKeyLockManager(oldLockManager, streamSummaryContainer);
       log.replaceComponent("LockManager", oldLockManager, newLockManager);
       componentRegistry.replaceComponent(LockManager.class.getName(), newLockManager, false);
+
+      LockContainer oldLockContainer = componentRegistry.getComponent(LockContainer.class).running();
+      if (oldLockContainer instanceof StripedLockContainer) {
+         // The cache is starting, so no lock is held yet and the stripes can be reused
+         hotKeyLockContainer = new HotKeyLockContainer((StripedLockContainer) oldLockContainer);
+         log.replaceComponent("LockContainer", oldLockContainer, hotKeyLockContainer);
+         componentRegistry.replaceComponent(LockContainer.class.getName(), hotKeyLockContainer, false);
+      }
       componentRegistry.rewire();
+
+      if (hotKeyLockContainer != null) {
+         hotKeyTask = scheduler.scheduleWithFixedDelay(this::updateHotKeys, HOT_KEY_REFRESH_MILLIS,
+               HOT_KEY_REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+      }
    }
 
    @Override
    protected void stop() {
       super.stop();
       log.stopStreamSummaryInterceptor();
+      if (hotKeyTask != null) {
+         hotKeyTask.cancel(false);
+      }
       streamSummaryContainer.setEnabled(false);
    }
 
+   private void updateHotKeys() {
+      int count = hotKeyCount;
+      if (!streamSummaryContainer.isEnabled() || count == 0) {
+         lastContention = Collections.emptyMap();
+         hotKeyLockContainer.setHotKeys(Collections.emptySet());
+      } else {
+         Map<Object, Long> contention = streamSummaryContainer.getTopKFrom(StreamSummaryContainer.Stat.MOST_CONTENDED_KEYS);
+         hotKeyLockContainer.setHotKeys(mostContendedSince(lastContention, contention, count));
+         lastContention = contention;
+      }
+   }
+
+   /**
+    * The top-k counters are cumulative, so the hot keys are the keys with the most contention since the previous
+    * refresh. Otherwise a key that was contended once would keep its dedicated lock forever.
+    */
+   static List<Object> mostContendedSince(Map<Object, Long> previous, Map<Object, Long> current, int count) {
+      return current.entrySet().stream()
+            .map(e -> new AbstractMap.SimpleEntry<>(e.getKey(), e.getValue() - previous.getOrDefault(e.getKey(), 0L)))
+            .filter(e -> e.getValue() > 0)
+            .sorted(Map.Entry.<Object, Long>comparingByValue().reversed())
+            .limit(count)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+   }
+
    private boolean isRemote(Object key) {
       return distributionManager != null && !distributionManager.getCacheTopology().isWriteOwner(key);
    }
@@ -4,6 +4,10 @@
 import static org.testng.AssertJUnit.fail;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -74,6 +78,20 @@ public void testGet(Method method) {
       assertWriteSkew(cache(0), key2, 0);
    }
 
+   public void testHotKeysOnlyCountContentionSinceLastRefresh() {
+      Map<Object, Long> previous = new HashMap<>();
+      previous.put("old", 100L);
+      previous.put("warm", 5L);
+      Map<Object, Long> current = new HashMap<>(previous);
+      current.put("warm", 8L);
+      current.put("new", 2L);
+
+      //"old" was contended a lot but not since the last refresh
+      Assert.assertEquals(CacheUsageInterceptor.mostContendedSince(previous, current, 10), Arrays.asList("warm", "new"));
+      Assert.assertEquals(CacheUsageInterceptor.mostContendedSince(previous, current, 1), Collections.singletonList("warm"));
+      Assert.assertEquals(CacheUsageInterceptor.mostContendedSince(current, current, 10), Collections.emptyList());
+   }
+
    public void testLockFailed(Method method) throws InterruptedException, TimeoutException, ExecutionException {
       final String key = k(method, 0);
 
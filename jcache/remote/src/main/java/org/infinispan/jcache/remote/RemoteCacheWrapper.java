@@ -12,6 +12,7 @@
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheBatch;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.ServerStatistics;
 import org.infinispan.client.hotrod.StreamingRemoteCache;
@@ -575,6 +576,11 @@ public RemoteCache<K, V> withDataFormat(DataFormat dataFormat) {
       return delegate.withDataFormat(dataFormat);
    }
 
+   @Override
+   public RemoteCacheBatch<K, V> batch() {
+      return delegate.batch();
+   }
+
    @Override
    public StreamingRemoteCache<K> streaming() {
       return delegate.streaming();
@@ -2,6 +2,8 @@
 
 import java.lang.annotation.Annotation;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -98,14 +100,16 @@ public <K, V> void registerListenerInvocations(boolean isClustered, boolean isPr
       final Map<String, Object> namedParameters = getNamedParameters(indexedFilter);
       final boolean isDeltaFilter = isDelta(indexedFilter);
 
-      addFilteringInvocationForMatcher(matcher, keyDataConversion, valueDataConversion);
+      FilteringListenerInvocation<?, ?> filteringInvocation =
+            getFilteringInvocationForMatcher(matcher, keyDataConversion, valueDataConversion);
       Event.Type[] eventTypes = new Event.Type[listeners.keySet().size()];
       int i = 0;
       for (Class<? extends Annotation> annotation : listeners.keySet()) {
          eventTypes[i++] = getEventTypeFromAnnotation(annotation);
       }
-      Callback<K, V> callback = new Callback<>(matcher, isClustered, isPrimaryOnly, filterAndConvert, listeners);
+      Callback<K, V> callback = new Callback<>(matcher, filteringInvocation, isClustered, isPrimaryOnly, filterAndConvert, listeners);
       callback.subscription = matcher.registerFilter(queryString, namedParameters, callback, isDeltaFilter, eventTypes);
+      filteringInvocation.addAnnotations(listeners.keySet());
    }
 
    /**
@@ -128,23 +132,10 @@ private Event.Type getEventTypeFromAnnotation(Class<? extends Annotation> annota
       return null;
    }
 
-   private void addFilteringInvocationForMatcher(Matcher matcher, DataConversion keyDataConversion, DataConversion valueDataConversion) {
-      if (!filteringInvocations.containsKey(matcher)) {
-         FilteringListenerInvocation filteringInvocation = new FilteringListenerInvocation(matcher, keyDataConversion, valueDataConversion);
-         if (filteringInvocations.putIfAbsent(matcher, filteringInvocation) == null) {
-            // todo these are added but never removed until stop is called
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryActivated.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryCreated.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryInvalidated.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryLoaded.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryModified.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryPassivated.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryRemoved.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryVisited.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntriesEvicted.class).add(filteringInvocation);
-            cacheNotifier.getListenerCollectionForAnnotation(CacheEntryExpired.class).add(filteringInvocation);
-         }
-      }
+   private FilteringListenerInvocation<?, ?> getFilteringInvocationForMatcher(Matcher matcher, DataConversion keyDataConversion,
+                                                                              DataConversion valueDataConversion) {
+      return filteringInvocations.computeIfAbsent(matcher,
+            m -> new FilteringListenerInvocation<>(m, keyDataConversion, valueDataConversion));
    }
 
    private final class Callback<K, V> implements FilterCallback {
@@ -165,10 +156,15 @@ private void addFilteringInvocationForMatcher(Matcher matcher, DataConversion ke
       private final DelegatingCacheEntryListenerInvocation<K, V>[] expired_invocations;
 
       private final Matcher matcher;
+      private final FilteringListenerInvocation<?, ?> filteringInvocation;
+      private final Set<Class<? extends Annotation>> annotations;
       volatile FilterSubscription subscription;
 
-      Callback(Matcher matcher, boolean isClustered, boolean isPrimaryOnly, boolean filterAndConvert, Map<Class<? extends Annotation>, List<DelegatingCacheEntryListenerInvocation<K, V>>> listeners) {
+      Callback(Matcher matcher, FilteringListenerInvocation<?, ?> filteringInvocation, boolean isClustered, boolean isPrimaryOnly,
+               boolean filterAndConvert, Map<Class<? extends Annotation>, List<DelegatingCacheEntryListenerInvocation<K, V>>> listeners) {
          this.matcher = matcher;
+         this.filteringInvocation = filteringInvocation;
+         this.annotations = new HashSet<>(listeners.keySet());
          this.isClustered = isClustered;
          this.isPrimaryOnly = isPrimaryOnly;
          this.filterAndConvert = filterAndConvert;
@@ -202,6 +198,7 @@ void unregister() {
             // unregister only once
             matcher.unregisterFilter(s);
             subscription = null;
+            filteringInvocation.removeAnnotations(annotations);
          }
       }
 
@@ -294,11 +291,18 @@ public void unregister() {
       }
    }
 
+   /**
+    * Matches the events of a cache against all the filters registered in a {@link Matcher} at once. It is only
+    * registered with the cache notifier for the event types that at least one filter is interested in, so that e.g.
+    * reads don't create visited events if no filter needs them.
+    */
    private final class FilteringListenerInvocation<K, V> implements CacheEntryListenerInvocation<K, V> {
 
       private final Matcher matcher;
       private final DataConversion keyDataConversion;
       private final DataConversion valueDataConversion;
+      // Number of registered filters interested in each event annotation, guarded by this
+      private final Map<Class<? extends Annotation>, Integer> filtersPerAnnotation = new HashMap<>();
 
       private FilteringListenerInvocation(Matcher matcher, DataConversion keyDataConversion, DataConversion valueDataConversion) {
          this.matcher = matcher;
@@ -306,6 +310,24 @@ private FilteringListenerInvocation(Matcher matcher, DataConversion keyDataConve
          this.valueDataConversion = valueDataConversion;
       }
 
+      synchronized void addAnnotations(Set<Class<? extends Annotation>> annotations) {
+         CacheEntryListenerInvocation invocation = this;
+         for (Class<? extends Annotation> annotation : annotations) {
+            if (filtersPerAnnotation.merge(annotation, 1, Integer::sum) == 1) {
+               cacheNotifier.getListenerCollectionForAnnotation(annotation).add(invocation);
+            }
+         }
+      }
+
+      synchronized void removeAnnotations(Set<Class<? extends Annotation>> annotations) {
+         for (Class<? extends Annotation> annotation : annotations) {
+            Integer count = filtersPerAnnotation.computeIfPresent(annotation, (a, c) -> c == 1 ? null : c - 1);
+            if (count == null) {
+               cacheNotifier.getListenerCollectionForAnnotation(annotation).remove(this);
+            }
+         }
+      }
+
       @Override
       public Object getTarget() {
          return BaseIckleFilterIndexingServiceProvider.this;
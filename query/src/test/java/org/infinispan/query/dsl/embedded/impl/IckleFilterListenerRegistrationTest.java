@@ -0,0 +1,145 @@
+package org.infinispan.query.dsl.embedded.impl;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.Index;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.CacheNotifierImpl;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryActivated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryExpired;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryInvalidated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryLoaded;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryPassivated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.objectfilter.ObjectFilter;
+import org.infinispan.query.Search;
+import org.infinispan.query.dsl.Query;
+import org.infinispan.query.test.Person;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the invocation matching the events against all the Ickle filters of a cache is only registered with the
+ * cache notifier for the event types that the registered filters are interested in.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "query.dsl.embedded.impl.IckleFilterListenerRegistrationTest")
+public class IckleFilterListenerRegistrationTest extends SingleCacheManagerTest {
+
+   private static final List<Class<? extends Annotation>> ANNOTATIONS = Arrays.asList(
+         CacheEntryActivated.class, CacheEntryCreated.class, CacheEntryInvalidated.class, CacheEntryLoaded.class,
+         CacheEntryModified.class, CacheEntryPassivated.class, CacheEntryRemoved.class, CacheEntryVisited.class,
+         CacheEntriesEvicted.class, CacheEntryExpired.class);
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder cfgBuilder = new ConfigurationBuilder();
+      cfgBuilder.indexing().index(Index.ALL)
+            .addIndexedEntity(Person.class)
+            .addProperty("default.directory_provider", "local-heap")
+            .addProperty("lucene_version", "LUCENE_CURRENT");
+      return TestCacheManagerFactory.createCacheManager(cfgBuilder);
+   }
+
+   public void testRegistrationFollowsEventTypesInUse() {
+      Query query = Search.getQueryFactory(cache()).create("FROM org.infinispan.query.test.Person WHERE age <= 31");
+      assertRegisteredFor();
+
+      CreatedListener createdListener = new CreatedListener();
+      cache().addListener(createdListener, Search.makeFilter(query), null);
+      // Reads don't create visited events for a filter that only wants created events
+      assertRegisteredFor(CacheEntryCreated.class);
+
+      CreatedModifiedListener createdModifiedListener = new CreatedModifiedListener();
+      cache().addListener(createdModifiedListener, Search.makeFilter(query), null);
+      assertRegisteredFor(CacheEntryCreated.class, CacheEntryModified.class);
+
+      cache().put(1, person(30));
+      cache().put(1, person(31));
+      cache().get(1);
+      assertEquals(1, createdListener.events.size());
+      assertEquals(2, createdModifiedListener.events.size());
+
+      // The created events are still needed by the remaining filter
+      cache().removeListener(createdListener);
+      assertRegisteredFor(CacheEntryCreated.class, CacheEntryModified.class);
+
+      // Unregistering the last filter removes the invocation from every collection
+      cache().removeListener(createdModifiedListener);
+      assertRegisteredFor();
+
+      // Registering again after the count dropped to 0 adds it back
+      cache().addListener(createdListener, Search.makeFilter(query), null);
+      assertRegisteredFor(CacheEntryCreated.class);
+      cache().put(2, person(20));
+      assertEquals(2, createdListener.events.size());
+      cache().removeListener(createdListener);
+      assertRegisteredFor();
+   }
+
+   @SafeVarargs
+   private final void assertRegisteredFor(Class<? extends Annotation>... expected) {
+      List<Class<? extends Annotation>> expectedAnnotations = Arrays.asList(expected);
+      CacheNotifierImpl<?, ?> notifier = (CacheNotifierImpl<?, ?>) TestingUtil.extractComponent(cache(), CacheNotifier.class);
+      for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+         long matchers = notifier.getListenerCollectionForAnnotation(annotation).stream()
+               .filter(invocation -> invocation.getTarget() instanceof BaseIckleFilterIndexingServiceProvider)
+               .count();
+         if (expectedAnnotations.contains(annotation)) {
+            assertEquals("Expected a single matcher invocation for " + annotation.getSimpleName(), 1, matchers);
+         } else {
+            assertTrue("Unexpected matcher invocation for " + annotation.getSimpleName(), matchers == 0);
+         }
+      }
+   }
+
+   private static Person person(int age) {
+      Person person = new Person();
+      person.setName("John");
+      person.setAge(age);
+      return person;
+   }
+
+   @Listener(observation = Listener.Observation.POST)
+   public static class CreatedListener {
+      final List<ObjectFilter.FilterResult> events = new ArrayList<>();
+
+      @CacheEntryCreated
+      public void handleEvent(CacheEntryCreatedEvent<?, ObjectFilter.FilterResult> event) {
+         events.add(event.getValue());
+      }
+   }
+
+   @Listener(observation = Listener.Observation.POST)
+   public static class CreatedModifiedListener {
+      final List<ObjectFilter.FilterResult> events = new ArrayList<>();
+
+      @CacheEntryCreated
+      public void handleCreated(CacheEntryCreatedEvent<?, ObjectFilter.FilterResult> event) {
+         events.add(event.getValue());
+      }
+
+      @CacheEntryModified
+      public void handleModified(CacheEntryModifiedEvent<?, ObjectFilter.FilterResult> event) {
+         events.add(event.getValue());
+      }
+   }
+}
@@ -62,6 +62,20 @@ void get(HotRodHeader header, Subject subject, byte[] key) {
       CacheInfo cacheInfo = server.getCacheInfo(header);
       AdvancedCache<byte[], byte[]> cache = server.cache(cacheInfo, header, subject);
 
+      if (header.op == HotRodOperation.GET && cacheInfo.offHeapGet != null) {
+         ByteBuf response;
+         try {
+            response = cacheInfo.offHeapGet.get(header, server, channel.alloc(), cache, key);
+         } catch (Throwable t) {
+            writeException(header, t);
+            return;
+         }
+         if (response != null) {
+            writeResponse(header, response);
+            return;
+         }
+      }
+
       if (isBlockingRead(cacheInfo, header)) {
          executor.execute(() -> getInternal(header, cache, key));
       } else {
@@ -119,6 +119,11 @@ public ByteBuf valueResponse(HotRodHeader header, HotRodServer server, ByteBufAl
       return buf;
    }
 
+   @Override
+   public ByteBuf valueResponseHeader(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc) {
+      return writeHeader(header, server, alloc, OperationStatus.Success);
+   }
+
    @Override
    public ByteBuf successResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, byte[] result) {
       return valueResponse(header, server, alloc, OperationStatus.SuccessWithPrevious, result);
@@ -615,6 +615,7 @@ public static class CacheInfo {
       final Configuration configuration;
       final boolean transactional;
       final boolean clustered;
+      final OffHeapGet offHeapGet;
       volatile boolean persistence;
       volatile boolean indexing;
 
@@ -626,6 +627,7 @@ public static class CacheInfo {
          this.configuration = configuration;
          this.transactional = configuration.transaction().transactionMode().isTransactional();
          this.clustered = configuration.clustering().cacheMode().isClustered();
+         this.offHeapGet = OffHeapGet.create(cache, configuration, distributionManager);
 
          // Start conservative and assume we have all the stuff that can cause operations to block
          this.persistence = true;
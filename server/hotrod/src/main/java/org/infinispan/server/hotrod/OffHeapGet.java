@@ -0,0 +1,116 @@
+package org.infinispan.server.hotrod;
+
+import static org.infinispan.server.hotrod.transport.ExtendedByteBuf.writeUnsignedInt;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.impl.InternalDataContainer;
+import org.infinispan.container.offheap.OffHeapValueReader;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.encoding.DataConversion;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.interceptors.AsyncInterceptorChain;
+import org.infinispan.interceptors.impl.CacheMgmtInterceptor;
+import org.infinispan.notifications.cachelistener.CacheNotifier;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.partitionhandling.AvailabilityMode;
+import org.infinispan.partitionhandling.impl.PartitionHandlingManager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Handles GET requests for caches storing their entries off-heap by copying the value straight from the off-heap
+ * entry to the response buffer, instead of copying it to a byte array that is then copied to the response buffer.
+ * <p>
+ * The value is read directly from the data container, so this only applies when the interceptor chain would do
+ * nothing but read the entry from the local data container: the cache is neither transactional, secured nor
+ * scattered, has no custom interceptors, statistics or visited listeners, is available, this node is a read owner of
+ * the key, and values are stored as sent by the client. Any other request, as well as requests for missing entries
+ * (which may have to be loaded from a store) or entries that can't be read in place (e.g. with max idle), goes
+ * through the regular cache read.
+ * <p>
+ * The value is copied while the off-heap entry is read locked instead of sending the entry memory directly, so that
+ * an entry being evicted or replaced never has to wait for the response to be written to the socket.
+ *
+ * @since 10.0
+ */
+final class OffHeapGet {
+   private final InternalDataContainer<?, ?> dataContainer;
+   private final KeyPartitioner keyPartitioner;
+   private final DistributionManager distributionManager;
+   private final CacheNotifier<?, ?> cacheNotifier;
+   private final PartitionHandlingManager partitionHandlingManager;
+   private final CacheMgmtInterceptor cacheMgmtInterceptor;
+
+   private OffHeapGet(ComponentRegistry componentRegistry, DistributionManager distributionManager) {
+      this.dataContainer = componentRegistry.getComponent(InternalDataContainer.class);
+      this.keyPartitioner = componentRegistry.getComponent(KeyPartitioner.class);
+      this.distributionManager = distributionManager;
+      this.cacheNotifier = componentRegistry.getComponent(CacheNotifier.class);
+      this.partitionHandlingManager = componentRegistry.getComponent(PartitionHandlingManager.class);
+      this.cacheMgmtInterceptor = componentRegistry.getComponent(AsyncInterceptorChain.class)
+            .findInterceptorWithClass(CacheMgmtInterceptor.class);
+   }
+
+   /**
+    * @return the handler for the cache, or {@code null} if its configuration never allows reading values in place
+    */
+   static OffHeapGet create(AdvancedCache<byte[], byte[]> cache, Configuration configuration,
+                            DistributionManager distributionManager) {
+      CacheMode cacheMode = configuration.clustering().cacheMode();
+      if (configuration.memory().storageType() != StorageType.OFF_HEAP || !PlatformDependent.hasUnsafe() ||
+            configuration.transaction().transactionMode().isTransactional() || cacheMode.isScattered() ||
+            configuration.security().authorization().enabled() ||
+            !configuration.customInterceptors().interceptors().isEmpty()) {
+         return null;
+      }
+      return new OffHeapGet(SecurityActions.getCacheComponentRegistry(cache), distributionManager);
+   }
+
+   /**
+    * Writes a successful GET response with the value of the key copied from off-heap memory.
+    *
+    * @return the response, or {@code null} if the request must go through the regular cache read
+    */
+   ByteBuf get(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, AdvancedCache<byte[], byte[]> cache,
+               byte[] key) {
+      if (cacheMgmtInterceptor != null && cacheMgmtInterceptor.getStatisticsEnabled() ||
+            cacheNotifier.hasListener(CacheEntryVisited.class) ||
+            partitionHandlingManager != null &&
+                  partitionHandlingManager.getAvailabilityMode() != AvailabilityMode.AVAILABLE) {
+         return null;
+      }
+      DataConversion valueDataConversion = cache.getValueDataConversion();
+      if (!valueDataConversion.isByteArrayPassThrough()) {
+         return null;
+      }
+      Object storageKey = cache.getKeyDataConversion().toStorage(key);
+      if (distributionManager != null && !distributionManager.getCacheTopology().isReadOwner(storageKey)) {
+         return null;
+      }
+
+      ByteBuf buf = header.encoder().valueResponseHeader(header, server, alloc);
+      ByteBuf response = dataContainer.readOffHeapValue(keyPartitioner.getSegment(storageKey), storageKey,
+            (OffHeapValueReader<ByteBuf>) (address, length) -> {
+               writeUnsignedInt(length, buf);
+               buf.ensureWritable(length);
+               int writerIndex = buf.writerIndex();
+               if (buf.hasMemoryAddress()) {
+                  PlatformDependent.copyMemory(address, buf.memoryAddress() + writerIndex, length);
+               } else {
+                  PlatformDependent.copyMemory(address, buf.array(), buf.arrayOffset() + writerIndex, length);
+               }
+               buf.writerIndex(writerIndex + length);
+               return buf;
+            });
+      if (response == null) {
+         buf.release();
+      }
+      return response;
+   }
+}
@@ -39,6 +39,12 @@ public interface VersionedEncoder {
 
    ByteBuf valueResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, OperationStatus status, byte[] prev);
 
+   /**
+    * Writes the header of a successful {@link #valueResponse} to a new buffer, the caller must then write the value
+    * as ranged bytes. This allows writing the value without copying it to a byte array first.
+    */
+   ByteBuf valueResponseHeader(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc);
+
    ByteBuf successResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, byte[] result);
 
    ByteBuf errorResponse(HotRodHeader header, HotRodServer server, ByteBufAllocator alloc, String message, OperationStatus status);
@@ -0,0 +1,58 @@
+package org.infinispan.server.hotrod;
+
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.assertSuccess;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.k;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.configuration.internal.PrivateGlobalConfigurationBuilder;
+import org.infinispan.interceptors.impl.CacheMgmtInterceptor;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the functional tests against a cache storing its entries off-heap, whose values are read in place.
+ *
+ * @since 10.0
+ */
+@Test(groups = "functional", testName = "server.hotrod.HotRodOffHeapFunctionalTest")
+public class HotRodOffHeapFunctionalTest extends HotRodFunctionalTest {
+
+   @Override
+   protected EmbeddedCacheManager createTestCacheManager() {
+      ConfigurationBuilder builder = hotRodCacheConfiguration();
+      builder.memory().storageType(StorageType.OFF_HEAP);
+      GlobalConfigurationBuilder global = new GlobalConfigurationBuilder().nonClusteredDefault().defaultCacheName(cacheName);
+      // Values are only stored as sent by the client in server mode
+      global.addModule(PrivateGlobalConfigurationBuilder.class).serverMode(true);
+      return TestCacheManagerFactory.createCacheManager(global, builder);
+   }
+
+   public void testGetLargeValue(Method m) {
+      byte[] value = new byte[1024 * 1024];
+      new Random(0).nextBytes(value);
+      client().put(k(m), 0, 0, value);
+      assertSuccess(client().assertGet(m), value);
+   }
+
+   public void testGetWithStatisticsEnabled(Method m) {
+      CacheMgmtInterceptor interceptor = TestingUtil.findInterceptor(advancedCache, CacheMgmtInterceptor.class);
+      interceptor.setStatisticsEnabled(true);
+      try {
+         client().assertPut(m);
+         client().assertGet(m);
+         // Reads can't skip the interceptors when statistics are enabled
+         assertEquals(1, interceptor.getHits());
+      } finally {
+         interceptor.setStatisticsEnabled(false);
+      }
+   }
+}